@@ -0,0 +1,126 @@
+package de.mq.odesolver;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Parametervariation fuer viele Trajektorien: pro Komponente des Vektors (y0
+ * einer DGL bzw. Parametervektor k einer Funktion) eine Liste von Werten, dazu
+ * Listen fuer Beginn und Ende des x-Intervalls. Die Trajektorien sind alle
+ * Kombinationen der Werte (kartesisches Produkt), sie werden ueber ihren Index
+ * adressiert und erst beim Zugriff gebildet. Die letzte Komponente des Vektors
+ * aendert sich am schnellsten, das Ende des Intervalls am langsamsten.
+ *
+ * @author mq
+ *
+ */
+public class Sweep {
+
+	private final double[][] vectors;
+	private final double[] starts;
+	private final double[] stops;
+	private final int size;
+
+	/**
+	 * @param vectors pro Komponente des Vektors die Werte, mindestens einer.
+	 * @param starts  Werte fuer den Beginn des x-Intervalls, mindestens einer.
+	 * @param stops   Werte fuer das Ende des x-Intervalls, mindestens einer.
+	 */
+	public Sweep(final double[][] vectors, final double[] starts, final double[] stops) {
+		if (vectors.length == 0) {
+			throw new IllegalArgumentException("Vector must have at least one component.");
+		}
+		if (Arrays.stream(vectors).anyMatch(values -> values.length == 0) || starts.length == 0 || stops.length == 0) {
+			throw new IllegalArgumentException("At least one value is required for each parameter.");
+		}
+		this.vectors = Arrays.stream(vectors).map(double[]::clone).toArray(double[][]::new);
+		this.starts = starts.clone();
+		this.stops = stops.clone();
+		try {
+			size = Math.multiplyExact(Arrays.stream(vectors).mapToInt(values -> values.length).reduce(1, Math::multiplyExact), Math.multiplyExact(starts.length, stops.length));
+		} catch (final ArithmeticException exception) {
+			throw new IllegalArgumentException("Too many trajectories.", exception);
+		}
+	}
+
+	/**
+	 * Aequidistante Werte, Beginn und Ende eingeschlossen.
+	 *
+	 * @param from  erster Wert.
+	 * @param to    letzter Wert.
+	 * @param count Anzahl der Werte.
+	 * @return die Werte.
+	 */
+	public static double[] range(final double from, final double to, final int count) {
+		if (count < 1) {
+			throw new IllegalArgumentException("Count must be > 0.");
+		}
+		if (count == 1) {
+			return new double[] { from };
+		}
+		final double step = (to - from) / (count - 1);
+		return IntStream.range(0, count).mapToDouble(n -> n == count - 1 ? to : from + n * step).toArray();
+	}
+
+	/**
+	 * @return Anzahl der Trajektorien.
+	 */
+	public final int size() {
+		return size;
+	}
+
+	/**
+	 * @return Anzahl der Komponenten des Vektors.
+	 */
+	public final int dimension() {
+		return vectors.length;
+	}
+
+	/**
+	 * Vektor der Trajektorie, y0 einer DGL bzw. k einer Funktion.
+	 *
+	 * @param index Index der Trajektorie.
+	 * @return neues Array mit dem Vektor.
+	 */
+	public final double[] vector(final int index) {
+		int remaining = checkIndex(index);
+		final double[] vector = new double[vectors.length];
+		for (int j = vectors.length - 1; j >= 0; j--) {
+			vector[j] = vectors[j][remaining % vectors[j].length];
+			remaining /= vectors[j].length;
+		}
+		return vector;
+	}
+
+	/**
+	 * @param index Index der Trajektorie.
+	 * @return Beginn des x-Intervalls der Trajektorie.
+	 */
+	public final double start(final int index) {
+		return starts[interval(index) % starts.length];
+	}
+
+	/**
+	 * @param index Index der Trajektorie.
+	 * @return Ende des x-Intervalls der Trajektorie.
+	 */
+	public final double stop(final int index) {
+		return stops[interval(index) / starts.length];
+	}
+
+	private int interval(final int index) {
+		int remaining = checkIndex(index);
+		for (final double[] values : vectors) {
+			remaining /= values.length;
+		}
+		return remaining;
+	}
+
+	private int checkIndex(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("Index must be >= 0 and < %d.", size));
+		}
+		return index;
+	}
+
+}
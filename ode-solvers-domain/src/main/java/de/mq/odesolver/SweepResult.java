@@ -0,0 +1,55 @@
+package de.mq.odesolver;
+
+/**
+ * Ergebnisse einer {@link Sweep}-Berechnung spaltenweise gespeichert: ein Array
+ * fuer x und ein Array je Ableitung, die Zeilen aller Trajektorien liegen
+ * hintereinander. Alle Trajektorien haben dieselbe Anzahl Zeilen. Es werden
+ * keine Objekte pro Zeile erzeugt.
+ *
+ * @author mq
+ *
+ */
+public interface SweepResult {
+
+	/**
+	 * @return die Parametervariation der Berechnung.
+	 */
+	Sweep sweep();
+
+	/**
+	 * @return Anzahl der Trajektorien.
+	 */
+	int size();
+
+	/**
+	 * @return Anzahl der Zeilen pro Trajektorie.
+	 */
+	int rows();
+
+	/**
+	 * Anzahl der Spalten fuer y und seine Ableitungen, bei Funktionen 1.
+	 *
+	 * @return Anzahl der Spalten.
+	 */
+	int order();
+
+	/**
+	 * Unabhaengige Groesse.
+	 *
+	 * @param trajectory Index der Trajektorie.
+	 * @param row        Index der Zeile.
+	 * @return x der Zeile.
+	 */
+	double x(final int trajectory, final int row);
+
+	/**
+	 * Die n-te Ableitung, bei Funktionen der Funktionswert (n = 0).
+	 *
+	 * @param trajectory Index der Trajektorie.
+	 * @param row        Index der Zeile.
+	 * @param n          n-te Ableitung (0 entspricht der abhaengigen Groesse).
+	 * @return die n-te Ableitung in der Zeile.
+	 */
+	double yDerivative(final int trajectory, final int row, final int n);
+
+}
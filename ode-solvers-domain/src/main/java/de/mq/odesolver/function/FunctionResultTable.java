@@ -0,0 +1,44 @@
+package de.mq.odesolver.function;
+
+import java.util.List;
+
+import de.mq.odesolver.Result;
+
+/**
+ * Funktionswerte spaltenweise gespeichert: ein Array fuer x und ein Array fuer
+ * y. Die Elemente der Liste sind Sichten auf eine Zeile, sie werden erst beim
+ * Zugriff erzeugt. Wer viele Werte lesen muss, verwendet besser die
+ * Zugriffsmethoden mit Zeilenindex.
+ *
+ * @author mq
+ *
+ */
+public interface FunctionResultTable extends List<Result> {
+
+	/**
+	 * Unabhaengige Groesse in der Zeile.
+	 *
+	 * @param row Index der Zeile.
+	 * @return x der Zeile.
+	 */
+	double x(final int row);
+
+	/**
+	 * Funktionswert in der Zeile.
+	 *
+	 * @param row Index der Zeile.
+	 * @return y der Zeile.
+	 */
+	double y(final int row);
+
+	/**
+	 * @return Minimum der Funktionswerte.
+	 */
+	double min();
+
+	/**
+	 * @return Maximum der Funktionswerte.
+	 */
+	double max();
+
+}
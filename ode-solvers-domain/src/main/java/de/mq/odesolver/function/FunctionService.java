@@ -1,15 +1,43 @@
 package de.mq.odesolver.function;
 
-import java.util.List;
+import java.util.function.BooleanSupplier;
 
-import de.mq.odesolver.Result;
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.SweepResult;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
 
 public interface FunctionService {
 
 	FunctionSolver functionSolver(final Language language, final String function);
 	
-	List<Result> solve(final Function Function);
+	FunctionResultTable solve(final Function Function);
+
+	/**
+	 * Berechnet die Funktion wie {@link #solve(Function)}, bricht aber ab, wenn
+	 * terminated true liefert.
+	 * 
+	 * @param function   Funktion.
+	 * @param terminated true, wenn die Berechnung beendet werden soll.
+	 * @return Funktionswerte, spaltenweise gespeichert.
+	 * @throws java.util.concurrent.CancellationException wenn terminated true
+	 *                                                    liefert.
+	 */
+	FunctionResultTable solve(final Function function, final BooleanSupplier terminated);
+
+	/**
+	 * Berechnet die Funktion fuer alle Parametervektoren k und x-Intervalle der
+	 * Parametervariation parallel in einem eigenen ForkJoinPool des Service.
+	 * Sprache, Funktion und Anzahl der Schritte stammen aus function, die Funktion
+	 * wird einmal compiliert.
+	 * 
+	 * @param function Funktion.
+	 * @param sweep    Parametervariation fuer k, start und stop, eine Komponente
+	 *                 je Parameter der Funktion.
+	 * @return Funktionswerte aller Trajektorien, spaltenweise gespeichert.
+	 * @throws IllegalArgumentException Dimension der Parametervariation passt
+	 *                                  nicht zur Anzahl der Parameter k.
+	 */
+	SweepResult sweep(final Function function, final Sweep sweep);
 
 	double validate(final Language language, final String function, final double x0, final double k[]);
 	
@@ -1,8 +1,7 @@
 package de.mq.odesolver.function;
 
-import java.util.List;
-
-import de.mq.odesolver.Result;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 
 /**
  * Berechnet Funktionswerte einer Funktion von einer Variablen und einem Parametervektor  
@@ -20,8 +19,26 @@ public interface FunctionSolver {
 	 * @param start Beginn des x-Interval.
 	 * @param stop  Ende des x-Intervalls.
 	 * @param steps Anzahl der zu berechnenden Werte im Interval [start;stop]
-	 * @return Liste mit Ergebnissen fur x, y. @link FunctionResultImpl
+	 * @return Ergebnisse fuer x, y, spaltenweise gespeichert.
+	 */
+	default FunctionResultTable solve(final double[] k, final double start, final double stop, final int steps) {
+		return solve(k, start, stop, steps, () -> false);
+	}
+
+	/**
+	 * Berechnet Funktionswerte wie {@link #solve(double[], double, double, int)},
+	 * die Berechnung kann aber abgebrochen werden. terminated wird alle paar
+	 * tausend Werte abgefragt, wie StepSink.isTerminated bei DGL'n, so wird der
+	 * Thread auch ohne Interrupt frei.
+	 * 
+	 * @param k          Parametervektor.
+	 * @param start      Beginn des x-Interval.
+	 * @param stop       Ende des x-Intervalls.
+	 * @param steps      Anzahl der zu berechnenden Werte im Interval [start;stop]
+	 * @param terminated true, wenn die Berechnung beendet werden soll.
+	 * @return Ergebnisse fuer x, y, spaltenweise gespeichert.
+	 * @throws CancellationException wenn terminated true liefert.
 	 */
-	List<Result> solve(final double[] k, final double start, final double stop, final int steps);
+	FunctionResultTable solve(final double[] k, final double start, final double stop, final int steps, final BooleanSupplier terminated);
 
 }
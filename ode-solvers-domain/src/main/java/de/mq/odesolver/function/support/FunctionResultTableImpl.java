@@ -0,0 +1,85 @@
+package de.mq.odesolver.function.support;
+
+import java.util.AbstractList;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.function.FunctionResultTable;
+
+/**
+ * Spaltenweise Ablage der Funktionswerte. Die Arrays werden vom
+ * {@link FunctionSolverImpl} direkt beschrieben und nicht kopiert, die
+ * {@link Result}-Objekte der Liste werden beim Zugriff erzeugt. Die Liste ist
+ * nicht veraenderbar.
+ *
+ * @author mq
+ *
+ */
+class FunctionResultTableImpl extends AbstractList<Result> implements FunctionResultTable, RandomAccess {
+
+	private final double[] x;
+	private final double[] y;
+
+	FunctionResultTableImpl(final double[] x, final double[] y) {
+		if (x.length != y.length) {
+			throw new IllegalArgumentException("Columns must have the same length.");
+		}
+		this.x = x;
+		this.y = y;
+	}
+
+	@Override
+	public final Result get(final int row) {
+		return new FunctionResultImpl(y(row), x(row));
+	}
+
+	@Override
+	public final int size() {
+		return x.length;
+	}
+
+	@Override
+	public final double x(final int row) {
+		Objects.checkIndex(row, x.length);
+		return x[row];
+	}
+
+	@Override
+	public final double y(final int row) {
+		Objects.checkIndex(row, y.length);
+		return y[row];
+	}
+
+	@Override
+	public final double min() {
+		emptyGuard();
+		double min = y[0];
+		for (int row = 1; row < y.length; row++) {
+			if (Double.compare(y[row], min) < 0) {
+				min = y[row];
+			}
+		}
+		return min;
+	}
+
+	@Override
+	public final double max() {
+		emptyGuard();
+		double max = y[0];
+		for (int row = 1; row < y.length; row++) {
+			if (Double.compare(y[row], max) > 0) {
+				max = y[row];
+			}
+		}
+		return max;
+	}
+
+	private void emptyGuard() {
+		if (y.length == 0) {
+			throw new NoSuchElementException("Table is empty.");
+		}
+	}
+
+}
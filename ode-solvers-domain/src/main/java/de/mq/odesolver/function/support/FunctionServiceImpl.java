@@ -1,35 +1,78 @@
 package de.mq.odesolver.function.support;
 
 import java.lang.reflect.Constructor;
-import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
 
 import javax.script.Invocable;
 
-import de.mq.odesolver.Result;
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.SweepResult;
 import de.mq.odesolver.function.Function;
+import de.mq.odesolver.function.FunctionResultTable;
 import de.mq.odesolver.function.FunctionService;
 import de.mq.odesolver.function.FunctionSolver;
 import de.mq.odesolver.support.ExceptionUtil;
 import de.mq.odesolver.support.OdeFunctionUtil;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
+import de.mq.odesolver.support.SweepUtil;
 
 class FunctionServiceImpl implements FunctionService {
 
+	private final ForkJoinPool sweepPool;
+
+	FunctionServiceImpl() {
+		this(SweepUtil.newPool());
+	}
+
+	/**
+	 * @param sweepPool Pool fuer Parametervariationen.
+	 */
+	FunctionServiceImpl(final ForkJoinPool sweepPool) {
+		this.sweepPool = sweepPool;
+	}
+
 	@Override
 	public final FunctionSolver functionSolver(final Language language, final String function) {
+		return functionSolver(language, function, true);
+	}
+
+	private FunctionSolver functionSolver(final Language language, final String function, final boolean guarded) {
 
 		try {
 			final OdeFunctionUtil odeFunctionUtil = newOdeFunctionUtil(language);
-			return new FunctionSolverImpl(odeFunctionUtil, function);
+			return new FunctionSolverImpl(odeFunctionUtil, function, guarded);
 		} catch (final Exception exception) {
 			throw ExceptionUtil.translateToRuntimeException(exception);
 		}
 	}
 
 	@Override
-	public List<Result> solve(final Function function) {
+	public FunctionResultTable solve(final Function function) {
+		return solve(function, () -> false);
+	}
+
+	@Override
+	public FunctionResultTable solve(final Function function, final BooleanSupplier terminated) {
 		final var functionSolver = functionSolver(function.language(), function.function());
-		return functionSolver.solve(function.k(), function.start(), function.stop(), function.steps());
+		return functionSolver.solve(function.k(), function.start(), function.stop(), function.steps(), terminated);
+	}
+
+	@Override
+	public final SweepResult sweep(final Function function, final Sweep sweep) {
+		if (sweep.dimension() != function.k().length) {
+			throw new IllegalArgumentException(String.format("Sweep dimension %d does not match the number of parameters %d.", sweep.dimension(), function.k().length));
+		}
+		final int steps = function.steps();
+		// Der erste Solver compiliert die Funktion (Syntaxfehler fallen vor der
+		// Verteilung auf). Script-Funktionen sind waehrend einer Berechnung an eine
+		// Engine gebunden, jeder Teilbereich erhaelt deshalb einen eigenen Solver,
+		// ohne Pruefung des Ergebnisses auf NaN und Infinite.
+		functionSolver(function.language(), function.function());
+		return SweepUtil.sweep(sweepPool, sweep, 1, steps + 1, () -> {
+			final FunctionSolver functionSolver = functionSolver(function.language(), function.function(), false);
+			return (k, start, stop) -> functionSolver.solve(k, start, stop, steps);
+		});
 	}
 
 	@Override
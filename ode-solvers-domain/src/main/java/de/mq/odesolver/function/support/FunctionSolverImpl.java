@@ -1,41 +1,53 @@
 package de.mq.odesolver.function.support;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.function.BiFunction;
-import java.util.stream.IntStream;
+import java.util.function.BooleanSupplier;
 
-import javax.script.Invocable;
-
-import de.mq.odesolver.Result;
+import de.mq.odesolver.function.FunctionResultTable;
 import de.mq.odesolver.function.FunctionSolver;
 import de.mq.odesolver.support.OdeFunctionUtil;
+import de.mq.odesolver.support.RightHandSide;
 
 
 
 class FunctionSolverImpl implements FunctionSolver {
+
+	// Anzahl der Werte zwischen zwei Abfragen von terminated.
+	static final int BLOCK_SIZE = 1 << 12;
 	
-	private final BiFunction<Double,double[], Double> function;
+	private final RightHandSide function;
 	
 	FunctionSolverImpl(final BiFunction<Double,double[], Double> function) {
 
-		this.function = function;
+		this.function = (k, x) -> function.apply(x, k);
 	}
 
 	FunctionSolverImpl(final OdeFunctionUtil odeFunctionUtil, final String function) {
-		final Invocable invocable = odeFunctionUtil.prepareFunction(function);
-		this.function = (x,k) -> (Double) odeFunctionUtil.invokeFunction(invocable,k , x);
+		this(odeFunctionUtil, function, true);
+	}
+
+	FunctionSolverImpl(final OdeFunctionUtil odeFunctionUtil, final String function, final boolean guarded) {
+		this.function = odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction(function), guarded);
 	}
 
 	@Override
-	public List<Result> solve(final double[] k, final double start, final double stop, final int steps) {
-		final List<Result> results = new ArrayList<>();
+	public FunctionResultTable solve(final double[] k, final double start, final double stop, final int steps, final BooleanSupplier terminated) {
 		final double stepSize = (stop - start) / steps;
-		IntStream.rangeClosed(0, steps).boxed().forEach(n -> {
-			final double xi= start+ n*stepSize;
-			results.add(new FunctionResultImpl(function.apply(xi, k), xi));
-		});
-		return results;
+		final double[] x = new double[steps + 1];
+		for (int n = 0; n < x.length; n++) {
+			x[n] = start + n * stepSize;
+		}
+		final double[] y = new double[x.length];
+		// Blockweise direkt in die Spalten der Tabelle, compilierte Funktionen
+		// rechnen in einer Schleife.
+		for (int from = 0; from < x.length; from += BLOCK_SIZE) {
+			if (terminated.getAsBoolean()) {
+				throw new CancellationException("Calculation terminated.");
+			}
+			function.evaluate(k, x, from, Math.min(from + BLOCK_SIZE, x.length), y);
+		}
+		return new FunctionResultTableImpl(x, y);
 	}
 
 }
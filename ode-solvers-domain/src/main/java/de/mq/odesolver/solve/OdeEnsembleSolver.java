@@ -0,0 +1,50 @@
+package de.mq.odesolver.solve;
+
+import java.util.List;
+
+/**
+ * Loest dieselbe DGL fuer viele Anfangswerte bzw. Parametervektoren
+ * gleichzeitig. Alle Trajektorien werden mit derselben festen Schrittweite im
+ * Gleichschritt integriert.
+ *
+ * @author mq
+ *
+ */
+public interface OdeEnsembleSolver {
+
+	/**
+	 * Loest die DGL fuer jeden Vektor mit Anfangswerten. Eine Fehlerabschaetzung
+	 * wird nicht berechnet, sie ist in allen Zeilen 0.
+	 *
+	 * @param y0    Anfangswerte, pro Trajektorie ein Array mit y(0) und seinen
+	 *              n-1 Ableitungen, alle Arrays muessen dieselbe Laenge haben.
+	 * @param start Beginn des x-Interval.
+	 * @param stop  Ende des x-Intervalls.
+	 * @param steps Anzahl der zu berechnenden Werte im Interval [start;stop]
+	 * @return pro Trajektorie eine {@link OdeResultTable}, in der Reihenfolge
+	 *         der Anfangswerte.
+	 */
+	default List<OdeResultTable> solve(final double[][] y0, final double start, final double stop, final int steps) {
+		return solve(y0, new double[y0.length][0], start, stop, steps);
+	}
+
+	/**
+	 * Loest die DGL fuer jede Trajektorie mit eigenen Anfangswerten und einem
+	 * eigenen Parametervektor. Die Parameter werden an den Vektor der rechten
+	 * Seite angehaengt, bei einer DGL n-ter Ordnung liest die Funktion sie als
+	 * y[n], y[n+1], ... Sie werden nicht integriert und nicht ausgegeben.
+	 *
+	 * @param y0         Anfangswerte, pro Trajektorie ein Array mit y(0) und
+	 *                   seinen n-1 Ableitungen, alle Arrays muessen dieselbe
+	 *                   Laenge haben.
+	 * @param parameters pro Trajektorie ein Parametervektor, alle Arrays
+	 *                   muessen dieselbe Laenge haben.
+	 * @param start      Beginn des x-Interval.
+	 * @param stop       Ende des x-Intervalls.
+	 * @param steps      Anzahl der zu berechnenden Werte im Interval [start;stop]
+	 * @return pro Trajektorie eine {@link OdeResultTable}, in der Reihenfolge
+	 *         der Anfangswerte.
+	 */
+	List<OdeResultTable> solve(final double[][] y0, final double[][] parameters, final double start, final double stop, final int steps);
+
+}
@@ -0,0 +1,40 @@
+package de.mq.odesolver.solve;
+
+import de.mq.odesolver.support.RightHandSide;
+
+/**
+ * Ereignis waehrend der Integration: die Bedingung g(y, x) wechselt das
+ * Vorzeichen bzw. wird 0, z.B. y[0] fuer das Erreichen des Bodens. Der
+ * Vorzeichenwechsel wird pro Schritt erkannt und auf dem Interpolanten des
+ * Schrittes verfeinert. Ein terminales Ereignis beendet die Integration, das
+ * letzte Ergebnis ist dann das Ereignis.
+ *
+ * @author mq
+ *
+ */
+public class OdeEvent {
+
+	private final RightHandSide condition;
+	private final boolean terminal;
+
+	/**
+	 * @param condition Bedingung g(y, x), y mit seinen n-1 Ableitungen.
+	 * @param terminal  true, wenn das Ereignis die Integration beenden soll.
+	 */
+	public OdeEvent(final RightHandSide condition, final boolean terminal) {
+		if (condition == null) {
+			throw new IllegalArgumentException("Condition is mandatory.");
+		}
+		this.condition = condition;
+		this.terminal = terminal;
+	}
+
+	public final RightHandSide condition() {
+		return condition;
+	}
+
+	public final boolean isTerminal() {
+		return terminal;
+	}
+
+}
@@ -0,0 +1,18 @@
+package de.mq.odesolver.solve;
+
+/**
+ * Ein gefundenes {@link OdeEvent}: x und y mit seinen Ableitungen an der
+ * Nullstelle der Bedingung.
+ *
+ * @author mq
+ *
+ */
+public interface OdeEventResult extends OdeResult {
+
+	/**
+	 * @return Index des Ereignisses in der Liste, die dem Solver uebergeben
+	 *         wurde.
+	 */
+	int event();
+
+}
@@ -1,9 +1,55 @@
 package de.mq.odesolver.solve;
 
+import java.util.Optional;
+
+import de.mq.odesolver.support.VectorRightHandSide;
+
 public interface OdeResultCalculator {
 
 	double[] calculate(final OdeResult last, final double stepSize);
 
+	/**
+	 * Berechnet den naechsten Schritt, ohne Objekte zu erzeugen. Das Ergebnis wird
+	 * in den uebergebenen Vektor geschrieben.
+	 * 
+	 * @param y        y und seine n-1 Ableitungen an der Stelle x.
+	 * @param x        unabhaengige Groesse.
+	 * @param stepSize Schrittweite.
+	 * @param result   Vektor (Groesse wie y), in den y und seine n-1 Ableitungen
+	 *                 an der Stelle x + stepSize geschrieben werden.
+	 */
+	void calculate(final double[] y, final double x, final double stepSize, final double[] result);
+
 	double errorEstimaion(final double y, final double y2h);
-	
+
+	/**
+	 * Liefert das Verfahren mit jedem Schritt eine Fehlerabschaetzung aus
+	 * denselben Stufen (eingebettetes Verfahren)?
+	 * 
+	 * @return true, wenn {@link #errorEstimaion(int)} verwendet werden kann.
+	 */
+	boolean isEmbedded();
+
+	/**
+	 * Fehlerabschaetzung des eingebetteten Verfahrens fuer den letzten mit
+	 * calculate berechneten Schritt.
+	 * 
+	 * @param n n-te Ableitung (0 entspricht der abhaengigen Groesse).
+	 * @return Fehlerabschaetzung der n-ten Ableitung.
+	 * @throws UnsupportedOperationException, wenn das Verfahren nicht eingebettet
+	 *                                        ist.
+	 */
+	double errorEstimaion(final int n);
+
+	/**
+	 * Rechte Seite des Systems 1. Ordnung, das der Calculator integriert. Mit ihr
+	 * koennen Ergebnisse zwischen zwei Schritten mit Hermite-Interpolation
+	 * ausgewertet werden (dichte Ausgabe).
+	 * 
+	 * @return rechte Seite des Systems, leer, wenn sie nicht bekannt ist.
+	 */
+	default Optional<VectorRightHandSide> firstOrderSystem() {
+		return Optional.empty();
+	}
+
 }
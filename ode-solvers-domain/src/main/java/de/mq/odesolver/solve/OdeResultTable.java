@@ -0,0 +1,77 @@
+package de.mq.odesolver.solve;
+
+import java.util.List;
+
+/**
+ * Ergebnisse einer DGL spaltenweise gespeichert: ein Array fuer x, ein Array je
+ * Ableitung und ein Array fuer die Fehlerabschaetzung. Die Elemente der Liste
+ * sind leichtgewichtige Sichten auf eine Zeile der Tabelle, sie werden erst
+ * beim Zugriff erzeugt. Wer viele Werte lesen muss, verwendet besser die
+ * Zugriffsmethoden mit Zeilenindex.
+ * 
+ * @author mq
+ *
+ */
+public interface OdeResultTable extends List<OdeResult> {
+
+	/**
+	 * Der Grad der DGL, Anzahl der Spalten fuer y und seine Ableitungen.
+	 * 
+	 * @return Grad der DGL.
+	 */
+	int order();
+
+	/**
+	 * Unabhaengige Groesse in der Zeile.
+	 * 
+	 * @param row Index der Zeile.
+	 * @return x der Zeile.
+	 */
+	double x(final int row);
+
+	/**
+	 * Die n-te Ableitung in der Zeile.
+	 * 
+	 * @param row Index der Zeile.
+	 * @param n   n-te Ableitung (0 entspricht der abhaengigen Groesse).
+	 * @return die n-te Ableitung in der Zeile.
+	 */
+	double yDerivative(final int row, final int n);
+
+	/**
+	 * Fehlerabschaetzung in der Zeile.
+	 * 
+	 * @param row Index der Zeile.
+	 * @return Fehlerabschaetzung der Zeile.
+	 */
+	double errorEstimaion(final int row);
+
+	/**
+	 * Minimum der n-ten Ableitung ueber alle Zeilen.
+	 * 
+	 * @param n n-te Ableitung (0 entspricht der abhaengigen Groesse).
+	 * @return Minimum der Spalte.
+	 */
+	double min(final int n);
+
+	/**
+	 * Maximum der n-ten Ableitung ueber alle Zeilen.
+	 * 
+	 * @param n n-te Ableitung (0 entspricht der abhaengigen Groesse).
+	 * @return Maximum der Spalte.
+	 */
+	double max(final int n);
+
+	/**
+	 * Wertet die Loesung an einer beliebigen Stelle im Intervall aus, ohne die
+	 * DGL erneut zu loesen. Die Zeilen um x werden binaer gesucht (O(log n)),
+	 * dazwischen wird mit kubischer Hermite-Interpolation aus den Werten und den
+	 * Ableitungen der rechten Seite an beiden Zeilen interpoliert (dichte
+	 * Ausgabe). Ist die rechte Seite nicht bekannt, wird linear interpoliert.
+	 * 
+	 * @param x unabhaengige Groesse, im Intervall der Tabelle.
+	 * @return neues Array mit y und seinen n-1 Ableitungen an der Stelle x.
+	 */
+	double[] interpolate(final double x);
+
+}
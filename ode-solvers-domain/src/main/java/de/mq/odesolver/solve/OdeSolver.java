@@ -1,6 +1,7 @@
 package de.mq.odesolver.solve;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Loest eine gewoehnliche DGL nach einem numerischen Verfahren
@@ -11,7 +12,7 @@ import java.util.List;
 public interface OdeSolver {
 
 	/**
-	 * Loest die DGL numerisch. Unterstuetzt werden DGL'n 1. und 2. Ordnung.
+	 * Loest die DGL numerisch. Unterstuetzt werden DGL'n beliebiger Ordnung.
 	 * 
 	 * @param y0    Array mit Anfangswerten fuer y und seien Ableitungen. Bei einer
 	 *              DGL 1. Ordnung wird y(0) uegergeben, bei einer DGL 2. Ordnung
@@ -19,9 +20,79 @@ public interface OdeSolver {
 	 * @param start Beginn des x-Interval.
 	 * @param stop  Ende des x-Intervalls.
 	 * @param steps Anzahl der zu berechnenden Werte im Interval [start;stop]
-	 * @return Liste mit Ergebnissen fur x, y und seinen n-1 Ableitungen. @link
-	 *         OdeResultImpl
+	 * @return Liste mit Ergebnissen fur x, y und seinen n-1 Ableitungen, als
+	 *         {@link OdeResultTable} spaltenweise gespeichert.
 	 */
 	List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps);
 
+	/**
+	 * Wie {@link #solve(double[], double, double, int)}, die Ergebnisse werden
+	 * nicht gesammelt, sondern sofort an stepSink uebergeben.
+	 * 
+	 * @param y0       Array mit Anfangswerten fuer y und seine Ableitungen.
+	 * @param start    Beginn des x-Interval.
+	 * @param stop     Ende des x-Intervalls.
+	 * @param steps    Anzahl der zu berechnenden Werte im Interval [start;stop]
+	 * @param stepSink empfaengt die Ergebnisse.
+	 */
+	void solve(final double[] y0, final double start, final double stop, final int steps, final StepSink stepSink);
+
+	/**
+	 * Wie {@link #solve(double[], double, double, int)}, die Ergebnisse werden
+	 * aber nur fuer die x-Werte des OutputGrid geliefert. steps bestimmt weiter
+	 * die Schrittweite der Integration.
+	 * 
+	 * @param y0         Array mit Anfangswerten fuer y und seine Ableitungen.
+	 * @param start      Beginn des x-Interval.
+	 * @param stop       Ende des x-Intervalls.
+	 * @param steps      Anzahl der Schritte der Integration.
+	 * @param outputGrid x-Werte der Ausgabe.
+	 * @return Liste mit Ergebnissen fuer die x-Werte des OutputGrid.
+	 */
+	List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps, final OutputGrid outputGrid);
+
+	/**
+	 * Wie {@link #solve(double[], double, double, int, OutputGrid)}, monitor
+	 * erhaelt zusaetzlich jeden Schritt der Integration, z.B. fuer eine
+	 * Fortschrittsanzeige, und kann die Integration mit
+	 * {@link StepSink#isTerminated()} abbrechen. Nach einem Abbruch endet die
+	 * Liste mit dem letzten berechneten Schritt.
+	 * 
+	 * @param y0         Array mit Anfangswerten fuer y und seine Ableitungen.
+	 * @param start      Beginn des x-Interval.
+	 * @param stop       Ende des x-Intervalls.
+	 * @param steps      Anzahl der Schritte der Integration.
+	 * @param outputGrid x-Werte der Ausgabe.
+	 * @param monitor    erhaelt jeden Schritt der Integration.
+	 * @return Liste mit Ergebnissen fuer die x-Werte des OutputGrid.
+	 */
+	List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps, final OutputGrid outputGrid, final StepSink monitor);
+
+	/**
+	 * Wie {@link #solve(double[], double, double, int, StepSink)}, zusaetzlich
+	 * werden die Ereignisse gesucht. Ein Vorzeichenwechsel einer Bedingung wird
+	 * pro Schritt erkannt und auf dem Interpolanten des Schrittes verfeinert.
+	 * Nach einem terminalen Ereignis erhaelt stepSink das Ereignis als letztes
+	 * Ergebnis.
+	 * 
+	 * @param y0       Array mit Anfangswerten fuer y und seine Ableitungen.
+	 * @param start    Beginn des x-Interval.
+	 * @param stop     Ende des x-Intervalls.
+	 * @param steps    Anzahl der zu berechnenden Werte im Interval [start;stop]
+	 * @param events   die zu suchenden Ereignisse.
+	 * @param stepSink empfaengt die Ergebnisse.
+	 * @return die gefundenen Ereignisse in der Reihenfolge der Integration.
+	 */
+	List<OdeEventResult> solve(final double[] y0, final double start, final double stop, final int steps, final List<OdeEvent> events, final StepSink stepSink);
+
+	/**
+	 * Aufwand der letzten Integration dieses Solvers, nur fuer die impliziten
+	 * Verfahren fuer steife Systeme.
+	 * @return Statistik der letzten Integration, leer, wenn das Verfahren keine
+	 *         liefert oder noch nicht integriert wurde.
+	 */
+	default Optional<SolverStatistics> statistics() {
+		return Optional.empty();
+	}
+
 }
\ No newline at end of file
@@ -2,12 +2,14 @@ package de.mq.odesolver.solve;
 
 import java.util.List;
 
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.SweepResult;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
 
 public interface OdeSolverService {
 
 	public enum Algorithm {
-		EulerPolygonal(1), RungeKutta2ndOrder(2), RungeKutta4thOrder(4) , DormandPrince853Integrator(8,true);
+		EulerPolygonal(1), RungeKutta2ndOrder(2), RungeKutta4thOrder(4), RungeKuttaThreeEighths(4), BogackiShampine32(3), CashKarp54(5), DormandPrince54(5), DormandPrince853Integrator(8, true), Rosenbrock23(2, true), Bdf15(5, true);
 
 		private final int order;
 		private final boolean system;
@@ -32,10 +34,113 @@ public interface OdeSolverService {
 
 	}
 
+	/**
+	 * Fehlerabschaetzung der Verfahren mit fester Schrittweite.
+	 * <ul>
+	 * <li>Off: keine Fehlerabschaetzung, pro Schritt wird nur ein Schritt
+	 * berechnet.</li>
+	 * <li>Cheap: Schrittweitenverdopplung (Richardson) nur fuer jeden 2. Schritt,
+	 * 2 Schritte h werden mit einem Schritt 2h vom selben Startpunkt verglichen,
+	 * beide Werte erhalten dieselbe Abschaetzung.</li>
+	 * <li>Full: fuer jeden Schritt wird zusaetzlich ein Schritt 2h berechnet.</li>
+	 * </ul>
+	 */
+	public enum ErrorEstimation {
+		Off, Cheap, Full;
+	}
+
 	OdeSolver odeSolver(final Language language, final Algorithm algorithm, final String function);
 
+	/**
+	 * Wie {@link #odeSolver(Language, Algorithm, String)}, mit waehlbarer
+	 * Fehlerabschaetzung. Systeme verwenden immer die Fehlerabschaetzung des
+	 * Integrators.
+	 * 
+	 * @param language        Sprache der Funktion.
+	 * @param algorithm       Verfahren.
+	 * @param function        rechte Seite der DGL.
+	 * @param errorEstimation Fehlerabschaetzung.
+	 * @return OdeSolver.
+	 */
+	OdeSolver odeSolver(final Language language, final Algorithm algorithm, final String function, final ErrorEstimation errorEstimation);
+
+	/**
+	 * OdeSolver mit Schrittweitensteuerung fuer die Einschrittverfahren (keine
+	 * Systeme).
+	 * 
+	 * @param language        Sprache der Funktion.
+	 * @param algorithm       Verfahren, darf kein System sein.
+	 * @param function        rechte Seite der DGL.
+	 * @param stepSizeControl Parameter der Schrittweitensteuerung.
+	 * @return OdeSolver.
+	 */
+	OdeSolver odeSolver(final Language language, final Algorithm algorithm, final String function, final StepSizeControl stepSizeControl);
+
+	/**
+	 * Solver, der dieselbe DGL fuer viele Anfangswerte bzw. Parametervektoren im
+	 * Gleichschritt loest.
+	 * Unterstuetzt werden die expliziten Verfahren ohne eingebettete
+	 * Fehlerabschaetzung (Euler, Runge-Kutta 2. und 4. Ordnung, 3/8-Regel).
+	 * 
+	 * @param language  Sprache der Funktion.
+	 * @param algorithm Verfahren.
+	 * @param function  rechte Seite der DGL.
+	 * @return OdeEnsembleSolver.
+	 */
+	OdeEnsembleSolver ensembleSolver(final Language language, final Algorithm algorithm, final String function);
+
+	/**
+	 * Compiliert die Bedingung eines Ereignisses, sie wird wie die rechte Seite
+	 * einer skalaren DGL geschrieben, z.B. y[0] fuer das Erreichen von y=0.
+	 * 
+	 * @param language  Sprache der Bedingung.
+	 * @param condition Bedingung g(y, x).
+	 * @param terminal  true, wenn das Ereignis die Integration beenden soll.
+	 * @return OdeEvent.
+	 */
+	OdeEvent odeEvent(final Language language, final String condition, final boolean terminal);
+
 	List<OdeResult> solve(final Ode ode);
 
+	/**
+	 * Wie {@link #solve(Ode)}, die Ergebnisse werden nur fuer die x-Werte des
+	 * OutputGrid geliefert, die Anzahl der Schritte der DGL bestimmt nur die
+	 * Schrittweite.
+	 * 
+	 * @param ode        DGL.
+	 * @param outputGrid x-Werte der Ausgabe.
+	 * @return Ergebnisse fuer die x-Werte des OutputGrid.
+	 */
+	List<OdeResult> solve(final Ode ode, final OutputGrid outputGrid);
+
+	/**
+	 * Wie {@link #solve(Ode, OutputGrid)}, monitor erhaelt jeden Schritt der
+	 * Integration und kann sie abbrechen, siehe
+	 * {@link OdeSolver#solve(double[], double, double, int, OutputGrid, StepSink)}.
+	 * 
+	 * @param ode        DGL.
+	 * @param outputGrid x-Werte der Ausgabe.
+	 * @param monitor    erhaelt jeden Schritt der Integration.
+	 * @return Ergebnisse fuer die x-Werte des OutputGrid.
+	 */
+	List<OdeResult> solve(final Ode ode, final OutputGrid outputGrid, final StepSink monitor);
+
+	/**
+	 * Loest die DGL fuer alle Trajektorien der Parametervariation parallel in
+	 * einem eigenen ForkJoinPool des Service. Sprache, Funktion, Verfahren und
+	 * Anzahl der Schritte stammen aus der DGL, Anfangswerte und x-Intervall aus
+	 * der Parametervariation. Die Funktion wird einmal compiliert, eine
+	 * Fehlerabschaetzung wird nicht berechnet.
+	 * 
+	 * @param ode   DGL.
+	 * @param sweep Parametervariation fuer y0, start und stop, eine Komponente
+	 *              je Ordnung der DGL.
+	 * @return Ergebnisse aller Trajektorien, spaltenweise gespeichert.
+	 * @throws IllegalArgumentException Dimension der Parametervariation passt
+	 *                                  nicht zur Ordnung der DGL.
+	 */
+	SweepResult sweep(final Ode ode, final Sweep sweep);
+
 	double[] validateRightSide(final Language language, final String function, final double y0[], final double x0, final boolean system);
 
 	double[] validateRightSide(final Ode ode);
@@ -0,0 +1,140 @@
+package de.mq.odesolver.solve;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Die x-Werte, fuer die ein {@link OdeSolver} Ergebnisse liefert, unabhaengig
+ * von der Schrittweite der Integration:
+ * <ul>
+ * <li>jeder k-te Schritt, der letzte Schritt wird immer ausgegeben,</li>
+ * <li>eine Anzahl aequidistanter Punkte im Intervall [start;stop],</li>
+ * <li>eine Liste von x-Werten im Intervall.</li>
+ * </ul>
+ * Werte zwischen den Schritten werden mit der dichten Ausgabe des Verfahrens
+ * interpoliert, wenn es eine hat, sonst linear.
+ *
+ * @author mq
+ *
+ */
+public class OutputGrid {
+
+	public enum Type {
+		EveryStep, Uniform, Points;
+	}
+
+	private final Type type;
+	private final int count;
+	private final double[] points;
+
+	private OutputGrid(final Type type, final int count, final double[] points) {
+		this.type = type;
+		this.count = count;
+		this.points = points;
+	}
+
+	/**
+	 * Jeder k-te Schritt und der letzte Schritt.
+	 *
+	 * @param k Abstand der Schritte, 1 gibt alle Schritte aus.
+	 * @return OutputGrid.
+	 */
+	public static OutputGrid everyStep(final int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("K must be > 0.");
+		}
+		return new OutputGrid(Type.EveryStep, k, new double[0]);
+	}
+
+	/**
+	 * Aequidistante Punkte, start und stop eingeschlossen.
+	 *
+	 * @param count Anzahl der Punkte.
+	 * @return OutputGrid.
+	 */
+	public static OutputGrid uniform(final int count) {
+		if (count < 2) {
+			throw new IllegalArgumentException("Count must be > 1.");
+		}
+		return new OutputGrid(Type.Uniform, count, new double[0]);
+	}
+
+	/**
+	 * Die angegebenen Punkte, sie muessen in Richtung der Integration sortiert
+	 * sein und im Intervall liegen.
+	 *
+	 * @param points x-Werte der Ausgabe.
+	 * @return OutputGrid.
+	 */
+	public static OutputGrid points(final double... points) {
+		if (points.length == 0) {
+			throw new IllegalArgumentException("At least one point is required.");
+		}
+		return new OutputGrid(Type.Points, points.length, points.clone());
+	}
+
+	public final Type type() {
+		return type;
+	}
+
+	/**
+	 * @return k bei {@link Type#EveryStep}, sonst die Anzahl der Punkte.
+	 */
+	public final int count() {
+		return count;
+	}
+
+	/**
+	 * Die x-Werte der Ausgabe fuer ein Intervall. Bei {@link Type#EveryStep}
+	 * sind es die Punkte des Gitters der Integration.
+	 *
+	 * @param start Beginn des x-Interval.
+	 * @param stop  Ende des x-Intervalls.
+	 * @param steps Anzahl der Schritte der Integration.
+	 * @return neues Array mit den x-Werten, in Richtung der Integration
+	 *         sortiert.
+	 */
+	public final double[] xValues(final double start, final double stop, final int steps) {
+		if (type == Type.Points) {
+			pointsGuard(start, stop);
+			return points.clone();
+		}
+		final int intervals = type == Type.Uniform ? count - 1 : steps;
+		final int k = type == Type.Uniform ? 1 : count;
+		final double stepSize = (stop - start) / intervals;
+		return IntStream.rangeClosed(0, intervals).filter(n -> n % k == 0 || n == intervals).mapToDouble(n -> n == intervals ? stop : start + n * stepSize).toArray();
+	}
+
+	private void pointsGuard(final double start, final double stop) {
+		final double direction = Math.signum(stop - start);
+		for (int n = 0; n < points.length; n++) {
+			if ((points[n] - start) * direction < 0 || (stop - points[n]) * direction < 0) {
+				throw new IllegalArgumentException(String.format("Point %s is outside of the interval [%s;%s].", points[n], start, stop));
+			}
+			if (n > 0 && (points[n] - points[n - 1]) * direction < 0) {
+				throw new IllegalArgumentException("Points must be sorted in the direction of the integration.");
+			}
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, count, Arrays.hashCode(points));
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (!(obj instanceof OutputGrid)) {
+			return false;
+		}
+		final OutputGrid other = (OutputGrid) obj;
+		return type == other.type && count == other.count && Arrays.equals(points, other.points);
+	}
+
+	@Override
+	public String toString() {
+		return type == Type.Points ? String.format("%s%s", type, Arrays.toString(points)) : String.format("%s(%d)", type, count);
+	}
+
+}
@@ -0,0 +1,41 @@
+package de.mq.odesolver.solve;
+
+/**
+ * Aufwand einer Integration mit einem impliziten Verfahren fuer steife
+ * Systeme: Auswertungen der rechten Seite, Jacobi-Matrizen und
+ * LU-Zerlegungen.
+ * 
+ * @author mq
+ *
+ */
+public interface SolverStatistics {
+
+	/**
+	 * @return Anzahl aller Auswertungen der rechten Seite, einschliesslich der
+	 *         Auswertungen fuer Jacobi-Matrizen.
+	 */
+	int evaluations();
+
+	/**
+	 * @return Auswertungen der rechten Seite fuer Jacobi-Matrizen,
+	 *         Besetzungsstruktur und Zeitableitungen.
+	 */
+	int jacobianEvaluations();
+
+	/**
+	 * @return Anzahl der berechneten Jacobi-Matrizen.
+	 */
+	int jacobianUpdates();
+
+	/**
+	 * @return wie oft die Besetzungsstruktur der Jacobi-Matrix bestimmt wurde,
+	 *         1 und nach wiederholten Fehlschlaegen mehr.
+	 */
+	int sparsityUpdates();
+
+	/**
+	 * @return Anzahl der LU-Zerlegungen der Iterationsmatrix.
+	 */
+	int factorizations();
+
+}
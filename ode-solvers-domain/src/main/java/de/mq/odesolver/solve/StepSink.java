@@ -0,0 +1,36 @@
+package de.mq.odesolver.solve;
+
+/**
+ * Empfaengt die Ergebnisse eines {@link OdeSolver} Schritt fuer Schritt, in
+ * aufsteigender Reihenfolge, beginnend mit den Anfangswerten. Der Solver
+ * speichert die Ergebnisse nicht, der Speicherbedarf haengt damit nicht von der
+ * Anzahl der Schritte ab.
+ * 
+ * @author mq
+ *
+ */
+@FunctionalInterface
+public interface StepSink {
+
+	/**
+	 * Ein Ergebnis des Solvers. Das Array y wird vom Solver wiederverwendet, es
+	 * darf nicht veraendert und nur waehrend des Aufrufs gelesen werden, wer die
+	 * Werte behalten will, muss sie kopieren.
+	 * 
+	 * @param y               y und seine n-1 Ableitungen.
+	 * @param x               unabhaengige Groesse.
+	 * @param errorEstimation Fehlerabschaetzung.
+	 */
+	void accept(final double[] y, final double x, final double errorEstimation);
+
+	/**
+	 * Der Solver fragt nach jedem Schritt, ob die Integration beendet werden
+	 * soll, z.B. nach einem terminalen {@link OdeEvent}.
+	 * 
+	 * @return true, wenn keine weiteren Schritte berechnet werden sollen.
+	 */
+	default boolean isTerminated() {
+		return false;
+	}
+
+}
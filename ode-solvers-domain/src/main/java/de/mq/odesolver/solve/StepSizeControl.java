@@ -0,0 +1,70 @@
+package de.mq.odesolver.solve;
+
+/**
+ * Parameter fuer die Schrittweitensteuerung der Einschrittverfahren. Der
+ * lokale Fehler wird durch Schrittweitenverdopplung abgeschaetzt, ein Schritt
+ * wird akzeptiert, wenn fuer alle Komponenten |Fehler| &lt;= absoluteTolerance +
+ * relativeTolerance * |y| gilt.
+ * 
+ * @author mq
+ *
+ */
+public interface StepSizeControl {
+
+	/**
+	 * Absolute Toleranz fuer den lokalen Fehler.
+	 * 
+	 * @return absolute Toleranz.
+	 */
+	double absoluteTolerance();
+
+	/**
+	 * Relative Toleranz fuer den lokalen Fehler.
+	 * 
+	 * @return relative Toleranz.
+	 */
+	double relativeTolerance();
+
+	/**
+	 * Sicherheitsfaktor (&lt; 1), mit dem die optimale Schrittweite multipliziert
+	 * wird.
+	 * 
+	 * @return Sicherheitsfaktor.
+	 */
+	double safetyFactor();
+
+	/**
+	 * Faktor, um den die Schrittweite in einem Schritt hoechstens verkleinert
+	 * wird.
+	 * 
+	 * @return minimaler Faktor (&lt; 1).
+	 */
+	double minFactor();
+
+	/**
+	 * Faktor, um den die Schrittweite in einem Schritt hoechstens vergroessert
+	 * wird.
+	 * 
+	 * @return maximaler Faktor (&gt; 1).
+	 */
+	double maxFactor();
+
+	/**
+	 * Maximale Anzahl der Schritte (akzeptiert und verworfen). Wird sie
+	 * ueberschritten, wird die Berechnung abgebrochen.
+	 * 
+	 * @return maximale Anzahl der Schritte.
+	 */
+	int maxSteps();
+
+	/**
+	 * Sollen die Ergebnisse auf dem aequidistanten Gitter mit der angeforderten
+	 * Anzahl Werte geliefert werden? Die Schrittweite wird dadurch nicht
+	 * begrenzt, die Gitterpunkte werden zwischen den Schritten interpoliert.
+	 * Sonst werden alle akzeptierten Schritte geliefert.
+	 * 
+	 * @return true, wenn auf das Gitter abgebildet werden soll.
+	 */
+	boolean resample();
+
+}
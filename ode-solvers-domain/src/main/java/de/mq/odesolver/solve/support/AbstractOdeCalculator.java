@@ -1,55 +1,133 @@
 package de.mq.odesolver.solve.support;
 
-import java.util.Map;
-import java.util.function.BiFunction;
+import java.util.Optional;
 import java.util.function.Function;
 
-import javax.script.Invocable;
-
 import de.mq.odesolver.solve.OdeResult;
 import de.mq.odesolver.solve.OdeResultCalculator;
+import de.mq.odesolver.support.EngineBinding;
 import de.mq.odesolver.support.OdeFunctionUtil;
+import de.mq.odesolver.support.RightHandSide;
+import de.mq.odesolver.support.VectorRightHandSide;
 
+/**
+ * Basis fuer Einschrittverfahren. Eine skalare DGL n-ter Ordnung wird als
+ * System 1. Ordnung (y, y', ..., y^(n-1))' = (y', ..., y^(n-1), f(x, y, ...,
+ * y^(n-1))) integriert, Systeme 1. Ordnung direkt. Die Zwischenwerte der Stufen
+ * werden in Vektoren gespeichert, die der Calculator besitzt, ein Schritt
+ * erzeugt daher keine Objekte. Ein Calculator ist deshalb nicht threadsicher.
+ * Script-Funktionen bindet der Solver mit {@link EngineBinding} fuer die Dauer
+ * einer Berechnung an eine Engine.
+ * 
+ * @author mq
+ *
+ */
+public abstract class AbstractOdeCalculator implements OdeResultCalculator, EngineBinding {
 
-public abstract class AbstractOdeCalculator implements OdeResultCalculator {
+	/**
+	 * Rechte Seite des Systems 1. Ordnung.
+	 */
+	final VectorRightHandSide system;
 
-	private final Map<Integer, BiFunction<OdeResult, Double, double[]>> calculators = Map.of(1,
-			(odeResult, stepSize) -> calculateFirstOrderOde(odeResult, stepSize), 2,
-			(odeResult, stepSize) -> calculateSecondOrderOde(odeResult, stepSize));
+	// Die Funktion, aus der system erzeugt wurde.
+	private final Object function;
 
-	final Function<OdeResult, Double> odeFunction;
+	AbstractOdeCalculator(final RightHandSide rightHandSide) {
+		this.system = firstOrderSystem(rightHandSide);
+		this.function = rightHandSide;
+	}
 
-	AbstractOdeCalculator(final Function<OdeResult, Double> odeFunction) {
+	/**
+	 * Systeme 1. Ordnung, die Dimension ergibt sich aus dem Vektor y.
+	 * 
+	 * @param system rechte Seite des Systems.
+	 */
+	AbstractOdeCalculator(final VectorRightHandSide system) {
+		this.system = system;
+		this.function = system;
+	}
 
-		this.odeFunction = odeFunction;
+	/**
+	 * Adapter fuer rechte Seiten, die als Funktion von OdeResult gegeben sind. Pro
+	 * Auswertung wird ein OdeResult erzeugt, fuer lange Integrationen sollte
+	 * {@link RightHandSide} verwendet werden.
+	 * 
+	 * @param odeFunction rechte Seite der DGL.
+	 */
+	AbstractOdeCalculator(final Function<OdeResult, Double> odeFunction) {
+		this((y, x) -> odeFunction.apply(new OdeResultImpl(y, x)));
 	}
 
 	AbstractOdeCalculator(final OdeFunctionUtil odeStringUtil, final String function) {
-		//private final OdeFunctionUtil odeStringUtil = new OdeFunctionUtil();
-		final Invocable invocable = odeStringUtil.prepareFunction(function);
-		this.odeFunction = firstOrderOdeFunction -> (Double) odeStringUtil.invokeFunction(invocable,
-				firstOrderOdeFunction.yDerivatives(), firstOrderOdeFunction.x());
+		this(odeStringUtil.rightHandSide(odeStringUtil.prepareFunction(function)));
+	}
+
+	private static VectorRightHandSide firstOrderSystem(final RightHandSide rightHandSide) {
+		return (y, x, dy) -> {
+			final int last = y.length - 1;
+			for (int j = 0; j < last; j++) {
+				dy[j] = y[j + 1];
+			}
+			dy[last] = rightHandSide.apply(y, x);
+		};
 	}
 
 	@Override
 	public final double[] calculate(final OdeResult last, final double stepSize) {
-		if (!calculators.containsKey(last.order())) {
-			throw new IllegalArgumentException(
-					String.format("Ode has wrong order: %s. Only first and second order odes supported", last.order()));
+		orderGuard(last.order());
+		final double[] result = new double[last.order()];
+		calculate(last.yDerivatives(), last.x(), stepSize, result);
+		return result;
+	}
+
+	@Override
+	public final void calculate(final double[] y, final double x, final double stepSize, final double[] result) {
+		orderGuard(y.length);
+		if (result.length != y.length) {
+			throw new IllegalArgumentException(String.format("Result must have size %d.", y.length));
 		}
-		return calculators.get(last.order()).apply(last, stepSize);
+		step(y, x, stepSize, result);
 	}
-	
+
+	private void orderGuard(final int order) {
+		if (order < 1) {
+			throw new IllegalArgumentException(String.format("Ode has wrong order: %s. Order must be > 0.", order));
+		}
+	}
+
 	@Override
 	public final double errorEstimaion(final double y, final double y2h) {
 		return (y - y2h) * quality();
 
 	}
-	
 
-	
-	abstract double quality(); 
-	abstract double[] calculateFirstOrderOde(final OdeResult last, final double stepSize);
-	abstract double[] calculateSecondOrderOde(final OdeResult last, final double stepSize);
+	@Override
+	public final Optional<VectorRightHandSide> firstOrderSystem() {
+		return Optional.of(system);
+	}
+
+	@Override
+	public final void bind() {
+		EngineBinding.bind(function);
+	}
+
+	@Override
+	public final void release() {
+		EngineBinding.release(function);
+	}
+
+	@Override
+	public boolean isEmbedded() {
+		return false;
+	}
+
+	@Override
+	public double errorEstimaion(final int n) {
+		throw new UnsupportedOperationException("Method has no embedded error estimation.");
+	}
+
+	abstract double quality();
+
+	abstract void step(final double[] y, final double x, final double stepSize, final double[] result);
 
 }
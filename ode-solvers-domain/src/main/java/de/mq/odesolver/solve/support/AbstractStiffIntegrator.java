@@ -0,0 +1,311 @@
+package de.mq.odesolver.solve.support;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.ode.AbstractIntegrator;
+import org.apache.commons.math3.ode.ExpandableStatefulODE;
+
+import de.mq.odesolver.solve.SolverStatistics;
+import de.mq.odesolver.support.VectorRightHandSide;
+
+/**
+ * Basis der impliziten Verfahren fuer steife Systeme. Die Verfahren sind
+ * {@link org.apache.commons.math3.ode.FirstOrderIntegrator}, sie werden wie die
+ * Integratoren aus commons-math mit StepHandlern verwendet. Die Schritte werden
+ * mit {@link HermiteStepInterpolator} interpoliert.
+ *
+ * Der Fehler wird komponentenweise mit absoluteTolerance + relativeTolerance *
+ * |y| gewichtet, ein Schritt wird akzeptiert, wenn die Maximumnorm des
+ * gewichteten Fehlers hoechstens 1 ist.
+ *
+ * Pro Integration wird eine {@link NumericalJacobian} verwendet. Der Aufwand
+ * (Auswertungen, Jacobi-Matrizen, LU-Zerlegungen) ist nach der Integration mit
+ * {@link #statistics()} abfragbar.
+ *
+ * @author mq
+ *
+ */
+abstract class AbstractStiffIntegrator extends AbstractIntegrator {
+
+	static final double SAFETY_FACTOR = StepSizeControlImpl.DEFAULT_SAFETY_FACTOR;
+	static final double MIN_FACTOR = StepSizeControlImpl.DEFAULT_MIN_FACTOR;
+	static final double MAX_FACTOR = StepSizeControlImpl.DEFAULT_MAX_FACTOR;
+
+	// Der letzte Schritt wird bis zu diesem Faktor verlaengert, damit kein sehr
+	// kleiner Reststep entsteht.
+	private static final double STRETCH_FACTOR = 1.1;
+
+	final double minStep;
+	final double maxStep;
+	final double absoluteTolerance;
+	final double relativeTolerance;
+
+	private NumericalJacobian numericalJacobian;
+
+	private int factorizations;
+
+	AbstractStiffIntegrator(final String name, final double minStep, final double maxStep, final double absoluteTolerance, final double relativeTolerance) {
+		super(name);
+		isTrue(minStep >= 0 && maxStep > minStep, "Steps must be 0 <= minStep < maxStep.");
+		isTrue(absoluteTolerance > 0 && relativeTolerance > 0, "Tolerances must be > 0.");
+		this.minStep = minStep;
+		this.maxStep = maxStep;
+		this.absoluteTolerance = absoluteTolerance;
+		this.relativeTolerance = relativeTolerance;
+	}
+
+	@Override
+	public final void integrate(final ExpandableStatefulODE equations, final double t) {
+		sanityChecks(equations, t);
+		setEquations(equations);
+		final boolean forward = t > equations.getTime();
+		final double[] y0 = equations.getCompleteState();
+		final double[] y = y0.clone();
+		final HermiteStepInterpolator interpolator = new HermiteStepInterpolator(y, forward, equations.getPrimaryMapper(), equations.getSecondaryMappers());
+		interpolator.storeTime(equations.getTime());
+		stepStart = equations.getTime();
+		initIntegration(equations.getTime(), y0, t);
+		isLastStep = false;
+		numericalJacobian = new NumericalJacobian(rightHandSide(), threshold());
+		factorizations = 0;
+
+		integrateSteps(y, t, forward, interpolator);
+
+		equations.setTime(stepStart);
+		equations.setCompleteState(y);
+		stepStart = Double.NaN;
+		stepSize = Double.NaN;
+	}
+
+	/**
+	 * Integriert von stepStart bis t. Jeder akzeptierte Schritt wird mit
+	 * {@link #accept(HermiteStepInterpolator, double[], double[], double[], double[], double, double)}
+	 * an die StepHandler uebergeben.
+	 *
+	 * @param y            Zustand am Anfang, am Ende der Zustand an der Stelle t.
+	 * @param t            Ende des Intervalls.
+	 * @param forward      Richtung der Integration.
+	 * @param interpolator Interpolator, dessen Zustand y ist.
+	 */
+	abstract void integrateSteps(final double[] y, final double t, final boolean forward, final HermiteStepInterpolator interpolator);
+
+	/**
+	 * Rechte Seite, die die Auswertungen des Integrators zaehlt und begrenzt.
+	 *
+	 * @return rechte Seite des Systems.
+	 */
+	final VectorRightHandSide rightHandSide() {
+		return (y, x, dy) -> computeDerivatives(x, y, dy);
+	}
+
+	/**
+	 * Jacobi-Matrix der laufenden Integration.
+	 *
+	 * @return Jacobi-Matrix, deren Auswertungen mitgezaehlt werden.
+	 */
+	final NumericalJacobian numericalJacobian() {
+		return numericalJacobian;
+	}
+
+	/**
+	 * Auswertungen der rechten Seite fuer Jacobi-Matrizen und Zeitableitungen
+	 * der letzten Integration. Sie sind in {@link #getEvaluations()} enthalten.
+	 *
+	 * @return Anzahl der Auswertungen.
+	 */
+	public final int getJacobianEvaluations() {
+		return numericalJacobian == null ? 0 : numericalJacobian.evaluations();
+	}
+
+	/**
+	 * Anzahl der berechneten Jacobi-Matrizen der letzten Integration.
+	 *
+	 * @return Anzahl der Jacobi-Matrizen.
+	 */
+	public final int getJacobianUpdates() {
+		return numericalJacobian == null ? 0 : numericalJacobian.updates();
+	}
+
+	/**
+	 * Anzahl der LU-Zerlegungen der letzten Integration.
+	 *
+	 * @return Anzahl der Zerlegungen.
+	 */
+	public final int getFactorizations() {
+		return factorizations;
+	}
+
+	/**
+	 * Aufwand der letzten Integration.
+	 *
+	 * @return Kopie der Zaehler.
+	 */
+	final SolverStatistics statistics() {
+		return new SolverStatisticsImpl(getEvaluations(), getJacobianEvaluations(), getJacobianUpdates(), numericalJacobian == null ? 0 : numericalJacobian.structures(),
+				factorizations);
+	}
+
+	/**
+	 * Zerlegt die Iterationsmatrix und zaehlt die Zerlegungen.
+	 *
+	 * @param lu     Zerlegung.
+	 * @param matrix Iterationsmatrix.
+	 * @return false, wenn die Matrix (numerisch) singulaer ist.
+	 */
+	final boolean decompose(final LuDecomposition lu, final double[][] matrix) {
+		factorizations++;
+		return lu.decompose(matrix);
+	}
+
+	/**
+	 * Groessenordnung, unterhalb der Komponenten als 0 betrachtet werden.
+	 *
+	 * @return absoluteTolerance / relativeTolerance.
+	 */
+	final double threshold() {
+		return absoluteTolerance / relativeTolerance;
+	}
+
+	/**
+	 * Gewichtete Maximumnorm.
+	 *
+	 * @param vector zu messender Vektor.
+	 * @param y0     Zustand am Anfang des Schrittes.
+	 * @param y1     Zustand am Ende des Schrittes.
+	 * @return max |vector[i]| / (absoluteTolerance + relativeTolerance *
+	 *         max(|y0[i]|, |y1[i]|)).
+	 */
+	final double norm(final double[] vector, final double[] y0, final double[] y1) {
+		double norm = 0;
+		for (int i = 0; i < vector.length; i++) {
+			final double weight = absoluteTolerance + relativeTolerance * Math.max(Math.abs(y0[i]), Math.abs(y1[i]));
+			norm = Math.max(norm, Math.abs(vector[i]) / weight);
+		}
+		return norm;
+	}
+
+	/**
+	 * Startschrittweite nach Hairer, Noersett, Wanner mit einem expliziten
+	 * Euler-Schritt zur Abschaetzung der 2. Ableitung.
+	 *
+	 * @param forward Richtung der Integration.
+	 * @param order   Ordnung des Startverfahrens.
+	 * @param t0      Beginn.
+	 * @param y0      Anfangswert.
+	 * @param yDot0   rechte Seite am Anfang.
+	 * @param t       Ende des Intervalls.
+	 * @return Schrittweite mit Vorzeichen.
+	 */
+	final double initialStep(final boolean forward, final int order, final double t0, final double[] y0, final double[] yDot0, final double t) {
+		final double interval = Math.abs(t - t0);
+		final double yNorm = norm(y0, y0, y0);
+		final double yDotNorm = norm(yDot0, y0, y0);
+		double h0 = (yNorm < 1e-5 || yDotNorm < 1e-5) ? 1e-6 : 0.01 * yNorm / yDotNorm;
+		h0 = Math.min(Math.min(h0, maxStep), interval);
+		final double signedH0 = forward ? h0 : -h0;
+
+		final double[] y1 = new double[y0.length];
+		for (int i = 0; i < y0.length; i++) {
+			y1[i] = y0[i] + signedH0 * yDot0[i];
+		}
+		final double[] yDot1 = new double[y0.length];
+		computeDerivatives(t0 + signedH0, y1, yDot1);
+		for (int i = 0; i < y0.length; i++) {
+			yDot1[i] = yDot1[i] - yDot0[i];
+		}
+		final double secondDerivativeNorm = norm(yDot1, y0, y0) / h0;
+		final double maxNorm = Math.max(yDotNorm, secondDerivativeNorm);
+		final double h1 = maxNorm <= 1e-15 ? Math.max(1e-6, h0 * 1e-3) : Math.pow(0.01 / maxNorm, 1d / (order + 1));
+		final double h = Math.max(minStep, Math.min(Math.min(100 * h0, h1), Math.min(maxStep, interval)));
+		return forward ? h : -h;
+	}
+
+	/**
+	 * Schrittweite fuer den naechsten Schritt: begrenzt durch maxStep und so
+	 * gewaehlt, dass t genau getroffen wird.
+	 *
+	 * @param h Schrittweite mit Vorzeichen.
+	 * @param t Ende des Intervalls.
+	 * @return Schrittweite mit Vorzeichen.
+	 */
+	final double filterStep(final double h, final double t) {
+		final double remaining = t - stepStart;
+		final double step = Math.min(Math.abs(h), maxStep);
+		if (STRETCH_FACTOR * step >= Math.abs(remaining)) {
+			return remaining;
+		}
+		return Math.copySign(step, h);
+	}
+
+	/**
+	 * Prueft, dass die Schrittweite nicht kleiner als minStep ist.
+	 *
+	 * @param h Schrittweite mit Vorzeichen.
+	 * @param t Ende des Intervalls.
+	 */
+	final void minStepGuard(final double h, final double t) {
+		if (Math.abs(h) < minStep && Math.abs(h) < Math.abs(t - stepStart)) {
+			throw new NumberIsTooSmallException(LocalizedFormats.MINIMAL_STEPSIZE_REACHED_DURING_INTEGRATION, Math.abs(h), minStep, true);
+		}
+	}
+
+	/**
+	 * Faktor, um den die Schrittweite nach einem verworfenen Schritt verkleinert
+	 * wird.
+	 *
+	 * @param error    gewichteter Fehler &gt; 1, NaN, wenn die rechte Seite nicht
+	 *                 ausgewertet werden konnte.
+	 * @param exponent 1 / (Ordnung der Fehlerabschaetzung).
+	 * @return Faktor in [MIN_FACTOR, 1).
+	 */
+	final double reductionFactor(final double error, final double exponent) {
+		if (Double.isNaN(error)) {
+			return MIN_FACTOR;
+		}
+		return Math.max(MIN_FACTOR, SAFETY_FACTOR * Math.pow(error, -exponent));
+	}
+
+	/**
+	 * Faktor fuer die Schrittweite nach einem akzeptierten Schritt.
+	 *
+	 * @param error    gewichteter Fehler &lt;= 1.
+	 * @param exponent 1 / (Ordnung der Fehlerabschaetzung).
+	 * @return Faktor in (0, MAX_FACTOR].
+	 */
+	final double growthFactor(final double error, final double exponent) {
+		if (error == 0) {
+			return MAX_FACTOR;
+		}
+		return Math.min(MAX_FACTOR, SAFETY_FACTOR * Math.pow(error, -exponent));
+	}
+
+	/**
+	 * Uebernimmt einen akzeptierten Schritt: y wird ueberschrieben, die
+	 * StepHandler werden aufgerufen.
+	 *
+	 * @param interpolator Interpolator, dessen Zustand y ist.
+	 * @param y            Zustand am Anfang, danach am Ende des Schrittes.
+	 * @param yDot         Ableitung am Anfang, danach am Ende des Schrittes.
+	 * @param yNew         Zustand am Ende des Schrittes.
+	 * @param yDotNew      Ableitung am Ende des Schrittes.
+	 * @param h            Schrittweite mit Vorzeichen.
+	 * @param t            Ende des Intervalls.
+	 */
+	final void accept(final HermiteStepInterpolator interpolator, final double[] y, final double[] yDot, final double[] yNew, final double[] yDotNew, final double h,
+			final double t) {
+		interpolator.shift();
+		interpolator.store(y, yDot, yDotNew);
+		System.arraycopy(yNew, 0, y, 0, y.length);
+		System.arraycopy(yDotNew, 0, yDot, 0, yDot.length);
+		stepSize = h;
+		interpolator.storeTime(h == t - stepStart ? t : stepStart + h);
+		stepStart = acceptStep(interpolator, y, yDot, t);
+		if (resetOccurred) {
+			// Ein Event hat den Zustand veraendert.
+			computeDerivatives(stepStart, y, yDot);
+		}
+	}
+
+}
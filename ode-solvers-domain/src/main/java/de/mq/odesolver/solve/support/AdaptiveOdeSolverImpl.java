@@ -0,0 +1,219 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.List;
+
+import de.mq.odesolver.solve.OdeEvent;
+import de.mq.odesolver.solve.OdeEventResult;
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeResultCalculator;
+import de.mq.odesolver.solve.OdeSolver;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.solve.StepSink;
+import de.mq.odesolver.solve.StepSizeControl;
+import de.mq.odesolver.support.EngineBinding;
+
+/**
+ * Einschrittverfahren mit Schrittweitensteuerung. Der lokale Fehler eines
+ * Schrittes H wird mit Schrittweitenverdopplung (2 Schritte H/2 gegen einen
+ * Schritt H vom selben Startpunkt) und der Fehlerabschaetzung des
+ * {@link OdeResultCalculator} bestimmt. Die neue Schrittweite ergibt sich aus
+ * H * safetyFactor * (1/Fehler)^(1/(p+1)), begrenzt durch minFactor und
+ * maxFactor, p ist die Ordnung des Verfahrens. Eingebettete Verfahren liefern
+ * den Fehler mit dem Schritt, der Exponent ist dann 1/p (Fehlerabschaetzung
+ * der Ordnung p-1).
+ * 
+ * Die Anzahl der Schritte des Aufrufs bestimmt nur die Startschrittweite und
+ * gegebenenfalls das Gitter, auf das die Ergebnisse abgebildet werden. Die
+ * Schritte werden dafuer nicht verkuerzt, die Gitterpunkte werden wie bei
+ * einem {@link OutputGrid} von {@link OutputGridSink} interpoliert.
+ * 
+ * @author mq
+ *
+ */
+class AdaptiveOdeSolverImpl implements OdeSolver {
+
+	private final OdeResultCalculator odeResultCalculator;
+
+	private final int order;
+
+	private final StepSizeControl stepSizeControl;
+
+	private final double exponent;
+
+	AdaptiveOdeSolverImpl(final OdeResultCalculator odeResultCalculator, final int order, final StepSizeControl stepSizeControl) {
+		if (order < 1) {
+			throw new IllegalArgumentException("Order must be > 0.");
+		}
+		if (stepSizeControl == null) {
+			throw new IllegalArgumentException("StepSizeControl is mandatory.");
+		}
+		this.odeResultCalculator = odeResultCalculator;
+		this.order = order;
+		this.stepSizeControl = stepSizeControl;
+		this.exponent = odeResultCalculator.isEmbedded() ? 1d / order : 1d / (order + 1);
+	}
+
+	@Override
+	public final List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps) {
+		intervalGuard(start, stop, steps);
+		final OdeResultTableImpl results = new OdeResultTableImpl(y0.length, steps + 1);
+		// Die Ableitungen fuer die dichte Ausgabe werden mit derselben Engine
+		// berechnet wie die Schritte.
+		EngineBinding.bind(odeResultCalculator);
+		try {
+			solve(y0, start, stop, steps, results::append);
+			odeResultCalculator.firstOrderSystem().ifPresent(results::denseOutput);
+		} finally {
+			EngineBinding.release(odeResultCalculator);
+		}
+		return results;
+	}
+
+	@Override
+	public final List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps, final OutputGrid outputGrid) {
+		return solve(y0, start, stop, steps, outputGrid, OutputGridSink.NO_MONITOR);
+	}
+
+	@Override
+	public final List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps, final OutputGrid outputGrid, final StepSink monitor) {
+		EngineBinding.bind(odeResultCalculator);
+		try {
+			return OutputGridSink.solve(this, odeResultCalculator.firstOrderSystem(), y0, start, stop, steps, outputGrid, monitor);
+		} finally {
+			EngineBinding.release(odeResultCalculator);
+		}
+	}
+
+	@Override
+	public final List<OdeEventResult> solve(final double[] y0, final double start, final double stop, final int steps, final List<OdeEvent> events,
+			final StepSink stepSink) {
+		final EventSink eventSink = new EventSink(events, odeResultCalculator.firstOrderSystem(), stepSink);
+		eventSink.bind();
+		try {
+			solve(y0, start, stop, steps, eventSink);
+		} finally {
+			eventSink.release();
+		}
+		return eventSink.results();
+	}
+
+	@Override
+	public final void solve(final double[] y0, final double start, final double stop, final int steps, final StepSink stepSink) {
+		intervalGuard(start, stop, steps);
+		final OutputGridSink outputGridSink = stepSizeControl.resample() ? resampled(start, stop, steps, stepSink) : null;
+		final StepSink sink = outputGridSink != null ? outputGridSink : stepSink;
+		sink.accept(y0, start, 0);
+		// Script-Funktionen bleiben fuer die ganze Integration an eine Engine
+		// gebunden, auch die Interpolation der Gitterpunkte verwendet sie.
+		EngineBinding.bind(odeResultCalculator);
+		try {
+			integrate(y0, start, stop, steps, sink);
+			if (outputGridSink != null) {
+				outputGridSink.finish();
+			}
+		} finally {
+			EngineBinding.release(odeResultCalculator);
+		}
+	}
+
+	/**
+	 * Die aequidistanten Gitterpunkte werden zwischen den Schritten interpoliert,
+	 * kubisch nach Hermite, wenn die rechte Seite des Systems 1. Ordnung bekannt
+	 * ist. Die Schritte gehen an stepSink nur als Monitor fuer den Abbruch.
+	 */
+	private OutputGridSink resampled(final double start, final double stop, final int steps, final StepSink stepSink) {
+		final StepSink monitor = new StepSink() {
+			@Override
+			public void accept(final double[] y, final double x, final double errorEstimation) {
+			}
+
+			@Override
+			public boolean isTerminated() {
+				return stepSink.isTerminated();
+			}
+		};
+		return new OutputGridSink(OutputGrid.uniform(steps + 1), start, stop, steps, odeResultCalculator.firstOrderSystem(), monitor, stepSink);
+	}
+
+	private void integrate(final double[] y0, final double start, final double stop, final int steps, final StepSink stepSink) {
+
+		final double[] middle = new double[y0.length];
+		final double[] y2h = new double[y0.length];
+		double[] last = y0.clone();
+		double[] y = new double[y0.length];
+		double x = start;
+		double stepSize = (stop - start) / steps;
+		int count = 0;
+		while (x < stop && !stepSink.isTerminated()) {
+			final boolean hitsStop = stepSize >= stop - x;
+			final double h = hitsStop ? stop - x : stepSize;
+			if (++count > stepSizeControl.maxSteps()) {
+				throw new IllegalStateException(String.format("Maximum number of steps exceeded: %d, x=%s.", stepSizeControl.maxSteps(), x));
+			}
+			if (h <= 16 * Math.ulp(x)) {
+				throw new IllegalStateException(String.format("Step size too small at x=%s.", x));
+			}
+
+			final double error = odeResultCalculator.isEmbedded() ? embeddedStep(last, x, h, y) : doubledStep(last, x, h, y, middle, y2h);
+
+			final boolean accepted = error <= 1;
+			final double factor = factor(error);
+			if (accepted) {
+				x = hitsStop ? stop : x + h;
+				stepSink.accept(y, x, odeResultCalculator.isEmbedded() ? odeResultCalculator.errorEstimaion(0) : odeResultCalculator.errorEstimaion(y[0], y2h[0]));
+				final double[] swap = last;
+				last = y;
+				y = swap;
+				stepSize = h * factor;
+			} else {
+				stepSize = h * Math.min(factor, 1);
+			}
+		}
+	}
+
+	private void intervalGuard(final double start, final double stop, final int steps) {
+		if (!(start < stop)) {
+			throw new IllegalArgumentException("Start must be before stop.");
+		}
+		if (steps < 1) {
+			throw new IllegalArgumentException("Steps must be > 0.");
+		}
+	}
+
+	private double doubledStep(final double[] last, final double x, final double h, final double[] y, final double[] middle, final double[] y2h) {
+		odeResultCalculator.calculate(last, x, h / 2, middle);
+		odeResultCalculator.calculate(middle, x + h / 2, h / 2, y);
+		odeResultCalculator.calculate(last, x, h, y2h);
+		double error = 0;
+		for (int i = 0; i < y.length; i++) {
+			error = Math.max(error, scaledError(odeResultCalculator.errorEstimaion(y[i], y2h[i]), last[i], y[i]));
+		}
+		return error;
+	}
+
+	private double embeddedStep(final double[] last, final double x, final double h, final double[] y) {
+		odeResultCalculator.calculate(last, x, h, y);
+		double error = 0;
+		for (int i = 0; i < y.length; i++) {
+			error = Math.max(error, scaledError(odeResultCalculator.errorEstimaion(i), last[i], y[i]));
+		}
+		return error;
+	}
+
+	private double scaledError(final double errorEstimation, final double last, final double y) {
+		if (errorEstimation == 0) {
+			return 0;
+		}
+		final double error = Math.abs(errorEstimation) / (stepSizeControl.absoluteTolerance() + stepSizeControl.relativeTolerance() * Math.max(Math.abs(last), Math.abs(y)));
+		return Double.isNaN(error) ? Double.POSITIVE_INFINITY : error;
+	}
+
+	private double factor(final double error) {
+		if (error == 0) {
+			return stepSizeControl.maxFactor();
+		}
+		final double factor = stepSizeControl.safetyFactor() * Math.pow(1 / error, exponent);
+		return Math.min(stepSizeControl.maxFactor(), Math.max(stepSizeControl.minFactor(), factor));
+	}
+
+}
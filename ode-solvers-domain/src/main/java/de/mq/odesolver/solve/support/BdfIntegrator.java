@@ -0,0 +1,386 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.Arrays;
+
+/**
+ * BDF-Verfahren (Backward Differentiation Formulas) variabler Ordnung 1 bis 5
+ * und variabler Schrittweite in der Darstellung mit rueckwaertigen Differenzen
+ * nach Shampine und Reichelt (ode15s ohne NDF-Korrektur). Die impliziten
+ * Gleichungen werden mit einem vereinfachten Newton-Verfahren geloest. Die
+ * LU-Zerlegung von I - h/G(k) J wird wiederverwendet, solange sich Schrittweite
+ * und Ordnung nicht aendern, die Jacobi-Matrix, bis das Newton-Verfahren nicht
+ * mehr konvergiert. Schrittweite und Ordnung werden erst nach k + 2 Schritten
+ * mit unveraenderter Schrittweite vergroessert.
+ *
+ * Bei einer Aenderung der Schrittweite um den Faktor r werden die Differenzen
+ * mit der Matrix R(r) U umgerechnet, U ist zu sich selbst invers.
+ *
+ * @author mq
+ *
+ */
+class BdfIntegrator extends AbstractStiffIntegrator {
+
+	static final String NAME = "BDF 1-5";
+
+	static final int MAX_ORDER = 5;
+
+	private static final int MAX_NEWTON_ITERATIONS = 4;
+
+	// G(k) = 1 + 1/2 + ... + 1/k
+	private static final double[] G = { 0, 1, 3d / 2, 11d / 6, 25d / 12, 137d / 60, 49d / 20 };
+
+	private static final double[][] U = differenceMatrix();
+
+	BdfIntegrator(final double minStep, final double maxStep, final double absoluteTolerance, final double relativeTolerance) {
+		super(NAME, minStep, maxStep, absoluteTolerance, relativeTolerance);
+	}
+
+	/**
+	 * U(r, c) = (-1)^r (c ueber r), r, c = 1 ... MAX_ORDER.
+	 */
+	private static double[][] differenceMatrix() {
+		final double[][] u = new double[MAX_ORDER][MAX_ORDER];
+		for (int c = 1; c <= MAX_ORDER; c++) {
+			double binomial = 1;
+			for (int r = 1; r <= c; r++) {
+				binomial = binomial * (c - r + 1) / r;
+				u[r - 1][c - 1] = (r % 2 == 0 ? 1 : -1) * binomial;
+			}
+		}
+		return u;
+	}
+
+	@Override
+	final void integrateSteps(final double[] y, final double t, final boolean forward, final HermiteStepInterpolator interpolator) {
+		new Steps(y.length).integrate(y, t, forward, interpolator);
+	}
+
+	/**
+	 * Zustand einer Integration: Differenzen, Jacobi-Matrix, LU-Zerlegung und die
+	 * Arbeitsvektoren.
+	 */
+	private class Steps {
+
+		private final int n;
+		private final LuDecomposition lu = new LuDecomposition();
+		private final double[][] iterationMatrix;
+		private final double[][] dif;
+		private final double[][] difCopy;
+		private final double[][] r = new double[MAX_ORDER][MAX_ORDER];
+		private final double[][] rescale = new double[MAX_ORDER][MAX_ORDER];
+		private final double[] yDot;
+		private final double[] yDotNew;
+		private final double[] yNew;
+		private final double[] psi;
+		private final double[] difkp1;
+		private final double[] rhs;
+		private final double[] delta;
+		private final double[] f;
+
+		private int k = 1;
+		private double h;
+		private boolean iterationMatrixCurrent = false;
+		private double rate;
+		private boolean haveRate = false;
+		private int stepsWithConstantStepSize = 0;
+
+		private Steps(final int n) {
+			this.n = n;
+			iterationMatrix = new double[n][n];
+			dif = new double[MAX_ORDER + 2][n];
+			difCopy = new double[MAX_ORDER][n];
+			yDot = new double[n];
+			yDotNew = new double[n];
+			yNew = new double[n];
+			psi = new double[n];
+			difkp1 = new double[n];
+			rhs = new double[n];
+			delta = new double[n];
+			f = new double[n];
+		}
+
+		private void integrate(final double[] y, final double t, final boolean forward, final HermiteStepInterpolator interpolator) {
+			computeDerivatives(stepStart, y, yDot);
+			start(y, initialStep(forward, 1, stepStart, y, yDot, t));
+			updateJacobian(y);
+			while (!isLastStep) {
+				final double error = step(y, t);
+				derivative(yDotNew);
+				accept(interpolator, y, yDot, yNew, yDotNew, h, t);
+				if (resetOccurred) {
+					start(y, h);
+					continue;
+				}
+				stepsWithConstantStepSize++;
+				adaptOrderAndStepSize(y, error);
+			}
+		}
+
+		/**
+		 * Neustart mit Ordnung 1, die 1. Differenz ist h y'.
+		 */
+		private void start(final double[] y, final double stepSize) {
+			h = stepSize;
+			k = 1;
+			for (final double[] difference : dif) {
+				Arrays.fill(difference, 0);
+			}
+			for (int i = 0; i < n; i++) {
+				dif[0][i] = h * yDot[i];
+			}
+			iterationMatrixCurrent = false;
+			stepsWithConstantStepSize = 0;
+		}
+
+		/**
+		 * Berechnet einen akzeptierten Schritt nach yNew, die Differenzen werden
+		 * aktualisiert.
+		 *
+		 * @return gewichteter Fehler des Schrittes.
+		 */
+		private double step(final double[] y, final double t) {
+			int failures = 0;
+			while (true) {
+				changeStepSize(filterStep(h, t));
+				minStepGuard(h, t);
+				if (!newton(y)) {
+					if (!numericalJacobian().isCurrent()) {
+						updateJacobian(y);
+					} else {
+						numericalJacobian().reject();
+						changeStepSize(h * 0.3);
+					}
+					continue;
+				}
+				final double error = norm(difkp1, y, yNew) / (k + 1);
+				if (error <= 1) {
+					updateDifferences();
+					numericalJacobian().markStale();
+					return error;
+				}
+				failures++;
+				numericalJacobian().reject();
+				if (failures == 1) {
+					double factor = reductionFactor(error, 1d / (k + 1));
+					if (k > 1) {
+						for (int i = 0; i < n; i++) {
+							rhs[i] = dif[k - 1][i] + difkp1[i];
+						}
+						final double lowerOrderFactor = reductionFactor(norm(rhs, y, yNew) / k, 1d / k);
+						if (lowerOrderFactor > factor) {
+							factor = Math.min(1, lowerOrderFactor);
+							k--;
+							iterationMatrixCurrent = false;
+						}
+					}
+					changeStepSize(h * factor);
+				} else if (failures == 2) {
+					changeStepSize(h * 0.5);
+				} else {
+					k = 1;
+					iterationMatrixCurrent = false;
+					changeStepSize(h * 0.5);
+				}
+			}
+		}
+
+		/**
+		 * Vereinfachtes Newton-Verfahren fuer yNew ausgehend von der Praediktion.
+		 *
+		 * @return false, wenn das Verfahren nicht (schnell genug) konvergiert.
+		 */
+		private boolean newton(final double[] y) {
+			if (!iterationMatrixCurrent && !updateIterationMatrix()) {
+				return false;
+			}
+			final double hInvGk = h / G[k];
+			final double[][] jacobian = numericalJacobian().jacobian();
+			final double x = stepStart + h;
+			for (int i = 0; i < n; i++) {
+				double prediction = y[i];
+				double sum = 0;
+				for (int j = 0; j < k; j++) {
+					prediction += dif[j][i];
+					sum += G[j + 1] * dif[j][i];
+				}
+				yNew[i] = prediction;
+				psi[i] = sum / G[k];
+				difkp1[i] = 0;
+			}
+			final double minNorm = 100 * Math.ulp(1d) * norm(yNew, y, yNew);
+			double oldNorm = 0;
+			for (int iteration = 1; iteration <= MAX_NEWTON_ITERATIONS; iteration++) {
+				computeDerivatives(x, yNew, f);
+				for (int i = 0; i < n; i++) {
+					rhs[i] = hInvGk * f[i] - (psi[i] + difkp1[i]);
+				}
+				lu.solve(rhs, delta);
+				final double newNorm = norm(delta, y, yNew);
+				for (int i = 0; i < n; i++) {
+					difkp1[i] += delta[i];
+					yNew[i] += delta[i];
+				}
+				if (Double.isNaN(newNorm)) {
+					return false;
+				}
+				if (newNorm <= minNorm) {
+					return true;
+				}
+				if (iteration == 1) {
+					if (haveRate && newNorm * rate / (1 - rate) <= 0.05) {
+						return true;
+					}
+					if (!haveRate) {
+						rate = 0;
+					}
+				} else if (newNorm > 0.9 * oldNorm) {
+					return false;
+				} else {
+					rate = Math.max(0.9 * rate, newNorm / oldNorm);
+					haveRate = true;
+					final double iterationError = newNorm * rate / (1 - rate);
+					if (iterationError <= 0.5) {
+						return true;
+					}
+					if (iteration == MAX_NEWTON_ITERATIONS || 0.5 < iterationError * Math.pow(rate, MAX_NEWTON_ITERATIONS - iteration)) {
+						return false;
+					}
+				}
+				oldNorm = newNorm;
+			}
+			return false;
+		}
+
+		private void updateJacobian(final double[] y) {
+			computeDerivatives(stepStart, y, f);
+			numericalJacobian().update(y, stepStart, f);
+			iterationMatrixCurrent = false;
+		}
+
+		private boolean updateIterationMatrix() {
+			final double hInvGk = h / G[k];
+			final double[][] jacobian = numericalJacobian().jacobian();
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					iterationMatrix[i][j] = (i == j ? 1 : 0) - hInvGk * jacobian[i][j];
+				}
+			}
+			iterationMatrixCurrent = decompose(lu, iterationMatrix);
+			haveRate = false;
+			return iterationMatrixCurrent;
+		}
+
+		/**
+		 * Danach ist dif[j] die (j+1)-te rueckwaertige Differenz von yNew, j = 0 ... k+1.
+		 */
+		private void updateDifferences() {
+			for (int i = 0; i < n; i++) {
+				dif[k + 1][i] = difkp1[i] - dif[k][i];
+				dif[k][i] = difkp1[i];
+			}
+			for (int j = k - 1; j >= 0; j--) {
+				for (int i = 0; i < n; i++) {
+					dif[j][i] += dif[j + 1][i];
+				}
+			}
+		}
+
+		/**
+		 * Ableitung am Ende des Schrittes aus den Differenzen: h y' = sum 1/j
+		 * Differenz j, j = 1 ... k. Das ist die BDF-Gleichung, die Ableitung ist
+		 * bis auf die Toleranz des Newton-Verfahrens f(x, yNew).
+		 */
+		private void derivative(final double[] result) {
+			for (int i = 0; i < n; i++) {
+				double sum = 0;
+				for (int j = 0; j < k; j++) {
+					sum += dif[j][i] / (j + 1);
+				}
+				result[i] = sum / h;
+			}
+		}
+
+		private void adaptOrderAndStepSize(final double[] y, final double error) {
+			if (stepsWithConstantStepSize < k + 2) {
+				return;
+			}
+			double bestStepSize = Math.abs(h) * growth(error, k);
+			int bestOrder = k;
+			if (k > 1) {
+				final double lowerOrderStepSize = Math.abs(h) * growth(norm(dif[k - 1], y, y) / k, k - 1);
+				if (lowerOrderStepSize > bestStepSize) {
+					bestStepSize = Math.min(Math.abs(h), lowerOrderStepSize);
+					bestOrder = k - 1;
+				}
+			}
+			if (k < MAX_ORDER) {
+				final double higherOrderStepSize = Math.abs(h) * growth(norm(dif[k + 1], y, y) / (k + 2), k + 1);
+				if (higherOrderStepSize > bestStepSize) {
+					bestStepSize = higherOrderStepSize;
+					bestOrder = k + 1;
+				}
+			}
+			if (bestStepSize > Math.abs(h)) {
+				if (bestOrder != k) {
+					k = bestOrder;
+					iterationMatrixCurrent = false;
+				}
+				changeStepSize(Math.copySign(bestStepSize, h));
+			}
+		}
+
+		/**
+		 * Faktor fuer die Schrittweite bei Ordnung order, Fehlerabschaetzung der
+		 * Ordnung order + 1.
+		 */
+		private double growth(final double error, final int order) {
+			return growthFactor(error, 1d / (order + 1));
+		}
+
+		/**
+		 * Aendert die Schrittweite, die Differenzen werden auf die neue
+		 * Schrittweite umgerechnet.
+		 */
+		private void changeStepSize(final double newStepSize) {
+			if (newStepSize == h) {
+				return;
+			}
+			final double ratio = newStepSize / h;
+			// R(i, j) = prod(m = 1 ... i) (m - 1 - j ratio) / m
+			for (int j = 1; j <= k; j++) {
+				double product = 1;
+				for (int i = 1; i <= k; i++) {
+					product = product * (i - 1 - j * ratio) / i;
+					r[i - 1][j - 1] = product;
+				}
+			}
+			// RU = R U, U ist eine obere Dreiecksmatrix.
+			for (int i = 0; i < k; i++) {
+				for (int c = 0; c < k; c++) {
+					double sum = 0;
+					for (int m = 0; m <= c; m++) {
+						sum += r[i][m] * U[m][c];
+					}
+					rescale[i][c] = sum;
+				}
+			}
+			for (int j = 0; j < k; j++) {
+				System.arraycopy(dif[j], 0, difCopy[j], 0, n);
+			}
+			for (int c = 0; c < k; c++) {
+				for (int i = 0; i < n; i++) {
+					double sum = 0;
+					for (int m = 0; m < k; m++) {
+						sum += difCopy[m][i] * rescale[m][c];
+					}
+					dif[c][i] = sum;
+				}
+			}
+			h = newStepSize;
+			iterationMatrixCurrent = false;
+			stepsWithConstantStepSize = 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,30 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.function.Function;
+
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.support.OdeFunctionUtil;
+import de.mq.odesolver.support.RightHandSide;
+
+/**
+ * Eingebettetes Verfahren 3. Ordnung nach Bogacki-Shampine mit Fehlerabschaetzung
+ * 2. Ordnung (FSAL, 3 Auswertungen pro Schritt).
+ * 
+ * @author mq
+ *
+ */
+class BogackiShampineCalculatorImpl extends RungeKuttaCalculatorImpl {
+
+	BogackiShampineCalculatorImpl(final RightHandSide rightHandSide) {
+		super(ButcherTableau.BOGACKI_SHAMPINE_32, rightHandSide);
+	}
+
+	BogackiShampineCalculatorImpl(final Function<OdeResult, Double> odeFunction) {
+		super(ButcherTableau.BOGACKI_SHAMPINE_32, odeFunction);
+	}
+
+	BogackiShampineCalculatorImpl(final OdeFunctionUtil odeFunctionUtil, final String function) {
+		super(ButcherTableau.BOGACKI_SHAMPINE_32, odeFunctionUtil, function);
+	}
+
+}
@@ -0,0 +1,93 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.Arrays;
+
+/**
+ * Butcher-Tableau eines expliziten Runge-Kutta-Verfahrens, optional mit
+ * eingebettetem Verfahren niedrigerer Ordnung fuer die Fehlerabschaetzung. Neue
+ * Verfahren werden nur als Tableau definiert, siehe
+ * {@link RungeKuttaCalculatorImpl}.
+ * Gespeichert werden statt der Gewichte des eingebetteten Verfahrens direkt die
+ * Differenzen b - b^, damit der Fehler in derselben Schleife wie die Loesung
+ * berechnet werden kann.
+ * 
+ * Ist die letzte Zeile von a gleich b und c gleich 1, ist die letzte Stufe die
+ * erste des naechsten Schrittes (FSAL, first same as last).
+ * 
+ * @author mq
+ *
+ */
+class ButcherTableau {
+
+	static final ButcherTableau EULER = new ButcherTableau(1, new double[] { 0 }, new double[][] { {} }, new double[] { 1 });
+
+	static final ButcherTableau HEUN = new ButcherTableau(2, new double[] { 0, 1 }, new double[][] { {}, { 1 } }, new double[] { 1d / 2, 1d / 2 });
+
+	static final ButcherTableau RUNGE_KUTTA_4 = new ButcherTableau(4, new double[] { 0, 1d / 2, 1d / 2, 1 }, new double[][] { {}, { 1d / 2 }, { 0, 1d / 2 }, { 0, 0, 1 } },
+			new double[] { 1d / 6, 1d / 3, 1d / 3, 1d / 6 });
+
+	static final ButcherTableau RUNGE_KUTTA_38 = new ButcherTableau(4, new double[] { 0, 1d / 3, 2d / 3, 1 },
+			new double[][] { {}, { 1d / 3 }, { -1d / 3, 1 }, { 1, -1, 1 } }, new double[] { 1d / 8, 3d / 8, 3d / 8, 1d / 8 });
+
+	static final ButcherTableau BOGACKI_SHAMPINE_32 = new ButcherTableau(3, new double[] { 0, 1d / 2, 3d / 4, 1 },
+			new double[][] { {}, { 1d / 2 }, { 0, 3d / 4 }, { 2d / 9, 1d / 3, 4d / 9 } }, new double[] { 2d / 9, 1d / 3, 4d / 9, 0 },
+			new double[] { 7d / 24, 1d / 4, 1d / 3, 1d / 8 });
+
+	static final ButcherTableau CASH_KARP_54 = new ButcherTableau(5, new double[] { 0, 1d / 5, 3d / 10, 3d / 5, 1, 7d / 8 },
+			new double[][] { {}, { 1d / 5 }, { 3d / 40, 9d / 40 }, { 3d / 10, -9d / 10, 6d / 5 }, { -11d / 54, 5d / 2, -70d / 27, 35d / 27 },
+					{ 1631d / 55296, 175d / 512, 575d / 13824, 44275d / 110592, 253d / 4096 } },
+			new double[] { 37d / 378, 0, 250d / 621, 125d / 594, 0, 512d / 1771 },
+			new double[] { 2825d / 27648, 0, 18575d / 48384, 13525d / 55296, 277d / 14336, 1d / 4 });
+
+	static final ButcherTableau DORMAND_PRINCE_54 = new ButcherTableau(5, new double[] { 0, 1d / 5, 3d / 10, 4d / 5, 8d / 9, 1, 1 },
+			new double[][] { {}, { 1d / 5 }, { 3d / 40, 9d / 40 }, { 44d / 45, -56d / 15, 32d / 9 }, { 19372d / 6561, -25360d / 2187, 64448d / 6561, -212d / 729 },
+					{ 9017d / 3168, -355d / 33, 46732d / 5247, 49d / 176, -5103d / 18656 }, { 35d / 384, 0, 500d / 1113, 125d / 192, -2187d / 6784, 11d / 84 } },
+			new double[] { 35d / 384, 0, 500d / 1113, 125d / 192, -2187d / 6784, 11d / 84, 0 },
+			new double[] { 5179d / 57600, 0, 7571d / 16695, 393d / 640, -92097d / 339200, 187d / 2100, 1d / 40 });
+
+	final int order;
+	final double[] c;
+	final double[][] a;
+	final double[] b;
+	final double[] errorWeights;
+	final boolean fsal;
+	final boolean embedded;
+
+	ButcherTableau(final int order, final double[] c, final double[][] a, final double[] b) {
+		this(order, c, a, b, b, false);
+	}
+
+	ButcherTableau(final int order, final double[] c, final double[][] a, final double[] b, final double[] embeddedB) {
+		this(order, c, a, b, embeddedB, true);
+	}
+
+	private ButcherTableau(final int order, final double[] c, final double[][] a, final double[] b, final double[] embeddedB, final boolean embedded) {
+		if (order < 1) {
+			throw new IllegalArgumentException("Order must be > 0.");
+		}
+		if (c.length == 0 || a.length != c.length || b.length != c.length || embeddedB.length != c.length) {
+			throw new IllegalArgumentException("Tableau must have one row for each stage.");
+		}
+		for (int i = 0; i < a.length; i++) {
+			if (a[i].length != i) {
+				throw new IllegalArgumentException(String.format("Row %d of the tableau must have %d elements (explicit method).", i, i));
+			}
+		}
+		this.order = order;
+		this.c = c.clone();
+		this.a = Arrays.stream(a).map(double[]::clone).toArray(double[][]::new);
+		this.b = b.clone();
+		this.errorWeights = new double[b.length];
+		for (int i = 0; i < b.length; i++) {
+			errorWeights[i] = b[i] - embeddedB[i];
+		}
+		this.embedded = embedded;
+		final int last = c.length - 1;
+		this.fsal = last > 0 && c[last] == 1 && b[last] == 0 && Arrays.equals(a[last], Arrays.copyOf(b, last));
+	}
+
+	final int stages() {
+		return c.length;
+	}
+
+}
@@ -0,0 +1,30 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.function.Function;
+
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.support.OdeFunctionUtil;
+import de.mq.odesolver.support.RightHandSide;
+
+/**
+ * Eingebettetes Verfahren 5. Ordnung nach Cash-Karp mit Fehlerabschaetzung 4.
+ * Ordnung (6 Auswertungen pro Schritt).
+ * 
+ * @author mq
+ *
+ */
+class CashKarpCalculatorImpl extends RungeKuttaCalculatorImpl {
+
+	CashKarpCalculatorImpl(final RightHandSide rightHandSide) {
+		super(ButcherTableau.CASH_KARP_54, rightHandSide);
+	}
+
+	CashKarpCalculatorImpl(final Function<OdeResult, Double> odeFunction) {
+		super(ButcherTableau.CASH_KARP_54, odeFunction);
+	}
+
+	CashKarpCalculatorImpl(final OdeFunctionUtil odeFunctionUtil, final String function) {
+		super(ButcherTableau.CASH_KARP_54, odeFunctionUtil, function);
+	}
+
+}
@@ -0,0 +1,30 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.function.Function;
+
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.support.OdeFunctionUtil;
+import de.mq.odesolver.support.RightHandSide;
+
+/**
+ * Eingebettetes Verfahren 5. Ordnung nach Dormand-Prince mit Fehlerabschaetzung
+ * 4. Ordnung (FSAL, 6 Auswertungen pro Schritt).
+ * 
+ * @author mq
+ *
+ */
+class DormandPrinceCalculatorImpl extends RungeKuttaCalculatorImpl {
+
+	DormandPrinceCalculatorImpl(final RightHandSide rightHandSide) {
+		super(ButcherTableau.DORMAND_PRINCE_54, rightHandSide);
+	}
+
+	DormandPrinceCalculatorImpl(final Function<OdeResult, Double> odeFunction) {
+		super(ButcherTableau.DORMAND_PRINCE_54, odeFunction);
+	}
+
+	DormandPrinceCalculatorImpl(final OdeFunctionUtil odeFunctionUtil, final String function) {
+		super(ButcherTableau.DORMAND_PRINCE_54, odeFunctionUtil, function);
+	}
+
+}
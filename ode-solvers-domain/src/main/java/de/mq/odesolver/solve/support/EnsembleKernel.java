@@ -0,0 +1,56 @@
+package de.mq.odesolver.solve.support;
+
+/**
+ * Linearkombinationen der Stufen eines Runge-Kutta-Verfahrens ueber alle
+ * Trajektorien eines Ensembles. Die Arrays enthalten eine Komponente des
+ * Zustands fuer alle Trajektorien (structure of arrays). Die Summen werden fuer
+ * jede Trajektorie in derselben Reihenfolge wie in
+ * {@link RungeKuttaCalculatorImpl} gebildet, ohne fused multiply-add, jede
+ * Implementierung liefert also dieselben Werte.
+ *
+ * Mit dem Modul jdk.incubator.vector (--add-modules jdk.incubator.vector)
+ * rechnet VectorEnsembleKernel mit den Vektorregistern der CPU, sonst
+ * {@link ScalarEnsembleKernel} mit einfachen Schleifen. VectorEnsembleKernel
+ * wird nur mit dem Maven-Profil vector gebaut, der Standard-Build kommt ohne
+ * das Inkubator-Modul aus.
+ *
+ * @author mq
+ *
+ */
+interface EnsembleKernel {
+
+	static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+	static final String VECTOR_KERNEL = EnsembleKernel.class.getPackageName() + ".VectorEnsembleKernel";
+
+	/**
+	 * target[t] = base[t] + h * (weights[0] * k[0][t] + ... + weights[count-1] *
+	 * k[count-1][t]) fuer t &lt; size.
+	 *
+	 * @param target Ergebnis, darf base sein.
+	 * @param base   Zustand am Anfang des Schrittes.
+	 * @param h      Schrittweite.
+	 * @param weights Gewichte der Stufen, eine Zeile des Tableaus.
+	 * @param count  Anzahl der Stufen in der Summe.
+	 * @param k      Ableitungen der Stufen fuer die Komponente.
+	 * @param size   Anzahl der Trajektorien.
+	 */
+	void combine(final double[] target, final double[] base, final double h, final double[] weights, final int count, final double[][] k, final int size);
+
+	/**
+	 * @return VectorEnsembleKernel, wenn er gebaut wurde und das Modul
+	 *         jdk.incubator.vector geladen ist, sonst {@link ScalarEnsembleKernel}.
+	 */
+	static EnsembleKernel kernel() {
+		if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+			try {
+				// Erst hier geladen, ohne das Modul wird die Klasse nie aufgeloest.
+				return (EnsembleKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+			} catch (final ReflectiveOperationException | LinkageError error) {
+				// Scalar
+			}
+		}
+		return new ScalarEnsembleKernel();
+	}
+
+}
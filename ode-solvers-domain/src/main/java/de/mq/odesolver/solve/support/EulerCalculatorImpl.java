@@ -2,34 +2,22 @@ package de.mq.odesolver.solve.support;
 
 import java.util.function.Function;
 
-import de.mq.odesolver.function.support.FunctionResultImpl;
 import de.mq.odesolver.solve.OdeResult;
 import de.mq.odesolver.support.OdeFunctionUtil;
+import de.mq.odesolver.support.RightHandSide;
 
-class EulerCalculatorImpl extends AbstractOdeCalculator {
+class EulerCalculatorImpl extends RungeKuttaCalculatorImpl {
 
-	EulerCalculatorImpl(final Function<OdeResult, Double> odeFunction) {
-		super(odeFunction);
-	}
-
-	EulerCalculatorImpl(final OdeFunctionUtil odeFunctionUtil, final String odeFunction) {
-		super(odeFunctionUtil,odeFunction);
+	EulerCalculatorImpl(final RightHandSide rightHandSide) {
+		super(ButcherTableau.EULER, rightHandSide);
 	}
 
-	@Override
-	double quality() {
-		return 1;
-	}
-
-	@Override
-	double[] calculateFirstOrderOde(final OdeResult last, final double stepSize) {
-		return FunctionResultImpl.doubleArray(last.yDerivative(0) + stepSize * odeFunction.apply(last));
+	EulerCalculatorImpl(final Function<OdeResult, Double> odeFunction) {
+		super(ButcherTableau.EULER, odeFunction);
 	}
 
-	@Override
-	double[] calculateSecondOrderOde(final OdeResult last, final double stepSize) {
-		return OdeResultImpl.doubleArray(last.yDerivative(0) + stepSize * last.yDerivative(1),
-				last.yDerivative(1) + stepSize * odeFunction.apply(last));
+	EulerCalculatorImpl(final OdeFunctionUtil odeFunctionUtil, final String odeFunction) {
+		super(ButcherTableau.EULER, odeFunctionUtil, odeFunction);
 	}
 
 }
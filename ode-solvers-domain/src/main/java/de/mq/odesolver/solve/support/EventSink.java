@@ -0,0 +1,204 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import de.mq.odesolver.solve.OdeEvent;
+import de.mq.odesolver.solve.OdeEventResult;
+import de.mq.odesolver.solve.StepSink;
+import de.mq.odesolver.support.EngineBinding;
+import de.mq.odesolver.support.VectorRightHandSide;
+
+/**
+ * Sucht die {@link OdeEvent}s in den Schritten eines Solvers und reicht die
+ * Schritte weiter. Die Bedingungen werden an jedem Schritt ausgewertet, bei
+ * einem Vorzeichenwechsel wird die Nullstelle mit dem Illinois-Verfahren
+ * (Regula falsi) auf dem Interpolanten des Schrittes bestimmt, kubisch nach
+ * Hermite, wenn die rechte Seite des Systems 1. Ordnung bekannt ist, sonst
+ * linear. Liegen mehrere Ereignisse in einem Schritt, werden sie nach x
+ * sortiert, ein terminales Ereignis ersetzt den Schritt und beendet die
+ * Integration.
+ *
+ * @author mq
+ *
+ */
+class EventSink implements StepSink {
+
+	static final int MAX_ITERATIONS = 100;
+	// Genauigkeit der Nullstelle relativ zur Schrittweite.
+	static final double TOLERANCE = 1e-12;
+
+	private final List<OdeEvent> events;
+	private final Optional<VectorRightHandSide> firstOrderSystem;
+	private final StepSink stepSink;
+	private final List<OdeEventResult> results = new ArrayList<>();
+	private final double[] conditions;
+	private final double[] roots;
+	private double[] last = new double[0];
+	private double[] interpolated = new double[0];
+	private double[] yDot0 = new double[0];
+	private double[] yDot1 = new double[0];
+	private boolean derivatives;
+	private double lastX;
+	private boolean started;
+	private boolean terminated;
+
+	EventSink(final List<OdeEvent> events, final Optional<VectorRightHandSide> firstOrderSystem, final StepSink stepSink) {
+		if (events == null) {
+			throw new IllegalArgumentException("Events are mandatory.");
+		}
+		this.events = List.copyOf(events);
+		this.firstOrderSystem = firstOrderSystem;
+		this.stepSink = stepSink;
+		this.conditions = new double[events.size()];
+		this.roots = new double[events.size()];
+	}
+
+	/**
+	 * Bindet die Bedingungen fuer die Dauer der Integration an ihre Engines, siehe
+	 * {@link EngineBinding}.
+	 */
+	final void bind() {
+		events.forEach(event -> EngineBinding.bind(event.condition()));
+	}
+
+	final void release() {
+		events.forEach(event -> EngineBinding.release(event.condition()));
+	}
+
+	/**
+	 * @return die bisher gefundenen Ereignisse in der Reihenfolge der
+	 *         Integration.
+	 */
+	final List<OdeEventResult> results() {
+		return Collections.unmodifiableList(results);
+	}
+
+	@Override
+	public final boolean isTerminated() {
+		return terminated;
+	}
+
+	@Override
+	public final void accept(final double[] y, final double x, final double errorEstimation) {
+		if (terminated) {
+			return;
+		}
+		if (started && !locate(y, x, errorEstimation)) {
+			return;
+		}
+		stepSink.accept(y, x, errorEstimation);
+		store(y, x);
+		started = true;
+	}
+
+	/**
+	 * Sucht die Ereignisse im Schritt [lastX;x].
+	 *
+	 * @return false, wenn ein terminales Ereignis gefunden wurde.
+	 */
+	private boolean locate(final double[] y, final double x, final double errorEstimation) {
+		derivatives = false;
+		boolean found = false;
+		for (int i = 0; i < conditions.length; i++) {
+			final double condition = events.get(i).condition().apply(y, x);
+			roots[i] = Double.NaN;
+			if (conditions[i] != 0 && (condition == 0 || (conditions[i] < 0) != (condition < 0))) {
+				roots[i] = condition == 0 ? x : root(events.get(i), y, x, conditions[i], condition);
+				found = true;
+			}
+			conditions[i] = condition;
+		}
+		if (!found) {
+			return true;
+		}
+		final double direction = Math.signum(x - lastX);
+		final List<Integer> crossed = IntStream.range(0, roots.length).filter(i -> !Double.isNaN(roots[i])).boxed()
+				.sorted(Comparator.comparingDouble(i -> (roots[i] - lastX) * direction)).collect(Collectors.toList());
+		for (final int i : crossed) {
+			final double[] state = roots[i] == x ? y : interpolate(y, x, roots[i]);
+			results.add(new OdeEventResultImpl(state.clone(), roots[i], errorEstimation, i));
+			if (events.get(i).isTerminal()) {
+				terminated = true;
+				stepSink.accept(state, roots[i], errorEstimation);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Illinois-Verfahren: Regula falsi, der Funktionswert eines Endpunktes, der
+	// zweimal hintereinander stehen bleibt, wird halbiert.
+	private double root(final OdeEvent event, final double[] y, final double x, final double condition0, final double condition1) {
+		final double tolerance = Math.max(TOLERANCE * Math.abs(x - lastX), 4 * Math.ulp(x));
+		double a = lastX;
+		double fa = condition0;
+		double b = x;
+		double fb = condition1;
+		double c = b;
+		int side = 0;
+		for (int n = 0; n < MAX_ITERATIONS && Math.abs(b - a) > tolerance; n++) {
+			c = (a * fb - b * fa) / (fb - fa);
+			final double fc = event.condition().apply(interpolate(y, x, c), c);
+			if (fc == 0) {
+				return c;
+			}
+			if ((fc < 0) == (fb < 0)) {
+				b = c;
+				fb = fc;
+				if (side == -1) {
+					fa /= 2;
+				}
+				side = -1;
+			} else {
+				a = c;
+				fa = fc;
+				if (side == 1) {
+					fb /= 2;
+				}
+				side = 1;
+			}
+		}
+		return c;
+	}
+
+	private double[] interpolate(final double[] y, final double x, final double point) {
+		final double h = x - lastX;
+		final double theta = (point - lastX) / h;
+		if (firstOrderSystem.isEmpty()) {
+			for (int j = 0; j < y.length; j++) {
+				interpolated[j] = last[j] + theta * (y[j] - last[j]);
+			}
+			return interpolated;
+		}
+		if (!derivatives) {
+			firstOrderSystem.get().apply(last, lastX, yDot0);
+			firstOrderSystem.get().apply(y, x, yDot1);
+			derivatives = true;
+		}
+		HermiteStepInterpolator.interpolate(theta, h, last, yDot0, y, yDot1, interpolated);
+		return interpolated;
+	}
+
+	private void store(final double[] y, final double x) {
+		if (last.length != y.length) {
+			last = new double[y.length];
+			interpolated = new double[y.length];
+			yDot0 = new double[y.length];
+			yDot1 = new double[y.length];
+		}
+		System.arraycopy(y, 0, last, 0, y.length);
+		lastX = x;
+		if (!started) {
+			for (int i = 0; i < conditions.length; i++) {
+				conditions[i] = events.get(i).condition().apply(y, x);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+package de.mq.odesolver.solve.support;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.apache.commons.math3.ode.EquationsMapper;
+import org.apache.commons.math3.ode.sampling.AbstractStepInterpolator;
+import org.apache.commons.math3.ode.sampling.StepInterpolator;
+
+/**
+ * Kubische Hermite-Interpolation innerhalb eines Schrittes aus Zustand und
+ * Ableitung am Anfang und am Ende des Schrittes. Die Interpolation ist 3.
+ * Ordnung und benoetigt keine zusaetzlichen Auswertungen der rechten Seite,
+ * sie wird von den impliziten Verfahren verwendet, deren Stufen keine eigene
+ * dichte Ausgabe liefern.
+ *
+ * @author mq
+ *
+ */
+class HermiteStepInterpolator extends AbstractStepInterpolator {
+
+	private static final long serialVersionUID = 1L;
+
+	private double[] previousState;
+	private double[] previousDerivatives;
+	private double[] currentDerivatives;
+
+	/**
+	 * Wird fuer die Serialisierung benoetigt.
+	 */
+	public HermiteStepInterpolator() {
+		super();
+	}
+
+	HermiteStepInterpolator(final double[] y, final boolean forward, final EquationsMapper primaryMapper, final EquationsMapper[] secondaryMappers) {
+		super(y, forward, primaryMapper, secondaryMappers);
+		previousState = new double[y.length];
+		previousDerivatives = new double[y.length];
+		currentDerivatives = new double[y.length];
+	}
+
+	private HermiteStepInterpolator(final HermiteStepInterpolator interpolator) {
+		super(interpolator);
+		previousState = interpolator.previousState.clone();
+		previousDerivatives = interpolator.previousDerivatives.clone();
+		currentDerivatives = interpolator.currentDerivatives.clone();
+	}
+
+	/**
+	 * Speichert Zustand und Ableitungen des Schrittes. Der Zustand am Ende des
+	 * Schrittes ist der bei der Initialisierung uebergebene Vektor.
+	 *
+	 * @param y0     Zustand am Anfang des Schrittes.
+	 * @param yDot0  Ableitung am Anfang des Schrittes.
+	 * @param yDot1  Ableitung am Ende des Schrittes.
+	 */
+	final void store(final double[] y0, final double[] yDot0, final double[] yDot1) {
+		System.arraycopy(y0, 0, previousState, 0, previousState.length);
+		System.arraycopy(yDot0, 0, previousDerivatives, 0, previousDerivatives.length);
+		System.arraycopy(yDot1, 0, currentDerivatives, 0, currentDerivatives.length);
+	}
+
+	/**
+	 * Kubische Hermite-Interpolation des Zustands zwischen zwei Punkten.
+	 *
+	 * @param theta  relative Position im Schritt, 0 am Anfang, 1 am Ende.
+	 * @param h      Schrittweite.
+	 * @param y0     Zustand am Anfang.
+	 * @param yDot0  Ableitung am Anfang.
+	 * @param y1     Zustand am Ende.
+	 * @param yDot1  Ableitung am Ende.
+	 * @param result interpolierter Zustand.
+	 */
+	static void interpolate(final double theta, final double h, final double[] y0, final double[] yDot0, final double[] y1, final double[] yDot1, final double[] result) {
+		final double theta2 = theta * theta;
+		final double h00 = (2 * theta - 3) * theta2 + 1;
+		final double h10 = ((theta - 2) * theta + 1) * theta * h;
+		final double h01 = (3 - 2 * theta) * theta2;
+		final double h11 = (theta - 1) * theta2 * h;
+		for (int i = 0; i < result.length; i++) {
+			result[i] = h00 * y0[i] + h10 * yDot0[i] + h01 * y1[i] + h11 * yDot1[i];
+		}
+	}
+
+	@Override
+	protected final StepInterpolator doCopy() {
+		return new HermiteStepInterpolator(this);
+	}
+
+	@Override
+	protected final void computeInterpolatedStateAndDerivatives(final double theta, final double oneMinusThetaH) {
+		final double theta2 = theta * theta;
+		final double h00 = (2 * theta - 3) * theta2 + 1;
+		final double h10 = ((theta - 2) * theta + 1) * theta * h;
+		final double h01 = (3 - 2 * theta) * theta2;
+		final double h11 = (theta - 1) * theta2 * h;
+		final double d00 = 6 * (theta2 - theta);
+		final double d10 = (3 * theta - 4) * theta + 1;
+		final double d11 = (3 * theta - 2) * theta;
+		for (int i = 0; i < currentState.length; i++) {
+			final double y0 = previousState[i];
+			final double y1 = currentState[i];
+			interpolatedState[i] = h00 * y0 + h10 * previousDerivatives[i] + h01 * y1 + h11 * currentDerivatives[i];
+			interpolatedDerivatives[i] = (h == 0 ? 0 : d00 * (y0 - y1) / h) + d10 * previousDerivatives[i] + d11 * currentDerivatives[i];
+		}
+	}
+
+	@Override
+	public final void writeExternal(final ObjectOutput out) throws IOException {
+		writeBaseExternal(out);
+		out.writeObject(previousState);
+		out.writeObject(previousDerivatives);
+		out.writeObject(currentDerivatives);
+	}
+
+	@Override
+	public final void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+		final double time = readBaseExternal(in);
+		previousState = (double[]) in.readObject();
+		previousDerivatives = (double[]) in.readObject();
+		currentDerivatives = (double[]) in.readObject();
+		setInterpolatedTime(time);
+	}
+
+}
@@ -0,0 +1,97 @@
+package de.mq.odesolver.solve.support;
+
+/**
+ * LU-Zerlegung mit Spaltenpivotsuche fuer die Newton-Iteration der impliziten
+ * Verfahren. Die Zerlegung wird in Arrays gespeichert, die das Objekt besitzt,
+ * zerlegen und loesen erzeugen daher keine Objekte. Eine Zerlegung kann fuer
+ * beliebig viele rechte Seiten verwendet werden, solange sich die Matrix nicht
+ * aendert.
+ *
+ * @author mq
+ *
+ */
+class LuDecomposition {
+
+	private double[][] lu = new double[0][0];
+	private int[] pivot = new int[0];
+
+	/**
+	 * Zerlegt die Matrix, die Matrix selbst wird nicht veraendert.
+	 *
+	 * @param matrix quadratische Matrix.
+	 * @return false, wenn die Matrix (numerisch) singulaer ist.
+	 */
+	final boolean decompose(final double[][] matrix) {
+		final int n = matrix.length;
+		if (lu.length != n) {
+			lu = new double[n][n];
+			pivot = new int[n];
+		}
+		for (int i = 0; i < n; i++) {
+			if (matrix[i].length != n) {
+				throw new IllegalArgumentException("Matrix must be square.");
+			}
+			System.arraycopy(matrix[i], 0, lu[i], 0, n);
+			pivot[i] = i;
+		}
+		for (int k = 0; k < n; k++) {
+			int max = k;
+			for (int i = k + 1; i < n; i++) {
+				if (Math.abs(lu[i][k]) > Math.abs(lu[max][k])) {
+					max = i;
+				}
+			}
+			if (lu[max][k] == 0) {
+				return false;
+			}
+			if (max != k) {
+				final double[] row = lu[k];
+				lu[k] = lu[max];
+				lu[max] = row;
+				final int index = pivot[k];
+				pivot[k] = pivot[max];
+				pivot[max] = index;
+			}
+			final double[] pivotRow = lu[k];
+			for (int i = k + 1; i < n; i++) {
+				final double[] row = lu[i];
+				final double factor = row[k] / pivotRow[k];
+				row[k] = factor;
+				for (int j = k + 1; j < n; j++) {
+					row[j] -= factor * pivotRow[j];
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Loest LU x = b mit der letzten Zerlegung.
+	 *
+	 * @param b      rechte Seite, wird nicht veraendert.
+	 * @param result Loesung x, darf nicht b sein.
+	 */
+	final void solve(final double[] b, final double[] result) {
+		final int n = lu.length;
+		if (b.length != n || result.length != n) {
+			throw new IllegalArgumentException(String.format("Vectors must have size %d.", n));
+		}
+		for (int i = 0; i < n; i++) {
+			double sum = b[pivot[i]];
+			final double[] row = lu[i];
+			for (int j = 0; j < i; j++) {
+				sum -= row[j] * result[j];
+			}
+			result[i] = sum;
+		}
+		for (int i = n - 1; i >= 0; i--) {
+			double sum = result[i];
+			final double[] row = lu[i];
+			for (int j = i + 1; j < n; j++) {
+				sum -= row[j] * result[j];
+			}
+			result[i] = sum / row[i];
+		}
+	}
+
+}
@@ -0,0 +1,281 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import de.mq.odesolver.support.VectorRightHandSide;
+
+/**
+ * Jacobi-Matrix df/dy und Zeitableitung df/dx der rechten Seite eines Systems
+ * durch Vorwaertsdifferenzen. Die Schrittweite der Differenzen ist sqrt(eps)
+ * relativ zur Komponente, mindestens aber sqrt(eps) * threshold, damit
+ * Komponenten nahe 0 nicht mit einer zu kleinen Schrittweite differenziert
+ * werden.
+ *
+ * Ab {@link #SPARSE_DIMENSION} Komponenten wird die Besetzungsstruktur einmal
+ * an einem zufaellig verschobenen Punkt bestimmt (n + 1 Auswertungen), damit
+ * zufaellige Nullen nicht als strukturelle Nullen erkannt werden. Spalten ohne
+ * gemeinsame Zeile werden gierig zu Gruppen zusammengefasst (Faerbung des
+ * Spaltenschnittgraphen) und gemeinsam verschoben, pro Jacobi-Matrix wird die
+ * rechte Seite nur einmal pro Gruppe ausgewertet. Bei Bandmatrizen ist die
+ * Anzahl der Gruppen die Bandbreite, unabhaengig von der Dimension.
+ *
+ * Ein Eintrag, der an diesem Punkt zufaellig verschwindet (z.B. eine Kopplung,
+ * die erst spaeter einsetzt), fehlt in der Struktur. Melden die Verfahren mit
+ * {@link #reject()} {@link #MAX_REJECTIONS} Fehlschlaege mit einer aktuellen
+ * Matrix ohne akzeptierten Schritt dazwischen, wird die Struktur bei der
+ * naechsten Berechnung am aktuellen Punkt erneut bestimmt und erweitert.
+ *
+ * Die Matrix wird gespeichert und bleibt gueltig, bis sie mit
+ * {@link #markStale()} als veraltet markiert wird. Die Verfahren entscheiden,
+ * wann eine veraltete Matrix neu berechnet wird.
+ *
+ * @author mq
+ *
+ */
+class NumericalJacobian {
+
+	static final int SPARSE_DIMENSION = 8;
+
+	static final int MAX_REJECTIONS = 3;
+
+	private static final double SQRT_EPS = Math.sqrt(Math.ulp(1d));
+
+	private static final long SEED = 4711;
+
+	private final VectorRightHandSide rightHandSide;
+	private final double threshold;
+	private final SplittableRandom random = new SplittableRandom(SEED);
+
+	private double[][] jacobian = new double[0][0];
+	private boolean current = false;
+
+	// Zeilen mit Eintraegen je Spalte und Spalten je Gruppe.
+	private int[][] rows;
+	private int[][] groups;
+
+	private double[] shifted = new double[0];
+	private double[] delta = new double[0];
+	private double[] f = new double[0];
+
+	private int evaluations = 0;
+	private int updates = 0;
+	private int structures = 0;
+	private int rejections = 0;
+
+	/**
+	 * @param rightHandSide rechte Seite des Systems.
+	 * @param threshold     Groessenordnung, unterhalb der eine Komponente als 0
+	 *                      betrachtet wird.
+	 */
+	NumericalJacobian(final VectorRightHandSide rightHandSide, final double threshold) {
+		this.rightHandSide = rightHandSide;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Berechnet die Jacobi-Matrix an der Stelle (y, x) neu.
+	 *
+	 * @param y  Zustand.
+	 * @param x  Stelle.
+	 * @param f0 rechte Seite an der Stelle (y, x).
+	 */
+	final void update(final double[] y, final double x, final double[] f0) {
+		final int n = y.length;
+		if (jacobian.length != n) {
+			buffers(n);
+			rows = null;
+			structure(y, x);
+		} else if (rejections >= MAX_REJECTIONS && n >= SPARSE_DIMENSION) {
+			structure(y, x);
+		}
+		for (final int[] group : groups) {
+			System.arraycopy(y, 0, shifted, 0, n);
+			for (final int column : group) {
+				// Die Differenz wird exakt darstellbar gemacht.
+				delta[column] = (y[column] + increment(y[column])) - y[column];
+				shifted[column] = y[column] + delta[column];
+			}
+			evaluate(shifted, x, f);
+			for (final int column : group) {
+				for (final int row : rows[column]) {
+					jacobian[row][column] = (f[row] - f0[row]) / delta[column];
+				}
+			}
+		}
+		current = true;
+		updates++;
+	}
+
+	/**
+	 * Die zuletzt berechnete Jacobi-Matrix, jacobian[i][j] = dfi/dyj. Die Matrix
+	 * gehoert diesem Objekt und darf nicht veraendert werden.
+	 *
+	 * @return Jacobi-Matrix.
+	 */
+	final double[][] jacobian() {
+		return jacobian;
+	}
+
+	/**
+	 * @return true, wenn die Matrix seit dem letzten {@link #markStale()} neu
+	 *         berechnet wurde.
+	 */
+	final boolean isCurrent() {
+		return current;
+	}
+
+	/**
+	 * Markiert die Matrix als veraltet, z.B. nach einem akzeptierten Schritt. Die
+	 * Matrix kann weiter verwendet werden.
+	 */
+	final void markStale() {
+		current = false;
+		rejections = 0;
+	}
+
+	/**
+	 * Meldet einen verworfenen Schritt bzw. ein nicht konvergiertes
+	 * Newton-Verfahren. Gezaehlt wird nur, wenn die Matrix aktuell ist, sonst
+	 * ist die veraltete Matrix die naheliegende Ursache.
+	 */
+	final void reject() {
+		if (current) {
+			rejections++;
+		}
+	}
+
+	/**
+	 * Berechnet die partielle Ableitung der rechten Seite nach x an der Stelle
+	 * (y, x).
+	 *
+	 * @param y      Zustand.
+	 * @param x      Stelle.
+	 * @param f0     rechte Seite an der Stelle (y, x).
+	 * @param result Ergebnis df/dx.
+	 */
+	final void timeDerivative(final double[] y, final double x, final double[] f0, final double[] result) {
+		if (f.length != y.length) {
+			f = new double[y.length];
+		}
+		final double increment = (x + increment(x)) - x;
+		evaluate(y, x + increment, f);
+		for (int i = 0; i < y.length; i++) {
+			result[i] = (f[i] - f0[i]) / increment;
+		}
+	}
+
+	/**
+	 * @return Anzahl der Auswertungen der rechten Seite fuer Jacobi-Matrizen,
+	 *         Besetzungsstruktur und Zeitableitungen.
+	 */
+	final int evaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * @return Anzahl der berechneten Jacobi-Matrizen.
+	 */
+	final int updates() {
+		return updates;
+	}
+
+	/**
+	 * @return wie oft die Besetzungsstruktur bestimmt wurde.
+	 */
+	final int structures() {
+		return structures;
+	}
+
+	/**
+	 * @return Anzahl der Auswertungen pro Jacobi-Matrix.
+	 */
+	final int groups() {
+		return groups == null ? 0 : groups.length;
+	}
+
+	// Bestimmt die Struktur, eine vorhandene wird um neue Eintraege erweitert.
+	private void structure(final double[] y, final double x) {
+		final int n = y.length;
+		structures++;
+		rejections = 0;
+		if (n < SPARSE_DIMENSION) {
+			final int[] allRows = IntStream.range(0, n).toArray();
+			rows = IntStream.range(0, n).mapToObj(column -> allRows).toArray(int[][]::new);
+			groups = IntStream.range(0, n).mapToObj(column -> new int[] { column }).toArray(int[][]::new);
+			return;
+		}
+		final double[] point = new double[n];
+		for (int j = 0; j < n; j++) {
+			point[j] = y[j] + (1 + random.nextDouble()) * increment(y[j]);
+		}
+		final double[] fPoint = new double[n];
+		evaluate(point, x, fPoint);
+		final int[][] previous = rows;
+		rows = new int[n][];
+		for (int j = 0; j < n; j++) {
+			final double yj = point[j];
+			point[j] = yj + increment(yj);
+			evaluate(point, x, f);
+			point[j] = yj;
+			final int[] previousRows = previous == null ? new int[0] : previous[j];
+			rows[j] = IntStream.range(0, n).filter(i -> f[i] != fPoint[i] || Arrays.binarySearch(previousRows, i) >= 0).toArray();
+		}
+		groups = color(rows, n);
+	}
+
+	/**
+	 * Gierige Faerbung, Spalten mit vielen Eintraegen zuerst. Spalten derselben
+	 * Farbe haben keine gemeinsame Zeile.
+	 */
+	private static int[][] color(final int[][] rows, final int n) {
+		final List<List<Integer>> columnsOfRow = new ArrayList<>();
+		IntStream.range(0, n).forEach(row -> columnsOfRow.add(new ArrayList<>()));
+		for (int column = 0; column < n; column++) {
+			for (final int row : rows[column]) {
+				columnsOfRow.get(row).add(column);
+			}
+		}
+		final int[] colors = new int[n];
+		Arrays.fill(colors, -1);
+		final boolean[] used = new boolean[n];
+		final List<List<Integer>> groups = new ArrayList<>();
+		IntStream.range(0, n).boxed().sorted(Comparator.comparingInt((Integer column) -> rows[column].length).reversed()).forEach(column -> {
+			Arrays.fill(used, false);
+			for (final int row : rows[column]) {
+				columnsOfRow.get(row).stream().filter(other -> colors[other] >= 0).forEach(other -> used[colors[other]] = true);
+			}
+			int color = 0;
+			while (used[color]) {
+				color++;
+			}
+			colors[column] = color;
+			if (color == groups.size()) {
+				groups.add(new ArrayList<>());
+			}
+			groups.get(color).add(column);
+		});
+		return groups.stream().map(group -> group.stream().mapToInt(Integer::intValue).sorted().toArray()).toArray(int[][]::new);
+	}
+
+	private void evaluate(final double[] y, final double x, final double[] result) {
+		evaluations++;
+		rightHandSide.apply(y, x, result);
+	}
+
+	private double increment(final double value) {
+		return SQRT_EPS * Math.max(Math.abs(value), threshold);
+	}
+
+	private void buffers(final int dimension) {
+		jacobian = new double[dimension][dimension];
+		shifted = new double[dimension];
+		delta = new double[dimension];
+		f = new double[dimension];
+	}
+
+}
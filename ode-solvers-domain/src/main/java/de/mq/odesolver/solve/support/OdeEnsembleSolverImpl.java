@@ -0,0 +1,161 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import de.mq.odesolver.solve.OdeEnsembleSolver;
+import de.mq.odesolver.solve.OdeResultTable;
+import de.mq.odesolver.support.EngineBinding;
+import de.mq.odesolver.support.RightHandSide;
+
+/**
+ * Explizites Runge-Kutta-Verfahren ohne eingebettete Fehlerabschaetzung fuer
+ * viele Trajektorien einer skalaren DGL n-ter Ordnung. Zustaende, Stufen und
+ * Parameter werden spaltenweise gespeichert (y[Ableitung][Trajektorie]). Die
+ * Linearkombinationen der Stufen rechnet ein {@link EnsembleKernel}, mit dem
+ * Modul jdk.incubator.vector in Vektorregistern, sonst skalar. Die rechte Seite
+ * wird pro Stufe einmal mit
+ * {@link RightHandSide#evaluateColumns(double, double[][], int, double[])} fuer
+ * alle Trajektorien ausgewertet, sie liest die Spalten direkt.
+ *
+ * Die Summen werden in derselben Reihenfolge wie in
+ * {@link RungeKuttaCalculatorImpl} gebildet, jede Trajektorie liefert also
+ * dieselben Werte wie {@link OdeSolverImpl} ohne Fehlerabschaetzung.
+ *
+ * Die Puffer werden pro Aufruf von solve angelegt, die Klasse ist threadsicher,
+ * wenn die rechte Seite es ist.
+ *
+ * @author mq
+ *
+ */
+class OdeEnsembleSolverImpl implements OdeEnsembleSolver {
+
+	private final ButcherTableau tableau;
+
+	private final RightHandSide rightHandSide;
+
+	private final EnsembleKernel kernel;
+
+	OdeEnsembleSolverImpl(final ButcherTableau tableau, final RightHandSide rightHandSide) {
+		this(tableau, rightHandSide, EnsembleKernel.kernel());
+	}
+
+	OdeEnsembleSolverImpl(final ButcherTableau tableau, final RightHandSide rightHandSide, final EnsembleKernel kernel) {
+		if (tableau.embedded) {
+			throw new IllegalArgumentException("Embedded methods are not supported for ensembles.");
+		}
+		this.tableau = tableau;
+		this.rightHandSide = rightHandSide;
+		this.kernel = kernel;
+	}
+
+	@Override
+	public final List<OdeResultTable> solve(final double[][] y0, final double[][] parameters, final double start, final double stop, final int steps) {
+		if (y0.length == 0) {
+			throw new IllegalArgumentException("At least one trajectory is required.");
+		}
+		final int order = y0[0].length;
+		if (order == 0 || Arrays.stream(y0).anyMatch(values -> values.length != order)) {
+			throw new IllegalArgumentException("All initial values must have the same size > 0.");
+		}
+		if (parameters.length != y0.length) {
+			throw new IllegalArgumentException("One parameter vector per trajectory is required.");
+		}
+		final int parameterCount = parameters[0].length;
+		if (Arrays.stream(parameters).anyMatch(values -> values.length != parameterCount)) {
+			throw new IllegalArgumentException("All parameter vectors must have the same size.");
+		}
+		final int size = y0.length;
+		final List<OdeResultTableImpl> results = new ArrayList<>(size);
+		for (int t = 0; t < size; t++) {
+			final OdeResultTableImpl table = new OdeResultTableImpl(order, steps + 1);
+			table.append(y0[t], start, 0);
+			results.add(table);
+		}
+		EngineBinding.bind(rightHandSide);
+		try {
+			new Integration(order, parameterCount, size).integrate(y0, parameters, start, (stop - start) / steps, steps, results);
+		} finally {
+			EngineBinding.release(rightHandSide);
+		}
+		return Collections.unmodifiableList(results);
+	}
+
+	/**
+	 * Puffer einer Integration, alle Arrays mit Trajektorien als letztem Index.
+	 */
+	private class Integration {
+		private final int order;
+		private final int size;
+		private final double[][] y;
+		private final double[][] stage;
+		// k[Ableitung][Stufe][Trajektorie]
+		private final double[][][] k;
+		// Spalten fuer die rechte Seite, der auszuwertende Zustand und die
+		// Parameter.
+		private final double[][] columns;
+		private final double[] row;
+
+		private Integration(final int order, final int parameterCount, final int size) {
+			this.order = order;
+			this.size = size;
+			y = new double[order][size];
+			stage = new double[order][size];
+			k = new double[order][tableau.stages()][size];
+			columns = new double[order + parameterCount][];
+			for (int p = 0; p < parameterCount; p++) {
+				columns[order + p] = new double[size];
+			}
+			row = new double[order];
+		}
+
+		private void integrate(final double[][] y0, final double[][] parameters, final double start, final double stepSize, final int steps,
+				final List<OdeResultTableImpl> results) {
+			for (int t = 0; t < size; t++) {
+				for (int j = 0; j < order; j++) {
+					y[j][t] = y0[t][j];
+				}
+				for (int p = order; p < columns.length; p++) {
+					columns[p][t] = parameters[t][p - order];
+				}
+			}
+			double x = start;
+			for (int n = 1; n <= steps; n++) {
+				step(x, stepSize);
+				x += stepSize;
+				for (int t = 0; t < size; t++) {
+					for (int j = 0; j < order; j++) {
+						row[j] = y[j][t];
+					}
+					results.get(t).append(row, x, 0);
+				}
+			}
+		}
+
+		private void step(final double x, final double h) {
+			final int stages = tableau.stages();
+			derivatives(y, x, 0);
+			for (int i = 1; i < stages; i++) {
+				for (int j = 0; j < order; j++) {
+					kernel.combine(stage[j], y[j], h, tableau.a[i], i, k[j], size);
+				}
+				derivatives(stage, x + tableau.c[i] * h, i);
+			}
+			for (int j = 0; j < order; j++) {
+				kernel.combine(y[j], y[j], h, tableau.b, stages, k[j], size);
+			}
+		}
+
+		// System 1. Ordnung: (y, ..., y^(n-1))' = (y', ..., y^(n-1), f)
+		private void derivatives(final double[][] state, final double x, final int stageIndex) {
+			for (int j = 0; j < order - 1; j++) {
+				System.arraycopy(state[j + 1], 0, k[j][stageIndex], 0, size);
+			}
+			System.arraycopy(state, 0, columns, 0, order);
+			rightHandSide.evaluateColumns(x, columns, size, k[order - 1][stageIndex]);
+		}
+	}
+
+}
@@ -0,0 +1,19 @@
+package de.mq.odesolver.solve.support;
+
+import de.mq.odesolver.solve.OdeEventResult;
+
+class OdeEventResultImpl extends OdeResultImpl implements OdeEventResult {
+
+	private final int event;
+
+	OdeEventResultImpl(final double y[], final double x, final double errorEstimaion, final int event) {
+		super(y, x, errorEstimaion);
+		this.event = event;
+	}
+
+	@Override
+	public final int event() {
+		return event;
+	}
+
+}
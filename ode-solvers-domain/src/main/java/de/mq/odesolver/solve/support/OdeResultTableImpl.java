@@ -0,0 +1,303 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeResultTable;
+import de.mq.odesolver.support.VectorRightHandSide;
+
+/**
+ * Spaltenweise Ablage der Ergebnisse. Pro Zeile werden nur die primitiven Werte
+ * gespeichert, die {@link OdeResult}-Objekte der Liste sind Sichten, die beim
+ * Zugriff erzeugt werden. Die Tabelle kann nur ueber
+ * {@link #append(double[], double, double)} erweitert werden, die Liste selbst
+ * ist nicht veraenderbar. Nach {@link #denseOutput(VectorRightHandSide)} ist
+ * die Tabelle abgeschlossen.
+ * 
+ * @author mq
+ *
+ */
+class OdeResultTableImpl extends AbstractList<OdeResult> implements OdeResultTable, RandomAccess {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private final int order;
+	private double[] x;
+	private final double[][] y;
+	private double[] errorEstimations;
+	private int size = 0;
+	private double[][] yDot;
+	private boolean finished = false;
+
+	OdeResultTableImpl(final int order, final int capacity) {
+		if (order < 1) {
+			throw new IllegalArgumentException("Order must be > 0.");
+		}
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity must be >= 0.");
+		}
+		this.order = order;
+		this.x = new double[capacity];
+		this.y = new double[order][capacity];
+		this.errorEstimations = new double[capacity];
+	}
+
+	/**
+	 * Neue Zeile anhaengen. Die Werte werden kopiert, das Array kann also
+	 * wiederverwendet werden.
+	 * 
+	 * @param y               y und seine n-1 Ableitungen.
+	 * @param x               unabhaengige Groesse.
+	 * @param errorEstimation Fehlerabschaetzung.
+	 */
+	final void append(final double[] y, final double x, final double errorEstimation) {
+		if (y.length != order) {
+			throw new IllegalArgumentException(String.format("Size of vector must be %d.", order));
+		}
+		if (finished) {
+			throw new IllegalStateException("Table is finished.");
+		}
+		if (size == this.x.length) {
+			grow();
+		}
+		this.x[size] = x;
+		for (int n = 0; n < order; n++) {
+			this.y[n][size] = y[n];
+		}
+		errorEstimations[size] = errorEstimation;
+		size++;
+	}
+
+	/**
+	 * Berechnet nach der letzten Zeile die Ableitungen der rechten Seite des
+	 * Systems 1. Ordnung fuer die Hermite-Interpolation in
+	 * {@link #interpolate(double)}, ohne sie wird linear interpoliert. Die rechte
+	 * Seite wird nicht gespeichert, die Tabelle haelt also keine Referenz auf die
+	 * compilierte Funktion. Liefert die rechte Seite an einer Zeile NaN oder
+	 * Infinite (z.B. am Ende des Intervalls beim Euler-Verfahren, wo sie nicht
+	 * ausgewertet wurde), bleibt es bei der linearen Interpolation. Danach
+	 * koennen keine Zeilen mehr angehaengt werden.
+	 * 
+	 * @param firstOrderSystem rechte Seite des Systems.
+	 */
+	final void denseOutput(final VectorRightHandSide firstOrderSystem) {
+		finished = true;
+		final double[][] yDot = new double[order][size];
+		final double[] derivatives = new double[order];
+		for (int row = 0; row < size; row++) {
+			try {
+				firstOrderSystem.apply(row(row), x[row], derivatives);
+			} catch (final IllegalArgumentException | IllegalStateException exception) {
+				// Die gepruefte rechte Seite meldet NaN und Infinite mit Exceptions.
+				return;
+			}
+			for (int n = 0; n < order; n++) {
+				if (!Double.isFinite(derivatives[n])) {
+					return;
+				}
+				yDot[n][row] = derivatives[n];
+			}
+		}
+		this.yDot = yDot;
+	}
+
+	private void grow() {
+		final int capacity = Math.max(MIN_CAPACITY, 2 * x.length);
+		x = Arrays.copyOf(x, capacity);
+		for (int n = 0; n < order; n++) {
+			y[n] = Arrays.copyOf(y[n], capacity);
+		}
+		errorEstimations = Arrays.copyOf(errorEstimations, capacity);
+	}
+
+	@Override
+	public final OdeResult get(final int row) {
+		Objects.checkIndex(row, size);
+		return new Row(row);
+	}
+
+	@Override
+	public final int size() {
+		return size;
+	}
+
+	@Override
+	public final int order() {
+		return order;
+	}
+
+	@Override
+	public final double x(final int row) {
+		Objects.checkIndex(row, size);
+		return x[row];
+	}
+
+	@Override
+	public final double yDerivative(final int row, final int n) {
+		Objects.checkIndex(row, size);
+		derivativeGuard(n);
+		return y[n][row];
+	}
+
+	@Override
+	public final double errorEstimaion(final int row) {
+		Objects.checkIndex(row, size);
+		return errorEstimations[row];
+	}
+
+	@Override
+	public final double min(final int n) {
+		derivativeGuard(n);
+		emptyGuard();
+		final double[] column = y[n];
+		double min = column[0];
+		for (int row = 1; row < size; row++) {
+			if (Double.compare(column[row], min) < 0) {
+				min = column[row];
+			}
+		}
+		return min;
+	}
+
+	@Override
+	public final double max(final int n) {
+		derivativeGuard(n);
+		emptyGuard();
+		final double[] column = y[n];
+		double max = column[0];
+		for (int row = 1; row < size; row++) {
+			if (Double.compare(column[row], max) > 0) {
+				max = column[row];
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public final double[] interpolate(final double x) {
+		emptyGuard();
+		final double direction = Math.signum(this.x[size - 1] - this.x[0]);
+		if (Double.isNaN(x) || (x - this.x[0]) * direction < 0 || (this.x[size - 1] - x) * direction < 0 || (direction == 0 && x != this.x[0])) {
+			throw new IllegalArgumentException(String.format("X must be in the interval [%s;%s].", this.x[0], this.x[size - 1]));
+		}
+		// Letzte Zeile mit (x[row] - x) * direction <= 0.
+		int low = 0;
+		int high = size - 1;
+		while (low < high) {
+			final int middle = (low + high + 1) >>> 1;
+			if ((this.x[middle] - x) * direction <= 0) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		final double[] result = row(low);
+		if (this.x[low] == x) {
+			return result;
+		}
+		final double[] next = row(low + 1);
+		final double h = this.x[low + 1] - this.x[low];
+		final double theta = (x - this.x[low]) / h;
+		if (yDot == null) {
+			for (int n = 0; n < order; n++) {
+				result[n] += theta * (next[n] - result[n]);
+			}
+			return result;
+		}
+		final double[] yDot0 = new double[order];
+		final double[] yDot1 = new double[order];
+		for (int n = 0; n < order; n++) {
+			yDot0[n] = yDot[n][low];
+			yDot1[n] = yDot[n][low + 1];
+		}
+		HermiteStepInterpolator.interpolate(theta, h, result, yDot0, next, yDot1, result);
+		return result;
+	}
+
+	private double[] row(final int row) {
+		final double[] result = new double[order];
+		for (int n = 0; n < order; n++) {
+			result[n] = y[n][row];
+		}
+		return result;
+	}
+
+	private void emptyGuard() {
+		if (size == 0) {
+			throw new NoSuchElementException("Table is empty.");
+		}
+	}
+
+	private void derivativeGuard(final int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Derivative must be >= 0.");
+		}
+		if (n >= order) {
+			throw new IllegalArgumentException(String.format("Derivative must be < %d", order));
+		}
+	}
+
+	private final class Row implements OdeResult {
+
+		private final int row;
+
+		private Row(final int row) {
+			this.row = row;
+		}
+
+		@Override
+		public double x() {
+			return x[row];
+		}
+
+		@Override
+		public double yDerivative(final int n) {
+			derivativeGuard(n);
+			return y[n][row];
+		}
+
+		@Override
+		public double[] yDerivatives() {
+			final double[] result = new double[order];
+			for (int n = 0; n < order; n++) {
+				result[n] = y[n][row];
+			}
+			return result;
+		}
+
+		@Override
+		public double errorEstimaion() {
+			return errorEstimations[row];
+		}
+
+		@Override
+		public int order() {
+			return order;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(yDerivatives()) + Double.hashCode(x());
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Result)) {
+				return false;
+			}
+			final Result other = (Result) obj;
+			return Arrays.equals(yDerivatives(), other.yDerivatives()) && x() == other.x();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("OdeResult(x=%s, y=%s, errorEstimation=%s)", x(), Arrays.toString(yDerivatives()), errorEstimaion());
+		}
+	}
+
+}
@@ -1,34 +1,185 @@
 package de.mq.odesolver.solve.support;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Map;
 
+import de.mq.odesolver.solve.OdeEvent;
+import de.mq.odesolver.solve.OdeEventResult;
 import de.mq.odesolver.solve.OdeResult;
 import de.mq.odesolver.solve.OdeResultCalculator;
 import de.mq.odesolver.solve.OdeSolver;
+import de.mq.odesolver.solve.OdeSolverService.ErrorEstimation;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.solve.StepSink;
+import de.mq.odesolver.support.EngineBinding;
 
 class OdeSolverImpl implements OdeSolver {
 
+	@FunctionalInterface
+	interface Integration {
+		void integrate(final StepSink stepSink, final double[] y0, final double start, final double stepSize, final int steps);
+	}
+
 	private final OdeResultCalculator odeResultCalculator;
 
+	private final ErrorEstimation errorEstimation;
+
+	private final Map<ErrorEstimation, Integration> integrations = Map.of(ErrorEstimation.Off, this::integrateWithoutErrorEstimation, ErrorEstimation.Cheap,
+			this::integrateWithStepDoubling, ErrorEstimation.Full, this::integrateWithErrorEstimation);
+
 	OdeSolverImpl(final OdeResultCalculator odeResultCalculator) {
+		this(odeResultCalculator, ErrorEstimation.Full);
+	}
+
+	OdeSolverImpl(final OdeResultCalculator odeResultCalculator, final ErrorEstimation errorEstimation) {
+		if (errorEstimation == null) {
+			throw new IllegalArgumentException("ErrorEstimation is mandatory.");
+		}
 		this.odeResultCalculator = odeResultCalculator;
+		this.errorEstimation = errorEstimation;
 	}
 
 	@Override
 	public final List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps) {
-		final List<OdeResult> results = new ArrayList<>();
+		final OdeResultTableImpl results = new OdeResultTableImpl(y0.length, steps + 1);
+		// Die Ableitungen fuer die dichte Ausgabe werden mit derselben Engine
+		// berechnet wie die Schritte.
+		EngineBinding.bind(odeResultCalculator);
+		try {
+			solve(y0, start, stop, steps, results::append);
+			odeResultCalculator.firstOrderSystem().ifPresent(results::denseOutput);
+		} finally {
+			EngineBinding.release(odeResultCalculator);
+		}
+		return results;
+	}
+
+	@Override
+	public final List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps, final OutputGrid outputGrid) {
+		return solve(y0, start, stop, steps, outputGrid, OutputGridSink.NO_MONITOR);
+	}
+
+	@Override
+	public final List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps, final OutputGrid outputGrid, final StepSink monitor) {
+		EngineBinding.bind(odeResultCalculator);
+		try {
+			return OutputGridSink.solve(this, odeResultCalculator.firstOrderSystem(), y0, start, stop, steps, outputGrid, monitor);
+		} finally {
+			EngineBinding.release(odeResultCalculator);
+		}
+	}
+
+	@Override
+	public final List<OdeEventResult> solve(final double[] y0, final double start, final double stop, final int steps, final List<OdeEvent> events,
+			final StepSink stepSink) {
+		final EventSink eventSink = new EventSink(events, odeResultCalculator.firstOrderSystem(), stepSink);
+		eventSink.bind();
+		try {
+			solve(y0, start, stop, steps, eventSink);
+		} finally {
+			eventSink.release();
+		}
+		return eventSink.results();
+	}
+
+	@Override
+	public final void solve(final double[] y0, final double start, final double stop, final int steps, final StepSink stepSink) {
 		final double stepSize = (stop - start) / steps;
-		results.add(new OdeResultImpl(y0, start, 0));
-		IntStream.rangeClosed(1, steps).boxed().forEach(n -> {
-			final OdeResult last = results.get(n - 1);
-			final double[] y = odeResultCalculator.calculate(last, stepSize);
-			final double[] y2h = odeResultCalculator.calculate(last, 2 * stepSize);
+		stepSink.accept(y0, start, 0);
+		// Eingebettete Verfahren liefern die Fehlerabschaetzung ohne zusaetzliche
+		// Schritte.
+		final Integration integration = errorEstimation != ErrorEstimation.Off && odeResultCalculator.isEmbedded() ? this::integrateWithEmbeddedErrorEstimation
+				: integrations.get(errorEstimation);
+		// Script-Funktionen bleiben fuer die ganze Integration an eine Engine
+		// gebunden.
+		EngineBinding.bind(odeResultCalculator);
+		try {
+			integration.integrate(stepSink, y0, start, stepSize, steps);
+		} finally {
+			EngineBinding.release(odeResultCalculator);
+		}
+	}
+
+	private void integrateWithoutErrorEstimation(final StepSink stepSink, final double[] y0, final double start, final double stepSize, final int steps) {
+		// Die Puffer werden in jedem Schritt wiederverwendet, die Ergebnisse werden in
+		// die Spalten der Tabelle kopiert.
+		double[] last = y0.clone();
+		double[] y = new double[y0.length];
+		double x = start;
+		for (int n = 1; n <= steps && !stepSink.isTerminated(); n++) {
+			odeResultCalculator.calculate(last, x, stepSize, y);
+			x += stepSize;
+			stepSink.accept(y, x, 0);
+			final double[] swap = last;
+			last = y;
+			y = swap;
+		}
+	}
+
+	private void integrateWithErrorEstimation(final StepSink stepSink, final double[] y0, final double start, final double stepSize, final int steps) {
+		final double[] y2h = new double[y0.length];
+		double[] last = y0.clone();
+		double[] y = new double[y0.length];
+		double x = start;
+		for (int n = 1; n <= steps && !stepSink.isTerminated(); n++) {
+			odeResultCalculator.calculate(last, x, stepSize, y);
+			odeResultCalculator.calculate(last, x, 2 * stepSize, y2h);
 			final double errorEstimation = odeResultCalculator.errorEstimaion(y[0], y2h[0]);
-			results.add(new OdeResultImpl(y, last.x() + stepSize, errorEstimation));
-		});
-		return results;
+			x += stepSize;
+			stepSink.accept(y, x, errorEstimation);
+			final double[] swap = last;
+			last = y;
+			y = swap;
+		}
+	}
+
+	private void integrateWithEmbeddedErrorEstimation(final StepSink stepSink, final double[] y0, final double start, final double stepSize, final int steps) {
+		double[] last = y0.clone();
+		double[] y = new double[y0.length];
+		double x = start;
+		for (int n = 1; n <= steps && !stepSink.isTerminated(); n++) {
+			odeResultCalculator.calculate(last, x, stepSize, y);
+			x += stepSize;
+			stepSink.accept(y, x, odeResultCalculator.errorEstimaion(0));
+			final double[] swap = last;
+			last = y;
+			y = swap;
+		}
+	}
+
+	private void integrateWithStepDoubling(final StepSink stepSink, final double[] y0, final double start, final double stepSize, final int steps) {
+		// 2 Schritte h und ein Schritt 2h vom selben Startpunkt, 3 statt 4 Schritte
+		// fuer 2 Werte.
+		final double[] y2h = new double[y0.length];
+		final double[] middle = new double[y0.length];
+		double[] last = y0.clone();
+		double[] y = new double[y0.length];
+		double x = start;
+		double errorEstimation = 0;
+		int n = 1;
+		for (; n < steps && !stepSink.isTerminated(); n += 2) {
+			odeResultCalculator.calculate(last, x, stepSize, middle);
+			odeResultCalculator.calculate(middle, x + stepSize, stepSize, y);
+			odeResultCalculator.calculate(last, x, 2 * stepSize, y2h);
+			errorEstimation = odeResultCalculator.errorEstimaion(y[0], y2h[0]);
+			final double xMiddle = x + stepSize;
+			stepSink.accept(middle, xMiddle, errorEstimation);
+			x = xMiddle + stepSize;
+			stepSink.accept(y, x, errorEstimation);
+			final double[] swap = last;
+			last = y;
+			y = swap;
+		}
+		if (n == steps && !stepSink.isTerminated()) {
+			// Ungerade Anzahl Schritte: der letzte Schritt uebernimmt die Abschaetzung des
+			// vorherigen Paares, nur bei einem einzigen Schritt wird 2h gerechnet.
+			odeResultCalculator.calculate(last, x, stepSize, y);
+			if (steps == 1) {
+				odeResultCalculator.calculate(last, x, 2 * stepSize, y2h);
+				errorEstimation = odeResultCalculator.errorEstimaion(y[0], y2h[0]);
+			}
+			stepSink.accept(y, x + stepSize, errorEstimation);
+		}
 	}
 
 }
@@ -7,42 +7,79 @@ import org.apache.commons.math3.ode.nonstiff.DormandPrince853Integrator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 import javax.script.Invocable;
 
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.SweepResult;
 import de.mq.odesolver.solve.Ode;
+import de.mq.odesolver.solve.OdeEnsembleSolver;
+import de.mq.odesolver.solve.OdeEvent;
 import de.mq.odesolver.solve.OdeResult;
 import de.mq.odesolver.solve.OdeResultCalculator;
 import de.mq.odesolver.solve.OdeSolver;
 import de.mq.odesolver.solve.OdeSolverService;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.solve.StepSink;
+import de.mq.odesolver.solve.StepSizeControl;
 import de.mq.odesolver.support.ExceptionUtil;
 import de.mq.odesolver.support.OdeFunctionUtil;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
+import de.mq.odesolver.support.RightHandSide;
+import de.mq.odesolver.support.SweepUtil;
 
 class OdeSolverServiceImpl implements OdeSolverService {
 
-	private final Map<Algorithm, Class<? extends OdeResultCalculator>> solvers = Map.of(Algorithm.EulerPolygonal, EulerCalculatorImpl.class, Algorithm.RungeKutta2ndOrder,
-			RungeKutta2CalculatorImpl.class, Algorithm.RungeKutta4thOrder, RungeKutta4CalculatorImpl.class);
+	private final Map<Algorithm, Function<RightHandSide, OdeResultCalculator>> solvers = Map.of(Algorithm.EulerPolygonal, EulerCalculatorImpl::new,
+			Algorithm.RungeKutta2ndOrder, RungeKutta2CalculatorImpl::new, Algorithm.RungeKutta4thOrder, RungeKutta4CalculatorImpl::new, Algorithm.RungeKuttaThreeEighths,
+			rightHandSide -> new RungeKuttaCalculatorImpl(ButcherTableau.RUNGE_KUTTA_38, rightHandSide), Algorithm.BogackiShampine32,
+			BogackiShampineCalculatorImpl::new, Algorithm.CashKarp54, CashKarpCalculatorImpl::new, Algorithm.DormandPrince54, DormandPrinceCalculatorImpl::new);
 
-	private final Map<Algorithm, Class<? extends FirstOrderIntegrator>> systemSolvers = Map.of(Algorithm.DormandPrince853Integrator, DormandPrince853Integrator.class);
+	private final Map<Algorithm, Class<? extends FirstOrderIntegrator>> systemSolvers = Map.of(Algorithm.DormandPrince853Integrator, DormandPrince853Integrator.class,
+			Algorithm.Rosenbrock23, RosenbrockIntegrator.class, Algorithm.Bdf15, BdfIntegrator.class);
+
+	private final Map<Algorithm, ButcherTableau> ensembleTableaus = Map.of(Algorithm.EulerPolygonal, ButcherTableau.EULER, Algorithm.RungeKutta2ndOrder, ButcherTableau.HEUN,
+			Algorithm.RungeKutta4thOrder, ButcherTableau.RUNGE_KUTTA_4, Algorithm.RungeKuttaThreeEighths, ButcherTableau.RUNGE_KUTTA_38);
+
+	private final ForkJoinPool sweepPool;
+
+	OdeSolverServiceImpl() {
+		this(SweepUtil.newPool());
+	}
+
+	/**
+	 * @param sweepPool Pool fuer Parametervariationen.
+	 */
+	OdeSolverServiceImpl(final ForkJoinPool sweepPool) {
+		this.sweepPool = sweepPool;
+	}
 
 	@Override
 	public final OdeSolver odeSolver(final Language language, final Algorithm algorithm, final String function) {
+		return odeSolver(language, algorithm, function, ErrorEstimation.Full);
+	}
+
+	@Override
+	public final OdeSolver odeSolver(final Language language, final Algorithm algorithm, final String function, final ErrorEstimation errorEstimation) {
+		return odeSolver(language, algorithm, function, errorEstimation, true);
+	}
+
+	private OdeSolver odeSolver(final Language language, final Algorithm algorithm, final String function, final ErrorEstimation errorEstimation, final boolean guarded) {
 
 		try {
 
 			if (algorithm.isSystem()) {
 				final Class<? extends FirstOrderIntegrator> clazz = systemSolvers.get(algorithm);
-				final Invocable invocable = newOdeFunctionUtil(language, true).prepareFunction(function);
-				final OdeSystemResultCalculator resultCalculator = invocable.getInterface(OdeSystemResultCalculator.class);
-				Objects.requireNonNull(resultCalculator, "Interface OdeSystemResultCalculator is missing.");
-
-				return new OdeSystemSolverImpl(clazz, resultCalculator);
+				// Native und statisch compilierte Funktionen implementieren
+				// VectorRightHandSide direkt, Script-Funktionen werden waehrend der
+				// Integration an eine Engine gebunden.
+				final OdeFunctionUtil odeFunctionUtil = newOdeFunctionUtil(language, true);
+				return new OdeSystemSolverImpl(clazz, odeFunctionUtil.vectorRightHandSide(odeFunctionUtil.prepareFunction(function)));
 			} else {
 
-				final OdeResultCalculator odeResultCalculator = solvers.get(algorithm).getDeclaredConstructor(OdeFunctionUtil.class, String.class).newInstance(newOdeFunctionUtil(language, false),
-						function);
-				return new OdeSolverImpl(odeResultCalculator);
+				return new OdeSolverImpl(newOdeResultCalculator(language, algorithm, function, guarded), errorEstimation);
 			}
 		} catch (final Exception exception) {
 			throw ExceptionUtil.translateToRuntimeException(exception);
@@ -50,12 +87,82 @@ class OdeSolverServiceImpl implements OdeSolverService {
 
 	}
 
+	@Override
+	public final OdeSolver odeSolver(final Language language, final Algorithm algorithm, final String function, final StepSizeControl stepSizeControl) {
+		if (algorithm.isSystem()) {
+			throw new IllegalArgumentException(String.format("Step size control is not supported for %s.", algorithm));
+		}
+		try {
+			return new AdaptiveOdeSolverImpl(newOdeResultCalculator(language, algorithm, function, true), algorithm.order(), stepSizeControl);
+		} catch (final Exception exception) {
+			throw ExceptionUtil.translateToRuntimeException(exception);
+		}
+	}
+
+	@Override
+	public final OdeEnsembleSolver ensembleSolver(final Language language, final Algorithm algorithm, final String function) {
+		if (!ensembleTableaus.containsKey(algorithm)) {
+			throw new IllegalArgumentException(String.format("Ensemble integration is not supported for %s.", algorithm));
+		}
+		try {
+			// Viele Trajektorien mit einer compilierten Funktion, das Ergebnis wird
+			// nicht fuer jede einzelne auf NaN und Infinite geprueft.
+			final OdeFunctionUtil odeFunctionUtil = newOdeFunctionUtil(language, false);
+			return new OdeEnsembleSolverImpl(ensembleTableaus.get(algorithm), odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction(function), false));
+		} catch (final Exception exception) {
+			throw ExceptionUtil.translateToRuntimeException(exception);
+		}
+	}
+
+	@Override
+	public final OdeEvent odeEvent(final Language language, final String condition, final boolean terminal) {
+		try {
+			final OdeFunctionUtil odeFunctionUtil = newOdeFunctionUtil(language, false);
+			return new OdeEvent(odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction(condition)), terminal);
+		} catch (final Exception exception) {
+			throw ExceptionUtil.translateToRuntimeException(exception);
+		}
+	}
+
 	@Override
 	public List<OdeResult> solve(final Ode ode) {
 		final OdeSolver odeSolver = odeSolver(ode.language(), ode.algorithm(), ode.ode());
 		return odeSolver.solve(ode.y(), ode.start(), ode.stop(), ode.steps());
 	}
 
+	@Override
+	public List<OdeResult> solve(final Ode ode, final OutputGrid outputGrid) {
+		final OdeSolver odeSolver = odeSolver(ode.language(), ode.algorithm(), ode.ode());
+		return odeSolver.solve(ode.y(), ode.start(), ode.stop(), ode.steps(), outputGrid);
+	}
+
+	@Override
+	public List<OdeResult> solve(final Ode ode, final OutputGrid outputGrid, final StepSink monitor) {
+		final OdeSolver odeSolver = odeSolver(ode.language(), ode.algorithm(), ode.ode());
+		return odeSolver.solve(ode.y(), ode.start(), ode.stop(), ode.steps(), outputGrid, monitor);
+	}
+
+	@Override
+	public final SweepResult sweep(final Ode ode, final Sweep sweep) {
+		if (sweep.dimension() != ode.y().length) {
+			throw new IllegalArgumentException(String.format("Sweep dimension %d does not match the order %d of the ode.", sweep.dimension(), ode.y().length));
+		}
+		final int steps = ode.steps();
+		// Der erste Solver compiliert die Funktion (Syntaxfehler fallen vor der
+		// Verteilung auf), die Solver der Teilbereiche erhalten sie aus dem
+		// FunctionCache, ohne Pruefung des Ergebnisses auf NaN und Infinite.
+		odeSolver(ode.language(), ode.algorithm(), ode.ode(), ErrorEstimation.Off);
+		return SweepUtil.sweep(sweepPool, sweep, sweep.dimension(), steps + 1, () -> {
+			final OdeSolver odeSolver = odeSolver(ode.language(), ode.algorithm(), ode.ode(), ErrorEstimation.Off, false);
+			return (y0, start, stop) -> odeSolver.solve(y0, start, stop, steps);
+		});
+	}
+
+	private OdeResultCalculator newOdeResultCalculator(final Language language, final Algorithm algorithm, final String function, final boolean guarded) throws Exception {
+		final OdeFunctionUtil odeFunctionUtil = newOdeFunctionUtil(language, false);
+		return solvers.get(algorithm).apply(odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction(function), guarded));
+	}
+
 	private OdeFunctionUtil newOdeFunctionUtil(final Language language, final boolean system) throws Exception {
 		@SuppressWarnings("unchecked")
 		final Constructor<? extends OdeFunctionUtil> constructor = (Constructor<? extends OdeFunctionUtil>) Class.forName("de.mq.odesolver.support.OdeFunctionUtilImpl")
@@ -1,59 +1,234 @@
 package de.mq.odesolver.solve.support;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
 
 import org.apache.commons.math3.ode.FirstOrderDifferentialEquations;
 import org.apache.commons.math3.ode.FirstOrderIntegrator;
+import org.apache.commons.math3.ode.events.EventHandler;
 import org.apache.commons.math3.ode.nonstiff.DormandPrince853Integrator;
 import org.apache.commons.math3.ode.sampling.StepHandler;
 import org.apache.commons.math3.ode.sampling.StepInterpolator;
 import org.apache.groovy.util.Maps;
 
+import de.mq.odesolver.solve.OdeEvent;
+import de.mq.odesolver.solve.OdeEventResult;
 import de.mq.odesolver.solve.OdeResult;
 import de.mq.odesolver.solve.OdeSolver;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.solve.SolverStatistics;
+import de.mq.odesolver.solve.StepSink;
+import de.mq.odesolver.support.EngineBinding;
+import de.mq.odesolver.support.VectorRightHandSide;
 
 class OdeSystemSolverImpl implements OdeSolver {
 
 	static final double ERROR_SIZE = 1.0e-10;
+	// Kleinste Schrittweite relativ zur Schrittweite des Gitters.
+	static final double MIN_STEP_FACTOR = 1.0e-12;
+	// Genauigkeit der Ereignisse relativ zur Schrittweite des Gitters.
+	static final double EVENT_CONVERGENCE_FACTOR = 1.0e-12;
+	static final int EVENT_MAX_ITERATIONS = 100;
 	private final Class<? extends FirstOrderIntegrator> firstOrderIntegratorClass;
-	private final OdeSystemResultCalculator resultCalculator;
+	private final VectorRightHandSide rightHandSide;
+	private volatile SolverStatistics statistics;
 
+	/**
+	 * DormandPrince853Integrator ist durch die Schrittweite des Gitters begrenzt,
+	 * darf die Schrittweite aber verkleinern. Die steifen Verfahren sind nicht
+	 * begrenzt, ihre Ergebnisse werden auf das Gitter interpoliert.
+	 */
 	private final Map<Class<? extends FirstOrderIntegrator>, Function<Double, FirstOrderIntegrator>> integrators = Maps.of(DormandPrince853Integrator.class,
-			stepSize -> new DormandPrince853Integrator(stepSize, stepSize, ERROR_SIZE, ERROR_SIZE));
+			stepSize -> new DormandPrince853Integrator(MIN_STEP_FACTOR * stepSize, stepSize, ERROR_SIZE, ERROR_SIZE), RosenbrockIntegrator.class,
+			stepSize -> new RosenbrockIntegrator(MIN_STEP_FACTOR * stepSize, Double.POSITIVE_INFINITY, ERROR_SIZE, ERROR_SIZE), BdfIntegrator.class,
+			stepSize -> new BdfIntegrator(MIN_STEP_FACTOR * stepSize, Double.POSITIVE_INFINITY, ERROR_SIZE, ERROR_SIZE));
 
-	OdeSystemSolverImpl(final Class<? extends FirstOrderIntegrator> firstOrderIntegratorClass, final OdeSystemResultCalculator resultCalculator) {
+	/**
+	 * Der Integrator kennt keinen Abbruch aus einem StepHandler, er wird mit
+	 * dieser Exception verlassen. Es wird kein Stacktrace erzeugt.
+	 */
+	private static class TerminationException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private TerminationException() {
+			super(null, null, false, false);
+		}
+	}
+
+	OdeSystemSolverImpl(final Class<? extends FirstOrderIntegrator> firstOrderIntegratorClass, final VectorRightHandSide rightHandSide) {
 		this.firstOrderIntegratorClass = firstOrderIntegratorClass;
-		this.resultCalculator = resultCalculator;
+		this.rightHandSide = rightHandSide;
+	}
+
+	OdeSystemSolverImpl(final Class<? extends FirstOrderIntegrator> firstOrderIntegratorClass, final OdeSystemResultCalculator resultCalculator) {
+		this(firstOrderIntegratorClass, SimpleFirstOrderDifferentialEquationsImpl.vectorRightHandSide(resultCalculator));
 	}
 
 	@Override
 	public List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps) {
+		final OdeResultTableImpl results = new OdeResultTableImpl(y0.length, steps + 1);
+		// Die Ableitungen fuer die dichte Ausgabe werden mit derselben Engine
+		// berechnet wie die Schritte.
+		EngineBinding.bind(rightHandSide);
+		try {
+			solve(y0, start, stop, steps, results::append);
+			results.denseOutput(rightHandSide);
+		} finally {
+			EngineBinding.release(rightHandSide);
+		}
+		return results;
+	}
+
+	@Override
+	public void solve(final double[] y0, final double start, final double stop, final int steps, final StepSink stepSink) {
+		final double stepSize = (stop - start) / steps;
+		integrate(y0, start, stop, stepSize, steps + 1, i -> i == steps ? stop : start + i * stepSize, List.of(), OutputGridSink.NO_MONITOR, stepSink);
+	}
+
+	/**
+	 * Die Ereignisse werden mit den EventHandlern des Integrators gesucht, die
+	 * Nullstellen bestimmt der Integrator mit dem Brent-Verfahren auf seinem
+	 * StepInterpolator. Die Bedingungen werden mindestens einmal pro Schritt des
+	 * Gitters ausgewertet.
+	 */
+	@Override
+	public List<OdeEventResult> solve(final double[] y0, final double start, final double stop, final int steps, final List<OdeEvent> events, final StepSink stepSink) {
+		if (events == null) {
+			throw new IllegalArgumentException("Events are mandatory.");
+		}
+		final double stepSize = (stop - start) / steps;
+		return integrate(y0, start, stop, stepSize, steps + 1, i -> i == steps ? stop : start + i * stepSize, List.copyOf(events), OutputGridSink.NO_MONITOR, stepSink);
+	}
 
-		final FirstOrderDifferentialEquations ode = new SimpleFirstOrderDifferentialEquationsImpl(resultCalculator, y0.length);
+	/**
+	 * Die Punkte des OutputGrid werden mit dem StepInterpolator des Integrators
+	 * berechnet (dichte Ausgabe), steps begrenzt nur die Schrittweite.
+	 */
+	@Override
+	public List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps, final OutputGrid outputGrid) {
+		return solve(y0, start, stop, steps, outputGrid, OutputGridSink.NO_MONITOR);
+	}
+
+	/**
+	 * Der Monitor erhaelt die Schritte des Integrators, nach einem Abbruch endet
+	 * die Integration mit dem aktuellen Schritt.
+	 */
+	@Override
+	public List<OdeResult> solve(final double[] y0, final double start, final double stop, final int steps, final OutputGrid outputGrid, final StepSink monitor) {
+		final double[] points = outputGrid.xValues(start, stop, steps);
+		final OdeResultTableImpl results = new OdeResultTableImpl(y0.length, points.length);
+		EngineBinding.bind(rightHandSide);
+		try {
+			integrate(y0, start, stop, (stop - start) / steps, points.length, i -> points[i], List.of(), monitor, results::append);
+			results.denseOutput(rightHandSide);
+		} finally {
+			EngineBinding.release(rightHandSide);
+		}
+		return results;
+	}
+
+	private List<OdeEventResult> integrate(final double[] y0, final double start, final double stop, final double stepSize, final int count,
+			final IntToDoubleFunction points, final List<OdeEvent> events, final StepSink monitor, final StepSink stepSink) {
+
+		final FirstOrderDifferentialEquations ode = new SimpleFirstOrderDifferentialEquationsImpl(rightHandSide, y0.length);
 		// y0[] soll nicht überschrieben werden.
 		final double[] y = y0.clone();
+		final List<OdeEventResult> eventResults = new ArrayList<>();
 
-		final List<OdeResult> results = new ArrayList<>();
-		final double stepSize = (stop - start) / steps;
 		final FirstOrderIntegrator firstOrderIntegrator = integrators.get(firstOrderIntegratorClass).apply(stepSize);
 		final StepHandler stepHandler = new StepHandler() {
+			// Index des naechsten Punktes der Ausgabe.
+			private int next;
+
 			public void init(double t0, double[] y0, double t) {
-				results.clear();
-				results.add(new OdeResultImpl(y0.clone(), t0, ERROR_SIZE));
+				for (next = 0; next < count && points.applyAsDouble(next) == t0; next++) {
+					stepSink.accept(y0, t0, ERROR_SIZE);
+				}
 			}
 
 			public void handleStep(StepInterpolator interpolator, boolean isLast) {
-				results.add(new OdeResultImpl(interpolator.getInterpolatedState().clone(), interpolator.getCurrentTime(), ERROR_SIZE));
-
+				// Die Punkte der Ausgabe im Schritt werden interpoliert, nach einem
+				// terminalen Ereignis bzw. einem Abbruch nur bis zum Ende des Schrittes,
+				// das als letztes Ergebnis ausgegeben wird.
+				final double currentTime = interpolator.getCurrentTime();
+				if (monitor != OutputGridSink.NO_MONITOR) {
+					interpolator.setInterpolatedTime(currentTime);
+					monitor.accept(interpolator.getInterpolatedState(), currentTime, ERROR_SIZE);
+				}
+				// Abbruch ueber den Monitor oder die Ausgabe selbst.
+				final boolean stopped = monitor.isTerminated() || stepSink.isTerminated();
+				final boolean terminated = stopped
+						|| isLast && !eventResults.isEmpty() && events.get(eventResults.get(eventResults.size() - 1).event()).isTerminal();
+				for (; next < count && ((isLast && !terminated) || (points.applyAsDouble(next) - currentTime) * stepSize <= 0); next++) {
+					final double x = points.applyAsDouble(next);
+					interpolator.setInterpolatedTime(x);
+					stepSink.accept(interpolator.getInterpolatedState(), x, ERROR_SIZE);
+				}
+				if (terminated && (next == 0 || points.applyAsDouble(next - 1) != currentTime)) {
+					interpolator.setInterpolatedTime(currentTime);
+					stepSink.accept(interpolator.getInterpolatedState(), currentTime, ERROR_SIZE);
+				}
+				if (stopped && !isLast) {
+					throw new TerminationException();
+				}
 			}
 		};
 		firstOrderIntegrator.addStepHandler(stepHandler);
+		for (int i = 0; i < events.size(); i++) {
+			firstOrderIntegrator.addEventHandler(eventHandler(events.get(i), i, eventResults), Math.abs(stepSize), EVENT_CONVERGENCE_FACTOR * Math.abs(stepSize),
+					EVENT_MAX_ITERATIONS);
+		}
 
-		firstOrderIntegrator.integrate(ode, start, y, stop, y);
-		return results;
+		// Script-Funktionen bleiben fuer die ganze Integration an eine Engine
+		// gebunden.
+		EngineBinding.bind(rightHandSide);
+		events.forEach(event -> EngineBinding.bind(event.condition()));
+		try {
+			firstOrderIntegrator.integrate(ode, start, y, stop, y);
+		} catch (final TerminationException exception) {
+			// Die Integration wurde vom Monitor beendet.
+		} finally {
+			events.forEach(event -> EngineBinding.release(event.condition()));
+			EngineBinding.release(rightHandSide);
+			if (firstOrderIntegrator instanceof AbstractStiffIntegrator stiffIntegrator) {
+				statistics = stiffIntegrator.statistics();
+			}
+		}
+		return Collections.unmodifiableList(eventResults);
+	}
+
+	/**
+	 * Die Zaehler der steifen Verfahren nach der letzten Integration.
+	 */
+	@Override
+	public final Optional<SolverStatistics> statistics() {
+		return Optional.ofNullable(statistics);
 	}
- 
+
+	private EventHandler eventHandler(final OdeEvent event, final int index, final List<OdeEventResult> eventResults) {
+		return new EventHandler() {
+
+			public void init(double t0, double[] y0, double t) {
+			}
+
+			public double g(double t, double[] y) {
+				return event.condition().apply(y, t);
+			}
+
+			public Action eventOccurred(double t, double[] y, boolean increasing) {
+				eventResults.add(new OdeEventResultImpl(y.clone(), t, ERROR_SIZE, index));
+				return event.isTerminal() ? Action.STOP : Action.CONTINUE;
+			}
+
+			public void resetState(double t, double[] y) {
+			}
+		};
+	}
+
 }
@@ -0,0 +1,170 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.List;
+import java.util.Optional;
+
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeSolver;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.solve.OutputGrid.Type;
+import de.mq.odesolver.solve.StepSink;
+import de.mq.odesolver.support.VectorRightHandSide;
+
+/**
+ * Bildet die Schritte eines {@link OdeSolver} auf ein {@link OutputGrid} ab.
+ * Bei {@link Type#EveryStep} werden die Schritte weitergereicht oder
+ * uebersprungen, sonst werden die Punkte zwischen zwei Schritten interpoliert,
+ * kubisch nach Hermite, wenn die rechte Seite des Systems 1. Ordnung bekannt
+ * ist, sonst linear. Die Ableitungen werden nur fuer Schritte berechnet, in
+ * denen Punkte liegen. Der letzte Schritt bzw. Punkte, die durch Rundung hinter dem
+ * letzten Schritt liegen, werden erst mit {@link #finish()} ausgegeben.
+ *
+ * Ein Monitor erhaelt jeden Schritt der Integration, z.B. fuer eine
+ * Fortschrittsanzeige, und kann die Integration beenden. Nach einem Abbruch
+ * wird nur noch der letzte Schritt ausgegeben.
+ *
+ * @author mq
+ *
+ */
+class OutputGridSink implements StepSink {
+
+	static final StepSink NO_MONITOR = (y, x, errorEstimation) -> {};
+
+	private final StepSink stepSink;
+	private final StepSink monitor;
+	private final int k;
+	private final double[] points;
+	private final double direction;
+	private final Optional<VectorRightHandSide> firstOrderSystem;
+	private int next = 0;
+	private int step = 0;
+	private double[] last = new double[0];
+	private double[] interpolated = new double[0];
+	private double[] yDot0 = new double[0];
+	private double[] yDot1 = new double[0];
+	private int derivativesStep = -1;
+	private double lastX;
+	private double lastErrorEstimation;
+	private boolean lastEmitted;
+
+	OutputGridSink(final OutputGrid outputGrid, final double start, final double stop, final int steps, final Optional<VectorRightHandSide> firstOrderSystem,
+			final StepSink stepSink) {
+		this(outputGrid, start, stop, steps, firstOrderSystem, NO_MONITOR, stepSink);
+	}
+
+	OutputGridSink(final OutputGrid outputGrid, final double start, final double stop, final int steps, final Optional<VectorRightHandSide> firstOrderSystem,
+			final StepSink monitor, final StepSink stepSink) {
+		this.stepSink = stepSink;
+		this.monitor = monitor;
+		this.firstOrderSystem = firstOrderSystem;
+		this.k = outputGrid.type() == Type.EveryStep ? outputGrid.count() : 0;
+		this.points = outputGrid.type() == Type.EveryStep ? new double[0] : outputGrid.xValues(start, stop, steps);
+		this.direction = Math.signum(stop - start);
+	}
+
+	/**
+	 * Loest die DGL und sammelt die Ergebnisse auf dem OutputGrid.
+	 *
+	 * @param odeSolver        Solver, der die Schritte liefert.
+	 * @param firstOrderSystem rechte Seite des Systems 1. Ordnung fuer die dichte
+	 *                         Ausgabe, falls bekannt.
+	 * @param y0         Anfangswerte.
+	 * @param start      Beginn des x-Interval.
+	 * @param stop       Ende des x-Intervalls.
+	 * @param steps      Anzahl der Schritte der Integration.
+	 * @param outputGrid x-Werte der Ausgabe.
+	 * @param monitor    erhaelt jeden Schritt der Integration.
+	 * @return Ergebnisse auf dem OutputGrid.
+	 */
+	static List<OdeResult> solve(final OdeSolver odeSolver, final Optional<VectorRightHandSide> firstOrderSystem, final double[] y0, final double start, final double stop,
+			final int steps, final OutputGrid outputGrid, final StepSink monitor) {
+		final int capacity = outputGrid.type() == Type.EveryStep ? Math.max(steps, 0) / outputGrid.count() + 2 : outputGrid.count();
+		final OdeResultTableImpl results = new OdeResultTableImpl(y0.length, capacity);
+		final OutputGridSink outputGridSink = new OutputGridSink(outputGrid, start, stop, steps, firstOrderSystem, monitor, results::append);
+		odeSolver.solve(y0, start, stop, steps, outputGridSink);
+		outputGridSink.finish();
+		firstOrderSystem.ifPresent(results::denseOutput);
+		return results;
+	}
+
+	@Override
+	public final void accept(final double[] y, final double x, final double errorEstimation) {
+		monitor.accept(y, x, errorEstimation);
+		if (k > 0) {
+			lastEmitted = step % k == 0;
+			if (lastEmitted) {
+				stepSink.accept(y, x, errorEstimation);
+			}
+		} else {
+			for (; next < points.length && (points[next] - x) * direction <= 0; next++) {
+				if (step == 0 || points[next] == x) {
+					stepSink.accept(y, points[next], errorEstimation);
+				} else {
+					interpolate(y, x, points[next]);
+					stepSink.accept(interpolated, points[next], errorEstimation);
+				}
+			}
+		}
+		store(y, x, errorEstimation);
+		step++;
+	}
+
+	@Override
+	public final boolean isTerminated() {
+		return monitor.isTerminated();
+	}
+
+	/**
+	 * Gibt den letzten Schritt aus, wenn er nicht auf dem Gitter liegt, bzw. die
+	 * Punkte, die noch nicht erreicht wurden.
+	 */
+	final void finish() {
+		if (step == 0) {
+			return;
+		}
+		if (k > 0 && !lastEmitted) {
+			stepSink.accept(last, lastX, lastErrorEstimation);
+			lastEmitted = true;
+		}
+		if (k == 0 && isTerminated()) {
+			// Die restlichen Punkte wurden nicht erreicht.
+			if (next == 0 || points[next - 1] != lastX) {
+				stepSink.accept(last, lastX, lastErrorEstimation);
+			}
+			return;
+		}
+		for (; next < points.length; next++) {
+			stepSink.accept(last, points[next], lastErrorEstimation);
+		}
+	}
+
+	private void interpolate(final double[] y, final double x, final double point) {
+		final double h = x - lastX;
+		final double theta = (point - lastX) / h;
+		if (firstOrderSystem.isEmpty()) {
+			for (int j = 0; j < y.length; j++) {
+				interpolated[j] = last[j] + theta * (y[j] - last[j]);
+			}
+			return;
+		}
+		if (derivativesStep != step) {
+			firstOrderSystem.get().apply(last, lastX, yDot0);
+			firstOrderSystem.get().apply(y, x, yDot1);
+			derivativesStep = step;
+		}
+		HermiteStepInterpolator.interpolate(theta, h, last, yDot0, y, yDot1, interpolated);
+	}
+
+	private void store(final double[] y, final double x, final double errorEstimation) {
+		if (last.length != y.length) {
+			last = new double[y.length];
+			interpolated = new double[y.length];
+			yDot0 = new double[y.length];
+			yDot1 = new double[y.length];
+		}
+		System.arraycopy(y, 0, last, 0, y.length);
+		lastX = x;
+		lastErrorEstimation = errorEstimation;
+	}
+
+}
@@ -0,0 +1,119 @@
+package de.mq.odesolver.solve.support;
+
+/**
+ * Rosenbrock-Verfahren 2. Ordnung mit eingebetteter Fehlerabschaetzung 3.
+ * Ordnung nach Shampine und Reichelt (ode23s). Das Verfahren ist L-stabil und
+ * ein W-Verfahren: die Ordnung bleibt auch mit einer veralteten Jacobi-Matrix
+ * erhalten. Die Jacobi-Matrix wird deshalb nur nach einem verworfenen Schritt
+ * oder nach {@link #MAX_JACOBIAN_AGE} Schritten neu berechnet. Pro Schritt
+ * werden 2 Auswertungen der rechten Seite, eine LU-Zerlegung und 3
+ * Vorwaerts-/Rueckwaertssubstitutionen benoetigt, die Auswertung am Ende des
+ * Schrittes ist die erste des naechsten Schrittes.
+ *
+ * @author mq
+ *
+ */
+class RosenbrockIntegrator extends AbstractStiffIntegrator {
+
+	static final String NAME = "Rosenbrock 2(3)";
+
+	static final int MAX_JACOBIAN_AGE = 20;
+
+	private static final int ORDER = 2;
+	private static final double D = 1 / (2 + Math.sqrt(2));
+	private static final double E32 = 6 + Math.sqrt(2);
+	private static final double EXPONENT = 1d / (ORDER + 1);
+
+	RosenbrockIntegrator(final double minStep, final double maxStep, final double absoluteTolerance, final double relativeTolerance) {
+		super(NAME, minStep, maxStep, absoluteTolerance, relativeTolerance);
+	}
+
+	@Override
+	final void integrateSteps(final double[] y, final double t, final boolean forward, final HermiteStepInterpolator interpolator) {
+		final int n = y.length;
+		final NumericalJacobian numericalJacobian = numericalJacobian();
+		final LuDecomposition lu = new LuDecomposition();
+		final double[][] w = new double[n][n];
+		final double[] dfdx = new double[n];
+		final double[] f0 = new double[n];
+		final double[] f1 = new double[n];
+		final double[] f2 = new double[n];
+		final double[] k1 = new double[n];
+		final double[] k2 = new double[n];
+		final double[] k3 = new double[n];
+		final double[] rhs = new double[n];
+		final double[] yNew = new double[n];
+
+		computeDerivatives(stepStart, y, f0);
+		double h = initialStep(forward, ORDER, stepStart, y, f0, t);
+		int jacobianAge = MAX_JACOBIAN_AGE;
+
+		while (!isLastStep) {
+			numericalJacobian.timeDerivative(y, stepStart, f0, dfdx);
+			double error;
+			while (true) {
+				h = filterStep(h, t);
+				minStepGuard(h, t);
+				if (!numericalJacobian.isCurrent() && jacobianAge >= MAX_JACOBIAN_AGE) {
+					numericalJacobian.update(y, stepStart, f0);
+					jacobianAge = 0;
+				}
+				final double[][] jacobian = numericalJacobian.jacobian();
+				final double hd = h * D;
+				for (int i = 0; i < n; i++) {
+					for (int j = 0; j < n; j++) {
+						w[i][j] = (i == j ? 1 : 0) - hd * jacobian[i][j];
+					}
+				}
+				if (!decompose(lu, w)) {
+					h = 0.5 * h;
+					continue;
+				}
+
+				for (int i = 0; i < n; i++) {
+					rhs[i] = f0[i] + hd * dfdx[i];
+				}
+				lu.solve(rhs, k1);
+
+				for (int i = 0; i < n; i++) {
+					yNew[i] = y[i] + 0.5 * h * k1[i];
+				}
+				computeDerivatives(stepStart + 0.5 * h, yNew, f1);
+				for (int i = 0; i < n; i++) {
+					rhs[i] = f1[i] - k1[i];
+				}
+				lu.solve(rhs, k2);
+				for (int i = 0; i < n; i++) {
+					k2[i] += k1[i];
+					yNew[i] = y[i] + h * k2[i];
+				}
+
+				computeDerivatives(stepStart + h, yNew, f2);
+				for (int i = 0; i < n; i++) {
+					rhs[i] = f2[i] - E32 * (k2[i] - f1[i]) - 2 * (k1[i] - f0[i]) + hd * dfdx[i];
+				}
+				lu.solve(rhs, k3);
+				for (int i = 0; i < n; i++) {
+					// Fehlerabschaetzung h/6 (k1 - 2 k2 + k3)
+					rhs[i] = h / 6 * (k1[i] - 2 * k2[i] + k3[i]);
+				}
+				error = norm(rhs, y, yNew);
+				if (error <= 1) {
+					break;
+				}
+				if (!numericalJacobian.isCurrent()) {
+					// Die Jacobi-Matrix wird vor dem naechsten Versuch neu berechnet.
+					jacobianAge = MAX_JACOBIAN_AGE;
+				}
+				numericalJacobian.reject();
+				h = h * reductionFactor(error, EXPONENT);
+			}
+
+			accept(interpolator, y, f0, yNew, f2, h, t);
+			numericalJacobian.markStale();
+			jacobianAge = resetOccurred ? MAX_JACOBIAN_AGE : jacobianAge + 1;
+			h = h * growthFactor(error, EXPONENT);
+		}
+	}
+
+}
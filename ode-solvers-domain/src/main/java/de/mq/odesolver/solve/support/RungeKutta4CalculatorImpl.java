@@ -1,64 +1,23 @@
 package de.mq.odesolver.solve.support;
 
-import static de.mq.odesolver.solve.support.OdeResultImpl.doubleArray;
-
 import java.util.function.Function;
 
 import de.mq.odesolver.solve.OdeResult;
 import de.mq.odesolver.support.OdeFunctionUtil;
+import de.mq.odesolver.support.RightHandSide;
 
-class RungeKutta4CalculatorImpl extends AbstractOdeCalculator {
-
-	
-	RungeKutta4CalculatorImpl(final Function<OdeResult, Double> firstOrderOdeFunction) {
-		super(firstOrderOdeFunction);
-	}
-
-	RungeKutta4CalculatorImpl(final OdeFunctionUtil odeFunctionUtil, final String function) {
-		super(odeFunctionUtil, function);
-	}
-		
-
-	
+class RungeKutta4CalculatorImpl extends RungeKuttaCalculatorImpl {
 
-	double[] calculateFirstOrderOde(final OdeResult last, final double stepSize) {
-		final double k1 = stepSize
-				* this.odeFunction.apply(new OdeResultImpl(doubleArray(last.yDerivative(0)), last.x()));
-		final double k2 = stepSize * this.odeFunction
-				.apply(new OdeResultImpl(doubleArray(last.yDerivative(0) + k1 / 2), last.x() + stepSize / 2));
-		final double k3 = stepSize * this.odeFunction
-				.apply(new OdeResultImpl(doubleArray(last.yDerivative(0) + k2 / 2), last.x() + stepSize / 2));
-		final double k4 = stepSize * this.odeFunction
-				.apply(new OdeResultImpl(doubleArray(last.yDerivative(0) + k3), last.x() + stepSize));
-
-		return doubleArray(last.yDerivative(0) + (k1 + 2 * k2 + 2 * k3 + k4) / 6);
+	RungeKutta4CalculatorImpl(final RightHandSide rightHandSide) {
+		super(ButcherTableau.RUNGE_KUTTA_4, rightHandSide);
 	}
 
-	double[] calculateSecondOrderOde(final OdeResult last, final double stepSize) {
-		final double k1 = stepSize * last.yDerivative(1);
-		final double m1 = stepSize * this.odeFunction.apply(new OdeResultImpl(last.yDerivatives(), last.x()));
-
-		final double k2 = stepSize * (last.yDerivative(1) + m1 / 2);
-		final double m2 = stepSize * this.odeFunction.apply(new OdeResultImpl(
-				doubleArray(last.yDerivative(0) + k1 / 2, last.yDerivative(1) + m1 / 2), last.x() + stepSize / 2));
-
-		final double k3 = stepSize * (last.yDerivative(1) + m2 / 2);
-		final double m3 = stepSize * this.odeFunction.apply(new OdeResultImpl(
-				doubleArray(last.yDerivative(0) + k2 / 2, last.yDerivative(1) + m2 / 2), last.x() + stepSize / 2));
-
-		final double k4 = stepSize * (last.yDerivative(1) + m3);
-		final double m4 = stepSize * this.odeFunction.apply(new OdeResultImpl(
-				doubleArray(last.yDerivative(0) + k3, last.yDerivative(1) + m3), last.x() + stepSize));
-
-		return doubleArray(last.yDerivative(0) + (k1 + 2 * k2 + 2 * k3 + k4) / 6,
-				last.yDerivative(1) + (m1 + 2 * m2 + 2 * m3 + m4) / 6);
+	RungeKutta4CalculatorImpl(final Function<OdeResult, Double> firstOrderOdeFunction) {
+		super(ButcherTableau.RUNGE_KUTTA_4, firstOrderOdeFunction);
 	}
 
-	@Override
-	double quality() {
-		return 01d/15d;
+	RungeKutta4CalculatorImpl(final OdeFunctionUtil odeFunctionUtil, final String function) {
+		super(ButcherTableau.RUNGE_KUTTA_4, odeFunctionUtil, function);
 	}
 
-	
-
 }
@@ -0,0 +1,138 @@
+package de.mq.odesolver.solve.support;
+
+import java.util.function.Function;
+
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.support.OdeFunctionUtil;
+import de.mq.odesolver.support.RightHandSide;
+import de.mq.odesolver.support.VectorRightHandSide;
+
+/**
+ * Explizites Runge-Kutta-Verfahren, das durch ein {@link ButcherTableau}
+ * gegeben ist, fuer beliebige Dimensionen. Ist das Tableau eingebettet, werden
+ * Loesung und Fehlerabschaetzung aus denselben Stufen berechnet, eine
+ * Schrittweitenverdopplung ist nicht notwendig. Bei FSAL-Verfahren wird die
+ * letzte Stufe als erste Stufe des naechsten Schrittes verwendet, wenn dieser
+ * am Ende des letzten Schrittes beginnt.
+ * 
+ * @author mq
+ *
+ */
+class RungeKuttaCalculatorImpl extends AbstractOdeCalculator {
+
+	private final ButcherTableau tableau;
+
+	private double[][] k = new double[0][0];
+	private double[] stage = new double[0];
+	private double[] error = new double[0];
+	private double[] fsalY = new double[0];
+	private double fsalX;
+	private boolean fsalValid = false;
+
+	RungeKuttaCalculatorImpl(final ButcherTableau tableau, final RightHandSide rightHandSide) {
+		super(rightHandSide);
+		this.tableau = tableau;
+	}
+
+	RungeKuttaCalculatorImpl(final ButcherTableau tableau, final VectorRightHandSide system) {
+		super(system);
+		this.tableau = tableau;
+	}
+
+	RungeKuttaCalculatorImpl(final ButcherTableau tableau, final Function<OdeResult, Double> odeFunction) {
+		super(odeFunction);
+		this.tableau = tableau;
+	}
+
+	RungeKuttaCalculatorImpl(final ButcherTableau tableau, final OdeFunctionUtil odeFunctionUtil, final String function) {
+		super(odeFunctionUtil, function);
+		this.tableau = tableau;
+	}
+
+	@Override
+	public final boolean isEmbedded() {
+		return tableau.embedded;
+	}
+
+	@Override
+	public final double errorEstimaion(final int n) {
+		if (!tableau.embedded) {
+			return super.errorEstimaion(n);
+		}
+		if (n < 0 || n >= error.length) {
+			throw new IllegalArgumentException(String.format("Derivative must be >= 0 and < %d.", error.length));
+		}
+		return error[n];
+	}
+
+	@Override
+	final double quality() {
+		return 1d / ((1 << tableau.order) - 1);
+	}
+
+	@Override
+	final void step(final double[] y, final double x, final double h, final double[] result) {
+		final int dimension = y.length;
+		buffers(dimension);
+		final int stages = tableau.stages();
+		if (fsalValid && x == fsalX && sameState(y)) {
+			System.arraycopy(k[stages - 1], 0, k[0], 0, dimension);
+		} else {
+			system.apply(y, x, k[0]);
+		}
+		for (int i = 1; i < stages; i++) {
+			final double[] a = tableau.a[i];
+			for (int j = 0; j < dimension; j++) {
+				double sum = 0;
+				for (int l = 0; l < i; l++) {
+					sum += a[l] * k[l][j];
+				}
+				stage[j] = y[j] + h * sum;
+			}
+			system.apply(stage, x + tableau.c[i] * h, k[i]);
+		}
+		for (int j = 0; j < dimension; j++) {
+			double sum = 0;
+			for (int l = 0; l < stages; l++) {
+				sum += tableau.b[l] * k[l][j];
+			}
+			result[j] = y[j] + h * sum;
+		}
+		if (tableau.embedded) {
+			for (int j = 0; j < dimension; j++) {
+				double errorSum = 0;
+				for (int l = 0; l < stages; l++) {
+					errorSum += tableau.errorWeights[l] * k[l][j];
+				}
+				error[j] = h * errorSum;
+			}
+		}
+		if (tableau.fsal) {
+			// Die letzte Stufe wurde an der Stelle stage, x + h ausgewertet.
+			System.arraycopy(stage, 0, fsalY, 0, dimension);
+			fsalX = x + tableau.c[stages - 1] * h;
+			fsalValid = true;
+		}
+	}
+
+	private boolean sameState(final double[] y) {
+		for (int j = 0; j < y.length; j++) {
+			if (y[j] != fsalY[j]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void buffers(final int dimension) {
+		if (stage.length == dimension) {
+			return;
+		}
+		k = new double[tableau.stages()][dimension];
+		stage = new double[dimension];
+		error = new double[dimension];
+		fsalY = new double[dimension];
+		fsalValid = false;
+	}
+
+}
@@ -0,0 +1,23 @@
+package de.mq.odesolver.solve.support;
+
+/**
+ * Die Linearkombinationen als Schleifen ueber zusammenhaengende double-Arrays,
+ * ohne das Modul jdk.incubator.vector.
+ *
+ * @author mq
+ *
+ */
+class ScalarEnsembleKernel implements EnsembleKernel {
+
+	@Override
+	public final void combine(final double[] target, final double[] base, final double h, final double[] weights, final int count, final double[][] k, final int size) {
+		for (int t = 0; t < size; t++) {
+			double sum = 0;
+			for (int l = 0; l < count; l++) {
+				sum += weights[l] * k[l][t];
+			}
+			target[t] = base[t] + h * sum;
+		}
+	}
+
+}
@@ -4,34 +4,52 @@ import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MaxCountExceededException;
 import org.apache.commons.math3.ode.FirstOrderDifferentialEquations;
 
+import de.mq.odesolver.support.VectorRightHandSide;
+
 class SimpleFirstOrderDifferentialEquationsImpl implements FirstOrderDifferentialEquations {
 
 	static final String WRONG_MESSAGE_FORMAT = "%s has wrong size %s expected %s.";
 	static final String MESSAGE_REQUIRED_FORMAT = "%s shound not be null.";
-	private final OdeSystemResultCalculator resultCalculator;
+	private final VectorRightHandSide rightHandSide;
 	private final int dimension;
 
-	SimpleFirstOrderDifferentialEquationsImpl(final OdeSystemResultCalculator resultCalculator, final int dimension) {
-		this.resultCalculator = resultCalculator;
+	SimpleFirstOrderDifferentialEquationsImpl(final VectorRightHandSide rightHandSide, final int dimension) {
+		this.rightHandSide = rightHandSide;
 		this.dimension = dimension;
 	}
 
+	SimpleFirstOrderDifferentialEquationsImpl(final OdeSystemResultCalculator resultCalculator, final int dimension) {
+		this(vectorRightHandSide(resultCalculator), dimension);
+	}
+
+	/**
+	 * Adapter fuer rechte Seiten, die das Ergebnis als neuen Vektor liefern. Das
+	 * Ergebnis wird geprueft und in dy kopiert.
+	 * 
+	 * @param resultCalculator rechte Seite des Systems.
+	 * @return rechte Seite, die in den uebergebenen Vektor schreibt.
+	 */
+	static VectorRightHandSide vectorRightHandSide(final OdeSystemResultCalculator resultCalculator) {
+		return (y, x, dy) -> {
+			final double[] result = resultCalculator.f(y, x);
+			sizeGuard(result, "Result", dy.length);
+			System.arraycopy(result, 0, dy, 0, result.length);
+		};
+	}
+
 	@Override
 	public final void computeDerivatives(final double t, final double[] y, final double[] yDot) throws MaxCountExceededException, DimensionMismatchException {
-		sizeGuard(y, "y");
-		sizeGuard(yDot, "y'");
-		final double[] result = resultCalculator.f(y,t);
-		sizeGuard(result, "Result");
-
-		System.arraycopy(result, 0, yDot, 0, result.length);
+		sizeGuard(y, "y", getDimension());
+		sizeGuard(yDot, "y'", getDimension());
+		rightHandSide.apply(y, t, yDot);
 	}
 
-	private void sizeGuard(final double[] vector, final String name) {
+	private static void sizeGuard(final double[] vector, final String name, final int dimension) {
 		if (vector == null) {
 			throw new IllegalArgumentException(String.format(MESSAGE_REQUIRED_FORMAT, name));
 		}
-		if (vector.length != getDimension()) {
-			throw new IllegalArgumentException(String.format(WRONG_MESSAGE_FORMAT, name, vector.length, getDimension()));
+		if (vector.length != dimension) {
+			throw new IllegalArgumentException(String.format(WRONG_MESSAGE_FORMAT, name, vector.length, dimension));
 		}
 	}
 
@@ -0,0 +1,46 @@
+package de.mq.odesolver.solve.support;
+
+import de.mq.odesolver.solve.SolverStatistics;
+
+class SolverStatisticsImpl implements SolverStatistics {
+
+	private final int evaluations;
+	private final int jacobianEvaluations;
+	private final int jacobianUpdates;
+	private final int sparsityUpdates;
+	private final int factorizations;
+
+	SolverStatisticsImpl(final int evaluations, final int jacobianEvaluations, final int jacobianUpdates, final int sparsityUpdates, final int factorizations) {
+		this.evaluations = evaluations;
+		this.jacobianEvaluations = jacobianEvaluations;
+		this.jacobianUpdates = jacobianUpdates;
+		this.sparsityUpdates = sparsityUpdates;
+		this.factorizations = factorizations;
+	}
+
+	@Override
+	public final int evaluations() {
+		return evaluations;
+	}
+
+	@Override
+	public final int jacobianEvaluations() {
+		return jacobianEvaluations;
+	}
+
+	@Override
+	public final int jacobianUpdates() {
+		return jacobianUpdates;
+	}
+
+	@Override
+	public final int sparsityUpdates() {
+		return sparsityUpdates;
+	}
+
+	@Override
+	public final int factorizations() {
+		return factorizations;
+	}
+
+}
@@ -0,0 +1,78 @@
+package de.mq.odesolver.solve.support;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+import de.mq.odesolver.solve.StepSizeControl;
+
+class StepSizeControlImpl implements StepSizeControl {
+
+	static final double DEFAULT_SAFETY_FACTOR = 0.9;
+	static final double DEFAULT_MIN_FACTOR = 0.2;
+	static final double DEFAULT_MAX_FACTOR = 5;
+	static final int DEFAULT_MAX_STEPS = 1000000;
+
+	private final double absoluteTolerance;
+	private final double relativeTolerance;
+	private final double safetyFactor;
+	private final double minFactor;
+	private final double maxFactor;
+	private final int maxSteps;
+	private final boolean resample;
+
+	StepSizeControlImpl(final double absoluteTolerance, final double relativeTolerance, final boolean resample) {
+		this(absoluteTolerance, relativeTolerance, DEFAULT_SAFETY_FACTOR, DEFAULT_MIN_FACTOR, DEFAULT_MAX_FACTOR, DEFAULT_MAX_STEPS, resample);
+	}
+
+	StepSizeControlImpl(final double absoluteTolerance, final double relativeTolerance, final double safetyFactor, final double minFactor, final double maxFactor, final int maxSteps,
+			final boolean resample) {
+		isTrue(absoluteTolerance >= 0 && relativeTolerance >= 0, "Tolerances must be >= 0.");
+		isTrue(absoluteTolerance + relativeTolerance > 0, "At least one tolerance must be > 0.");
+		isTrue(safetyFactor > 0 && safetyFactor <= 1, "SafetyFactor must be in (0, 1].");
+		isTrue(minFactor > 0 && minFactor < 1, "MinFactor must be in (0, 1).");
+		isTrue(maxFactor > 1, "MaxFactor must be > 1.");
+		isTrue(maxSteps > 0, "MaxSteps must be > 0.");
+		this.absoluteTolerance = absoluteTolerance;
+		this.relativeTolerance = relativeTolerance;
+		this.safetyFactor = safetyFactor;
+		this.minFactor = minFactor;
+		this.maxFactor = maxFactor;
+		this.maxSteps = maxSteps;
+		this.resample = resample;
+	}
+
+	@Override
+	public final double absoluteTolerance() {
+		return absoluteTolerance;
+	}
+
+	@Override
+	public final double relativeTolerance() {
+		return relativeTolerance;
+	}
+
+	@Override
+	public final double safetyFactor() {
+		return safetyFactor;
+	}
+
+	@Override
+	public final double minFactor() {
+		return minFactor;
+	}
+
+	@Override
+	public final double maxFactor() {
+		return maxFactor;
+	}
+
+	@Override
+	public final int maxSteps() {
+		return maxSteps;
+	}
+
+	@Override
+	public final boolean resample() {
+		return resample;
+	}
+
+}
@@ -0,0 +1,40 @@
+package de.mq.odesolver.solve.support;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Die Linearkombinationen mit der Vector API, {@link #SPECIES} Trajektorien pro
+ * Operation, der Rest skalar. Multiplikation und Addition werden getrennt
+ * ausgefuehrt (kein fma), die Ergebnisse sind bitgleich mit
+ * {@link ScalarEnsembleKernel}. Die Klasse wird nur mit dem Modul
+ * jdk.incubator.vector geladen, siehe {@link EnsembleKernel#kernel()}.
+ *
+ * @author mq
+ *
+ */
+class VectorEnsembleKernel implements EnsembleKernel {
+
+	static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	@Override
+	public final void combine(final double[] target, final double[] base, final double h, final double[] weights, final int count, final double[][] k, final int size) {
+		final int bound = SPECIES.loopBound(size);
+		int t = 0;
+		for (; t < bound; t += SPECIES.length()) {
+			DoubleVector sum = DoubleVector.zero(SPECIES);
+			for (int l = 0; l < count; l++) {
+				sum = sum.add(DoubleVector.fromArray(SPECIES, k[l], t).mul(weights[l]));
+			}
+			DoubleVector.fromArray(SPECIES, base, t).add(sum.mul(h)).intoArray(target, t);
+		}
+		for (; t < size; t++) {
+			double sum = 0;
+			for (int l = 0; l < count; l++) {
+				sum += weights[l] * k[l][t];
+			}
+			target[t] = base[t] + h * sum;
+		}
+	}
+
+}
@@ -0,0 +1,50 @@
+package de.mq.odesolver.support;
+
+/**
+ * Funktion, die fuer die Dauer einer Berechnung an eine Script-Engine aus dem
+ * Pool gebunden wird. Zwischen {@link #bind()} und {@link #release()} wird die
+ * Engine ohne Zugriff auf den Pool aufgerufen, ausserhalb wird sie fuer jeden
+ * Aufruf entnommen und zurueckgegeben. Aufrufe duerfen geschachtelt sein, die
+ * Engine wird mit dem aeusseren release zurueckgegeben. Eine Bindung gehoert
+ * einem Thread, wie der Solver, der sie verwendet.
+ *
+ * @author mq
+ *
+ */
+public interface EngineBinding {
+
+	/**
+	 * Entnimmt eine Engine aus dem Pool, sie bleibt bis zum passenden
+	 * {@link #release()} gebunden.
+	 */
+	void bind();
+
+	/**
+	 * Gibt die Engine an den Pool zurueck.
+	 */
+	void release();
+
+	/**
+	 * Bindet die Funktion, wenn sie eine {@link EngineBinding} ist. Native und
+	 * statisch compilierte Funktionen haben keine Engine.
+	 *
+	 * @param function rechte Seite bzw. Funktion.
+	 */
+	static void bind(final Object function) {
+		if (function instanceof EngineBinding engineBinding) {
+			engineBinding.bind();
+		}
+	}
+
+	/**
+	 * Gegenstueck zu {@link #bind(Object)}.
+	 *
+	 * @param function rechte Seite bzw. Funktion.
+	 */
+	static void release(final Object function) {
+		if (function instanceof EngineBinding engineBinding) {
+			engineBinding.release();
+		}
+	}
+
+}
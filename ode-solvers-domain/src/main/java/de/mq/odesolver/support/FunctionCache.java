@@ -0,0 +1,49 @@
+package de.mq.odesolver.support;
+
+/**
+ * Cache der compilierten Funktionen, gemeinsam fuer alle Sessions. Der
+ * Schluessel ist Sprache, Ergebnistyp (Zahl oder Vektor), Name des Vektors und
+ * der Quelltext der Funktion. Wird dieselbe Funktion erneut geloest oder
+ * validiert, entfaellt die Compilierung.
+ *
+ * @author mq
+ *
+ */
+public interface FunctionCache {
+
+	/**
+	 * Der Cache, den {@link OdeFunctionUtil#prepareFunction(String)} verwendet.
+	 *
+	 * @return der gemeinsame Cache.
+	 */
+	static FunctionCache functionCache() {
+		return OdeFunctionUtilImpl.FUNCTION_CACHE;
+	}
+
+	/**
+	 * @return Anzahl der Funktionen, die nicht compiliert werden mussten.
+	 */
+	long hits();
+
+	/**
+	 * @return Anzahl der Funktionen, die compiliert wurden.
+	 */
+	long misses();
+
+	/**
+	 * @return Anzahl der Funktionen, die wegen der Groesse des Caches oder weil
+	 *         sie zu lange nicht verwendet wurden, entfernt wurden.
+	 */
+	long evictions();
+
+	/**
+	 * @return Anzahl der Funktionen im Cache.
+	 */
+	int size();
+
+	/**
+	 * Entfernt alle Funktionen, die Zaehler bleiben erhalten.
+	 */
+	void clear();
+
+}
@@ -0,0 +1,172 @@
+package de.mq.odesolver.support;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import javax.script.Invocable;
+
+import de.mq.odesolver.support.OdeFunctionUtil.Language;
+
+/**
+ * Begrenzter LRU-Cache der compilierten Funktionen. Eine Funktion wird entfernt,
+ * wenn der Cache voll ist und sie am laengsten nicht verwendet wurde, oder wenn
+ * sie laenger als maxIdle nicht verwendet wurde. Compiliert wird ausserhalb der
+ * Sperre, damit eine langsame Compilierung andere Zugriffe nicht blockiert.
+ * Fehlerhafte Funktionen werden nicht gespeichert.
+ *
+ * Die Funktionen werden von allen Sessions gleichzeitig verwendet, der Compiler
+ * muss deshalb threadsichere Invocables liefern: native und statisch
+ * compilierte Funktionen oder Script-Funktionen im {@link PooledInvocable}.
+ *
+ * @author mq
+ *
+ */
+class FunctionCacheImpl implements FunctionCache {
+
+	static final int DEFAULT_MAX_SIZE = 256;
+	static final Duration DEFAULT_MAX_IDLE = Duration.ofMinutes(30);
+
+	private final int maxSize;
+	private final long maxIdleNanos;
+	private final LongSupplier clock;
+
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	FunctionCacheImpl() {
+		this(DEFAULT_MAX_SIZE, DEFAULT_MAX_IDLE, System::nanoTime);
+	}
+
+	FunctionCacheImpl(final int maxSize, final Duration maxIdle, final LongSupplier clock) {
+		isTrue(maxSize > 0, "MaxSize must be > 0.");
+		isTrue(!maxIdle.isNegative() && !maxIdle.isZero(), "MaxIdle must be > 0.");
+		this.maxSize = maxSize;
+		this.maxIdleNanos = maxIdle.toNanos();
+		this.clock = clock;
+	}
+
+	/**
+	 * Liefert die compilierte Funktion aus dem Cache oder compiliert sie.
+	 *
+	 * @param language       Sprache der Funktion.
+	 * @param resultIsVector true, wenn die Funktion einen Vektor liefert.
+	 * @param vectorName     Name des Vektors in der Funktion.
+	 * @param source         Quelltext der Funktion.
+	 * @param compiler       compiliert die Funktion, wenn sie nicht im Cache ist.
+	 * @return die compilierte Funktion.
+	 */
+	final Invocable invocable(final Language language, final boolean resultIsVector, final String vectorName, final String source, final Supplier<Invocable> compiler) {
+		final Key key = new Key(language, resultIsVector, vectorName, source);
+		synchronized (this) {
+			final long now = clock.getAsLong();
+			evictIdle(now);
+			final Entry entry = entries.get(key);
+			if (entry != null) {
+				hits++;
+				entry.lastAccess = now;
+				return entry.invocable;
+			}
+			misses++;
+		}
+		final Invocable invocable = compiler.get();
+		synchronized (this) {
+			// Wurde die Funktion parallel compiliert, gewinnt die erste.
+			final Entry entry = entries.computeIfAbsent(key, k -> new Entry(invocable));
+			entry.lastAccess = clock.getAsLong();
+			evictSize();
+			return entry.invocable;
+		}
+	}
+
+	@Override
+	public final synchronized long hits() {
+		return hits;
+	}
+
+	@Override
+	public final synchronized long misses() {
+		return misses;
+	}
+
+	@Override
+	public final synchronized long evictions() {
+		return evictions;
+	}
+
+	@Override
+	public final synchronized int size() {
+		evictIdle(clock.getAsLong());
+		return entries.size();
+	}
+
+	@Override
+	public final synchronized void clear() {
+		entries.clear();
+	}
+
+	private void evictIdle(final long now) {
+		// Zugriffsreihenfolge: die am laengsten nicht verwendeten Eintraege zuerst.
+		final Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext() && now - iterator.next().lastAccess > maxIdleNanos) {
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	private void evictSize() {
+		final Iterator<Entry> iterator = entries.values().iterator();
+		while (entries.size() > maxSize) {
+			iterator.next();
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	private static class Entry {
+		private final Invocable invocable;
+		private long lastAccess;
+
+		private Entry(final Invocable invocable) {
+			this.invocable = invocable;
+		}
+	}
+
+	private static class Key {
+		private final Language language;
+		private final boolean resultIsVector;
+		private final String vectorName;
+		private final String source;
+
+		private Key(final Language language, final boolean resultIsVector, final String vectorName, final String source) {
+			this.language = language;
+			this.resultIsVector = resultIsVector;
+			this.vectorName = vectorName;
+			this.source = source;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(language, resultIsVector, vectorName, source);
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) object;
+			return language == other.language && resultIsVector == other.resultIsVector && Objects.equals(vectorName, other.vectorName) && Objects.equals(source, other.source);
+		}
+	}
+
+}
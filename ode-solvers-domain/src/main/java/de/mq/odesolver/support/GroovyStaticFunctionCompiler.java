@@ -0,0 +1,71 @@
+package de.mq.odesolver.support;
+
+import java.util.Map;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+
+import groovy.lang.GroovyClassLoader;
+
+/**
+ * Uebersetzt eine Funktion der Sprache
+ * {@link OdeFunctionUtil.Language#GroovyStatic} mit @CompileStatic in eine
+ * Klasse, die {@link RightHandSide} bzw. {@link VectorRightHandSide}
+ * implementiert. Die Arithmetik wird ohne Call-Sites und ohne Boxing der
+ * double-Werte ausgefuehrt, aufgerufen wird direkt ueber das Interface. Eine
+ * Vektorfunktion schreibt in den uebergebenen Vektor dy, statt einen neuen zu
+ * erzeugen. Skalare Funktionen erhalten
+ * {@link RightHandSide#evaluate(double[], double[][], double[])} und
+ * {@link RightHandSide#evaluate(double[], double[], int, int, double[])} als Schleifen in
+ * der eigenen Klasse.
+ *
+ * Jede Funktion erhaelt einen eigenen GroovyClassLoader, damit die Klasse
+ * entladen wird, sobald die Funktion nicht mehr referenziert wird.
+ *
+ * @author mq
+ *
+ */
+class GroovyStaticFunctionCompiler {
+
+	private static final String CLASS_NAME = "GroovyStaticRightHandSide";
+
+	private static final Map<Boolean, String> PATTERNS = Map.of(false,
+			"@groovy.transform.CompileStatic final class %s implements %s { double apply(double[] %s, double x) { return (%s) as double }\n"
+					+ "void evaluate(double[] xs, double[][] ys, double[] out) { for (int i = 0; i < xs.length; i++) { out[i] = apply(ys[i], xs[i]) } }\n"
+					+ "void evaluate(double[] y, double[] xs, int from, int to, double[] out) { for (int i = from; i < to; i++) { out[i] = apply(y, xs[i]) } } }",
+			true,
+			"@groovy.transform.CompileStatic class %s implements %s { void apply(double[] %s, double x, double[] dy) { %s } }");
+
+	private static final Map<Boolean, Class<?>> INTERFACES = Map.of(false, RightHandSide.class, true, VectorRightHandSide.class);
+
+	private final String vectorName;
+	private final boolean resultIsVector;
+
+	GroovyStaticFunctionCompiler(final String vectorName, final boolean resultIsVector) {
+		this.vectorName = vectorName;
+		this.resultIsVector = resultIsVector;
+	}
+
+	/**
+	 * Funktion statisch compilieren.
+	 *
+	 * @param function die Funktion als String.
+	 * @return die compilierte Funktion als Invocable.
+	 * @throws IllegalArgumentException bei Syntax- und Typfehlern.
+	 */
+	final NativeInvocable compile(final String function) {
+		final Class<?> interfaceClass = INTERFACES.get(resultIsVector);
+		final String source = String.format(PATTERNS.get(resultIsVector), CLASS_NAME, interfaceClass.getName(), vectorName, function);
+		try {
+			final Object instance = new GroovyClassLoader(interfaceClass.getClassLoader()).parseClass(source).getDeclaredConstructor().newInstance();
+			if (resultIsVector) {
+				return new NativeInvocable((VectorRightHandSide) instance);
+			}
+			return new NativeInvocable((RightHandSide) instance);
+		} catch (final CompilationFailedException exception) {
+			throw new IllegalArgumentException(exception.getMessage(), exception);
+		} catch (final ReflectiveOperationException exception) {
+			throw new IllegalStateException(exception);
+		}
+	}
+
+}
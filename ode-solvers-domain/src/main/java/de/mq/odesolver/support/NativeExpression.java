@@ -0,0 +1,289 @@
+package de.mq.odesolver.support;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Knoten des Syntaxbaums einer Funktion der Sprache
+ * {@link OdeFunctionUtil.Language#Native}. Jeder Knoten erzeugt seinen eigenen
+ * Bytecode, Ausdruecke hinterlassen genau einen double auf dem Operandenstack,
+ * Anweisungen hinterlassen nichts.
+ *
+ * @author mq
+ *
+ */
+interface NativeExpression {
+
+	static final int OPCODE_DNEG = 0x77;
+	static final int OPCODE_DASTORE = 0x52;
+	static final int OPCODE_POP2 = 0x58;
+	static final int DOUBLE_SLOTS = 2;
+
+	/**
+	 * Bytecode fuer den Knoten erzeugen.
+	 *
+	 * @param code Ziel fuer den Bytecode.
+	 */
+	void emit(final NativeFunctionCompiler.Code code);
+
+	/**
+	 * Maximale Groesse des Operandenstacks, die zur Auswertung des Knotens benoetigt
+	 * wird (double belegt 2 Slots).
+	 *
+	 * @return Anzahl Slots.
+	 */
+	int maxStack();
+
+	/**
+	 * Name, der nicht aufgeloest werden konnte (unbekannte Variable oder Funktion).
+	 *
+	 * @return der erste nicht aufloesbare Name, wenn vorhanden.
+	 */
+	default Optional<String> unresolved() {
+		return Optional.empty();
+	}
+
+	static NativeExpression constant(final double value) {
+		return new Constant(value);
+	}
+
+	static NativeExpression x() {
+		return new Argument();
+	}
+
+	static NativeExpression element(final int index) {
+		return new Element(index);
+	}
+
+	static NativeExpression negate(final NativeExpression operand) {
+		return new Negate(operand);
+	}
+
+	static NativeExpression binary(final int opcode, final NativeExpression left, final NativeExpression right) {
+		return new Binary(opcode, left, right);
+	}
+
+	static NativeExpression mathFunction(final String name, final List<NativeExpression> arguments) {
+		return new MathFunction(name, arguments);
+	}
+
+	static NativeExpression unresolved(final String name) {
+		return new Unresolved(name);
+	}
+
+	static NativeExpression assignment(final int index, final NativeExpression value) {
+		return new Assignment(index, value);
+	}
+
+	static NativeExpression discard(final NativeExpression value) {
+		return new Discard(value);
+	}
+
+	class Constant implements NativeExpression {
+		private final double value;
+
+		private Constant(final double value) {
+			this.value = value;
+		}
+
+		@Override
+		public final void emit(final NativeFunctionCompiler.Code code) {
+			code.pushDouble(value);
+		}
+
+		@Override
+		public final int maxStack() {
+			return DOUBLE_SLOTS;
+		}
+	}
+
+	class Argument implements NativeExpression {
+
+		@Override
+		public final void emit(final NativeFunctionCompiler.Code code) {
+			code.loadX();
+		}
+
+		@Override
+		public final int maxStack() {
+			return DOUBLE_SLOTS;
+		}
+	}
+
+	class Element implements NativeExpression {
+		private final int index;
+
+		private Element(final int index) {
+			this.index = index;
+		}
+
+		@Override
+		public final void emit(final NativeFunctionCompiler.Code code) {
+			code.loadElement(index);
+		}
+
+		@Override
+		public final int maxStack() {
+			return DOUBLE_SLOTS;
+		}
+	}
+
+	class Negate implements NativeExpression {
+		private final NativeExpression operand;
+
+		private Negate(final NativeExpression operand) {
+			this.operand = operand;
+		}
+
+		@Override
+		public final void emit(final NativeFunctionCompiler.Code code) {
+			operand.emit(code);
+			code.op(OPCODE_DNEG);
+		}
+
+		@Override
+		public final int maxStack() {
+			return operand.maxStack();
+		}
+
+		@Override
+		public final Optional<String> unresolved() {
+			return operand.unresolved();
+		}
+	}
+
+	class Binary implements NativeExpression {
+		private final int opcode;
+		private final NativeExpression left;
+		private final NativeExpression right;
+
+		private Binary(final int opcode, final NativeExpression left, final NativeExpression right) {
+			this.opcode = opcode;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public final void emit(final NativeFunctionCompiler.Code code) {
+			left.emit(code);
+			right.emit(code);
+			code.op(opcode);
+		}
+
+		@Override
+		public final int maxStack() {
+			return Math.max(left.maxStack(), DOUBLE_SLOTS + right.maxStack());
+		}
+
+		@Override
+		public final Optional<String> unresolved() {
+			return left.unresolved().or(() -> right.unresolved());
+		}
+	}
+
+	class MathFunction implements NativeExpression {
+		private final String name;
+		private final List<NativeExpression> arguments;
+
+		private MathFunction(final String name, final List<NativeExpression> arguments) {
+			this.name = name;
+			this.arguments = arguments;
+		}
+
+		@Override
+		public final void emit(final NativeFunctionCompiler.Code code) {
+			arguments.forEach(argument -> argument.emit(code));
+			code.invokeMath(name, arguments.size());
+		}
+
+		@Override
+		public final int maxStack() {
+			int maxStack = DOUBLE_SLOTS;
+			for (int i = 0; i < arguments.size(); i++) {
+				maxStack = Math.max(maxStack, i * DOUBLE_SLOTS + arguments.get(i).maxStack());
+			}
+			return maxStack;
+		}
+
+		@Override
+		public final Optional<String> unresolved() {
+			return arguments.stream().map(NativeExpression::unresolved).flatMap(Optional::stream).findFirst();
+		}
+	}
+
+	class Unresolved implements NativeExpression {
+		private final String name;
+
+		private Unresolved(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public final void emit(final NativeFunctionCompiler.Code code) {
+			throw new IllegalStateException(String.format("Unresolved name %s can not be compiled.", name));
+		}
+
+		@Override
+		public final int maxStack() {
+			return DOUBLE_SLOTS;
+		}
+
+		@Override
+		public final Optional<String> unresolved() {
+			return Optional.of(name);
+		}
+	}
+
+	class Assignment implements NativeExpression {
+		private final int index;
+		private final NativeExpression value;
+
+		private Assignment(final int index, final NativeExpression value) {
+			this.index = index;
+			this.value = value;
+		}
+
+		@Override
+		public final void emit(final NativeFunctionCompiler.Code code) {
+			code.loadResultVector();
+			code.pushInt(index);
+			value.emit(code);
+			code.op(OPCODE_DASTORE);
+		}
+
+		@Override
+		public final int maxStack() {
+			return DOUBLE_SLOTS + value.maxStack();
+		}
+
+		@Override
+		public final Optional<String> unresolved() {
+			return value.unresolved();
+		}
+	}
+
+	class Discard implements NativeExpression {
+		private final NativeExpression value;
+
+		private Discard(final NativeExpression value) {
+			this.value = value;
+		}
+
+		@Override
+		public final void emit(final NativeFunctionCompiler.Code code) {
+			value.emit(code);
+			code.op(OPCODE_POP2);
+		}
+
+		@Override
+		public final int maxStack() {
+			return value.maxStack();
+		}
+
+		@Override
+		public final Optional<String> unresolved() {
+			return value.unresolved();
+		}
+	}
+
+}
@@ -0,0 +1,645 @@
+package de.mq.odesolver.support;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Uebersetzt eine Funktion der Sprache {@link OdeFunctionUtil.Language#Native}
+ * direkt in Bytecode. Die Funktion wird als Hidden Class definiert, die
+ * {@link RightHandSide} bzw. {@link VectorRightHandSide} implementiert. Die
+ * Auswertung erfolgt ohne Boxing und ohne Allokation, der JIT kann sie wie
+ * normalen Java-Code inlinen. Hidden Classes werden entladen, sobald die
+ * Funktion nicht mehr referenziert wird.
+ *
+ * Der Code von apply enthaelt keine Spruenge, daher wird keine StackMapTable
+ * benoetigt. Skalare Funktionen erhalten zusaetzlich die Schleife
+ * {@link RightHandSide#evaluate(double[], double[][], double[])}, deren
+ * StackMapTable fest ist, die Schleife
+ * {@link RightHandSide#evaluate(double[], double[], int, int, double[])} mit
+ * demselben Vektor fuer alle Punkte und die Schleife
+ * {@link RightHandSide#evaluateColumns(double, double[][], int, double[])}, in
+ * der die Funktion ein zweites Mal uebersetzt wird: die Komponenten werden
+ * direkt aus den Spalten gelesen, ohne Kopie in einen Vektor und ohne Aufruf
+ * von apply.
+ *
+ * @author mq
+ *
+ */
+class NativeFunctionCompiler {
+
+	private static final String CLASS_NAME = "de/mq/odesolver/support/NativeRightHandSide";
+	private static final String OBJECT_CLASS_NAME = "java/lang/Object";
+	private static final String MATH_CLASS_NAME = "java/lang/Math";
+	private static final Map<Boolean, String> INTERFACE_NAMES = Map.of(false, RightHandSide.class.getName().replace('.', '/'), true, VectorRightHandSide.class.getName().replace('.', '/'));
+	private static final Map<Boolean, String> METHOD_DESCRIPTORS = Map.of(false, "([DD)D", true, "([DD[D)V");
+	private static final Map<Integer, String> MATH_DESCRIPTORS = Map.of(1, "(D)D", 2, "(DD)D");
+	private static final String METHOD_NAME = "apply";
+	private static final String EVALUATE_NAME = "evaluate";
+	private static final String EVALUATE_DESCRIPTOR = "([D[[D[D)V";
+	private static final String EVALUATE_VECTOR_DESCRIPTOR = "([D[DII[D)V";
+	private static final String EVALUATE_COLUMNS_NAME = "evaluateColumns";
+	private static final String EVALUATE_COLUMNS_DESCRIPTOR = "(D[[DI[D)V";
+	private static final String CONSTRUCTOR_NAME = "<init>";
+	private static final String CONSTRUCTOR_DESCRIPTOR = "()V";
+
+	private static final int MAGIC = 0xCAFEBABE;
+	private static final int MAJOR_VERSION = 61;
+	private static final int ACC_PUBLIC = 0x0001;
+	private static final int ACC_FINAL = 0x0010;
+	private static final int ACC_SUPER = 0x0020;
+
+	private static final int OPCODE_ICONST_0 = 0x03;
+	private static final int OPCODE_DCONST_0 = 0x0e;
+	private static final int OPCODE_DCONST_1 = 0x0f;
+	private static final int OPCODE_BIPUSH = 0x10;
+	private static final int OPCODE_SIPUSH = 0x11;
+	private static final int OPCODE_LDC2_W = 0x14;
+	private static final int OPCODE_ALOAD = 0x19;
+	private static final int OPCODE_ILOAD = 0x15;
+	private static final int OPCODE_DLOAD_1 = 0x27;
+	private static final int OPCODE_DLOAD_2 = 0x28;
+	private static final int OPCODE_ALOAD_0 = 0x2a;
+	private static final int OPCODE_ALOAD_1 = 0x2b;
+	private static final int OPCODE_ALOAD_2 = 0x2c;
+	private static final int OPCODE_ALOAD_3 = 0x2d;
+	private static final int OPCODE_DALOAD = 0x31;
+	private static final int OPCODE_AALOAD = 0x32;
+	private static final int OPCODE_ISTORE = 0x36;
+	private static final int OPCODE_DASTORE = 0x52;
+	private static final int OPCODE_IINC = 0x84;
+	private static final int OPCODE_IF_ICMPGE = 0xa2;
+	private static final int OPCODE_GOTO = 0xa7;
+	private static final int OPCODE_DRETURN = 0xaf;
+	private static final int OPCODE_RETURN = 0xb1;
+	private static final int OPCODE_INVOKEVIRTUAL = 0xb6;
+	private static final int OPCODE_INVOKESPECIAL = 0xb7;
+	private static final int OPCODE_INVOKESTATIC = 0xb8;
+	private static final int OPCODE_ARRAYLENGTH = 0xbe;
+
+	private static final int FRAME_SAME = 0;
+	private static final int FRAME_SAME_MAX_DELTA = 63;
+	private static final int FRAME_SAME_EXTENDED = 251;
+	private static final int FRAME_FULL = 255;
+	private static final int VERIFICATION_INTEGER = 1;
+	private static final int VERIFICATION_DOUBLE = 3;
+	private static final int VERIFICATION_OBJECT = 7;
+
+	// this, xs, ys, out, i
+	private static final int INDEX_SLOT = 4;
+	private static final int EVALUATE_MAX_LOCALS = 5;
+	// out, i, this, ys[i], xs, i
+	private static final int EVALUATE_MAX_STACK = 6;
+	// Adressen im Bytecode von evaluate, siehe evaluate(ConstantPool, int)
+	private static final int LOOP_ADDRESS = 3;
+	private static final int EXIT_BRANCH_ADDRESS = 7;
+	private static final int GOTO_ADDRESS = 29;
+	private static final int END_ADDRESS = 32;
+
+	// this, y, xs, from, to, out, i
+	private static final int FROM_SLOT = 3;
+	private static final int TO_SLOT = 4;
+	private static final int EVALUATE_VECTOR_OUT_SLOT = 5;
+	private static final int EVALUATE_VECTOR_INDEX_SLOT = 6;
+	private static final int EVALUATE_VECTOR_MAX_LOCALS = 7;
+	// out, i, this, y, xs, i
+	private static final int EVALUATE_VECTOR_MAX_STACK = 6;
+
+	// this, x (2 Slots), columns, size, out, i
+	private static final int COLUMNS_SLOT = 3;
+	private static final int SIZE_SLOT = 4;
+	private static final int COLUMNS_OUT_SLOT = 5;
+	private static final int COLUMNS_INDEX_SLOT = 6;
+	private static final int EVALUATE_COLUMNS_MAX_LOCALS = 7;
+	// Eintraege im Frame, double belegt einen Eintrag
+	private static final int EVALUATE_COLUMNS_LOCALS = 6;
+	// out, i
+	private static final int LOOP_STACK = 2;
+
+	// this, y, x (2 Slots), dy
+	private static final int RESULT_VECTOR_SLOT = 4;
+	private static final Map<Boolean, Integer> MAX_LOCALS = Map.of(false, 4, true, 5);
+
+	private final String vectorName;
+	private final boolean resultIsVector;
+
+	NativeFunctionCompiler(final String vectorName, final boolean resultIsVector) {
+		this.vectorName = vectorName;
+		this.resultIsVector = resultIsVector;
+	}
+
+	/**
+	 * Funktion parsen und in Bytecode uebersetzen.
+	 *
+	 * @param function die Funktion als String.
+	 * @return die compilierte Funktion als Invocable.
+	 * @throws IllegalArgumentException bei Syntaxfehlern.
+	 */
+	final NativeInvocable compile(final String function) {
+		final List<NativeExpression> expressions = new NativeFunctionParser(vectorName, resultIsVector, function).parse();
+		final Optional<String> unresolved = expressions.stream().map(NativeExpression::unresolved).flatMap(Optional::stream).findFirst();
+		if (unresolved.isPresent()) {
+			return unresolvedFunction(unresolved.get());
+		}
+		final byte[] classFile = classFile(expressions);
+		if (resultIsVector) {
+			return new NativeInvocable(newInstance(classFile, VectorRightHandSide.class));
+		}
+		return new NativeInvocable(newInstance(classFile, RightHandSide.class));
+	}
+
+	private NativeInvocable unresolvedFunction(final String name) {
+		final String message = String.format("%s can not be resolved.", name);
+		if (resultIsVector) {
+			return new NativeInvocable((VectorRightHandSide) (y, x, dy) -> {
+				throw new IllegalStateException(message);
+			});
+		}
+		return new NativeInvocable((RightHandSide) (y, x) -> {
+			throw new IllegalStateException(message);
+		});
+	}
+
+	private byte[] classFile(final List<NativeExpression> expressions) {
+		final ConstantPool constantPool = new ConstantPool();
+		final int thisClass = constantPool.classReference(CLASS_NAME);
+		final int superClass = constantPool.classReference(OBJECT_CLASS_NAME);
+		final int interfaceClass = constantPool.classReference(INTERFACE_NAMES.get(resultIsVector));
+
+		final Code constructor = new Code(constantPool);
+		constructor.op(OPCODE_ALOAD_0);
+		constructor.op(OPCODE_INVOKESPECIAL);
+		constructor.u2(constantPool.methodReference(OBJECT_CLASS_NAME, CONSTRUCTOR_NAME, CONSTRUCTOR_DESCRIPTOR));
+		constructor.op(OPCODE_RETURN);
+
+		final Code apply = new Code(constantPool);
+		expressions.forEach(expression -> expression.emit(apply));
+		apply.op(resultIsVector ? OPCODE_RETURN : OPCODE_DRETURN);
+		final int maxStack = expressions.stream().mapToInt(NativeExpression::maxStack).max().orElse(0);
+
+		final int constructorName = constantPool.utf8(CONSTRUCTOR_NAME);
+		final int constructorDescriptor = constantPool.utf8(CONSTRUCTOR_DESCRIPTOR);
+		final int methodName = constantPool.utf8(METHOD_NAME);
+		final int methodDescriptor = constantPool.utf8(METHOD_DESCRIPTORS.get(resultIsVector));
+		final int codeName = constantPool.utf8("Code");
+
+		// Die Methoden werden vorab geschrieben, die Schleifen ergaenzen den
+		// Constant Pool.
+		final Bytes methods = new Bytes();
+		method(methods, constructorName, constructorDescriptor, codeName, constructor, 1, 1, new byte[0]);
+		method(methods, methodName, methodDescriptor, codeName, apply, maxStack, MAX_LOCALS.get(resultIsVector), new byte[0]);
+		if (!resultIsVector) {
+			method(methods, constantPool.utf8(EVALUATE_NAME), constantPool.utf8(EVALUATE_DESCRIPTOR), codeName, evaluate(constantPool), EVALUATE_MAX_STACK, EVALUATE_MAX_LOCALS,
+					evaluateStackMapTable(constantPool, thisClass));
+			evaluateVector(methods, constantPool, thisClass, codeName);
+			evaluateColumns(methods, constantPool, thisClass, codeName, expressions, maxStack);
+		}
+
+		final Bytes classFile = new Bytes();
+		classFile.u4(MAGIC);
+		classFile.u2(0);
+		classFile.u2(MAJOR_VERSION);
+		classFile.u2(constantPool.count());
+		classFile.writeBytes(constantPool.toByteArray());
+		classFile.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+		classFile.u2(thisClass);
+		classFile.u2(superClass);
+		classFile.u2(1);
+		classFile.u2(interfaceClass);
+		// fields
+		classFile.u2(0);
+		// methods
+		classFile.u2(resultIsVector ? 2 : 5);
+		classFile.writeBytes(methods.toByteArray());
+		// attributes
+		classFile.u2(0);
+		return classFile.toByteArray();
+	}
+
+	/**
+	 * Schleife for (i = 0; i &lt; xs.length; i++) out[i] = apply(ys[i], xs[i]).
+	 * Nur fuer skalare Funktionen, bei Vektorfunktionen wird die Methode nicht in
+	 * die Klasse geschrieben. apply wird in der eigenen (finalen) Klasse aufgerufen, der JIT expandiert
+	 * es inline, ohne dass der Aufruf ueber das Interface laeuft.
+	 */
+	private Code evaluate(final ConstantPool constantPool) {
+		final Code code = new Code(constantPool);
+		code.op(OPCODE_ICONST_0);
+		code.op(OPCODE_ISTORE);
+		code.u1(INDEX_SLOT);
+		// LOOP_ADDRESS
+		code.op(OPCODE_ILOAD);
+		code.u1(INDEX_SLOT);
+		code.op(OPCODE_ALOAD_1);
+		code.op(OPCODE_ARRAYLENGTH);
+		// EXIT_BRANCH_ADDRESS
+		code.op(OPCODE_IF_ICMPGE);
+		code.u2(END_ADDRESS - EXIT_BRANCH_ADDRESS);
+		code.op(OPCODE_ALOAD_3);
+		code.op(OPCODE_ILOAD);
+		code.u1(INDEX_SLOT);
+		code.op(OPCODE_ALOAD_0);
+		code.op(OPCODE_ALOAD_2);
+		code.op(OPCODE_ILOAD);
+		code.u1(INDEX_SLOT);
+		code.op(OPCODE_AALOAD);
+		code.op(OPCODE_ALOAD_1);
+		code.op(OPCODE_ILOAD);
+		code.u1(INDEX_SLOT);
+		code.op(OPCODE_DALOAD);
+		code.op(OPCODE_INVOKEVIRTUAL);
+		code.u2(constantPool.methodReference(CLASS_NAME, METHOD_NAME, METHOD_DESCRIPTORS.get(false)));
+		code.op(OPCODE_DASTORE);
+		code.op(OPCODE_IINC);
+		code.u1(INDEX_SLOT);
+		code.u1(1);
+		// GOTO_ADDRESS
+		code.op(OPCODE_GOTO);
+		code.u2(LOOP_ADDRESS - GOTO_ADDRESS);
+		// END_ADDRESS
+		code.op(OPCODE_RETURN);
+		if (code.size() != END_ADDRESS + 1) {
+			throw new IllegalStateException("Unexpected size of evaluate.");
+		}
+		return code;
+	}
+
+	/**
+	 * Die Schleife enthaelt Spruenge, fuer LOOP_ADDRESS und END_ADDRESS werden
+	 * Frames benoetigt.
+	 */
+	private byte[] evaluateStackMapTable(final ConstantPool constantPool, final int thisClass) {
+		final int stackMapTableName = constantPool.utf8("StackMapTable");
+		final int doubleArrayClass = constantPool.classReference("[D");
+		final int doubleArrayArrayClass = constantPool.classReference("[[D");
+		final Bytes frames = new Bytes();
+		frames.u2(2);
+		frames.u1(FRAME_FULL);
+		frames.u2(LOOP_ADDRESS);
+		frames.u2(EVALUATE_MAX_LOCALS);
+		frames.u1(VERIFICATION_OBJECT);
+		frames.u2(thisClass);
+		frames.u1(VERIFICATION_OBJECT);
+		frames.u2(doubleArrayClass);
+		frames.u1(VERIFICATION_OBJECT);
+		frames.u2(doubleArrayArrayClass);
+		frames.u1(VERIFICATION_OBJECT);
+		frames.u2(doubleArrayClass);
+		frames.u1(VERIFICATION_INTEGER);
+		frames.u2(0);
+		frames.u1(FRAME_SAME + END_ADDRESS - LOOP_ADDRESS - 1);
+		final byte[] bytes = frames.toByteArray();
+		final Bytes attribute = new Bytes();
+		attribute.u2(stackMapTableName);
+		attribute.u4(bytes.length);
+		attribute.writeBytes(bytes);
+		return attribute.toByteArray();
+	}
+
+	/**
+	 * Schleife for (i = from; i &lt; to; i++) out[i] = apply(y, xs[i]), wie
+	 * {@link #evaluate(ConstantPool)} mit demselben Vektor fuer alle Punkte.
+	 */
+	private void evaluateVector(final Bytes methods, final ConstantPool constantPool, final int thisClass, final int codeName) {
+		final Code code = new Code(constantPool);
+		final int[] addresses = loop(code, EVALUATE_VECTOR_INDEX_SLOT, initial -> {
+			initial.op(OPCODE_ILOAD);
+			initial.u1(FROM_SLOT);
+		}, bound -> {
+			bound.op(OPCODE_ILOAD);
+			bound.u1(TO_SLOT);
+		}, EVALUATE_VECTOR_OUT_SLOT, value -> {
+			value.op(OPCODE_ALOAD_0);
+			value.op(OPCODE_ALOAD_1);
+			value.op(OPCODE_ALOAD_2);
+			value.op(OPCODE_ILOAD);
+			value.u1(EVALUATE_VECTOR_INDEX_SLOT);
+			value.op(OPCODE_DALOAD);
+			value.op(OPCODE_INVOKEVIRTUAL);
+			value.u2(constantPool.methodReference(CLASS_NAME, METHOD_NAME, METHOD_DESCRIPTORS.get(false)));
+		});
+		final int doubleArrayClass = constantPool.classReference("[D");
+		final Bytes locals = new Bytes();
+		locals.u1(VERIFICATION_OBJECT);
+		locals.u2(thisClass);
+		for (int i = 0; i < 2; i++) {
+			locals.u1(VERIFICATION_OBJECT);
+			locals.u2(doubleArrayClass);
+		}
+		locals.u1(VERIFICATION_INTEGER);
+		locals.u1(VERIFICATION_INTEGER);
+		locals.u1(VERIFICATION_OBJECT);
+		locals.u2(doubleArrayClass);
+		locals.u1(VERIFICATION_INTEGER);
+		final byte[] stackMapTable = loopStackMapTable(constantPool, addresses, EVALUATE_VECTOR_MAX_LOCALS, locals);
+		method(methods, constantPool.utf8(EVALUATE_NAME), constantPool.utf8(EVALUATE_VECTOR_DESCRIPTOR), codeName, code, EVALUATE_VECTOR_MAX_STACK,
+				EVALUATE_VECTOR_MAX_LOCALS, stackMapTable);
+	}
+
+	/**
+	 * Schleife for (i = 0; i &lt; size; i++) out[i] = f((columns[0][i], ...), x).
+	 * Die Funktion wird im Rumpf der Schleife ein zweites Mal uebersetzt, die
+	 * Komponenten werden direkt aus den Spalten gelesen.
+	 */
+	private void evaluateColumns(final Bytes methods, final ConstantPool constantPool, final int thisClass, final int codeName, final List<NativeExpression> expressions,
+			final int maxStack) {
+		final Code code = new Code(constantPool, true);
+		final int[] addresses = loop(code, COLUMNS_INDEX_SLOT, initial -> initial.op(OPCODE_ICONST_0), bound -> {
+			bound.op(OPCODE_ILOAD);
+			bound.u1(SIZE_SLOT);
+		}, COLUMNS_OUT_SLOT, value -> expressions.forEach(expression -> expression.emit(value)));
+		final Bytes locals = new Bytes();
+		locals.u1(VERIFICATION_OBJECT);
+		locals.u2(thisClass);
+		locals.u1(VERIFICATION_DOUBLE);
+		locals.u1(VERIFICATION_OBJECT);
+		locals.u2(constantPool.classReference("[[D"));
+		locals.u1(VERIFICATION_INTEGER);
+		locals.u1(VERIFICATION_OBJECT);
+		locals.u2(constantPool.classReference("[D"));
+		locals.u1(VERIFICATION_INTEGER);
+		final byte[] stackMapTable = loopStackMapTable(constantPool, addresses, EVALUATE_COLUMNS_LOCALS, locals);
+		method(methods, constantPool.utf8(EVALUATE_COLUMNS_NAME), constantPool.utf8(EVALUATE_COLUMNS_DESCRIPTOR), codeName, code, LOOP_STACK + maxStack,
+				EVALUATE_COLUMNS_MAX_LOCALS, stackMapTable);
+	}
+
+	/**
+	 * Schleife for (i = initial; i &lt; bound; i++) out[i] = value. Die Sprungadressen
+	 * haengen von der Laenge des Codes fuer value ab, der Sprung aus der Schleife
+	 * wird nachtraeglich eingesetzt.
+	 *
+	 * @return Adresse des Schleifenkopfs und des Endes, fuer die StackMapTable.
+	 */
+	private int[] loop(final Code code, final int indexSlot, final Consumer<Code> initial, final Consumer<Code> bound, final int outSlot, final Consumer<Code> value) {
+		initial.accept(code);
+		code.op(OPCODE_ISTORE);
+		code.u1(indexSlot);
+		final int loopAddress = code.size();
+		code.op(OPCODE_ILOAD);
+		code.u1(indexSlot);
+		bound.accept(code);
+		final int exitBranchAddress = code.size();
+		code.op(OPCODE_IF_ICMPGE);
+		code.u2(0);
+		code.op(OPCODE_ALOAD);
+		code.u1(outSlot);
+		code.op(OPCODE_ILOAD);
+		code.u1(indexSlot);
+		value.accept(code);
+		code.op(OPCODE_DASTORE);
+		code.op(OPCODE_IINC);
+		code.u1(indexSlot);
+		code.u1(1);
+		final int gotoAddress = code.size();
+		if (gotoAddress - loopAddress > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Function is too large.");
+		}
+		code.op(OPCODE_GOTO);
+		code.u2(loopAddress - gotoAddress);
+		final int endAddress = code.size();
+		code.op(OPCODE_RETURN);
+		code.u2(exitBranchAddress + 1, endAddress - exitBranchAddress);
+		return new int[] { loopAddress, endAddress };
+	}
+
+	/**
+	 * Frames fuer den Kopf und das Ende einer Schleife aus
+	 * {@link #loop(Code, int, Consumer, Consumer, int, Consumer)}, die lokalen Variablen
+	 * sind an beiden Adressen dieselben.
+	 */
+	private byte[] loopStackMapTable(final ConstantPool constantPool, final int[] addresses, final int localsCount, final Bytes locals) {
+		final int stackMapTableName = constantPool.utf8("StackMapTable");
+		final int endDelta = addresses[1] - addresses[0] - 1;
+		final Bytes frames = new Bytes();
+		frames.u2(2);
+		frames.u1(FRAME_FULL);
+		frames.u2(addresses[0]);
+		frames.u2(localsCount);
+		frames.writeBytes(locals.toByteArray());
+		frames.u2(0);
+		if (endDelta <= FRAME_SAME_MAX_DELTA) {
+			frames.u1(FRAME_SAME + endDelta);
+		} else {
+			frames.u1(FRAME_SAME_EXTENDED);
+			frames.u2(endDelta);
+		}
+		final byte[] bytes = frames.toByteArray();
+		final Bytes attribute = new Bytes();
+		attribute.u2(stackMapTableName);
+		attribute.u4(bytes.length);
+		attribute.writeBytes(bytes);
+		return attribute.toByteArray();
+	}
+
+	private void method(final Bytes classFile, final int name, final int descriptor, final int codeName, final Code code, final int maxStack, final int maxLocals, final byte[] attributes) {
+		final byte[] bytecode = code.toByteArray();
+		classFile.u2(ACC_PUBLIC);
+		classFile.u2(name);
+		classFile.u2(descriptor);
+		classFile.u2(1);
+		classFile.u2(codeName);
+		classFile.u4(12 + bytecode.length + attributes.length);
+		classFile.u2(maxStack);
+		classFile.u2(maxLocals);
+		classFile.u4(bytecode.length);
+		classFile.writeBytes(bytecode);
+		// exception table, attributes
+		classFile.u2(0);
+		classFile.u2(attributes.length == 0 ? 0 : 1);
+		classFile.writeBytes(attributes);
+	}
+
+	private <T> T newInstance(final byte[] classFile, final Class<T> type) {
+		try {
+			final Class<?> hiddenClass = MethodHandles.lookup().defineHiddenClass(classFile, true).lookupClass();
+			return type.cast(hiddenClass.getDeclaredConstructor().newInstance());
+		} catch (final ReflectiveOperationException exception) {
+			throw new IllegalStateException("Unable to define native function.", exception);
+		}
+	}
+
+	static class Bytes extends ByteArrayOutputStream {
+
+		final void u1(final int value) {
+			write(value);
+		}
+
+		final void u2(final int value) {
+			write(value >>> 8);
+			write(value);
+		}
+
+		final void u4(final int value) {
+			u2(value >>> 16);
+			u2(value);
+		}
+
+		final void u8(final long value) {
+			u4((int) (value >>> 32));
+			u4((int) value);
+		}
+
+		// Ueberschreibt 2 schon geschriebene Bytes.
+		final void u2(final int position, final int value) {
+			buf[position] = (byte) (value >>> 8);
+			buf[position + 1] = (byte) value;
+		}
+	}
+
+	static class ConstantPool extends Bytes {
+
+		private static final int TAG_UTF8 = 1;
+		private static final int TAG_DOUBLE = 6;
+		private static final int TAG_CLASS = 7;
+		private static final int TAG_METHOD_REFERENCE = 10;
+		private static final int TAG_NAME_AND_TYPE = 12;
+
+		private final Map<String, Integer> entries = new HashMap<>();
+		private int count = 1;
+
+		final int count() {
+			return count;
+		}
+
+		final int utf8(final String value) {
+			final String key = "utf8:" + value;
+			if (!entries.containsKey(key)) {
+				final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				u1(TAG_UTF8);
+				u2(bytes.length);
+				writeBytes(bytes);
+				add(key, 1);
+			}
+			return entries.get(key);
+		}
+
+		final int classReference(final String name) {
+			final String key = "class:" + name;
+			if (!entries.containsKey(key)) {
+				final int nameIndex = utf8(name);
+				u1(TAG_CLASS);
+				u2(nameIndex);
+				add(key, 1);
+			}
+			return entries.get(key);
+		}
+
+		final int methodReference(final String owner, final String name, final String descriptor) {
+			final String key = "method:" + owner + "." + name + descriptor;
+			if (!entries.containsKey(key)) {
+				final int classIndex = classReference(owner);
+				final int nameIndex = utf8(name);
+				final int descriptorIndex = utf8(descriptor);
+				u1(TAG_NAME_AND_TYPE);
+				u2(nameIndex);
+				u2(descriptorIndex);
+				final int nameAndTypeIndex = count;
+				count++;
+				u1(TAG_METHOD_REFERENCE);
+				u2(classIndex);
+				u2(nameAndTypeIndex);
+				add(key, 1);
+			}
+			return entries.get(key);
+		}
+
+		final int doubleConstant(final double value) {
+			final long bits = Double.doubleToRawLongBits(value);
+			final String key = "double:" + bits;
+			if (!entries.containsKey(key)) {
+				u1(TAG_DOUBLE);
+				u8(bits);
+				// double belegt 2 Eintraege im Constant Pool
+				add(key, 2);
+			}
+			return entries.get(key);
+		}
+
+		private void add(final String key, final int size) {
+			entries.put(key, count);
+			count += size;
+		}
+	}
+
+	static class Code extends Bytes {
+
+		private final ConstantPool constantPool;
+		// Komponenten aus den Spalten von evaluateColumns statt aus dem Vektor y.
+		private final boolean columns;
+
+		private Code(final ConstantPool constantPool) {
+			this(constantPool, false);
+		}
+
+		private Code(final ConstantPool constantPool, final boolean columns) {
+			this.constantPool = constantPool;
+			this.columns = columns;
+		}
+
+		final void op(final int opcode) {
+			u1(opcode);
+		}
+
+		final void pushInt(final int value) {
+			if (value >= -1 && value <= 5) {
+				op(OPCODE_ICONST_0 + value);
+			} else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+				op(OPCODE_BIPUSH);
+				u1(value);
+			} else {
+				op(OPCODE_SIPUSH);
+				u2(value);
+			}
+		}
+
+		final void pushDouble(final double value) {
+			if (Double.doubleToRawLongBits(value) == 0L) {
+				op(OPCODE_DCONST_0);
+			} else if (value == 1d) {
+				op(OPCODE_DCONST_1);
+			} else {
+				op(OPCODE_LDC2_W);
+				u2(constantPool.doubleConstant(value));
+			}
+		}
+
+		final void invokeMath(final String name, final int arity) {
+			op(OPCODE_INVOKESTATIC);
+			u2(constantPool.methodReference(MATH_CLASS_NAME, name, MATH_DESCRIPTORS.get(arity)));
+		}
+
+		/**
+		 * y[index] bzw. columns[index][i] auf den Stack, beides belegt hoechstens 2
+		 * Slots.
+		 */
+		final void loadElement(final int index) {
+			if (columns) {
+				op(OPCODE_ALOAD);
+				u1(COLUMNS_SLOT);
+				pushInt(index);
+				op(OPCODE_AALOAD);
+				op(OPCODE_ILOAD);
+				u1(COLUMNS_INDEX_SLOT);
+			} else {
+				op(OPCODE_ALOAD_1);
+				pushInt(index);
+			}
+			op(OPCODE_DALOAD);
+		}
+
+		final void loadX() {
+			op(columns ? OPCODE_DLOAD_1 : OPCODE_DLOAD_2);
+		}
+
+		final void loadResultVector() {
+			op(OPCODE_ALOAD);
+			u1(RESULT_VECTOR_SLOT);
+		}
+	}
+
+}
@@ -0,0 +1,274 @@
+package de.mq.odesolver.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser fuer die Sprache {@link OdeFunctionUtil.Language#Native}: die
+ * arithmetischen Ausdruecke (+, -, *, /, %, Klammern), die in den
+ * Script-Sprachen tatsaechlich verwendet werden, Elemente des Vektors (y[0]),
+ * die Variable x, Zahlen und die Funktionen und Konstanten aus java.lang.Math
+ * (Math.sin(y[1]), Math.PI). Bei Systemen sind zusaetzlich Zuweisungen an dy[i]
+ * durch ; getrennt erlaubt.
+ *
+ * Syntaxfehler fuehren sofort zu einer IllegalArgumentException. Unbekannte
+ * Namen werden wie bei den Script-Sprachen erst bei der Auswertung gemeldet.
+ *
+ * @author mq
+ *
+ */
+class NativeFunctionParser {
+
+	static final String RESULT_VECTOR_NAME = "dy";
+	static final String X_NAME = "x";
+	private static final String MATH_NAME = "Math";
+
+	static final Map<String, Integer> MATH_FUNCTIONS = Map.ofEntries(Map.entry("abs", 1), Map.entry("acos", 1), Map.entry("asin", 1), Map.entry("atan", 1), Map.entry("cbrt", 1),
+			Map.entry("ceil", 1), Map.entry("cos", 1), Map.entry("cosh", 1), Map.entry("exp", 1), Map.entry("expm1", 1), Map.entry("floor", 1), Map.entry("log", 1), Map.entry("log10", 1),
+			Map.entry("log1p", 1), Map.entry("rint", 1), Map.entry("signum", 1), Map.entry("sin", 1), Map.entry("sinh", 1), Map.entry("sqrt", 1), Map.entry("tan", 1), Map.entry("tanh", 1),
+			Map.entry("toDegrees", 1), Map.entry("toRadians", 1), Map.entry("atan2", 2), Map.entry("hypot", 2), Map.entry("IEEEremainder", 2), Map.entry("max", 2), Map.entry("min", 2),
+			Map.entry("pow", 2));
+
+	private static final Map<String, Double> MATH_CONSTANTS = Map.of("PI", Math.PI, "E", Math.E);
+
+	private static final Map<Character, Integer> ADDITIVE_OPCODES = Map.of('+', 0x63, '-', 0x67);
+	private static final Map<Character, Integer> MULTIPLICATIVE_OPCODES = Map.of('*', 0x6b, '/', 0x6f, '%', 0x73);
+
+	private final String vectorName;
+	private final boolean resultIsVector;
+
+	private final String source;
+	private int position = 0;
+
+	NativeFunctionParser(final String vectorName, final boolean resultIsVector, final String source) {
+		this.vectorName = vectorName;
+		this.resultIsVector = resultIsVector;
+		this.source = source;
+	}
+
+	/**
+	 * Parst die Funktion. Ist das Ergebnis ein Vektor, werden die Anweisungen
+	 * (Zuweisungen an dy[i]) geliefert, sonst genau ein Ausdruck.
+	 *
+	 * @return Liste der Anweisungen bzw. Liste mit dem Ausdruck.
+	 */
+	final List<NativeExpression> parse() {
+		final List<NativeExpression> expressions = resultIsVector ? parseStatements() : List.of(parseExpression());
+		skip(';');
+		if (!atEnd()) {
+			throw syntaxError("Unexpected input");
+		}
+		return expressions;
+	}
+
+	private List<NativeExpression> parseStatements() {
+		final List<NativeExpression> statements = new ArrayList<>();
+		while (!atEnd()) {
+			statements.add(parseStatement());
+			if (!skip(';')) {
+				break;
+			}
+		}
+		return statements;
+	}
+
+	private NativeExpression parseStatement() {
+		final int start = position;
+		if (RESULT_VECTOR_NAME.equals(identifier()) && skip('[')) {
+			final int index = index();
+			expect(']');
+			if (skip('=') && !peek('=')) {
+				return NativeExpression.assignment(index, parseExpression());
+			}
+		}
+		position = start;
+		return NativeExpression.discard(parseExpression());
+	}
+
+	private NativeExpression parseExpression() {
+		NativeExpression expression = parseTerm();
+		while (ADDITIVE_OPCODES.containsKey(current())) {
+			final int opcode = ADDITIVE_OPCODES.get(next());
+			expression = NativeExpression.binary(opcode, expression, parseTerm());
+		}
+		return expression;
+	}
+
+	private NativeExpression parseTerm() {
+		NativeExpression expression = parseUnary();
+		while (MULTIPLICATIVE_OPCODES.containsKey(current())) {
+			final int opcode = MULTIPLICATIVE_OPCODES.get(next());
+			expression = NativeExpression.binary(opcode, expression, parseUnary());
+		}
+		return expression;
+	}
+
+	private NativeExpression parseUnary() {
+		if (skip('-')) {
+			return NativeExpression.negate(parseUnary());
+		}
+		if (skip('+')) {
+			return parseUnary();
+		}
+		return parsePrimary();
+	}
+
+	private NativeExpression parsePrimary() {
+		if (skip('(')) {
+			final NativeExpression expression = parseExpression();
+			expect(')');
+			return expression;
+		}
+		final char current = current();
+		if (Character.isDigit(current) || current == '.') {
+			return NativeExpression.constant(number());
+		}
+		final String name = identifier();
+		if (name.isEmpty()) {
+			throw syntaxError("Expression expected");
+		}
+		if (MATH_NAME.equals(name)) {
+			return parseMath();
+		}
+		if (X_NAME.equals(name)) {
+			return NativeExpression.x();
+		}
+		if (skip('[')) {
+			final int index = index();
+			expect(']');
+			return vectorName.equals(name) ? NativeExpression.element(index) : NativeExpression.unresolved(name);
+		}
+		if (peek('(')) {
+			arguments();
+		}
+		return NativeExpression.unresolved(name);
+	}
+
+	private NativeExpression parseMath() {
+		expect('.');
+		final String name = identifier();
+		if (name.isEmpty()) {
+			throw syntaxError("Name expected");
+		}
+		if (!peek('(')) {
+			return MATH_CONSTANTS.containsKey(name) ? NativeExpression.constant(MATH_CONSTANTS.get(name)) : NativeExpression.unresolved(MATH_NAME + "." + name);
+		}
+		final List<NativeExpression> arguments = arguments();
+		if (MATH_FUNCTIONS.containsKey(name) && MATH_FUNCTIONS.get(name) == arguments.size()) {
+			return NativeExpression.mathFunction(name, arguments);
+		}
+		return NativeExpression.unresolved(MATH_NAME + "." + name);
+	}
+
+	private List<NativeExpression> arguments() {
+		expect('(');
+		final List<NativeExpression> arguments = new ArrayList<>();
+		if (skip(')')) {
+			return arguments;
+		}
+		do {
+			arguments.add(parseExpression());
+		} while (skip(','));
+		expect(')');
+		return arguments;
+	}
+
+	private int index() {
+		skipWhitespace();
+		final int start = position;
+		digits();
+		if (start == position) {
+			throw syntaxError("Index expected");
+		}
+		if (position - start > 5 || Integer.parseInt(source.substring(start, position)) > Short.MAX_VALUE) {
+			throw syntaxError("Index too large");
+		}
+		return Integer.parseInt(source.substring(start, position));
+	}
+
+	private double number() {
+		skipWhitespace();
+		final int start = position;
+		digits();
+		if (position < source.length() && source.charAt(position) == '.') {
+			position++;
+			digits();
+		}
+		if (position < source.length() && Character.toLowerCase(source.charAt(position)) == 'e') {
+			position++;
+			if (position < source.length() && (source.charAt(position) == '+' || source.charAt(position) == '-')) {
+				position++;
+			}
+			digits();
+		}
+		try {
+			return Double.parseDouble(source.substring(start, position));
+		} catch (final NumberFormatException numberFormatException) {
+			throw syntaxError("Invalid number");
+		}
+	}
+
+	private void digits() {
+		while (position < source.length() && Character.isDigit(source.charAt(position))) {
+			position++;
+		}
+	}
+
+	private String identifier() {
+		skipWhitespace();
+		final int start = position;
+		if (position < source.length() && Character.isJavaIdentifierStart(source.charAt(position))) {
+			position++;
+			while (position < source.length() && Character.isJavaIdentifierPart(source.charAt(position))) {
+				position++;
+			}
+		}
+		return source.substring(start, position);
+	}
+
+	private char current() {
+		skipWhitespace();
+		return atEnd() ? 0 : source.charAt(position);
+	}
+
+	private char next() {
+		final char current = current();
+		position++;
+		return current;
+	}
+
+	private boolean peek(final char expected) {
+		return !atEnd() && current() == expected;
+	}
+
+	private boolean skip(final char expected) {
+		if (!peek(expected)) {
+			return false;
+		}
+		position++;
+		return true;
+	}
+
+	private void expect(final char expected) {
+		if (!skip(expected)) {
+			throw syntaxError(String.format("'%s' expected", expected));
+		}
+	}
+
+	private boolean atEnd() {
+		skipWhitespace();
+		return position >= source.length();
+	}
+
+	private void skipWhitespace() {
+		while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+			position++;
+		}
+	}
+
+	private IllegalArgumentException syntaxError(final String message) {
+		return new IllegalArgumentException(String.format("%s at position %d: %s", message, position, source));
+	}
+
+}
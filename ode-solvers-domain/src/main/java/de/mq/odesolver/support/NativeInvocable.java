@@ -0,0 +1,123 @@
+package de.mq.odesolver.support;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+import javax.script.Invocable;
+import javax.script.ScriptException;
+
+/**
+ * Invocable fuer eine mit dem {@link NativeFunctionCompiler} oder dem
+ * {@link GroovyStaticFunctionCompiler} compilierte Funktion, damit die Sprachen
+ * {@link OdeFunctionUtil.Language#Native} und
+ * {@link OdeFunctionUtil.Language#GroovyStatic} wie die Script-Sprachen
+ * verwendet werden koennen. Wer die Funktion direkt aufrufen
+ * moechte, verwendet {@link #rightHandSide()} bzw.
+ * {@link #vectorRightHandSide()}.
+ *
+ * @author mq
+ *
+ */
+class NativeInvocable implements Invocable {
+
+	static final String FUNCTION_NAME = "f";
+
+	private final RightHandSide rightHandSide;
+
+	private final VectorRightHandSide vectorRightHandSide;
+
+	NativeInvocable(final RightHandSide rightHandSide) {
+		this.rightHandSide = rightHandSide;
+		this.vectorRightHandSide = null;
+	}
+
+	NativeInvocable(final VectorRightHandSide vectorRightHandSide) {
+		this.rightHandSide = null;
+		this.vectorRightHandSide = vectorRightHandSide;
+	}
+
+	final boolean isVector() {
+		return vectorRightHandSide != null;
+	}
+
+	final RightHandSide rightHandSide() {
+		if (isVector()) {
+			throw new IllegalStateException("Function do not return a Number.");
+		}
+		return rightHandSide;
+	}
+
+	final VectorRightHandSide vectorRightHandSide() {
+		if (!isVector()) {
+			throw new IllegalStateException("Function do not return a Vector.");
+		}
+		return vectorRightHandSide;
+	}
+
+	@Override
+	public final Object invokeMethod(final Object thiz, final String name, final Object... args) throws ScriptException, NoSuchMethodException {
+		throw new NoSuchMethodException("Native functions have no methods.");
+	}
+
+	@Override
+	public final Object invokeFunction(final String name, final Object... args) throws ScriptException, NoSuchMethodException {
+		if (!FUNCTION_NAME.equals(name)) {
+			throw new NoSuchMethodException(String.format("Function %s not found.", name));
+		}
+		if (args == null || args.length != 2 || !(args[0] instanceof double[]) || !(args[1] instanceof Number)) {
+			throw new ScriptException(String.format("Function %s(double[], double) expected.", FUNCTION_NAME));
+		}
+		final double[] y = (double[]) args[0];
+		final double x = ((Number) args[1]).doubleValue();
+		try {
+			if (isVector()) {
+				final double[] dy = new double[y.length];
+				vectorRightHandSide.apply(y, x, dy);
+				return dy;
+			}
+			return rightHandSide.apply(y, x);
+		} catch (final RuntimeException exception) {
+			throw (ScriptException) new ScriptException(exception.getMessage()).initCause(exception);
+		}
+	}
+
+	@Override
+	public final <T> T getInterface(final Class<T> clazz) {
+		if (clazz.isInstance(isVector() ? vectorRightHandSide : rightHandSide)) {
+			return clazz.cast(isVector() ? vectorRightHandSide : rightHandSide);
+		}
+		if (!clazz.isInterface() || Arrays.stream(clazz.getMethods()).filter(method -> Modifier.isAbstract(method.getModifiers())).anyMatch(method -> !FUNCTION_NAME.equals(method.getName()))) {
+			return null;
+		}
+		return clazz.cast(Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[] { clazz }, (proxy, method, args) -> invokeProxy(proxy, method, args)));
+	}
+
+	private Object invokeProxy(final Object proxy, final Method method, final Object[] args) throws NoSuchMethodException {
+		if (method.getDeclaringClass() == Object.class) {
+			return invokeObjectMethod(proxy, method, args);
+		}
+		try {
+			return invokeFunction(method.getName(), args);
+		} catch (final ScriptException exception) {
+			throw new IllegalStateException(exception.getMessage(), exception.getCause());
+		}
+	}
+
+	private Object invokeObjectMethod(final Object proxy, final Method method, final Object[] args) {
+		if (method.getName().equals("equals")) {
+			return proxy == args[0];
+		}
+		if (method.getName().equals("hashCode")) {
+			return System.identityHashCode(proxy);
+		}
+		return String.format("NativeFunction(%s)", FUNCTION_NAME);
+	}
+
+	@Override
+	public final <T> T getInterface(final Object thiz, final Class<T> clazz) {
+		throw new IllegalArgumentException("Native functions have no objects.");
+	}
+
+}
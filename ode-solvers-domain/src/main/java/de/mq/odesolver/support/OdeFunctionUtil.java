@@ -7,11 +7,78 @@ public interface OdeFunctionUtil {
 	
 	public enum Language {
 		Nashorn,
-		Groovy;
+		Groovy,
+		/**
+		 * Arithmetische Ausdruecke und java.lang.Math, direkt in Bytecode
+		 * uebersetzt (kein Script-Engine).
+		 */
+		Native(false),
+		/**
+		 * Groovy, mit @CompileStatic als Klasse uebersetzt, die
+		 * {@link RightHandSide} bzw. {@link VectorRightHandSide} implementiert
+		 * (kein Script-Engine). Typfehler und unbekannte Variablen fallen schon
+		 * beim Compilieren auf.
+		 */
+		GroovyStatic(false);
+
+		private final boolean scriptEngine;
+
+		Language(final boolean scriptEngine) {
+			this.scriptEngine = scriptEngine;
+		}
+
+		Language() {
+			this(true);
+		}
+
+		/**
+		 * @return false, wenn die compilierte Funktion {@link RightHandSide} bzw.
+		 *         {@link VectorRightHandSide} direkt implementiert.
+		 */
+		public final boolean isScriptEngine() {
+			return scriptEngine;
+		}
 	}
 
 	double invokeFunction(Invocable invocable, double[] vector, double x);
 
+	/**
+	 * Bindet eine mit {@link #prepareFunction(String)} compilierte skalare
+	 * Funktion an {@link RightHandSide}. Das Ergebnis wird wie bei
+	 * {@link #invokeFunction(Invocable, double[], double)} auf NaN und Infinite
+	 * geprueft.
+	 * 
+	 * Script-Funktionen sind eine {@link EngineBinding}, Solver binden sie fuer
+	 * die Dauer einer Berechnung an eine Engine.
+	 * 
+	 * @param invocable die compilierte Funktion
+	 * @return die Funktion als primitive Funktion
+	 */
+	RightHandSide rightHandSide(Invocable invocable);
+
+	/**
+	 * Wie {@link #rightHandSide(Invocable)}, die Pruefung des Ergebnisses auf NaN
+	 * und Infinite kann fuer vertrauenswuerdige Funktionen abgeschaltet werden,
+	 * z.B. in Parametervariationen und Ensembles, nachdem die Funktion geprueft
+	 * wurde. Native und statisch compilierte Funktionen werden dann ohne Umweg
+	 * aufgerufen, Script-Funktionen weiterhin an eine Engine gebunden.
+	 * 
+	 * @param invocable die compilierte Funktion
+	 * @param guarded   false: das Ergebnis wird nicht geprueft
+	 * @return die Funktion als primitive Funktion
+	 */
+	RightHandSide rightHandSide(Invocable invocable, boolean guarded);
+
+	/**
+	 * Bindet eine mit {@link #prepareFunction(String)} compilierte Funktion eines
+	 * DGL-Systems an {@link VectorRightHandSide}. Die Groesse des Ergebnisses wird
+	 * geprueft.
+	 * 
+	 * @param invocable die compilierte Funktion
+	 * @return die Funktion als primitive Funktion
+	 */
+	VectorRightHandSide vectorRightHandSide(Invocable invocable);
+
 	/**
 	 * Funktion die die rechte Seite einer gewoehnlichen DGL beschreibt aus einem
 	 * String als Invocable erzeugen
@@ -1,10 +1,13 @@
 package de.mq.odesolver.support;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.script.Compilable;
 import javax.script.CompiledScript;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
@@ -18,7 +21,15 @@ import javax.script.ScriptException;
  */
 class OdeFunctionUtilImpl implements OdeFunctionUtil {
 
-	private final Map<Language, String> functionPatterns = Map.of(Language.Nashorn, "function %s(%s, x) {return %s}", Language.Groovy, "def %s(%s, x) {return %s}");
+	static final FunctionCacheImpl FUNCTION_CACHE = new FunctionCacheImpl();
+
+	private static final Map<Language, ScriptEngineFactory> SCRIPT_ENGINE_FACTORIES = new ConcurrentHashMap<>();
+
+	private static final String THREADING = "THREADING";
+
+	private static final Set<String> THREAD_SAFE_ENGINES = Set.of("MULTITHREADED", "THREAD-ISOLATED", "STATELESS");
+
+	private final Map<Language, String> functionPatterns = Map.of(Language.Nashorn, "function %s(%s, x) {return %s}", Language.Groovy, "double %s(double[] %s, double x) {return %s}");
 
 	private final Map<Language, String> vectorFunctionPatterns = Map.of(Language.Nashorn, "function %s(%s, x) {var DoubleArrayType = Java.type(\"double[]\"); var dy=new DoubleArrayType(y.length);%s;return dy }", Language.Groovy, "def %s(%s, x) {double[] dy= new double[y.length]; %s; return dy}");
 	private final Language language;
@@ -44,26 +55,284 @@ class OdeFunctionUtilImpl implements OdeFunctionUtil {
 
 	@Override
 	public double invokeFunction(final Invocable invocable, final double[] vector, double x) {
-		try {
-			final Number result = ((Number) invocable.invokeFunction(FUNCTION_NAME, vector, x));
-			notNullGuard(x, result);
-			resultGuard(x, result.doubleValue());
-			return result.doubleValue();
-		} catch (final NoSuchMethodException | ScriptException e) {
-			throw new IllegalStateException(e);
-		} catch (final ClassCastException castException) {
-			throw new IllegalStateException("Function do not return a Number.");
+		return rightHandSide(invocable).apply(vector, x);
+	}
+
+	@Override
+	public RightHandSide rightHandSide(final Invocable invocable) {
+		return rightHandSide(invocable, true);
+	}
+
+	@Override
+	public RightHandSide rightHandSide(final Invocable invocable, final boolean guarded) {
+		if (invocable instanceof NativeInvocable && !guarded) {
+			return ((NativeInvocable) invocable).rightHandSide();
+		}
+		final RightHandSide rightHandSide = scalarRightHandSide(invocable);
+		if (!guarded) {
+			return rightHandSide;
 		}
+		return new GuardedRightHandSide(rightHandSide);
+	}
+
+	@Override
+	public VectorRightHandSide vectorRightHandSide(final Invocable invocable) {
+		if (invocable instanceof NativeInvocable) {
+			return ((NativeInvocable) invocable).vectorRightHandSide();
+		}
+		if (invocable instanceof PooledInvocable) {
+			return new ScriptVectorRightHandSide(((PooledInvocable) invocable).bind(VectorScriptFunction.class));
+		}
+		final VectorScriptFunction function = invocable.getInterface(VectorScriptFunction.class);
+		if (function == null) {
+			throw new IllegalStateException("Function do not return a Vector.");
+		}
+		return (y, x, dy) -> copyResult(function.f(y, x), dy);
+	}
 
+	private RightHandSide scalarRightHandSide(final Invocable invocable) {
+		if (invocable instanceof NativeInvocable) {
+			return nativeRightHandSide((NativeInvocable) invocable);
+		}
+		if (invocable instanceof PooledInvocable) {
+			return new ScriptRightHandSide(((PooledInvocable) invocable).bind(ScriptFunction.class));
+		}
+		final ScriptFunction function = invocable.getInterface(ScriptFunction.class);
+		if (function == null) {
+			throw new IllegalStateException("Function do not return a Number.");
+		}
+		return (y, x) -> invokeScriptFunction(function, y, x);
 	}
 
-	private void notNullGuard(double x, final Object result) {
+	private static void copyResult(final double[] result, final double[] dy) {
 		if (result == null) {
-			throw new IllegalStateException(String.format("Function returns null for x=%e, may be wrong vector size.", x));
+			throw new IllegalArgumentException("Result shound not be null.");
+		}
+		if (result.length != dy.length) {
+			throw new IllegalArgumentException(String.format("Result has wrong size %s expected %s.", result.length, dy.length));
 		}
+		System.arraycopy(result, 0, dy, 0, result.length);
 	}
 
-	private void resultGuard(final Double x, final double result) {
+	/**
+	 * Prueft das Ergebnis auf NaN und Infinite, die Bindung an die Engine wird
+	 * weitergereicht.
+	 */
+	private class GuardedRightHandSide implements RightHandSide, EngineBinding {
+		private final RightHandSide rightHandSide;
+
+		private GuardedRightHandSide(final RightHandSide rightHandSide) {
+			this.rightHandSide = rightHandSide;
+		}
+
+		@Override
+		public double apply(final double[] y, final double x) {
+			final double result = rightHandSide.apply(y, x);
+			resultGuard(x, result);
+			return result;
+		}
+
+		@Override
+		public void evaluate(final double[] xs, final double[][] ys, final double[] out) {
+			// Erst alle Punkte, dann die Pruefung, damit die Schleife der
+			// compilierten Funktion erhalten bleibt.
+			rightHandSide.evaluate(xs, ys, out);
+			for (int i = 0; i < xs.length; i++) {
+				resultGuard(xs[i], out[i]);
+			}
+		}
+
+		@Override
+		public void evaluate(final double[] y, final double[] xs, final int from, final int to, final double[] out) {
+			rightHandSide.evaluate(y, xs, from, to, out);
+			for (int i = from; i < to; i++) {
+				resultGuard(xs[i], out[i]);
+			}
+		}
+
+		@Override
+		public void evaluateColumns(final double x, final double[][] columns, final int size, final double[] out) {
+			rightHandSide.evaluateColumns(x, columns, size, out);
+			for (int i = 0; i < size; i++) {
+				resultGuard(x, out[i]);
+			}
+		}
+
+		@Override
+		public void bind() {
+			EngineBinding.bind(rightHandSide);
+		}
+
+		@Override
+		public void release() {
+			EngineBinding.release(rightHandSide);
+		}
+	}
+
+	/**
+	 * Skalare Script-Funktion, innerhalb von bind und release ohne Zugriff auf den
+	 * Pool.
+	 */
+	private static class ScriptRightHandSide implements RightHandSide, EngineBinding {
+		private final PooledInvocable.Binding<ScriptFunction> binding;
+
+		private ScriptRightHandSide(final PooledInvocable.Binding<ScriptFunction> binding) {
+			this.binding = binding;
+		}
+
+		@Override
+		public double apply(final double[] y, final double x) {
+			final ScriptFunction function = binding.function();
+			if (function != null) {
+				return invokeScriptFunction(function, y, x);
+			}
+			binding.bind();
+			try {
+				return invokeScriptFunction(binding.function(), y, x);
+			} finally {
+				binding.release();
+			}
+		}
+
+		@Override
+		public void evaluate(final double[] xs, final double[][] ys, final double[] out) {
+			binding.bind();
+			try {
+				final ScriptFunction function = binding.function();
+				for (int i = 0; i < xs.length; i++) {
+					out[i] = invokeScriptFunction(function, ys[i], xs[i]);
+				}
+			} finally {
+				binding.release();
+			}
+		}
+
+		@Override
+		public void evaluate(final double[] y, final double[] xs, final int from, final int to, final double[] out) {
+			binding.bind();
+			try {
+				final ScriptFunction function = binding.function();
+				for (int i = from; i < to; i++) {
+					out[i] = invokeScriptFunction(function, y, xs[i]);
+				}
+			} finally {
+				binding.release();
+			}
+		}
+
+		@Override
+		public void evaluateColumns(final double x, final double[][] columns, final int size, final double[] out) {
+			binding.bind();
+			try {
+				RightHandSide.super.evaluateColumns(x, columns, size, out);
+			} finally {
+				binding.release();
+			}
+		}
+
+		@Override
+		public void bind() {
+			binding.bind();
+		}
+
+		@Override
+		public void release() {
+			binding.release();
+		}
+	}
+
+	/**
+	 * Script-Funktion eines Systems, innerhalb von bind und release ohne Zugriff
+	 * auf den Pool.
+	 */
+	private static class ScriptVectorRightHandSide implements VectorRightHandSide, EngineBinding {
+		private final PooledInvocable.Binding<VectorScriptFunction> binding;
+
+		private ScriptVectorRightHandSide(final PooledInvocable.Binding<VectorScriptFunction> binding) {
+			this.binding = binding;
+		}
+
+		@Override
+		public void apply(final double[] y, final double x, final double[] dy) {
+			final VectorScriptFunction function = binding.function();
+			if (function != null) {
+				copyResult(function.f(y, x), dy);
+				return;
+			}
+			binding.bind();
+			try {
+				copyResult(binding.function().f(y, x), dy);
+			} finally {
+				binding.release();
+			}
+		}
+
+		@Override
+		public void bind() {
+			binding.bind();
+		}
+
+		@Override
+		public void release() {
+			binding.release();
+		}
+	}
+
+	private static double invokeScriptFunction(final ScriptFunction function, final double[] vector, final double x) {
+		try {
+			return function.f(vector, x);
+		} catch (final IndexOutOfBoundsException indexOutOfBoundsException) {
+			throw new IllegalStateException(String.format("Function fails for x=%e, may be wrong vector size.", x), indexOutOfBoundsException);
+		} catch (final RuntimeException exception) {
+			// Fehler im Script, bei Groovy in einer UndeclaredThrowableException.
+			final Throwable cause = exception.getCause() != null ? exception.getCause() : exception;
+			throw new IllegalStateException(String.format("Function fails for x=%e: %s", x, cause.getMessage()), cause);
+		}
+	}
+
+	private RightHandSide nativeRightHandSide(final NativeInvocable invocable) {
+		final RightHandSide rightHandSide = invocable.rightHandSide();
+		return new RightHandSide() {
+
+			@Override
+			public double apply(final double[] y, final double x) {
+				try {
+					return rightHandSide.apply(y, x);
+				} catch (final IndexOutOfBoundsException indexOutOfBoundsException) {
+					throw new IllegalStateException(String.format("Function fails for x=%e, may be wrong vector size.", x), indexOutOfBoundsException);
+				}
+			}
+
+			@Override
+			public void evaluate(final double[] xs, final double[][] ys, final double[] out) {
+				try {
+					rightHandSide.evaluate(xs, ys, out);
+				} catch (final IndexOutOfBoundsException indexOutOfBoundsException) {
+					throw new IllegalStateException("Function fails, may be wrong vector size.", indexOutOfBoundsException);
+				}
+			}
+
+			@Override
+			public void evaluate(final double[] y, final double[] xs, final int from, final int to, final double[] out) {
+				try {
+					rightHandSide.evaluate(y, xs, from, to, out);
+				} catch (final IndexOutOfBoundsException indexOutOfBoundsException) {
+					throw new IllegalStateException("Function fails, may be wrong vector size.", indexOutOfBoundsException);
+				}
+			}
+
+			@Override
+			public void evaluateColumns(final double x, final double[][] columns, final int size, final double[] out) {
+				try {
+					rightHandSide.evaluateColumns(x, columns, size, out);
+				} catch (final IndexOutOfBoundsException indexOutOfBoundsException) {
+					throw new IllegalStateException(String.format("Function fails for x=%e, may be wrong vector size.", x), indexOutOfBoundsException);
+				}
+			}
+		};
+	}
+
+	private void resultGuard(final double x, final double result) {
 		if (Double.isNaN(result)) {
 			throw new IllegalStateException(String.format("Function returns NaN for x=%e, may be wrong vector size.", x));
 		}
@@ -78,12 +347,28 @@ class OdeFunctionUtilImpl implements OdeFunctionUtil {
 	 * 
 	 * @param function die Funktion als String, die Ableitungen sind y[0]: die 0.
 	 *                 Ableitung, d.h. y y[1]: die 1. Ableitung, d.h. y'
-	 * @return die compilierte Funktion
+	 * @return die compilierte Funktion, aus dem {@link FunctionCache}, wenn sie
+	 *         schon einmal compiliert wurde
 	 */
 	@Override
 	public Invocable prepareFunction(final String function) {
+		return FUNCTION_CACHE.invocable(language, resultIsVector, vectorName, function, () -> compileFunction(function));
+	}
+
+	private Invocable compileFunction(final String function) {
+		if (language == Language.Native) {
+			return prepareNativeFunction(function);
+		}
+		if (language == Language.GroovyStatic) {
+			return prepareGroovyStaticFunction(function);
+		}
 
-		final ScriptEngine engine = new ScriptEngineManager().getEngineByName(language.name().toLowerCase());
+		final Object threading = scriptEngineFactory().getParameter(THREADING);
+		return new PooledInvocable(() -> compileScript(function), threading != null && THREAD_SAFE_ENGINES.contains(threading));
+	}
+
+	private Invocable compileScript(final String function) {
+		final ScriptEngine engine = scriptEngineFactory().getScriptEngine();
 		final Compilable compilable = (Compilable) engine;
 		final Invocable invocable = (Invocable) engine;
 		
@@ -99,4 +384,26 @@ class OdeFunctionUtilImpl implements OdeFunctionUtil {
 
 	}
 
+	private ScriptEngineFactory scriptEngineFactory() {
+		// Die Suche der Engines ueber den ScriptEngineManager ist teuer, die Factory
+		// wird pro Sprache nur einmal gesucht.
+		return SCRIPT_ENGINE_FACTORIES.computeIfAbsent(language, key -> new ScriptEngineManager().getEngineByName(key.name().toLowerCase()).getFactory());
+	}
+
+	private Invocable prepareGroovyStaticFunction(final String function) {
+		try {
+			return new GroovyStaticFunctionCompiler(vectorName, resultIsVector).compile(function);
+		} catch (final IllegalArgumentException e) {
+			throw new IllegalStateException(String.format("Unable to compile function: %s", e.getMessage()), e);
+		}
+	}
+
+	private Invocable prepareNativeFunction(final String function) {
+		try {
+			return new NativeFunctionCompiler(vectorName, resultIsVector).compile(function);
+		} catch (final IllegalArgumentException e) {
+			throw new IllegalStateException(String.format("Unable to compile function: %s", e.getMessage()), e);
+		}
+	}
+
 }
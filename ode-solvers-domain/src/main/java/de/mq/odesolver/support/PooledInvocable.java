@@ -0,0 +1,285 @@
+package de.mq.odesolver.support;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.script.Invocable;
+import javax.script.ScriptException;
+
+/**
+ * Invocable fuer eine Funktion, die in mehreren Script-Engines compiliert ist.
+ * Script-Engines, die nicht threadsicher sind (Nashorn), werden fuer jeden
+ * Aufruf aus dem Pool entnommen und danach zurueckgegeben. Fehlt eine freie
+ * Engine, wird eine weitere compiliert, bis maxSize erreicht ist, danach wird
+ * hoechstens timeout auf eine freie Engine gewartet. In einem ForkJoinPool
+ * (Parametervariation) wartet der Thread als ManagedBlocker, der Pool kann
+ * dann andere Teilbereiche weiterrechnen. Threadsichere Engines (Groovy)
+ * werden ohne Pool gemeinsam verwendet.
+ *
+ * Die erste Engine wird sofort compiliert, Syntaxfehler fallen damit beim
+ * Erzeugen auf. {@link #invokeFunction(String, Object...)} und Interfaces aus
+ * {@link #getInterface(Class)} verwenden den Pool bei jedem Aufruf, sie sind
+ * fuer einzelne Aufrufe (Pruefung der Eingaben) gedacht. Solver binden die
+ * Funktion mit {@link #bind(Class)} fuer die Dauer einer Berechnung an eine
+ * Engine, pro Schritt gibt es dann keinen Zugriff auf den Pool und keine
+ * Reflection.
+ *
+ * @author mq
+ *
+ */
+class PooledInvocable implements Invocable {
+
+	static final int DEFAULT_MAX_SIZE = Runtime.getRuntime().availableProcessors();
+	static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+	private final Supplier<Invocable> compiler;
+	private final boolean threadSafe;
+	private final int maxSize;
+	private final Duration timeout;
+	private final BlockingQueue<Instance> idle;
+	private final AtomicInteger size = new AtomicInteger();
+	private final Instance first;
+
+	PooledInvocable(final Supplier<Invocable> compiler, final boolean threadSafe) {
+		this(compiler, threadSafe, DEFAULT_MAX_SIZE);
+	}
+
+	PooledInvocable(final Supplier<Invocable> compiler, final boolean threadSafe, final int maxSize) {
+		this(compiler, threadSafe, maxSize, DEFAULT_TIMEOUT);
+	}
+
+	PooledInvocable(final Supplier<Invocable> compiler, final boolean threadSafe, final int maxSize, final Duration timeout) {
+		isTrue(maxSize > 0, "MaxSize must be > 0.");
+		isTrue(timeout.isPositive(), "Timeout must be > 0.");
+		this.compiler = compiler;
+		this.threadSafe = threadSafe;
+		this.maxSize = threadSafe ? 1 : maxSize;
+		this.timeout = timeout;
+		idle = new ArrayBlockingQueue<>(this.maxSize);
+		first = new Instance(compiler.get());
+		size.set(1);
+		idle.add(first);
+	}
+
+	/**
+	 * @return Anzahl der compilierten Engines.
+	 */
+	final int size() {
+		return size.get();
+	}
+
+	/**
+	 * Bindung an das Interface der Funktion, siehe {@link EngineBinding}.
+	 *
+	 * @param clazz Interface, dessen Methoden die Funktionen des Scripts sind.
+	 * @return Bindung, noch ohne Engine.
+	 * @throws IllegalArgumentException, wenn das Script das Interface nicht
+	 *                                   implementiert.
+	 */
+	final <T> Binding<T> bind(final Class<T> clazz) {
+		isTrue(first.getInterface(clazz) != null, "Function does not implement %s.", clazz.getSimpleName());
+		return new Binding<>(instance -> clazz.cast(instance.getInterface(clazz)));
+	}
+
+	/**
+	 * Bindung an die Engine selbst, siehe {@link EngineBinding}.
+	 *
+	 * @return Bindung, noch ohne Engine.
+	 */
+	final Binding<Invocable> bind() {
+		return new Binding<>(instance -> instance.invocable);
+	}
+
+	@Override
+	public final Object invokeFunction(final String name, final Object... args) throws ScriptException, NoSuchMethodException {
+		final Instance instance = checkout();
+		try {
+			return instance.invocable.invokeFunction(name, args);
+		} finally {
+			release(instance);
+		}
+	}
+
+	@Override
+	public final Object invokeMethod(final Object thiz, final String name, final Object... args) throws ScriptException, NoSuchMethodException {
+		throw new NoSuchMethodException("Objects of pooled functions are bound to one engine.");
+	}
+
+	@Override
+	public final <T> T getInterface(final Class<T> clazz) {
+		if (first.getInterface(clazz) == null) {
+			return null;
+		}
+		return clazz.cast(Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[] { clazz }, (proxy, method, args) -> invokeProxy(proxy, clazz, method, args)));
+	}
+
+	@Override
+	public final <T> T getInterface(final Object thiz, final Class<T> clazz) {
+		throw new IllegalArgumentException("Objects of pooled functions are bound to one engine.");
+	}
+
+	private Object invokeProxy(final Object proxy, final Class<?> clazz, final Method method, final Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class) {
+			return invokeObjectMethod(proxy, clazz, method, args);
+		}
+		final Instance instance = checkout();
+		try {
+			return method.invoke(instance.getInterface(clazz), args);
+		} catch (final InvocationTargetException exception) {
+			throw exception.getCause();
+		} finally {
+			release(instance);
+		}
+	}
+
+	private Object invokeObjectMethod(final Object proxy, final Class<?> clazz, final Method method, final Object[] args) {
+		if (method.getName().equals("equals")) {
+			return proxy == args[0];
+		}
+		if (method.getName().equals("hashCode")) {
+			return System.identityHashCode(proxy);
+		}
+		return String.format("PooledFunction(%s)", clazz.getSimpleName());
+	}
+
+	private Instance checkout() {
+		if (threadSafe) {
+			return first;
+		}
+		final Instance instance = idle.poll();
+		if (instance != null) {
+			return instance;
+		}
+		if (size.getAndUpdate(current -> current < maxSize ? current + 1 : current) < maxSize) {
+			try {
+				return new Instance(compiler.get());
+			} catch (final RuntimeException exception) {
+				size.decrementAndGet();
+				throw exception;
+			}
+		}
+		final EngineWait engineWait = new EngineWait(System.nanoTime() + timeout.toNanos());
+		try {
+			ForkJoinPool.managedBlock(engineWait);
+		} catch (final InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a script engine.", exception);
+		}
+		if (engineWait.instance == null) {
+			throw new IllegalStateException(String.format("No script engine available within %s ms.", timeout.toMillis()));
+		}
+		return engineWait.instance;
+	}
+
+	/**
+	 * Wartet bis zur deadline auf eine freie Engine, ausserhalb eines
+	 * ForkJoinPools ein einfaches poll.
+	 */
+	private final class EngineWait implements ForkJoinPool.ManagedBlocker {
+		private final long deadline;
+		private Instance instance;
+
+		private EngineWait(final long deadline) {
+			this.deadline = deadline;
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			if (instance == null) {
+				instance = idle.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			if (instance == null) {
+				instance = idle.poll();
+			}
+			return instance != null;
+		}
+	}
+
+	private void release(final Instance instance) {
+		if (!threadSafe) {
+			idle.add(instance);
+		}
+	}
+
+	/**
+	 * Funktion, die zwischen bind und release an eine Engine gebunden ist. Nicht
+	 * threadsicher, jeder Solver hat seine eigene Bindung.
+	 */
+	final class Binding<T> implements EngineBinding {
+		private final Function<Instance, T> binder;
+		private Instance instance;
+		private T function;
+		private int depth;
+
+		private Binding(final Function<Instance, T> binder) {
+			this.binder = binder;
+		}
+
+		/**
+		 * @return die Funktion der gebundenen Engine, null ausserhalb von bind und
+		 *         release.
+		 */
+		final T function() {
+			return function;
+		}
+
+		@Override
+		public final void bind() {
+			if (depth == 0) {
+				final Instance checkedOut = checkout();
+				try {
+					function = binder.apply(checkedOut);
+				} catch (final RuntimeException exception) {
+					PooledInvocable.this.release(checkedOut);
+					throw exception;
+				}
+				instance = checkedOut;
+			}
+			depth++;
+		}
+
+		@Override
+		public final void release() {
+			if (depth == 0) {
+				return;
+			}
+			if (--depth == 0) {
+				function = null;
+				PooledInvocable.this.release(instance);
+				instance = null;
+			}
+		}
+	}
+
+	private static class Instance {
+		private final Invocable invocable;
+		private final Map<Class<?>, Object> interfaces = new ConcurrentHashMap<>();
+
+		private Instance(final Invocable invocable) {
+			this.invocable = invocable;
+		}
+
+		private Object getInterface(final Class<?> clazz) {
+			return interfaces.computeIfAbsent(clazz, invocable::getInterface);
+		}
+	}
+
+}
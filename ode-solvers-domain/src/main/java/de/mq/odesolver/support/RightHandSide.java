@@ -0,0 +1,82 @@
+package de.mq.odesolver.support;
+
+/**
+ * Rechte Seite einer gewoehnlichen (skalaren) DGL bzw. einer Funktion mit
+ * Parametervektor als primitive Funktion (kein Boxing, keine Allokation pro
+ * Aufruf).
+ *
+ * @author mq
+ *
+ */
+@FunctionalInterface
+public interface RightHandSide {
+
+	/**
+	 * Berechnet den Funktionswert.
+	 *
+	 * @param y Vektor mit y und seinen n-1 Ableitungen (bzw. Parametervektor k).
+	 * @param x unabhaengige Groesse.
+	 * @return Funktionswert, bei einer DGL die n-te Ableitung.
+	 */
+	double apply(final double[] y, final double x);
+
+	/**
+	 * Berechnet die Funktionswerte fuer mehrere Punkte, out[i] = apply(ys[i],
+	 * xs[i]). Compilierte Funktionen ueberschreiben die Methode mit einer
+	 * Schleife in der eigenen Klasse, in der apply inline expandiert wird.
+	 *
+	 * @param xs  unabhaengige Groessen.
+	 * @param ys  Vektoren zu den Punkten, sie duerfen identisch sein.
+	 * @param out Funktionswerte, mindestens so lang wie xs.
+	 */
+	default void evaluate(final double[] xs, final double[][] ys, final double[] out) {
+		for (int i = 0; i < xs.length; i++) {
+			out[i] = apply(ys[i], xs[i]);
+		}
+	}
+
+	/**
+	 * Berechnet die Funktionswerte fuer einen Bereich von x mit demselben Vektor,
+	 * out[i] = apply(y, xs[i]) fuer from &lt;= i &lt; to. So wird eine Funktion
+	 * mit ihrem Parametervektor k abschnittsweise direkt in eine Spalte
+	 * tabelliert, ohne Array mit einem Vektor pro Punkt. Compilierte Funktionen
+	 * ueberschreiben die Methode wie
+	 * {@link #evaluate(double[], double[][], double[])}.
+	 *
+	 * @param y    Vektor fuer alle Punkte (bzw. Parametervektor k).
+	 * @param xs   unabhaengige Groessen.
+	 * @param from erster Index.
+	 * @param to   Index hinter dem letzten.
+	 * @param out  Funktionswerte, mindestens to lang.
+	 */
+	default void evaluate(final double[] y, final double[] xs, final int from, final int to, final double[] out) {
+		for (int i = from; i < to; i++) {
+			out[i] = apply(y, xs[i]);
+		}
+	}
+
+	/**
+	 * Berechnet die Funktionswerte fuer mehrere Punkte mit demselben x, deren
+	 * Vektoren spaltenweise gespeichert sind, out[i] = apply((columns[0][i], ...,
+	 * columns[m-1][i]), x). So rechnen Ensembles, die Zustaende muessen nicht in
+	 * Vektoren pro Punkt umkopiert werden. Die Komponenten eines Punktes werden
+	 * in einen Puffer kopiert, der fuer alle Punkte verwendet wird, apply darf
+	 * den Vektor deshalb nicht speichern.
+	 *
+	 * @param x       unabhaengige Groesse.
+	 * @param columns Spalten, columns[j][i] ist die j-te Komponente des i-ten
+	 *                Punktes.
+	 * @param size    Anzahl der Punkte.
+	 * @param out     Funktionswerte, mindestens size lang.
+	 */
+	default void evaluateColumns(final double x, final double[][] columns, final int size, final double[] out) {
+		final double[] point = new double[columns.length];
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < columns.length; j++) {
+				point[j] = columns[j][i];
+			}
+			out[i] = apply(point, x);
+		}
+	}
+
+}
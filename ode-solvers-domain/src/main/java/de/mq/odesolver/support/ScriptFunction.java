@@ -0,0 +1,22 @@
+package de.mq.odesolver.support;
+
+/**
+ * Signatur der skalaren Script-Funktion f fuer
+ * {@link javax.script.Invocable#getInterface(Class)}. Der Rueckgabewert ist
+ * primitiv, Nashorn wandelt das Ergebnis direkt in double, Groovy ueber den
+ * deklarierten Typ der Funktion. Nashorn implementiert nur oeffentliche
+ * Interfaces.
+ *
+ * @author mq
+ *
+ */
+public interface ScriptFunction {
+
+	/**
+	 * @param y Vektor mit y und seinen n-1 Ableitungen (bzw. Parametervektor k).
+	 * @param x unabhaengige Groesse.
+	 * @return Funktionswert.
+	 */
+	double f(final double[] y, final double x);
+
+}
@@ -0,0 +1,103 @@
+package de.mq.odesolver.support;
+
+import java.util.List;
+import java.util.Objects;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.SweepResult;
+
+/**
+ * Spaltenweise Ablage der Ergebnisse aller Trajektorien. Die Zeile row der
+ * Trajektorie t liegt an der Position t * rows + row. Verschiedene Trajektorien
+ * koennen parallel gespeichert werden, sie schreiben in disjunkte Bereiche der
+ * Arrays.
+ *
+ * @author mq
+ *
+ */
+class SweepResultImpl implements SweepResult {
+
+	private final Sweep sweep;
+	private final int rows;
+	private final double[] x;
+	private final double[][] y;
+
+	SweepResultImpl(final Sweep sweep, final int order, final int rows) {
+		if (order < 1) {
+			throw new IllegalArgumentException("Order must be > 0.");
+		}
+		if (rows < 1) {
+			throw new IllegalArgumentException("Rows must be > 0.");
+		}
+		final int capacity;
+		try {
+			capacity = Math.multiplyExact(sweep.size(), rows);
+		} catch (final ArithmeticException exception) {
+			throw new IllegalArgumentException("Sweep result is too large.", exception);
+		}
+		this.sweep = sweep;
+		this.rows = rows;
+		this.x = new double[capacity];
+		this.y = new double[order][capacity];
+	}
+
+	/**
+	 * Ergebnisse einer Trajektorie in die Spalten kopieren.
+	 *
+	 * @param trajectory Index der Trajektorie.
+	 * @param results    Ergebnisse, genau rows Zeilen.
+	 */
+	final void store(final int trajectory, final List<? extends Result> results) {
+		Objects.checkIndex(trajectory, sweep.size());
+		if (results.size() != rows) {
+			throw new IllegalStateException(String.format("Trajectory %d has %d rows, expected %d.", trajectory, results.size(), rows));
+		}
+		int index = trajectory * rows;
+		for (final Result result : results) {
+			x[index] = result.x();
+			for (int n = 0; n < y.length; n++) {
+				y[n][index] = result.yDerivative(n);
+			}
+			index++;
+		}
+	}
+
+	@Override
+	public final Sweep sweep() {
+		return sweep;
+	}
+
+	@Override
+	public final int size() {
+		return sweep.size();
+	}
+
+	@Override
+	public final int rows() {
+		return rows;
+	}
+
+	@Override
+	public final int order() {
+		return y.length;
+	}
+
+	@Override
+	public final double x(final int trajectory, final int row) {
+		return x[index(trajectory, row)];
+	}
+
+	@Override
+	public final double yDerivative(final int trajectory, final int row, final int n) {
+		Objects.checkIndex(n, y.length);
+		return y[n][index(trajectory, row)];
+	}
+
+	private int index(final int trajectory, final int row) {
+		Objects.checkIndex(trajectory, sweep.size());
+		Objects.checkIndex(row, rows);
+		return trajectory * rows + row;
+	}
+
+}
@@ -0,0 +1,51 @@
+package de.mq.odesolver.support;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.support.SweepUtil.TrajectorySolver;
+
+/**
+ * Berechnet die Trajektorien [from; to) einer {@link Sweep}-Berechnung. Grosse
+ * Bereiche werden halbiert, freie Threads des ForkJoinPool uebernehmen die
+ * abgespaltenen Haelften (work stealing). Jeder Teilbereich unterhalb der
+ * Schwelle erhaelt einen eigenen Solver, die Solver muessen also nicht
+ * threadsicher sein.
+ *
+ * @author mq
+ *
+ */
+class SweepTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SweepResultImpl result;
+	private final transient Supplier<TrajectorySolver> solvers;
+	private final int threshold;
+	private final int from;
+	private final int to;
+
+	SweepTask(final SweepResultImpl result, final Supplier<TrajectorySolver> solvers, final int threshold, final int from, final int to) {
+		this.result = result;
+		this.solvers = solvers;
+		this.threshold = threshold;
+		this.from = from;
+		this.to = to;
+	}
+
+	@Override
+	protected final void compute() {
+		if (to - from > threshold) {
+			final int middle = (from + to) >>> 1;
+			invokeAll(new SweepTask(result, solvers, threshold, from, middle), new SweepTask(result, solvers, threshold, middle, to));
+			return;
+		}
+		final Sweep sweep = result.sweep();
+		final TrajectorySolver solver = solvers.get();
+		for (int trajectory = from; trajectory < to; trajectory++) {
+			result.store(trajectory, solver.solve(sweep.vector(trajectory), sweep.start(trajectory), sweep.stop(trajectory)));
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+package de.mq.odesolver.support;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.SweepResult;
+
+/**
+ * Parallele Berechnung vieler Trajektorien fuer DGL'n und Funktionen.
+ * 
+ * @author mq
+ *
+ */
+public interface SweepUtil {
+
+	/**
+	 * Berechnet eine Trajektorie.
+	 */
+	@FunctionalInterface
+	interface TrajectorySolver {
+		/**
+		 * @param vector y0 einer DGL bzw. k einer Funktion.
+		 * @param start  Beginn des x-Intervalls.
+		 * @param stop   Ende des x-Intervalls.
+		 * @return Ergebnisse der Trajektorie.
+		 */
+		List<? extends Result> solve(final double[] vector, final double start, final double stop);
+	}
+
+	/**
+	 * Eigener ForkJoinPool fuer Parametervariationen, ein Thread je Prozessor.
+	 * Lange Berechnungen belegen so nicht den gemeinsamen ForkJoinPool
+	 * (parallele Streams, CompletableFuture). Die Threads sind Daemons und enden,
+	 * wenn der Pool laengere Zeit nicht verwendet wird.
+	 *
+	 * @return neuer Pool.
+	 */
+	public static ForkJoinPool newPool() {
+		return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Berechnet alle Trajektorien der Parametervariation parallel im
+	 * ForkJoinPool. Pro Thread werden mehrere Trajektorien mit demselben Solver
+	 * berechnet, die Solver werden mit solvers erzeugt.
+	 *
+	 * @param pool    ForkJoinPool fuer die Berechnung.
+	 * @param sweep   Parametervariation.
+	 * @param order   Anzahl der Spalten fuer y und seine Ableitungen.
+	 * @param rows    Anzahl der Zeilen pro Trajektorie.
+	 * @param solvers erzeugt Solver fuer die Trajektorien.
+	 * @return Ergebnisse, spaltenweise gespeichert.
+	 */
+	public static SweepResult sweep(final ForkJoinPool pool, final Sweep sweep, final int order, final int rows, final Supplier<TrajectorySolver> solvers) {
+		final SweepResultImpl result = new SweepResultImpl(sweep, order, rows);
+		// Mehr Teilbereiche als Threads, damit ungleich lange Trajektorien
+		// ausgeglichen werden.
+		final int threshold = Math.max(1, sweep.size() / (8 * pool.getParallelism()));
+		pool.invoke(new SweepTask(result, solvers, threshold, 0, sweep.size()));
+		return result;
+	}
+
+}
@@ -0,0 +1,22 @@
+package de.mq.odesolver.support;
+
+/**
+ * Rechte Seite eines DGL-Systems 1. Ordnung als primitive Funktion. Das
+ * Ergebnis wird in einen vom Aufrufer bereitgestellten Vektor geschrieben.
+ *
+ * @author mq
+ *
+ */
+@FunctionalInterface
+public interface VectorRightHandSide {
+
+	/**
+	 * Berechnet die Ableitungen dy des Systems.
+	 *
+	 * @param y  Vektor mit den abhaengigen Groessen.
+	 * @param x  unabhaengige Groesse.
+	 * @param dy Vektor, in den die Ableitungen geschrieben werden (Groesse wie y).
+	 */
+	void apply(final double[] y, final double x, final double[] dy);
+
+}
@@ -0,0 +1,20 @@
+package de.mq.odesolver.support;
+
+/**
+ * Signatur der Script-Funktion f eines DGL-Systems fuer
+ * {@link javax.script.Invocable#getInterface(Class)}. Nashorn implementiert nur
+ * oeffentliche Interfaces.
+ *
+ * @author mq
+ *
+ */
+public interface VectorScriptFunction {
+
+	/**
+	 * @param y Vektor mit den abhaengigen Groessen.
+	 * @param x unabhaengige Groesse.
+	 * @return die Ableitungen dy als neuer Vektor.
+	 */
+	double[] f(final double[] y, final double x);
+
+}
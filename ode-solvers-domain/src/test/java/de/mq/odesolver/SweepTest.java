@@ -0,0 +1,68 @@
+package de.mq.odesolver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class SweepTest {
+
+	private final Sweep sweep = new Sweep(new double[][] { { 1, 2 }, { 10, 20, 30 } }, new double[] { 0, -1 }, new double[] { 5 });
+
+	@Test
+	void size() {
+		assertEquals(12, sweep.size());
+		assertEquals(2, sweep.dimension());
+	}
+
+	@Test
+	void trajectories() {
+		assertArrayEquals(new double[] { 1, 10 }, sweep.vector(0));
+		assertArrayEquals(new double[] { 1, 20 }, sweep.vector(1));
+		assertArrayEquals(new double[] { 2, 10 }, sweep.vector(3));
+		assertArrayEquals(new double[] { 2, 30 }, sweep.vector(5));
+		assertArrayEquals(new double[] { 1, 10 }, sweep.vector(6));
+		assertEquals(0d, sweep.start(5));
+		assertEquals(-1d, sweep.start(6));
+		assertEquals(-1d, sweep.start(11));
+		assertEquals(5d, sweep.stop(11));
+	}
+
+	@Test
+	void indexOutOfBounds() {
+		assertThrows(IndexOutOfBoundsException.class, () -> sweep.vector(12));
+		assertThrows(IndexOutOfBoundsException.class, () -> sweep.start(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> sweep.stop(12));
+	}
+
+	@Test
+	void copies() {
+		final double[] values = { 1 };
+		final Sweep sweep = new Sweep(new double[][] { values }, values, values);
+		values[0] = 2;
+
+		assertArrayEquals(new double[] { 1 }, sweep.vector(0));
+		assertEquals(1d, sweep.start(0));
+		assertEquals(1d, sweep.stop(0));
+	}
+
+	@Test
+	void range() {
+		assertArrayEquals(new double[] { 0, 0.25, 0.5, 0.75, 1 }, Sweep.range(0, 1, 5));
+		assertArrayEquals(new double[] { 3 }, Sweep.range(3, 4, 1));
+		assertEquals(0.3, Sweep.range(0.1, 0.3, 3)[2]);
+		assertThrows(IllegalArgumentException.class, () -> Sweep.range(0, 1, 0));
+	}
+
+	@Test
+	void invalid() {
+		assertThrows(IllegalArgumentException.class, () -> new Sweep(new double[0][], new double[] { 0 }, new double[] { 1 }));
+		assertThrows(IllegalArgumentException.class, () -> new Sweep(new double[][] { {} }, new double[] { 0 }, new double[] { 1 }));
+		assertThrows(IllegalArgumentException.class, () -> new Sweep(new double[][] { { 1 } }, new double[0], new double[] { 1 }));
+		assertThrows(IllegalArgumentException.class, () -> new Sweep(new double[][] { { 1 } }, new double[] { 0 }, new double[0]));
+		final double[] values = new double[1 << 16];
+		assertThrows(IllegalArgumentException.class, () -> new Sweep(new double[][] { values, values }, new double[] { 0 }, new double[] { 1 }));
+	}
+
+}
@@ -0,0 +1,59 @@
+package de.mq.odesolver.function.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.Result;
+
+class FunctionResultTableImplTest {
+
+	private final FunctionResultTableImpl table = new FunctionResultTableImpl(new double[] { 0, 0.5, 1 }, new double[] { 2, -1, 3 });
+
+	@Test
+	void rows() {
+		assertEquals(3, table.size());
+		assertEquals(0.5, table.x(1));
+		assertEquals(-1d, table.y(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> table.x(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> table.y(-1));
+	}
+
+	@Test
+	void get() {
+		final Result result = table.get(2);
+
+		assertEquals(1d, result.x());
+		assertArrayEquals(new double[] { 3 }, result.yDerivatives());
+		assertEquals(new FunctionResultImpl(3, 1), result);
+		assertEquals(List.of(new FunctionResultImpl(2, 0), new FunctionResultImpl(-1, 0.5), new FunctionResultImpl(3, 1)), table);
+		assertThrows(IndexOutOfBoundsException.class, () -> table.get(3));
+	}
+
+	@Test
+	void minMax() {
+		assertEquals(-1d, table.min());
+		assertEquals(3d, table.max());
+		final FunctionResultTableImpl empty = new FunctionResultTableImpl(new double[0], new double[0]);
+		assertThrows(NoSuchElementException.class, () -> empty.min());
+		assertThrows(NoSuchElementException.class, () -> empty.max());
+	}
+
+	@Test
+	void unmodifiable() {
+		assertThrows(UnsupportedOperationException.class, () -> table.add(new FunctionResultImpl(1, 1)));
+		assertThrows(UnsupportedOperationException.class, () -> table.remove(0));
+		assertThrows(UnsupportedOperationException.class, () -> table.clear());
+	}
+
+	@Test
+	void differentLength() {
+		assertThrows(IllegalArgumentException.class, () -> new FunctionResultTableImpl(new double[1], new double[2]));
+	}
+
+}
@@ -4,9 +4,17 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import de.mq.odesolver.Result;
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.SweepResult;
 import de.mq.odesolver.function.FunctionService;
 import de.mq.odesolver.function.FunctionSolver;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
@@ -50,6 +58,65 @@ class FunctionServiceImplTest {
 		assertEquals(5d/4,functionService.validate(newFunction(language)));
 	}
 
+	@ParameterizedTest
+	@EnumSource
+	void sweep(final Language language) {
+		final Sweep sweep = new Sweep(new double[][] { Sweep.range(0, 1, 5), { 1, 2 } }, new double[] { 0 }, new double[] { 1, 2 });
+
+		final SweepResult result = functionService.sweep(new FunctionImpl(language, FUNCTION, X0, 1, 10, K), sweep);
+
+		assertEquals(20, result.size());
+		assertEquals(11, result.rows());
+		assertEquals(1, result.order());
+		for (int trajectory = 0; trajectory < result.size(); trajectory++) {
+			final List<Result> expected = functionService.functionSolver(language, FUNCTION).solve(sweep.vector(trajectory), sweep.start(trajectory), sweep.stop(trajectory), 10);
+			for (int row = 0; row < result.rows(); row++) {
+				assertEquals(expected.get(row).x(), result.x(trajectory, row));
+				assertEquals(expected.get(row).yDerivative(0), result.yDerivative(trajectory, row, 0));
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void sweepUnguarded(final Language language) {
+		final Sweep sweep = new Sweep(new double[][] { { 1, 2 } }, new double[] { 0 }, new double[] { 1 });
+
+		final SweepResult result = functionService.sweep(new FunctionImpl(language, "k[0]/x", X0, 1, 10, new double[] { 1 }), sweep);
+
+		// Die Parametervariation prueft das Ergebnis nicht, der Pol bei x=0 bricht
+		// sie nicht ab.
+		assertEquals(2, result.size());
+		assertEquals(Double.POSITIVE_INFINITY, result.yDerivative(0, 0, 0));
+		assertEquals(2d, result.yDerivative(1, result.rows() - 1, 0));
+		assertThrows(IllegalArgumentException.class, () -> functionService.functionSolver(language, "k[0]/x").solve(new double[] { 1 }, 0, 1, 10));
+	}
+
+	@Test
+	void sweepPool() {
+		final AtomicInteger threads = new AtomicInteger();
+		final ForkJoinPool pool = new ForkJoinPool(2, forkJoinPool -> {
+			threads.incrementAndGet();
+			return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+		}, null, false);
+		try {
+			final Sweep sweep = new Sweep(new double[][] { Sweep.range(0, 1, 50), { 1 } }, new double[] { 0 }, new double[] { 1 });
+
+			final SweepResult result = new FunctionServiceImpl(pool).sweep(new FunctionImpl(Language.Native, FUNCTION, X0, 1, 10, K), sweep);
+
+			assertEquals(50, result.size());
+			assertTrue(threads.get() > 0);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void sweepWrongDimension() {
+		final Sweep sweep = new Sweep(new double[][] { { 1 } }, new double[] { 0 }, new double[] { 1 });
+		assertThrows(IllegalArgumentException.class, () -> functionService.sweep(newFunction(Language.Groovy), sweep));
+	}
+
 	private FunctionImpl newFunction(final Language language) {
 		return new FunctionImpl(language, FUNCTION, X0, 1, STEPS, K);
 	}
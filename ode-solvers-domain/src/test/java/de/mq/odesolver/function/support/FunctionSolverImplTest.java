@@ -2,15 +2,17 @@ package de.mq.odesolver.function.support;
 
 import static de.mq.odesolver.support.OdeFunctionUtilFactory.newOdeFunctionUtil;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
-import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
-import de.mq.odesolver.Result;
+import de.mq.odesolver.function.FunctionResultTable;
 import de.mq.odesolver.function.FunctionSolver;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
 
@@ -30,9 +32,13 @@ class FunctionSolverImplTest {
 		final double[] x = { 0, 1d / 4, 1d / 2, 3d / 4, 1 };
 		// Bruchrechnung
 		final double[] y = { 0, 49d / 512, 17d / 32, 801d / 512, 7d / 2 };
-		final List<Result> results = functionSolver.solve(FunctionResultImpl.doubleArray(1, 2), 0, 1, 4);
+		final FunctionResultTable results = functionSolver.solve(FunctionResultImpl.doubleArray(1, 2), 0, 1, 4);
 
 		assertEquals(5, results.size());
+		IntStream.range(0, results.size()).forEach(i -> assertEquals(x[i], results.x(i)));
+		IntStream.range(0, results.size()).forEach(i -> assertEquals(y[i], results.y(i)));
+		assertEquals(0d, results.min());
+		assertEquals(7d / 2, results.max());
 		IntStream.range(0, results.size()).forEach(i -> assertEquals(x[i], results.get(i).x()));
 		IntStream.range(0, results.size()).forEach(i -> assertEquals(y[i], results.get(i).yDerivative(0)));
 		IntStream.range(0, results.size()).forEach(i -> assertEquals(1, results.get(i).yDerivatives().length));
@@ -44,4 +50,17 @@ class FunctionSolverImplTest {
 		final FunctionSolver functionSolver = new FunctionSolverImpl(newOdeFunctionUtil(language, "k", false),"1/2*Math.pow(x,4)+k[0]*Math.pow(x,2)+k[1]*Math.pow(x,3)");
 		solveFunction(functionSolver);
 	}
+
+	@Test
+	void solveTerminated() {
+		final AtomicInteger evaluations = new AtomicInteger();
+		final AtomicInteger queries = new AtomicInteger();
+		final FunctionSolver functionSolver = new FunctionSolverImpl((x, k) -> (double) evaluations.incrementAndGet());
+
+		assertEquals("Calculation terminated.", assertThrows(CancellationException.class,
+				() -> functionSolver.solve(new double[] {}, 0, 1, 10 * FunctionSolverImpl.BLOCK_SIZE, () -> queries.incrementAndGet() > 1)).getMessage());
+
+		assertEquals(2, queries.get());
+		assertEquals(FunctionSolverImpl.BLOCK_SIZE, evaluations.get());
+	}
 }
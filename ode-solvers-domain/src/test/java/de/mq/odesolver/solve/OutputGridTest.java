@@ -0,0 +1,68 @@
+package de.mq.odesolver.solve;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.solve.OutputGrid.Type;
+
+class OutputGridTest {
+
+	@Test
+	void everyStep() {
+		final OutputGrid outputGrid = OutputGrid.everyStep(3);
+
+		assertEquals(Type.EveryStep, outputGrid.type());
+		assertEquals(3, outputGrid.count());
+		assertArrayEquals(new double[] { 0, 0.3, 0.6, 0.9, 1 }, outputGrid.xValues(0, 1, 10), 1e-15);
+		assertArrayEquals(new double[] { 0, 0.3, 0.6 }, outputGrid.xValues(0, 0.6, 6), 1e-15);
+		assertEquals("EveryStep(3)", outputGrid.toString());
+	}
+
+	@Test
+	void uniform() {
+		final OutputGrid outputGrid = OutputGrid.uniform(5);
+
+		assertEquals(Type.Uniform, outputGrid.type());
+		assertEquals(5, outputGrid.count());
+		assertArrayEquals(new double[] { 0, 0.25, 0.5, 0.75, 1 }, outputGrid.xValues(0, 1, 1000));
+		assertArrayEquals(new double[] { 1, 0.75, 0.5, 0.25, 0 }, outputGrid.xValues(1, 0, 1000));
+	}
+
+	@Test
+	void points() {
+		final double[] points = { 0.1, 0.5, 0.5, 1 };
+		final OutputGrid outputGrid = OutputGrid.points(points);
+		points[0] = 2;
+
+		assertEquals(Type.Points, outputGrid.type());
+		assertEquals(4, outputGrid.count());
+		assertArrayEquals(new double[] { 0.1, 0.5, 0.5, 1 }, outputGrid.xValues(0, 1, 10));
+		assertEquals("Points[0.1, 0.5, 0.5, 1.0]", outputGrid.toString());
+		assertArrayEquals(new double[] { 1, 0 }, OutputGrid.points(1, 0).xValues(1, 0, 10));
+		assertThrows(IllegalArgumentException.class, () -> outputGrid.xValues(0, 0.9, 10));
+		assertThrows(IllegalArgumentException.class, () -> outputGrid.xValues(0.2, 1, 10));
+		assertThrows(IllegalArgumentException.class, () -> OutputGrid.points(1, 0).xValues(0, 1, 10));
+	}
+
+	@Test
+	void equalsAndHashCode() {
+		assertEquals(OutputGrid.everyStep(2), OutputGrid.everyStep(2));
+		assertEquals(OutputGrid.everyStep(2).hashCode(), OutputGrid.everyStep(2).hashCode());
+		assertEquals(OutputGrid.points(1, 2), OutputGrid.points(1, 2));
+		assertNotEquals(OutputGrid.everyStep(2), OutputGrid.uniform(2));
+		assertNotEquals(OutputGrid.points(1, 2), OutputGrid.points(1, 3));
+		assertNotEquals(OutputGrid.everyStep(2), new Object());
+	}
+
+	@Test
+	void invalid() {
+		assertThrows(IllegalArgumentException.class, () -> OutputGrid.everyStep(0));
+		assertThrows(IllegalArgumentException.class, () -> OutputGrid.uniform(1));
+		assertThrows(IllegalArgumentException.class, () -> OutputGrid.points());
+	}
+
+}
@@ -0,0 +1,187 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.ode.FirstOrderDifferentialEquations;
+import org.apache.commons.math3.ode.sampling.StepHandler;
+import org.apache.commons.math3.ode.sampling.StepInterpolator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.mq.odesolver.solve.SolverStatistics;
+import de.mq.odesolver.support.VectorRightHandSide;
+
+class AbstractStiffIntegratorTest {
+
+	private static final double TOLERANCE = 1e-10;
+
+	@ParameterizedTest
+	@ValueSource(strings = { RosenbrockIntegrator.NAME, BdfIntegrator.NAME })
+	void linearSystem(final String name) {
+		// y''=3y-2y', y(0)=0, y'(0)=4: y=e^x - e^(-3x)
+		final AbstractStiffIntegrator integrator = newIntegrator(name, 0, TOLERANCE, TOLERANCE);
+		final double[] y = { 0, 4 };
+
+		assertEquals(1d, integrator.integrate(equations(2, (u, x, du) -> {
+			du[0] = u[1];
+			du[1] = 3 * u[0] - 2 * u[1];
+		}), 0, y, 1, y));
+
+		assertEquals(Math.exp(1) - Math.exp(-3), y[0], 1e-6);
+		assertEquals(Math.exp(1) + 3 * Math.exp(-3), y[1], 1e-6);
+		assertEquals(name, integrator.getName());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { RosenbrockIntegrator.NAME, BdfIntegrator.NAME })
+	void stiff(final String name) {
+		// y'=-10000(y-cos(x))-sin(x), y(0)=1: y=cos(x). Explizite Verfahren
+		// benoetigen Schrittweiten < 3e-4, also mehr als 30000 Schritte.
+		final AbstractStiffIntegrator integrator = newIntegrator(name, 0, 1e-6, 1e-6);
+		final double[] y = { 1 };
+
+		integrator.integrate(equations(1, (u, x, du) -> du[0] = -10000 * (u[0] - Math.cos(x)) - Math.sin(x)), 0, y, 10, y);
+
+		assertEquals(Math.cos(10), y[0], 1e-5);
+		assertTrue(integrator.getEvaluations() < 15000);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { RosenbrockIntegrator.NAME, BdfIntegrator.NAME })
+	void robertson(final String name) {
+		// Chemische Reaktion nach Robertson, Referenzwerte fuer x=40 aus Hairer,
+		// Wanner: Solving Ordinary Differential Equations II.
+		final AbstractStiffIntegrator integrator = newIntegrator(name, 0, 1e-10, 1e-6);
+		final double[] y = { 1, 0, 0 };
+
+		integrator.integrate(equations(3, (u, x, du) -> {
+			du[0] = -0.04 * u[0] + 1e4 * u[1] * u[2];
+			du[2] = 3e7 * u[1] * u[1];
+			du[1] = -du[0] - du[2];
+		}), 0, y, 40, y);
+
+		assertEquals(0.7158270687, y[0], 1e-5);
+		assertEquals(9.185534764e-6, y[1], 1e-10);
+		assertEquals(0.2841637457, y[2], 1e-5);
+		assertTrue(integrator.getEvaluations() < 20000);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { RosenbrockIntegrator.NAME, BdfIntegrator.NAME })
+	void sparse(final String name) {
+		// Waermeleitungsgleichung u_t = u_xx auf [0, 1], u = 0 am Rand, 100
+		// innere Punkte: u = e^(-pi^2 t) sin(pi x), bis auf den Fehler der
+		// Ortsdiskretisierung.
+		final int n = 100;
+		final double dx = 1d / (n + 1);
+		final AbstractStiffIntegrator integrator = newIntegrator(name, 0, 1e-8, 1e-6);
+		final double[] y = IntStream.range(0, n).mapToDouble(i -> Math.sin(Math.PI * (i + 1) * dx)).toArray();
+
+		integrator.integrate(equations(n, (u, x, du) -> {
+			for (int i = 0; i < n; i++) {
+				du[i] = ((i > 0 ? u[i - 1] : 0) - 2 * u[i] + (i < n - 1 ? u[i + 1] : 0)) / (dx * dx);
+			}
+		}), 0, y, 0.1, y);
+
+		for (int i = 0; i < n; i++) {
+			assertEquals(Math.exp(-Math.PI * Math.PI * 0.1) * Math.sin(Math.PI * (i + 1) * dx), y[i], 1e-4);
+		}
+		// Struktur einmal n + 1, danach 3 Auswertungen pro Jacobi-Matrix statt n.
+		assertTrue(integrator.getJacobianUpdates() > 0);
+		assertTrue(integrator.getJacobianEvaluations() - (n + 1) < n * integrator.getJacobianUpdates());
+		assertTrue(integrator.getFactorizations() >= integrator.getJacobianUpdates());
+
+		final SolverStatistics statistics = integrator.statistics();
+		assertEquals(integrator.getEvaluations(), statistics.evaluations());
+		assertEquals(integrator.getJacobianEvaluations(), statistics.jacobianEvaluations());
+		assertEquals(integrator.getJacobianUpdates(), statistics.jacobianUpdates());
+		assertEquals(integrator.getFactorizations(), statistics.factorizations());
+		assertEquals(1, statistics.sparsityUpdates());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { RosenbrockIntegrator.NAME, BdfIntegrator.NAME })
+	void backward(final String name) {
+		final AbstractStiffIntegrator integrator = newIntegrator(name, 0, TOLERANCE, TOLERANCE);
+		final double[] y = { 1 };
+
+		integrator.integrate(equations(1, (u, x, du) -> du[0] = -u[0]), 1, y, 0, y);
+
+		assertEquals(Math.E, y[0], 1e-6);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { RosenbrockIntegrator.NAME, BdfIntegrator.NAME })
+	void interpolation(final String name) {
+		// y'=y, y(0)=1
+		final AbstractStiffIntegrator integrator = newIntegrator(name, 0, TOLERANCE, TOLERANCE);
+		final List<Double> errors = new ArrayList<>();
+		final List<Double> derivativeErrors = new ArrayList<>();
+		final List<Double> times = new ArrayList<>();
+		integrator.addStepHandler(new StepHandler() {
+
+			@Override
+			public void init(final double t0, final double[] y0, final double t) {
+				times.add(t0);
+			}
+
+			@Override
+			public void handleStep(final StepInterpolator interpolator, final boolean isLast) {
+				final double x = (interpolator.getPreviousTime() + interpolator.getCurrentTime()) / 2;
+				interpolator.setInterpolatedTime(x);
+				errors.add(Math.abs(interpolator.getInterpolatedState()[0] - Math.exp(x)));
+				derivativeErrors.add(Math.abs(interpolator.getInterpolatedDerivatives()[0] - Math.exp(x)));
+				times.add(interpolator.getCurrentTime());
+			}
+		});
+		final double[] y = { 1 };
+
+		integrator.integrate(equations(1, (u, x, du) -> du[0] = u[0]), 0, y, 1, y);
+
+		assertTrue(times.size() > 2);
+		assertEquals(0d, times.get(0));
+		assertEquals(1d, times.get(times.size() - 1));
+		errors.forEach(error -> assertTrue(error < 1e-6));
+		// Bei BDF ergibt sich die Ableitung aus den Differenzen, der Fehler
+		// der Newton-Iteration wird durch h geteilt.
+		derivativeErrors.forEach(error -> assertTrue(error < 1e-4));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { RosenbrockIntegrator.NAME, BdfIntegrator.NAME })
+	void minStep(final String name) {
+		// y'=y^2, y(0)=1: y=1/(1-x) hat bei x=1 einen Pol.
+		final AbstractStiffIntegrator integrator = newIntegrator(name, 1e-6, TOLERANCE, TOLERANCE);
+		final double[] y = { 1 };
+
+		assertThrows(NumberIsTooSmallException.class, () -> integrator.integrate(equations(1, (u, x, du) -> du[0] = u[0] * u[0]), 0, y, 2, y));
+	}
+
+	@Test
+	void invalid() {
+		assertThrows(IllegalArgumentException.class, () -> new RosenbrockIntegrator(-1, 1, TOLERANCE, TOLERANCE));
+		assertThrows(IllegalArgumentException.class, () -> new RosenbrockIntegrator(1, 1, TOLERANCE, TOLERANCE));
+		assertThrows(IllegalArgumentException.class, () -> new BdfIntegrator(0, 1, 0, TOLERANCE));
+		assertThrows(IllegalArgumentException.class, () -> new BdfIntegrator(0, 1, TOLERANCE, 0));
+	}
+
+	private AbstractStiffIntegrator newIntegrator(final String name, final double minStep, final double absoluteTolerance, final double relativeTolerance) {
+		if (BdfIntegrator.NAME.equals(name)) {
+			return new BdfIntegrator(minStep, Double.POSITIVE_INFINITY, absoluteTolerance, relativeTolerance);
+		}
+		return new RosenbrockIntegrator(minStep, Double.POSITIVE_INFINITY, absoluteTolerance, relativeTolerance);
+	}
+
+	private FirstOrderDifferentialEquations equations(final int dimension, final VectorRightHandSide rightHandSide) {
+		return new SimpleFirstOrderDifferentialEquationsImpl(rightHandSide, dimension);
+	}
+
+}
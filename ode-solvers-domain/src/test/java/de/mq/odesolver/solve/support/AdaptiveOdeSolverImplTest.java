@@ -0,0 +1,202 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.mq.odesolver.solve.OdeEvent;
+import de.mq.odesolver.solve.OdeEventResult;
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeSolver;
+import de.mq.odesolver.support.RightHandSide;
+
+class AdaptiveOdeSolverImplTest {
+
+	private static final int STEPS = 10;
+	private static final double TOLERANCE = 1e-8;
+
+	// y'=y-x, y(0)=2, spez. Loesung: y=e^x+x+1
+	private final RightHandSide firstOrder = (y, x) -> y[0] - x;
+
+	@Test
+	void resample() {
+		final OdeSolver odeSolver = new AdaptiveOdeSolverImpl(new RungeKutta4CalculatorImpl(firstOrder), 4, new StepSizeControlImpl(TOLERANCE, TOLERANCE, true));
+
+		final List<OdeResult> results = odeSolver.solve(new double[] { 2 }, 0, 1, STEPS);
+
+		assertEquals(STEPS + 1, results.size());
+		// Die Gitterpunkte zwischen den Schritten sind kubisch nach Hermite
+		// interpoliert, 3. Ordnung, genauer als die Schritte selbst ist das nicht.
+		IntStream.range(0, results.size()).forEach(n -> {
+			assertEquals(n / (double) STEPS, results.get(n).x(), 1e-15);
+			assertEquals(Math.exp(results.get(n).x()) + results.get(n).x() + 1, results.get(n).yDerivative(0), 1000 * TOLERANCE);
+		});
+		assertEquals(1d, results.get(STEPS).x());
+		assertEquals(Math.E + 2, results.get(STEPS).yDerivative(0), 100 * TOLERANCE);
+	}
+
+	@Test
+	void resampleFreeSteps() {
+		final AtomicInteger resampledCounter = new AtomicInteger();
+		final AtomicInteger counter = new AtomicInteger();
+		final OdeSolver resampled = new AdaptiveOdeSolverImpl(new RungeKutta4CalculatorImpl(counting(firstOrder, resampledCounter)), 4,
+				new StepSizeControlImpl(TOLERANCE, TOLERANCE, true));
+		final OdeSolver adaptive = new AdaptiveOdeSolverImpl(new RungeKutta4CalculatorImpl(counting(firstOrder, counter)), 4, new StepSizeControlImpl(TOLERANCE, TOLERANCE, false));
+
+		final List<OdeResult> results = resampled.solve(new double[] { 2 }, 0, 1, 1000);
+		final List<OdeResult> steps = adaptive.solve(new double[] { 2 }, 0, 1, 1000);
+
+		// Das feine Gitter begrenzt die Schritte nicht, nur die Interpolation und
+		// die dichte Ausgabe (einmal pro Zeile) werten die rechte Seite zusaetzlich
+		// aus.
+		assertEquals(1001, results.size());
+		assertTrue(steps.size() < 100);
+		assertTrue(resampledCounter.get() < counter.get() + 2 * steps.size() + results.size());
+		assertEquals(steps.get(steps.size() - 1).yDerivative(0), results.get(1000).yDerivative(0));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { true, false })
+	void solveStepSink(final boolean resample) {
+		final OdeSolver odeSolver = new AdaptiveOdeSolverImpl(new RungeKutta4CalculatorImpl(firstOrder), 4, new StepSizeControlImpl(TOLERANCE, TOLERANCE, resample));
+		final List<OdeResult> expected = odeSolver.solve(new double[] { 2 }, 0, 1, STEPS);
+		final AtomicInteger row = new AtomicInteger();
+
+		odeSolver.solve(new double[] { 2 }, 0, 1, STEPS, (y, x, errorEstimaion) -> {
+			final OdeResult result = expected.get(row.getAndIncrement());
+			assertEquals(result.yDerivative(0), y[0]);
+			assertEquals(result.x(), x);
+			assertEquals(result.errorEstimaion(), errorEstimaion);
+		});
+
+		assertEquals(expected.size(), row.get());
+		assertThrows(IllegalArgumentException.class, () -> odeSolver.solve(new double[] { 2 }, 1, 0, STEPS, (y, x, errorEstimaion) -> {}));
+	}
+
+	@Test
+	void adaptiveStepsFewerEvaluations() {
+		final AtomicInteger adaptiveCounter = new AtomicInteger();
+		final AtomicInteger fixedCounter = new AtomicInteger();
+		final OdeSolver adaptive = new AdaptiveOdeSolverImpl(new RungeKutta4CalculatorImpl(counting(firstOrder, adaptiveCounter)), 4,
+				new StepSizeControlImpl(TOLERANCE, TOLERANCE, false));
+		final OdeSolver fixed = new OdeSolverImpl(new RungeKutta4CalculatorImpl(counting(firstOrder, fixedCounter)));
+
+		final List<OdeResult> results = adaptive.solve(new double[] { 2 }, 0, 5, 10000);
+		final List<OdeResult> fixedResults = fixed.solve(new double[] { 2 }, 0, 5, 10000);
+
+		assertTrue(results.size() < 1000);
+		final double exact = Math.exp(5) + 5 + 1;
+		assertEquals(5d, results.get(results.size() - 1).x());
+		assertEquals(exact, results.get(results.size() - 1).yDerivative(0), exact * 1e-6);
+		assertEquals(exact, fixedResults.get(fixedResults.size() - 1).yDerivative(0), exact * 1e-6);
+		assertTrue(adaptiveCounter.get() * 10 < fixedCounter.get());
+		IntStream.range(1, results.size()).forEach(n -> assertTrue(results.get(n).x() > results.get(n - 1).x()));
+	}
+
+	@Test
+	void embedded() {
+		final AtomicInteger embeddedCounter = new AtomicInteger();
+		final AtomicInteger doubledCounter = new AtomicInteger();
+		final OdeSolver embedded = new AdaptiveOdeSolverImpl(new DormandPrinceCalculatorImpl(counting(firstOrder, embeddedCounter)), 5,
+				new StepSizeControlImpl(TOLERANCE, TOLERANCE, false));
+		final OdeSolver doubled = new AdaptiveOdeSolverImpl(new RungeKutta4CalculatorImpl(counting(firstOrder, doubledCounter)), 4,
+				new StepSizeControlImpl(TOLERANCE, TOLERANCE, false));
+
+		final List<OdeResult> results = embedded.solve(new double[] { 2 }, 0, 5, 1);
+		doubled.solve(new double[] { 2 }, 0, 5, 1);
+
+		final double exact = Math.exp(5) + 5 + 1;
+		assertEquals(5d, results.get(results.size() - 1).x());
+		assertEquals(exact, results.get(results.size() - 1).yDerivative(0), exact * 1e-6);
+		assertTrue(embeddedCounter.get() < doubledCounter.get());
+		IntStream.range(1, results.size()).forEach(n -> assertTrue(results.get(n).errorEstimaion() != 0));
+	}
+
+	@Test
+	void stepSizeShrinks() {
+		// Steile Grenzschicht bei x=0: y'=-50(y-cos(x)), y(0)=0, spez. Loesung:
+		// y=(2500cos(x)+50sin(x)-2500e^(-50x))/2501
+		final OdeSolver odeSolver = new AdaptiveOdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> -50 * (y[0] - Math.cos(x))), 4,
+				new StepSizeControlImpl(1e-6, 1e-6, false));
+
+		final List<OdeResult> results = odeSolver.solve(new double[] { 0 }, 0, 2, 1);
+
+		final double firstStep = results.get(1).x() - results.get(0).x();
+		final double lastStep = results.get(results.size() - 1).x() - results.get(results.size() - 2).x();
+		assertTrue(firstStep < 0.1);
+		assertTrue(lastStep > firstStep);
+		assertEquals((2500 * Math.cos(2d) + 50 * Math.sin(2d) - 2500 * Math.exp(-100)) / 2501, results.get(results.size() - 1).yDerivative(0), 1e-5);
+	}
+
+	@Test
+	void secondOrder() {
+		// y''=-y, y(0)=0, y'(0)=1, spez. Loesung y=sin(x)
+		final OdeSolver odeSolver = new AdaptiveOdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> -y[0]), 4, new StepSizeControlImpl(TOLERANCE, 0, true));
+
+		final List<OdeResult> results = odeSolver.solve(new double[] { 0, 1 }, 0, Math.PI, STEPS);
+
+		assertEquals(STEPS + 1, results.size());
+		results.forEach(result -> {
+			assertEquals(Math.sin(result.x()), result.yDerivative(0), 1e-6);
+			assertEquals(Math.cos(result.x()), result.yDerivative(1), 1e-6);
+		});
+	}
+
+	@Test
+	void maxSteps() {
+		final OdeSolver odeSolver = new AdaptiveOdeSolverImpl(new EulerCalculatorImpl(firstOrder), 1, new StepSizeControlImpl(1e-12, 0, 0.9, 0.2, 5, 100, false));
+
+		assertThrows(IllegalStateException.class, () -> odeSolver.solve(new double[] { 2 }, 0, 1, 1));
+	}
+
+	@Test
+	void stepSizeTooSmall() {
+		final OdeSolver odeSolver = new AdaptiveOdeSolverImpl(new EulerCalculatorImpl((y, x) -> Double.NaN), 1, new StepSizeControlImpl(TOLERANCE, TOLERANCE, false));
+
+		assertThrows(IllegalStateException.class, () -> odeSolver.solve(new double[] { 2 }, 0, 1, 1));
+	}
+
+	@Test
+	void solveEvents() {
+		// Freier Fall: y''=-g, y(0)=10, y'(0)=0, Aufschlag bei x=sqrt(20/g).
+		final OdeSolver odeSolver = new AdaptiveOdeSolverImpl(new DormandPrinceCalculatorImpl((y, x) -> -9.81), 5, new StepSizeControlImpl(TOLERANCE, TOLERANCE, false));
+		final List<Double> xs = new ArrayList<>();
+
+		final List<OdeEventResult> events = odeSolver.solve(new double[] { 10, 0 }, 0, 10, 1, List.of(new OdeEvent((y, x) -> y[0], true)),
+				(y, x, errorEstimaion) -> xs.add(x));
+
+		assertEquals(1, events.size());
+		// Die Genauigkeit der Nullstelle ist relativ zur (grossen) Schrittweite.
+		assertEquals(Math.sqrt(20 / 9.81), events.get(0).x(), 1e-10);
+		assertEquals(0, events.get(0).yDerivative(0), 1e-10);
+		assertEquals(events.get(0).x(), xs.get(xs.size() - 1));
+	}
+
+	@Test
+	void wrongArguments() {
+		final RungeKutta4CalculatorImpl calculator = new RungeKutta4CalculatorImpl(firstOrder);
+		final StepSizeControlImpl stepSizeControl = new StepSizeControlImpl(TOLERANCE, TOLERANCE, true);
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveOdeSolverImpl(calculator, 0, stepSizeControl));
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveOdeSolverImpl(calculator, 4, null));
+		final OdeSolver odeSolver = new AdaptiveOdeSolverImpl(calculator, 4, stepSizeControl);
+		assertThrows(IllegalArgumentException.class, () -> odeSolver.solve(new double[] { 2 }, 1, 0, STEPS));
+		assertThrows(IllegalArgumentException.class, () -> odeSolver.solve(new double[] { 2 }, 0, 1, 0));
+	}
+
+	private RightHandSide counting(final RightHandSide rightHandSide, final AtomicInteger counter) {
+		return (y, x) -> {
+			counter.incrementAndGet();
+			return rightHandSide.apply(y, x);
+		};
+	}
+
+}
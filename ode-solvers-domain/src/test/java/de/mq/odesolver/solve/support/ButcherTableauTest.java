@@ -0,0 +1,77 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ButcherTableauTest {
+
+	private final Map<ButcherTableau, Integer> stages = Map.of(ButcherTableau.BOGACKI_SHAMPINE_32, 4, ButcherTableau.CASH_KARP_54, 6, ButcherTableau.DORMAND_PRINCE_54, 7);
+
+	private final Map<ButcherTableau, Integer> explicitStages = Map.of(ButcherTableau.EULER, 1, ButcherTableau.HEUN, 2, ButcherTableau.RUNGE_KUTTA_4, 4, ButcherTableau.RUNGE_KUTTA_38, 4);
+
+	@Test
+	void consistent() {
+		stages.forEach((tableau, stages) -> {
+			assertEquals(stages, tableau.stages());
+			assertEquals(1d, Arrays.stream(tableau.b).sum(), 1e-15);
+			// Das eingebettete Verfahren ist ebenfalls konsistent.
+			assertEquals(0d, Arrays.stream(tableau.errorWeights).sum(), 1e-15);
+			IntStream.range(0, tableau.stages()).forEach(i -> assertEquals(tableau.c[i], Arrays.stream(tableau.a[i]).sum(), 1e-15));
+		});
+	}
+
+	@Test
+	void notEmbedded() {
+		explicitStages.forEach((tableau, stages) -> {
+			assertEquals(stages, tableau.stages());
+			assertFalse(tableau.embedded);
+			assertFalse(tableau.fsal);
+			assertEquals(1d, Arrays.stream(tableau.b).sum(), 1e-15);
+			assertTrue(Arrays.stream(tableau.errorWeights).allMatch(weight -> weight == 0));
+			IntStream.range(0, tableau.stages()).forEach(i -> assertEquals(tableau.c[i], Arrays.stream(tableau.a[i]).sum(), 1e-15));
+		});
+		stages.keySet().forEach(tableau -> assertTrue(tableau.embedded));
+	}
+
+	@Test
+	void fsal() {
+		assertTrue(ButcherTableau.BOGACKI_SHAMPINE_32.fsal);
+		assertTrue(ButcherTableau.DORMAND_PRINCE_54.fsal);
+		assertFalse(ButcherTableau.CASH_KARP_54.fsal);
+	}
+
+	@Test
+	void copies() {
+		final double[] c = { 0, 1 };
+		final double[][] a = { {}, { 1 } };
+		final double[] b = { 0.5, 0.5 };
+		final ButcherTableau tableau = new ButcherTableau(2, c, a, b, new double[] { 1, 0 });
+		c[1] = 2;
+		a[1][0] = 2;
+		b[0] = 2;
+
+		assertEquals(1d, tableau.c[1]);
+		assertEquals(1d, tableau.a[1][0]);
+		assertEquals(0.5d, tableau.b[0]);
+		assertEquals(-0.5d, tableau.errorWeights[0]);
+		assertEquals(0.5d, tableau.errorWeights[1]);
+		assertFalse(tableau.fsal);
+	}
+
+	@Test
+	void invalid() {
+		assertThrows(IllegalArgumentException.class, () -> new ButcherTableau(0, new double[] { 0 }, new double[][] { {} }, new double[] { 1 }, new double[] { 1 }));
+		assertThrows(IllegalArgumentException.class, () -> new ButcherTableau(1, new double[] {}, new double[][] {}, new double[] {}, new double[] {}));
+		assertThrows(IllegalArgumentException.class, () -> new ButcherTableau(1, new double[] { 0 }, new double[][] { {} }, new double[] { 1, 0 }, new double[] { 1 }));
+		assertThrows(IllegalArgumentException.class, () -> new ButcherTableau(1, new double[] { 0, 1 }, new double[][] { {}, {} }, new double[] { 0, 1 }, new double[] { 0, 1 }));
+	}
+
+}
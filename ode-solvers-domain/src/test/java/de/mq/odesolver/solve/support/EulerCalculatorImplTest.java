@@ -45,6 +45,15 @@ class EulerCalculatorImplTest {
 				maxTol);
 	}
 
+	@Test
+	final void calculateforSecondOrderOdeRightHandSide() {
+		final OdeResultCalculator odeResultCalculator = new EulerCalculatorImpl((y, x) -> -2 * y[1] + 3 * y[0]);
+
+		final double[] y1 = odeResultCalculator.calculate(new OdeResultImpl(new double[] { 0, 4 }, 0), 0.1);
+		assertEquals(0.4, y1[0]);
+		assertEquals(3.2, y1[1]);
+	}
+
 	@Test
 	final void errorEstimaion() {
 		assertEquals(0.1d, odeResultCalculator.errorEstimaion(1.1, 1), maxTol);
@@ -0,0 +1,102 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.solve.OdeEvent;
+import de.mq.odesolver.solve.OdeEventResult;
+
+class EventSinkTest {
+
+	private final List<Double> xs = new ArrayList<>();
+	private final List<Double> ys = new ArrayList<>();
+
+	@Test
+	void events() {
+		final EventSink eventSink = new EventSink(List.of(new OdeEvent((y, x) -> y[0] - 2.5, true), new OdeEvent((y, x) -> y[0] - 1.5, false)), Optional.empty(),
+				(y, x, errorEstimation) -> {
+					xs.add(x);
+					ys.add(y[0]);
+				});
+
+		// y=2x, linear interpoliert.
+		for (int n = 0; n <= 3 && !eventSink.isTerminated(); n++) {
+			eventSink.accept(new double[] { 2 * n }, n, 0);
+		}
+
+		assertTrue(eventSink.isTerminated());
+		assertEquals(List.of(0d, 1d, 1.25), xs);
+		assertEquals(List.of(0d, 2d, 2.5), ys);
+		final List<OdeEventResult> results = eventSink.results();
+		assertEquals(2, results.size());
+		assertEquals(1, results.get(0).event());
+		assertEquals(0.75, results.get(0).x(), 1e-12);
+		assertEquals(1.5, results.get(0).yDerivative(0), 1e-12);
+		assertEquals(0, results.get(1).event());
+		assertEquals(1.25, results.get(1).x(), 1e-12);
+	}
+
+	@Test
+	void terminatedIgnoresSteps() {
+		final EventSink eventSink = new EventSink(List.of(new OdeEvent((y, x) -> x - 0.5, true)), Optional.empty(), (y, x, errorEstimation) -> xs.add(x));
+
+		eventSink.accept(new double[] { 0 }, 0, 0);
+		eventSink.accept(new double[] { 0 }, 1, 0);
+		eventSink.accept(new double[] { 0 }, 2, 0);
+
+		assertEquals(List.of(0d, 0.5), xs);
+		assertEquals(1, eventSink.results().size());
+	}
+
+	@Test
+	void zeroAtStepAndStart() {
+		final EventSink eventSink = new EventSink(List.of(new OdeEvent((y, x) -> x - 1, false), new OdeEvent((y, x) -> x, false)), Optional.empty(),
+				(y, x, errorEstimation) -> xs.add(x));
+
+		// Die Bedingung ist in den Anfangswerten 0 und bei x=1 ein Schritt genau 0:
+		// nur ein Ereignis.
+		for (int n = 0; n <= 3; n++) {
+			eventSink.accept(new double[] { 0 }, n, 0);
+		}
+
+		assertFalse(eventSink.isTerminated());
+		assertEquals(List.of(0d, 1d, 2d, 3d), xs);
+		assertEquals(1, eventSink.results().size());
+		assertEquals(1d, eventSink.results().get(0).x());
+		assertEquals(0, eventSink.results().get(0).event());
+	}
+
+	@Test
+	void hermite() {
+		// y''=-1, y(0)=0, y'(0)=1, der Hermite-Interpolant ist exakt: Nullstelle x=2.
+		final EventSink eventSink = new EventSink(List.of(new OdeEvent((y, x) -> y[0], true)), Optional.of((y, x, yDot) -> {
+			yDot[0] = y[1];
+			yDot[1] = -1;
+		}), (y, x, errorEstimation) -> xs.add(x));
+
+		eventSink.accept(new double[] { 0, 1 }, 0, 0);
+		eventSink.accept(new double[] { 1.5 - 9d / 8, 1 - 1.5 }, 1.5, 0);
+		eventSink.accept(new double[] { 3 - 9d / 2, 1 - 3 }, 3, 0);
+
+		assertEquals(2, eventSink.results().get(0).x(), 1e-12);
+		assertEquals(0, eventSink.results().get(0).yDerivative(0), 1e-12);
+		assertEquals(-1, eventSink.results().get(0).yDerivative(1), 1e-12);
+		assertEquals(List.of(0d, 1.5, eventSink.results().get(0).x()), xs);
+	}
+
+	@Test
+	void eventsMandatory() {
+		assertThrows(IllegalArgumentException.class, () -> new EventSink(null, Optional.empty(), (y, x, errorEstimation) -> {
+		}));
+		assertThrows(IllegalArgumentException.class, () -> new OdeEvent(null, true));
+	}
+
+}
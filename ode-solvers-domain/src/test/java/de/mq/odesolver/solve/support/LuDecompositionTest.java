@@ -0,0 +1,45 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LuDecompositionTest {
+
+	private final LuDecomposition lu = new LuDecomposition();
+
+	@Test
+	void solve() {
+		// Pivotsuche notwendig, a[0][0] = 0
+		final double[][] matrix = { { 0, 2, 1 }, { 1, 1, 1 }, { 2, 1, 3 } };
+		final double[] x = { 1, -2, 3 };
+		final double[] b = { 0 * 1 + 2 * -2 + 1 * 3, 1 - 2 + 3, 2 - 2 + 9 };
+		final double[] result = new double[3];
+
+		assertTrue(lu.decompose(matrix));
+		lu.solve(b, result);
+
+		assertArrayEquals(x, result, 1e-14);
+		assertArrayEquals(new double[] { 0, 2, 1 }, matrix[0]);
+
+		// Die Zerlegung wird fuer weitere rechte Seiten verwendet.
+		lu.solve(new double[] { 2, 1, 1 }, result);
+		assertArrayEquals(new double[] { 0, 1, 0 }, result, 1e-14);
+	}
+
+	@Test
+	void singular() {
+		assertFalse(lu.decompose(new double[][] { { 1, 2 }, { 2, 4 } }));
+	}
+
+	@Test
+	void wrongSize() {
+		assertThrows(IllegalArgumentException.class, () -> lu.decompose(new double[][] { { 1, 2 }, { 2 } }));
+		assertTrue(lu.decompose(new double[][] { { 1 } }));
+		assertThrows(IllegalArgumentException.class, () -> lu.solve(new double[2], new double[2]));
+	}
+
+}
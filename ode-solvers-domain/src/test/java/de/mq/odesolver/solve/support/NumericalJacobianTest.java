@@ -0,0 +1,174 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.support.VectorRightHandSide;
+
+class NumericalJacobianTest {
+
+	private final AtomicInteger evaluations = new AtomicInteger();
+
+	private final VectorRightHandSide rightHandSide = (y, x, dy) -> {
+		evaluations.incrementAndGet();
+		dy[0] = y[0] * y[1] + x * x;
+		dy[1] = Math.sin(y[0]) - 3 * y[1];
+	};
+
+	private final NumericalJacobian numericalJacobian = new NumericalJacobian(rightHandSide, 1);
+
+	@Test
+	void jacobian() {
+		final double[] y = { 0.5, 2 };
+		final double x = 3;
+		final double[] f0 = new double[2];
+		rightHandSide.apply(y, x, f0);
+		evaluations.set(0);
+
+		numericalJacobian.update(y, x, f0);
+
+		final double[][] jacobian = numericalJacobian.jacobian();
+		assertArrayEquals(new double[] { y[1], y[0] }, jacobian[0], 1e-7);
+		assertArrayEquals(new double[] { Math.cos(y[0]), -3 }, jacobian[1], 1e-7);
+		assertEquals(2, evaluations.get());
+		assertArrayEquals(new double[] { 0.5, 2 }, y);
+		assertEquals(2, numericalJacobian.evaluations());
+		assertEquals(1, numericalJacobian.updates());
+		assertEquals(2, numericalJacobian.groups());
+	}
+
+	@Test
+	void current() {
+		final double[] y = { 0.5, 2 };
+		final double[] f0 = new double[2];
+		rightHandSide.apply(y, 0, f0);
+		assertFalse(numericalJacobian.isCurrent());
+
+		numericalJacobian.update(y, 0, f0);
+		assertTrue(numericalJacobian.isCurrent());
+
+		numericalJacobian.markStale();
+		assertFalse(numericalJacobian.isCurrent());
+		assertEquals(y[1], numericalJacobian.jacobian()[0][0], 1e-7);
+	}
+
+	@Test
+	void tridiagonal() {
+		// Diskretisierte Waermeleitungsgleichung mit nichtlinearem Quellterm.
+		final int n = 100;
+		final VectorRightHandSide heat = (u, x, du) -> {
+			evaluations.incrementAndGet();
+			for (int i = 0; i < n; i++) {
+				du[i] = (i > 0 ? u[i - 1] : 0) - 2 * u[i] + (i < n - 1 ? u[i + 1] : 0) + u[i] * u[i];
+			}
+		};
+		final NumericalJacobian sparse = new NumericalJacobian(heat, 1);
+		final double[] y = IntStream.range(0, n).mapToDouble(i -> Math.sin(i)).toArray();
+		final double[] f0 = new double[n];
+		heat.apply(y, 0, f0);
+
+		sparse.update(y, 0, f0);
+		evaluations.set(0);
+		sparse.update(y, 0, f0);
+
+		assertEquals(3, sparse.groups());
+		assertEquals(3, evaluations.get());
+		assertEquals(n + 1 + 3 + 3, sparse.evaluations());
+		final double[][] jacobian = sparse.jacobian();
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				final double expected = i == j ? -2 + 2 * y[i] : Math.abs(i - j) == 1 ? 1 : 0;
+				assertEquals(expected, jacobian[i][j], 1e-6);
+			}
+		}
+	}
+
+	@Test
+	void structureAtZero() {
+		// An der Stelle 0 verschwindet d(u0 u1)/du0, die Struktur wird an einem
+		// verschobenen Punkt bestimmt.
+		final int n = NumericalJacobian.SPARSE_DIMENSION;
+		final VectorRightHandSide product = (u, x, du) -> {
+			for (int i = 0; i < n; i++) {
+				du[i] = u[i] * u[(i + 1) % n];
+			}
+		};
+		final NumericalJacobian sparse = new NumericalJacobian(product, 1);
+		final double[] y = new double[n];
+		final double[] f0 = new double[n];
+		product.apply(y, 0, f0);
+
+		sparse.update(y, 0, f0);
+		y[0] = 2;
+		y[1] = 3;
+		product.apply(y, 0, f0);
+		sparse.update(y, 0, f0);
+
+		assertEquals(2, sparse.groups());
+		assertEquals(3, sparse.jacobian()[0][0], 1e-7);
+		assertEquals(2, sparse.jacobian()[0][1], 1e-7);
+		assertEquals(0, sparse.jacobian()[0][2]);
+	}
+
+	@Test
+	void structureAfterRejections() {
+		// Die Kopplung von u0 an u(n-1) setzt erst bei x > 1 ein, sie fehlt in der
+		// ersten Struktur.
+		final int n = NumericalJacobian.SPARSE_DIMENSION;
+		final VectorRightHandSide delayed = (u, x, du) -> {
+			for (int i = 0; i < n; i++) {
+				du[i] = -u[i];
+			}
+			du[0] += x > 1 ? u[n - 1] : 0;
+		};
+		final NumericalJacobian sparse = new NumericalJacobian(delayed, 1);
+		final double[] y = IntStream.range(0, n).mapToDouble(i -> i + 1).toArray();
+		final double[] f0 = new double[n];
+		delayed.apply(y, 0, f0);
+		sparse.update(y, 0, f0);
+		assertEquals(1, sparse.groups());
+		delayed.apply(y, 2, f0);
+
+		// Ohne aktuelle Matrix bzw. nach einem akzeptierten Schritt zaehlen die
+		// Fehlschlaege nicht.
+		sparse.markStale();
+		IntStream.range(0, NumericalJacobian.MAX_REJECTIONS).forEach(i -> sparse.reject());
+		sparse.update(y, 2, f0);
+		IntStream.range(1, NumericalJacobian.MAX_REJECTIONS).forEach(i -> sparse.reject());
+		sparse.markStale();
+		sparse.update(y, 2, f0);
+		sparse.reject();
+		sparse.update(y, 2, f0);
+		assertEquals(1, sparse.structures());
+		assertEquals(0, sparse.jacobian()[0][n - 1]);
+
+		IntStream.range(1, NumericalJacobian.MAX_REJECTIONS).forEach(i -> sparse.reject());
+		sparse.update(y, 2, f0);
+
+		assertEquals(2, sparse.structures());
+		assertEquals(2, sparse.groups());
+		assertEquals(1, sparse.jacobian()[0][n - 1], 1e-7);
+		assertEquals(-1, sparse.jacobian()[0][0], 1e-7);
+		assertEquals(-1, sparse.jacobian()[n - 1][n - 1], 1e-7);
+	}
+
+	@Test
+	void timeDerivative() {
+		final double[] y = { 0, 0 };
+		final double[] f0 = new double[2];
+		rightHandSide.apply(y, 2, f0);
+		final double[] result = new double[2];
+
+		numericalJacobian.timeDerivative(y, 2, f0, result);
+
+		assertArrayEquals(new double[] { 4, 0 }, result, 1e-6);
+	}
+
+}
@@ -0,0 +1,148 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeResultTable;
+import de.mq.odesolver.solve.OdeSolverService.ErrorEstimation;
+import de.mq.odesolver.support.RightHandSide;
+
+class OdeEnsembleSolverImplTest {
+
+	private static final int STEPS = 100;
+
+	// y'' = -y + x*y'
+	private static final RightHandSide RIGHT_HAND_SIDE = (y, x) -> -y[0] + x * y[1];
+
+	private static final double[][] Y0 = { { 1, 0 }, { 0, 1 }, { -1, 0.5 }, { 2, -3 }, { 0.25, 0.75 } };
+
+	static Stream<ButcherTableau> tableaus() {
+		return Stream.of(ButcherTableau.EULER, ButcherTableau.HEUN, ButcherTableau.RUNGE_KUTTA_4, ButcherTableau.RUNGE_KUTTA_38);
+	}
+
+	@ParameterizedTest
+	@MethodSource("tableaus")
+	void solve(final ButcherTableau tableau) {
+		final List<OdeResultTable> results = new OdeEnsembleSolverImpl(tableau, RIGHT_HAND_SIDE).solve(Y0, 0, 1, STEPS);
+
+		assertEquals(Y0.length, results.size());
+		for (int t = 0; t < Y0.length; t++) {
+			final List<OdeResult> expected = new OdeSolverImpl(new RungeKuttaCalculatorImpl(tableau, RIGHT_HAND_SIDE), ErrorEstimation.Off).solve(Y0[t], 0, 1, STEPS);
+			final OdeResultTable table = results.get(t);
+			assertEquals(expected.size(), table.size());
+			assertEquals(2, table.order());
+			for (int row = 0; row < expected.size(); row++) {
+				assertEquals(expected.get(row).x(), table.x(row));
+				assertEquals(expected.get(row).yDerivative(0), table.yDerivative(row, 0));
+				assertEquals(expected.get(row).yDerivative(1), table.yDerivative(row, 1));
+				assertEquals(0d, table.errorEstimaion(row));
+			}
+		}
+	}
+
+	@Test
+	void firstOrder() {
+		// y'=y-x, y(0)=1, spez. Loesung y=x+1
+		final List<OdeResultTable> results = new OdeEnsembleSolverImpl(ButcherTableau.RUNGE_KUTTA_4, (y, x) -> y[0] - x).solve(new double[][] { { 1 }, { 2 } }, 0, 1, 10);
+
+		assertEquals(2d, results.get(0).yDerivative(10, 0), 1e-12);
+		// y(0)=2: y = e^x + x + 1
+		assertEquals(Math.E + 2, results.get(1).yDerivative(10, 0), 1e-5);
+	}
+
+	@Test
+	void parameters() {
+		// y'=-a*y, Parameter a als y[1]
+		final double[][] parameters = { { 1 }, { 2 }, { 0.5 } };
+		final List<OdeResultTable> results = new OdeEnsembleSolverImpl(ButcherTableau.RUNGE_KUTTA_4, (y, x) -> -y[1] * y[0]).solve(new double[][] { { 1 }, { 1 }, { 2 } }, parameters, 0, 1,
+				STEPS);
+
+		assertEquals(3, results.size());
+		assertEquals(1, results.get(0).order());
+		assertEquals(Math.exp(-1), results.get(0).yDerivative(STEPS, 0), 1e-9);
+		assertEquals(Math.exp(-2), results.get(1).yDerivative(STEPS, 0), 1e-9);
+		assertEquals(2 * Math.exp(-0.5), results.get(2).yDerivative(STEPS, 0), 1e-9);
+	}
+
+	@ParameterizedTest
+	@MethodSource("tableaus")
+	void vectorKernel(final ButcherTableau tableau) {
+		// Nur mit dem Profil vector gebaut und getestet.
+		assumeTrue(ModuleLayer.boot().findModule(EnsembleKernel.VECTOR_MODULE).isPresent());
+		assumeTrue(EnsembleKernel.class.getResource("VectorEnsembleKernel.class") != null);
+		final EnsembleKernel kernel = EnsembleKernel.kernel();
+		assertEquals(EnsembleKernel.VECTOR_KERNEL, kernel.getClass().getName());
+		// Mehr Trajektorien als Lanes, mit Rest.
+		final double[][] y0 = new double[37][];
+		for (int t = 0; t < y0.length; t++) {
+			y0[t] = new double[] { Math.sin(t), Math.cos(t) };
+		}
+
+		final List<OdeResultTable> vector = new OdeEnsembleSolverImpl(tableau, RIGHT_HAND_SIDE, kernel).solve(y0, 0, 1, STEPS);
+		final List<OdeResultTable> scalar = new OdeEnsembleSolverImpl(tableau, RIGHT_HAND_SIDE, new ScalarEnsembleKernel()).solve(y0, 0, 1, STEPS);
+
+		for (int t = 0; t < y0.length; t++) {
+			for (int row = 0; row <= STEPS; row++) {
+				assertEquals(scalar.get(t).yDerivative(row, 0), vector.get(t).yDerivative(row, 0));
+				assertEquals(scalar.get(t).yDerivative(row, 1), vector.get(t).yDerivative(row, 1));
+			}
+		}
+	}
+
+	@Test
+	void scalarKernel() {
+		final double[] target = new double[3];
+		new ScalarEnsembleKernel().combine(target, new double[] { 1, 2, 3 }, 0.5, new double[] { 1, 2 }, 2, new double[][] { { 1, 1, 1 }, { 2, 4, 6 } }, 3);
+
+		assertEquals(List.of(3.5, 6.5, 9.5), List.of(target[0], target[1], target[2]));
+	}
+
+	@Test
+	void evaluatePerStage() {
+		final AtomicInteger evaluations = new AtomicInteger();
+		final RightHandSide rightHandSide = new RightHandSide() {
+			@Override
+			public double apply(final double[] y, final double x) {
+				throw new IllegalStateException("Single evaluation not expected.");
+			}
+
+			@Override
+			public void evaluateColumns(final double x, final double[][] columns, final int size, final double[] out) {
+				evaluations.incrementAndGet();
+				assertEquals(Y0.length, size);
+				for (int t = 0; t < size; t++) {
+					out[t] = -columns[0][t] + x * columns[1][t];
+				}
+			}
+		};
+
+		final List<OdeResultTable> results = new OdeEnsembleSolverImpl(ButcherTableau.RUNGE_KUTTA_4, rightHandSide).solve(Y0, 0, 1, STEPS);
+
+		assertEquals(4 * STEPS, evaluations.get());
+		final List<OdeResultTable> expected = new OdeEnsembleSolverImpl(ButcherTableau.RUNGE_KUTTA_4, RIGHT_HAND_SIDE).solve(Y0, 0, 1, STEPS);
+		assertEquals(expected.get(3).yDerivative(STEPS, 0), results.get(3).yDerivative(STEPS, 0));
+	}
+
+	@Test
+	void invalid() {
+		final OdeEnsembleSolverImpl solver = new OdeEnsembleSolverImpl(ButcherTableau.EULER, RIGHT_HAND_SIDE);
+
+		assertThrows(IllegalArgumentException.class, () -> solver.solve(new double[0][], 0, 1, STEPS));
+		assertThrows(IllegalArgumentException.class, () -> solver.solve(new double[][] { { 1, 0 }, { 1 } }, 0, 1, STEPS));
+		assertThrows(IllegalArgumentException.class, () -> solver.solve(new double[][] { {} }, 0, 1, STEPS));
+		assertThrows(IllegalArgumentException.class, () -> solver.solve(new double[][] { { 1, 0 } }, new double[0][], 0, 1, STEPS));
+		assertThrows(IllegalArgumentException.class, () -> solver.solve(new double[][] { { 1, 0 }, { 1, 0 } }, new double[][] { { 1 }, {} }, 0, 1, STEPS));
+		assertThrows(IllegalArgumentException.class, () -> new OdeEnsembleSolverImpl(ButcherTableau.DORMAND_PRINCE_54, RIGHT_HAND_SIDE));
+	}
+
+}
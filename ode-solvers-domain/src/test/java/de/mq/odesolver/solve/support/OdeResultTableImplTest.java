@@ -0,0 +1,210 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.solve.OdeResult;
+
+class OdeResultTableImplTest {
+
+	private final double[][] y = new double[][] { { 1d, 2d }, { -1d, 4d }, { 3d, -2d } };
+	private final double[] x = new double[] { 0d, 0.5d, 1d };
+	private final double[] errorEstimations = new double[] { 0d, 1e-3, 2e-3 };
+
+	private final OdeResultTableImpl table = newTable(0);
+
+	private OdeResultTableImpl newTable(final int capacity) {
+		final OdeResultTableImpl table = new OdeResultTableImpl(2, capacity);
+		IntStream.range(0, x.length).forEach(i -> table.append(y[i], x[i], errorEstimations[i]));
+		return table;
+	}
+
+	@Test
+	void rows() {
+		assertEquals(x.length, table.size());
+		assertEquals(2, table.order());
+		IntStream.range(0, x.length).forEach(i -> {
+			final OdeResult result = table.get(i);
+			assertEquals(x[i], result.x());
+			assertEquals(x[i], table.x(i));
+			assertArrayEquals(y[i], result.yDerivatives());
+			assertEquals(y[i][1], result.yDerivative(1));
+			assertEquals(y[i][1], table.yDerivative(i, 1));
+			assertEquals(errorEstimations[i], result.errorEstimaion());
+			assertEquals(errorEstimations[i], table.errorEstimaion(i));
+			assertEquals(2, result.order());
+		});
+	}
+
+	@Test
+	void appendCopies() {
+		final double[] buffer = new double[] { 1d, 2d };
+		final OdeResultTableImpl table = new OdeResultTableImpl(2, 1);
+		table.append(buffer, 0, 0);
+		buffer[0] = 3d;
+		table.append(buffer, 1, 0);
+
+		assertEquals(1d, table.yDerivative(0, 0));
+		assertEquals(3d, table.yDerivative(1, 0));
+	}
+
+	@Test
+	void grow() {
+		final OdeResultTableImpl table = new OdeResultTableImpl(1, 0);
+		IntStream.range(0, 100).forEach(i -> table.append(new double[] { i }, i, i));
+
+		assertEquals(100, table.size());
+		IntStream.range(0, 100).forEach(i -> assertEquals(new OdeResultImpl(new double[] { i }, i, i), table.get(i)));
+	}
+
+	@Test
+	void appendWrongSize() {
+		assertThrows(IllegalArgumentException.class, () -> table.append(new double[] { 1d }, 0, 0));
+	}
+
+	@Test
+	void wrongConstructorArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new OdeResultTableImpl(0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new OdeResultTableImpl(1, -1));
+	}
+
+	@Test
+	void wrongIndex() {
+		assertThrows(IndexOutOfBoundsException.class, () -> table.get(x.length));
+		assertThrows(IndexOutOfBoundsException.class, () -> table.get(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> newTable(10).x(x.length));
+		assertThrows(IndexOutOfBoundsException.class, () -> table.errorEstimaion(x.length));
+		assertThrows(IllegalArgumentException.class, () -> table.get(0).yDerivative(2));
+		assertThrows(IllegalArgumentException.class, () -> table.get(0).yDerivative(-1));
+		assertThrows(IllegalArgumentException.class, () -> table.yDerivative(0, 2));
+	}
+
+	@Test
+	void minMax() {
+		assertEquals(-1d, table.min(0));
+		assertEquals(3d, table.max(0));
+		assertEquals(-2d, table.min(1));
+		assertEquals(4d, table.max(1));
+		assertThrows(IllegalArgumentException.class, () -> table.min(2));
+		assertThrows(NoSuchElementException.class, () -> new OdeResultTableImpl(1, 10).max(0));
+	}
+
+	@Test
+	void unmodifiable() {
+		assertThrows(UnsupportedOperationException.class, () -> table.add(new OdeResultImpl(y[0], x[0])));
+		assertThrows(UnsupportedOperationException.class, () -> table.remove(0));
+		assertThrows(UnsupportedOperationException.class, () -> table.clear());
+		assertEquals(x.length, table.size());
+	}
+
+	@SuppressWarnings("unlikely-arg-type")
+	@Test
+	void equalsAndHash() {
+		final OdeResult first = table.get(0);
+		assertTrue(first.equals(table.get(0)));
+		assertTrue(first.equals(new OdeResultImpl(y[0], x[0])));
+		assertTrue(new OdeResultImpl(y[0], x[0]).equals(first));
+		assertEquals(new OdeResultImpl(y[0], x[0]).hashCode(), first.hashCode());
+		assertFalse(first.equals(table.get(1)));
+		assertFalse(first.equals(""));
+		assertEquals(newTable(10), table);
+		assertTrue(first.toString().contains(String.valueOf(x[0])));
+	}
+
+	@Test
+	void interpolateLinear() {
+		final OdeResultTableImpl table = new OdeResultTableImpl(2, 3);
+		table.append(new double[] { 0, 1 }, 0, 0);
+		table.append(new double[] { 1, 3 }, 1, 0);
+		table.append(new double[] { 3, 3 }, 2, 0);
+
+		assertArrayEquals(new double[] { 0.5, 2 }, table.interpolate(0.5));
+		assertArrayEquals(new double[] { 2, 3 }, table.interpolate(1.5));
+		assertArrayEquals(new double[] { 1, 3 }, table.interpolate(1));
+		assertArrayEquals(new double[] { 0, 1 }, table.interpolate(0));
+		assertArrayEquals(new double[] { 3, 3 }, table.interpolate(2));
+	}
+
+	@Test
+	void interpolateHermite() {
+		// y'=y, y=e^x, Hermite-Interpolation ist 3. Ordnung.
+		final OdeResultTableImpl table = new OdeResultTableImpl(1, 11);
+		IntStream.rangeClosed(0, 10).forEach(n -> table.append(new double[] { Math.exp(n / 10d) }, n / 10d, 0));
+		table.denseOutput((y, x, dy) -> dy[0] = y[0]);
+
+		IntStream.range(0, 100).mapToDouble(n -> n / 100d + 0.005).forEach(x -> assertEquals(Math.exp(x), table.interpolate(x)[0], 1e-6));
+		assertEquals(Math.exp(0.3), table.interpolate(0.3)[0]);
+	}
+
+	@Test
+	void denseOutputFinished() {
+		// Die rechte Seite wird nur einmal pro Zeile ausgewertet und nicht gespeichert.
+		final AtomicInteger evaluations = new AtomicInteger();
+		final OdeResultTableImpl table = new OdeResultTableImpl(1, 11);
+		IntStream.rangeClosed(0, 10).forEach(n -> table.append(new double[] { Math.exp(n / 10d) }, n / 10d, 0));
+		table.denseOutput((y, x, dy) -> {
+			evaluations.incrementAndGet();
+			dy[0] = y[0];
+		});
+
+		assertEquals(11, evaluations.get());
+		IntStream.range(0, 100).mapToDouble(n -> n / 100d + 0.005).forEach(x -> assertEquals(Math.exp(x), table.interpolate(x)[0], 1e-6));
+		assertEquals(11, evaluations.get());
+		assertThrows(IllegalStateException.class, () -> table.append(new double[] { 1 }, 2, 0));
+	}
+
+	@Test
+	void denseOutputNotFinite() {
+		final OdeResultTableImpl table = new OdeResultTableImpl(1, 2);
+		table.append(new double[] { 0 }, 0, 0);
+		table.append(new double[] { 1 }, 1, 0);
+		table.denseOutput((y, x, dy) -> dy[0] = 1 / (1 - x));
+
+		assertArrayEquals(new double[] { 0.5 }, table.interpolate(0.5));
+
+		final OdeResultTableImpl guarded = new OdeResultTableImpl(1, 2);
+		guarded.append(new double[] { 0 }, 0, 0);
+		guarded.append(new double[] { 1 }, 1, 0);
+		guarded.denseOutput((y, x, dy) -> {
+			throw new IllegalArgumentException("Function returns Infinite.");
+		});
+
+		assertArrayEquals(new double[] { 0.5 }, guarded.interpolate(0.5));
+	}
+
+	@Test
+	void interpolateBackwards() {
+		final OdeResultTableImpl table = new OdeResultTableImpl(1, 3);
+		table.append(new double[] { 2 }, 1, 0);
+		table.append(new double[] { 1 }, 0.5, 0);
+		table.append(new double[] { 0 }, 0, 0);
+
+		assertArrayEquals(new double[] { 1.5 }, table.interpolate(0.75));
+		assertArrayEquals(new double[] { 0.5 }, table.interpolate(0.25));
+		assertThrows(IllegalArgumentException.class, () -> table.interpolate(1.1));
+		assertThrows(IllegalArgumentException.class, () -> table.interpolate(-0.1));
+	}
+
+	@Test
+	void interpolateInvalid() {
+		final OdeResultTableImpl table = new OdeResultTableImpl(1, 2);
+		assertThrows(NoSuchElementException.class, () -> table.interpolate(0));
+		table.append(new double[] { 2 }, 1, 0);
+
+		assertArrayEquals(new double[] { 2 }, table.interpolate(1));
+		assertThrows(IllegalArgumentException.class, () -> table.interpolate(1.5));
+		table.append(new double[] { 3 }, 2, 0);
+		assertThrows(IllegalArgumentException.class, () -> table.interpolate(0.5));
+		assertThrows(IllegalArgumentException.class, () -> table.interpolate(Double.NaN));
+	}
+
+}
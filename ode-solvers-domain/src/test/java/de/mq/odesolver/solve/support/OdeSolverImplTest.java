@@ -3,21 +3,36 @@ package de.mq.odesolver.solve.support;
 import static de.mq.odesolver.solve.support.OdeResultImpl.doubleArray;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 
+import de.mq.odesolver.solve.OdeEvent;
+import de.mq.odesolver.solve.OdeEventResult;
 import de.mq.odesolver.solve.OdeResult;
 import de.mq.odesolver.solve.OdeResultCalculator;
+import de.mq.odesolver.solve.OdeResultTable;
 import de.mq.odesolver.solve.OdeSolver;
+import de.mq.odesolver.solve.OdeSolverService.ErrorEstimation;
+import de.mq.odesolver.support.EngineBinding;
 
 public class OdeSolverImplTest {
 
@@ -25,12 +40,32 @@ public class OdeSolverImplTest {
 
 	private final OdeSolver odeSolver = new OdeSolverImpl(odeResultCalculator);
 
+	@Test
+	void solveBindsEngine() {
+		final OdeResultCalculator boundCalculator = Mockito.mock(OdeResultCalculator.class, Mockito.withSettings().extraInterfaces(EngineBinding.class));
+		final RuntimeException exception = new IllegalStateException("Function fails.");
+		Mockito.doThrow(exception).when(boundCalculator).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
+
+		assertEquals(exception, assertThrows(IllegalStateException.class, () -> new OdeSolverImpl(boundCalculator, ErrorEstimation.Off).solve(new double[] { 1 }, 0, 1, 4)));
+
+		// Die Engine wird fuer die Tabelle und geschachtelt fuer die Integration
+		// gebunden und auch nach einem Fehler zurueckgegeben.
+		final var inOrder = Mockito.inOrder(boundCalculator);
+		inOrder.verify((EngineBinding) boundCalculator, Mockito.times(2)).bind();
+		inOrder.verify(boundCalculator).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
+		inOrder.verify((EngineBinding) boundCalculator, Mockito.times(2)).release();
+	}
+
 	@Test
 	void solve() {
 		final var tol= 1e-6;
 		// y''=1, y(0)=-1, y'(0)=-1, spez. Loesung: y=1/2x^2+x-1 (y'=x+1)
-		when(odeResultCalculator.calculate(any(), anyDouble())).thenReturn(y(0.25),new double[][] { y(0.25), y(0.5), y(0.5), y(0.75),
-				y(0.75), y(1), y(1)});
+		final Iterator<double[]> calculatedResults = List.of(y(0.25), y(0.25), y(0.5), y(0.5), y(0.75), y(0.75), y(1), y(1)).iterator();
+		doAnswer(invocation -> {
+			final double[] result = invocation.getArgument(3);
+			System.arraycopy(calculatedResults.next(), 0, result, 0, result.length);
+			return null;
+		}).when(odeResultCalculator).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
 		
 		final double[] y0 = new double[] { -1, 1 };
 		when(odeResultCalculator.errorEstimaion(Mockito.anyDouble(), Mockito.anyDouble())).thenReturn(tol);
@@ -44,11 +79,173 @@ public class OdeSolverImplTest {
 		IntStream.range(0, results.size()).forEach(n -> assertEquals(n / 4d, results.get(n).x()));
 		IntStream.range(1, results.size()).forEach(n -> assertEquals(tol, results.get(n).errorEstimaion()));
 
-		verify(odeResultCalculator, times(8)).calculate(any(), anyDouble());
+		verify(odeResultCalculator, times(8)).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
 
 	}
 	
 
+	@Test
+	void solveWithoutErrorEstimation() {
+		final Iterator<double[]> calculatedResults = List.of(y(0.25), y(0.5), y(0.75), y(1)).iterator();
+		doAnswer(invocation -> {
+			final double[] result = invocation.getArgument(3);
+			System.arraycopy(calculatedResults.next(), 0, result, 0, result.length);
+			return null;
+		}).when(odeResultCalculator).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
+
+		final List<OdeResult> results = new OdeSolverImpl(odeResultCalculator, ErrorEstimation.Off).solve(new double[] { -1, 1 }, 0, 1, 4);
+
+		assertEquals(5, results.size());
+		IntStream.range(1, results.size()).forEach(n -> assertArrayEquals(y(results.get(n).x()), results.get(n).yDerivatives()));
+		IntStream.range(0, results.size()).forEach(n -> assertEquals(0, results.get(n).errorEstimaion()));
+		verify(odeResultCalculator, times(4)).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
+		verify(odeResultCalculator, never()).errorEstimaion(anyDouble(), anyDouble());
+	}
+
+	@Test
+	void solveWithStepDoubling() {
+		final var tol = 1e-6;
+		// h, h, 2h je Paar von Schritten
+		final Iterator<double[]> calculatedResults = List.of(y(0.25), y(0.5), y(0.5), y(0.75), y(1), y(1)).iterator();
+		doAnswer(invocation -> {
+			final double[] result = invocation.getArgument(3);
+			System.arraycopy(calculatedResults.next(), 0, result, 0, result.length);
+			return null;
+		}).when(odeResultCalculator).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
+		when(odeResultCalculator.errorEstimaion(Mockito.anyDouble(), Mockito.anyDouble())).thenReturn(tol);
+
+		final List<OdeResult> results = new OdeSolverImpl(odeResultCalculator, ErrorEstimation.Cheap).solve(new double[] { -1, 1 }, 0, 1, 4);
+
+		assertEquals(5, results.size());
+		IntStream.range(1, results.size()).forEach(n -> assertArrayEquals(y(results.get(n).x()), results.get(n).yDerivatives()));
+		IntStream.range(0, results.size()).forEach(n -> assertEquals(n / 4d, results.get(n).x()));
+		IntStream.range(1, results.size()).forEach(n -> assertEquals(tol, results.get(n).errorEstimaion()));
+		verify(odeResultCalculator, times(6)).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
+		verify(odeResultCalculator, times(2)).errorEstimaion(anyDouble(), anyDouble());
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = { "Cheap", "Full" })
+	void solveEmbedded(final ErrorEstimation errorEstimation) {
+		final var tol = 1e-6;
+		final Iterator<double[]> calculatedResults = List.of(y(0.25), y(0.5), y(0.75), y(1)).iterator();
+		doAnswer(invocation -> {
+			final double[] result = invocation.getArgument(3);
+			System.arraycopy(calculatedResults.next(), 0, result, 0, result.length);
+			return null;
+		}).when(odeResultCalculator).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
+		when(odeResultCalculator.isEmbedded()).thenReturn(true);
+		when(odeResultCalculator.errorEstimaion(0)).thenReturn(tol);
+
+		final List<OdeResult> results = new OdeSolverImpl(odeResultCalculator, errorEstimation).solve(new double[] { -1, 1 }, 0, 1, 4);
+
+		assertEquals(5, results.size());
+		IntStream.range(1, results.size()).forEach(n -> assertArrayEquals(y(results.get(n).x()), results.get(n).yDerivatives()));
+		IntStream.range(1, results.size()).forEach(n -> assertEquals(tol, results.get(n).errorEstimaion()));
+		verify(odeResultCalculator, times(4)).calculate(any(double[].class), anyDouble(), anyDouble(), any(double[].class));
+		verify(odeResultCalculator, never()).errorEstimaion(anyDouble(), anyDouble());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 2, 7, 10 })
+	void errorEstimationSameResults(final int steps) {
+		// y'=y-x, y(0)=2, spez. Loesung: y=e^x+x+1
+		final OdeSolver full = new OdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> y[0] - x), ErrorEstimation.Full);
+		final OdeSolver cheap = new OdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> y[0] - x), ErrorEstimation.Cheap);
+		final OdeSolver off = new OdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> y[0] - x), ErrorEstimation.Off);
+		final double[] y0 = { 2 };
+
+		final List<OdeResult> fullResults = full.solve(y0, 0, 1, steps);
+		final List<OdeResult> cheapResults = cheap.solve(y0, 0, 1, steps);
+		final List<OdeResult> offResults = off.solve(y0, 0, 1, steps);
+
+		assertEquals(fullResults, cheapResults);
+		assertEquals(fullResults, offResults);
+		// Die Abschaetzung des lokalen Fehlers muss in der Groessenordnung des Fehlers
+		// liegen.
+		IntStream.range(1, steps > 1 ? cheapResults.size() : 0).forEach(n -> {
+			final var exact = Math.exp(cheapResults.get(n).x()) + cheapResults.get(n).x() + 1;
+			final var error = Math.abs(exact - cheapResults.get(n).yDerivative(0));
+			assertTrue(Math.abs(cheapResults.get(n).errorEstimaion()) > 0);
+			assertTrue(Math.abs(cheapResults.get(n).errorEstimaion()) < 10 * error);
+		});
+		assertEquals(2d, y0[0]);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void solveStepSink(final ErrorEstimation errorEstimation) {
+		final OdeSolver odeSolver = new OdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> y[0] - x), errorEstimation);
+		final List<OdeResult> expected = odeSolver.solve(new double[] { 2 }, 0, 1, 11);
+		final AtomicInteger row = new AtomicInteger();
+
+		odeSolver.solve(new double[] { 2 }, 0, 1, 11, (y, x, errorEstimaion) -> {
+			final OdeResult result = expected.get(row.getAndIncrement());
+			assertArrayEquals(result.yDerivatives(), y);
+			assertEquals(result.x(), x);
+			assertEquals(result.errorEstimaion(), errorEstimaion);
+		});
+
+		assertEquals(expected.size(), row.get());
+	}
+
+	@Test
+	void solveStepSinkManySteps() {
+		final OdeSolver odeSolver = new OdeSolverImpl(new EulerCalculatorImpl((y, x) -> 1), ErrorEstimation.Off);
+		final int steps = 10_000_000;
+		final double[] last = new double[2];
+
+		// Es werden keine Ergebnisse gespeichert.
+		odeSolver.solve(new double[] { 0 }, 0, 1, steps, (y, x, errorEstimaion) -> {
+			last[0] = y[0];
+			last[1]++;
+		});
+
+		assertEquals(1d, last[0], 1e-6);
+		assertEquals(steps + 1d, last[1]);
+	}
+
+	@Test
+	void interpolate() {
+		// y''=-y, y(0)=0, y'(0)=1: y=sin(x)
+		final OdeSolver odeSolver = new OdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> -y[0]), ErrorEstimation.Off);
+		final OdeResultTable results = (OdeResultTable) odeSolver.solve(new double[] { 0, 1 }, 0, Math.PI, 100);
+
+		IntStream.range(0, 1000).mapToDouble(n -> n * Math.PI / 1000 + 0.001).forEach(x -> {
+			final double[] y = results.interpolate(x);
+			assertEquals(Math.sin(x), y[0], 1e-7);
+			assertEquals(Math.cos(x), y[1], 1e-7);
+		});
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void solveEvents(final ErrorEstimation errorEstimation) {
+		// Freier Fall: y''=-g, y(0)=10, y'(0)=0, Aufschlag bei x=sqrt(20/g).
+		final OdeSolver odeSolver = new OdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> -9.81), errorEstimation);
+		final List<double[]> steps = new ArrayList<>();
+
+		final List<OdeEventResult> events = odeSolver.solve(new double[] { 10, 0 }, 0, 10, 100,
+				List.of(new OdeEvent((y, x) -> y[0] - 5, false), new OdeEvent((y, x) -> y[0], true)), (y, x, errorEstimaion) -> steps.add(new double[] { x, y[0] }));
+
+		assertEquals(2, events.size());
+		assertEquals(0, events.get(0).event());
+		assertEquals(Math.sqrt(10 / 9.81), events.get(0).x(), 1e-12);
+		assertEquals(5, events.get(0).yDerivative(0), 1e-12);
+		assertEquals(1, events.get(1).event());
+		assertEquals(Math.sqrt(20 / 9.81), events.get(1).x(), 1e-12);
+		assertEquals(0, events.get(1).yDerivative(0), 1e-12);
+		assertEquals(-Math.sqrt(20 * 9.81), events.get(1).yDerivative(1), 1e-12);
+		// Die Integration endet mit dem Ereignis.
+		assertEquals(16, steps.size());
+		assertArrayEquals(new double[] { events.get(1).x(), events.get(1).yDerivative(0) }, steps.get(15));
+	}
+
+	@Test
+	void errorEstimationMandatory() {
+		assertThrows(IllegalArgumentException.class, () -> new OdeSolverImpl(odeResultCalculator, null));
+	}
+
 	private double[] y(final double x) {
 		// spez. Loesung AWP siehe solve
 		return doubleArray(x * x / 2 + x - 1, x + 1);
@@ -2,17 +2,31 @@ package de.mq.odesolver.solve.support;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.SweepResult;
 import de.mq.odesolver.solve.Ode;
+import de.mq.odesolver.solve.OdeEvent;
+import de.mq.odesolver.solve.OdeEventResult;
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeSolver;
 import de.mq.odesolver.solve.OdeSolverService;
 import de.mq.odesolver.solve.OdeSolverService.Algorithm;
+import de.mq.odesolver.solve.OdeSolverService.ErrorEstimation;
+import de.mq.odesolver.solve.OutputGrid;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
 
 class OdeSolverServiceImplTest {
@@ -32,6 +46,134 @@ class OdeSolverServiceImplTest {
 		Arrays.asList(Algorithm.values()).stream().forEach(algorithm -> assertEquals(algorithm.isSystem() ? OdeSystemSolverImpl.class: OdeSolverImpl.class, odeSolverService.odeSolver(language, algorithm, ODE_STRING).getClass()));
 	}
 
+	@ParameterizedTest
+	@EnumSource
+	void odeSolverErrorEstimation(final ErrorEstimation errorEstimation) {
+		final var results = odeSolverService.odeSolver(Language.Native, Algorithm.RungeKutta4thOrder, ODE_STRING, errorEstimation).solve(Y, 0, 1, STEPS);
+		assertEquals(STEPS + 1, results.size());
+		assertEquals(errorEstimation == ErrorEstimation.Off, results.stream().allMatch(result -> result.errorEstimaion() == 0));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void odeSolverStepSizeControl(final Language language) {
+		final var stepSizeControl = new StepSizeControlImpl(1e-8, 1e-8, true);
+		Arrays.stream(Algorithm.values()).filter(algorithm -> !algorithm.isSystem()).forEach(algorithm -> {
+			final var results = odeSolverService.odeSolver(language, algorithm, ODE_STRING, stepSizeControl).solve(Y, 0, 1, 10);
+			assertEquals(11, results.size());
+			// y'=y-x, y(0)=1, spez. Loesung y=x+1
+			assertEquals(2d, results.get(10).yDerivative(0), 1e-8);
+		});
+		Arrays.stream(Algorithm.values()).filter(Algorithm::isSystem)
+				.forEach(algorithm -> assertThrows(IllegalArgumentException.class, () -> odeSolverService.odeSolver(language, algorithm, ODE_STRING, stepSizeControl)));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void ensembleSolver(final Language language) {
+		final var ensembleAlgorithms = EnumSet.of(Algorithm.EulerPolygonal, Algorithm.RungeKutta2ndOrder, Algorithm.RungeKutta4thOrder, Algorithm.RungeKuttaThreeEighths);
+		ensembleAlgorithms.forEach(algorithm -> {
+					final var results = odeSolverService.ensembleSolver(language, algorithm, ODE_STRING).solve(new double[][] { Y, { 2 } }, 0, 1, 10);
+					final var expected = odeSolverService.odeSolver(language, algorithm, ODE_STRING, ErrorEstimation.Off).solve(new double[] { 2 }, 0, 1, 10);
+					assertEquals(2, results.size());
+					// y'=y-x, y(0)=1, spez. Loesung y=x+1
+					assertEquals(2d, results.get(0).yDerivative(10, 0), 1e-12);
+					assertEquals(expected.get(10).yDerivative(0), results.get(1).yDerivative(10, 0));
+				});
+		EnumSet.complementOf(ensembleAlgorithms).forEach(algorithm -> assertThrows(IllegalArgumentException.class, () -> odeSolverService.ensembleSolver(language, algorithm, ODE_STRING)));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void odeEvent(final Language language) {
+		final OdeEvent odeEvent = odeSolverService.odeEvent(language, "y[0]-x*x", true);
+		assertTrue(odeEvent.isTerminal());
+		assertEquals(-2d, odeEvent.condition().apply(new double[] { 2 }, 2));
+
+		// y'=y-x, y(0)=1, spez. Loesung y=x+1 schneidet x^2 bei (1+sqrt(5))/2.
+		final List<OdeEventResult> events = odeSolverService.odeSolver(language, Algorithm.RungeKutta4thOrder, ODE_STRING).solve(Y, 0, 2, 20, List.of(odeEvent),
+				(y, x, errorEstimation) -> {});
+		assertEquals(1, events.size());
+		assertEquals((1 + Math.sqrt(5)) / 2, events.get(0).x(), 1e-12);
+
+		assertThrows(IllegalStateException.class, () -> odeSolverService.odeEvent(language, ODE_STING_COMPILE_ERROR, false));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void solveOutputGrid(final Language language) {
+		final Ode ode = newOde(language);
+		final List<OdeResult> all = odeSolverService.solve(ode);
+
+		final List<OdeResult> results = odeSolverService.solve(ode, OutputGrid.everyStep(100));
+
+		assertEquals(STEPS / 100 + 1, results.size());
+		IntStream.range(0, results.size()).forEach(n -> assertEquals(all.get(100 * n), results.get(n)));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void solveMonitor(final Language language) {
+		final Ode ode = newOde(language);
+		final AtomicInteger steps = new AtomicInteger();
+
+		final List<OdeResult> results = odeSolverService.solve(ode, OutputGrid.everyStep(100), (y, x, errorEstimation) -> steps.incrementAndGet());
+
+		assertEquals(odeSolverService.solve(ode, OutputGrid.everyStep(100)), results);
+		assertEquals(STEPS + 1, steps.get());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void sweep(final Language language) {
+		final Sweep sweep = new Sweep(new double[][] { Sweep.range(-1, 1, 50) }, new double[] { 0, 1 }, new double[] { 2 });
+		Arrays.stream(Algorithm.values()).filter(algorithm -> !algorithm.isSystem()).forEach(algorithm -> {
+			final SweepResult result = odeSolverService.sweep(new OdeImpl(language, ODE_STRING, algorithm, Y, START, STOP, 10), sweep);
+			assertEquals(100, result.size());
+			assertEquals(11, result.rows());
+			assertEquals(1, result.order());
+			final OdeSolver odeSolver = odeSolverService.odeSolver(language, algorithm, ODE_STRING, ErrorEstimation.Off);
+			for (int trajectory = 0; trajectory < result.size(); trajectory++) {
+				final var expected = odeSolver.solve(sweep.vector(trajectory), sweep.start(trajectory), sweep.stop(trajectory), 10);
+				for (int row = 0; row < result.rows(); row++) {
+					assertEquals(expected.get(row).x(), result.x(trajectory, row));
+					assertEquals(expected.get(row).yDerivative(0), result.yDerivative(trajectory, row, 0));
+				}
+			}
+		});
+	}
+
+	@Test
+	void sweepPool() {
+		final AtomicInteger threads = new AtomicInteger();
+		final ForkJoinPool pool = new ForkJoinPool(2, forkJoinPool -> {
+			threads.incrementAndGet();
+			return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+		}, null, false);
+		try {
+			final Sweep sweep = new Sweep(new double[][] { Sweep.range(-1, 1, 50) }, new double[] { 0 }, new double[] { 2 });
+
+			final SweepResult result = new OdeSolverServiceImpl(pool).sweep(new OdeImpl(Language.Native, ODE_STRING, Algorithm.RungeKutta4thOrder, Y, START, STOP, 10), sweep);
+
+			assertEquals(50, result.size());
+			assertTrue(threads.get() > 0);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void sweepWrongDimension() {
+		final Sweep sweep = new Sweep(new double[][] { { 1 }, { 0 } }, new double[] { 0 }, new double[] { 1 });
+		assertThrows(IllegalArgumentException.class, () -> odeSolverService.sweep(new OdeImpl(Language.Groovy, ODE_STRING, Algorithm.RungeKutta4thOrder, Y, START, STOP, 10), sweep));
+	}
+
+	@Test
+	void sweepCompileException() {
+		final Sweep sweep = new Sweep(new double[][] { { 1 } }, new double[] { 0 }, new double[] { 1 });
+		assertThrows(IllegalStateException.class, () -> odeSolverService.sweep(new OdeImpl(Language.Groovy, ODE_STING_COMPILE_ERROR, Algorithm.RungeKutta4thOrder, Y, START, STOP, 10), sweep));
+	}
+
 	@ParameterizedTest
 	@EnumSource
 	void odeResolverException(final Language language) {
@@ -82,13 +224,13 @@ class OdeSolverServiceImplTest {
 	
 	@Test
 	void algorithms() {
-		final var orders= Map.of(Algorithm.EulerPolygonal, 1, Algorithm.RungeKutta2ndOrder, 2, Algorithm.RungeKutta4thOrder, 4, Algorithm.DormandPrince853Integrator, 8);
+		final var orders= Map.of(Algorithm.EulerPolygonal, 1, Algorithm.RungeKutta2ndOrder, 2, Algorithm.RungeKutta4thOrder, 4, Algorithm.RungeKuttaThreeEighths, 4, Algorithm.BogackiShampine32, 3, Algorithm.CashKarp54, 5, Algorithm.DormandPrince54, 5, Algorithm.DormandPrince853Integrator, 8, Algorithm.Rosenbrock23, 2, Algorithm.Bdf15, 5);
 		Arrays.asList(Algorithm.values()).forEach(algorithm -> assertEquals(orders.get(algorithm), algorithm.order()));
 	}
 	
 	@Test
 	void isSystem() {
-		final var orders= Map.of(Algorithm.EulerPolygonal, false, Algorithm.RungeKutta2ndOrder, false, Algorithm.RungeKutta4thOrder, false, Algorithm.DormandPrince853Integrator, true);
+		final var orders= Map.of(Algorithm.EulerPolygonal, false, Algorithm.RungeKutta2ndOrder, false, Algorithm.RungeKutta4thOrder, false, Algorithm.RungeKuttaThreeEighths, false, Algorithm.BogackiShampine32, false, Algorithm.CashKarp54, false, Algorithm.DormandPrince54, false, Algorithm.DormandPrince853Integrator, true, Algorithm.Rosenbrock23, true, Algorithm.Bdf15, true);
 		Arrays.asList(Algorithm.values()).forEach(algorithm -> assertEquals(orders.get(algorithm), algorithm.isSystem()));
 	}
 
@@ -72,28 +72,39 @@ class OdeSolverWithExamplesTest {
 	private final Map<TestSolver, Map<Result, double[]>> expectedResults = new HashMap<>();
 
 
-	private final Map<TestSolver, Function<TestDgl, OdeSolver>> odeSolvers = Map.of(TestSolver.Euler_Lamdas,
-			testDgl -> new OdeSolverImpl(new EulerCalculatorImpl(testDgl.odeFunction())), TestSolver.Euler_Nashorn,
-			testDgl -> new OdeSolverImpl(
-					new EulerCalculatorImpl(newOdeFunctionUtil(Language.Nashorn), testDgl.functionAsString())),
-			TestSolver.Euler_JRuby,
-			testDgl -> new OdeSolverImpl(
-					new EulerCalculatorImpl(newOdeFunctionUtil(Language.Groovy), testDgl.functionAsString())),
-			TestSolver.RungeKutta2_Lamdas,
-			testDgl -> new OdeSolverImpl(new RungeKutta2CalculatorImpl(testDgl.odeFunction())),
-			TestSolver.RungeKutta2_Nashorn,
-			testDgl -> new OdeSolverImpl(
-					new RungeKutta2CalculatorImpl(newOdeFunctionUtil(Language.Nashorn), testDgl.functionAsString())),
-			TestSolver.RungeKutta2_JRuby,
-			testDgl -> new OdeSolverImpl(
-					new RungeKutta2CalculatorImpl(newOdeFunctionUtil(Language.Groovy), testDgl.functionAsString())),
-			TestSolver.RungeKutta4_Lamdas,
-			testDgl -> new OdeSolverImpl(new RungeKutta4CalculatorImpl(testDgl.odeFunction())),
-			TestSolver.RungeKutta4_Nashorn,
-			testDgl -> new OdeSolverImpl(
-					new RungeKutta4CalculatorImpl(newOdeFunctionUtil(Language.Nashorn), testDgl.functionAsString())),
-			TestSolver.RungeKutta4_JRuby, testDgl -> new OdeSolverImpl(
-					new RungeKutta4CalculatorImpl(newOdeFunctionUtil(Language.Groovy), testDgl.functionAsString())));
+	private final Map<TestSolver, Function<TestDgl, OdeSolver>> odeSolvers = Map.ofEntries(
+			Map.entry(TestSolver.Euler_Lamdas, testDgl -> new OdeSolverImpl(new EulerCalculatorImpl(testDgl.odeFunction()))),
+			Map.entry(TestSolver.Euler_Nashorn,
+					testDgl -> new OdeSolverImpl(
+							new EulerCalculatorImpl(newOdeFunctionUtil(Language.Nashorn), testDgl.functionAsString()))),
+			Map.entry(TestSolver.Euler_JRuby,
+					testDgl -> new OdeSolverImpl(
+							new EulerCalculatorImpl(newOdeFunctionUtil(Language.Groovy), testDgl.functionAsString()))),
+			Map.entry(TestSolver.Euler_Native,
+					testDgl -> new OdeSolverImpl(
+							new EulerCalculatorImpl(newOdeFunctionUtil(Language.Native), testDgl.functionAsString()))),
+			Map.entry(TestSolver.RungeKutta2_Lamdas,
+					testDgl -> new OdeSolverImpl(new RungeKutta2CalculatorImpl(testDgl.odeFunction()))),
+			Map.entry(TestSolver.RungeKutta2_Nashorn,
+					testDgl -> new OdeSolverImpl(new RungeKutta2CalculatorImpl(newOdeFunctionUtil(Language.Nashorn),
+							testDgl.functionAsString()))),
+			Map.entry(TestSolver.RungeKutta2_JRuby,
+					testDgl -> new OdeSolverImpl(new RungeKutta2CalculatorImpl(newOdeFunctionUtil(Language.Groovy),
+							testDgl.functionAsString()))),
+			Map.entry(TestSolver.RungeKutta2_Native,
+					testDgl -> new OdeSolverImpl(new RungeKutta2CalculatorImpl(newOdeFunctionUtil(Language.Native),
+							testDgl.functionAsString()))),
+			Map.entry(TestSolver.RungeKutta4_Lamdas,
+					testDgl -> new OdeSolverImpl(new RungeKutta4CalculatorImpl(testDgl.odeFunction()))),
+			Map.entry(TestSolver.RungeKutta4_Nashorn,
+					testDgl -> new OdeSolverImpl(new RungeKutta4CalculatorImpl(newOdeFunctionUtil(Language.Nashorn),
+							testDgl.functionAsString()))),
+			Map.entry(TestSolver.RungeKutta4_JRuby,
+					testDgl -> new OdeSolverImpl(new RungeKutta4CalculatorImpl(newOdeFunctionUtil(Language.Groovy),
+							testDgl.functionAsString()))),
+			Map.entry(TestSolver.RungeKutta4_Native,
+					testDgl -> new OdeSolverImpl(new RungeKutta4CalculatorImpl(newOdeFunctionUtil(Language.Native),
+							testDgl.functionAsString()))));
 
 	enum TestDgl {
 		DGL01(odeArguments -> odeArguments.yDerivative(0) - odeArguments.x(), "y[0]-x"),
@@ -135,8 +146,9 @@ class OdeSolverWithExamplesTest {
 	}
 
 	public enum TestSolver {
-		Euler_Lamdas, Euler_Nashorn, Euler_JRuby, RungeKutta2_Lamdas, RungeKutta2_Nashorn, RungeKutta2_JRuby,
-		RungeKutta4_Lamdas, RungeKutta4_Nashorn, RungeKutta4_JRuby;
+		Euler_Lamdas, Euler_Nashorn, Euler_JRuby, Euler_Native, RungeKutta2_Lamdas, RungeKutta2_Nashorn,
+		RungeKutta2_JRuby, RungeKutta2_Native, RungeKutta4_Lamdas, RungeKutta4_Nashorn, RungeKutta4_JRuby,
+		RungeKutta4_Native;
 
 	}
 
@@ -145,26 +157,32 @@ class OdeSolverWithExamplesTest {
 		properties.put(TestSolver.RungeKutta4_Lamdas, rungeKutta4Properties);
 		properties.put(TestSolver.RungeKutta4_Nashorn, rungeKutta4Properties);
 		properties.put(TestSolver.RungeKutta4_JRuby, rungeKutta4Properties);
+		properties.put(TestSolver.RungeKutta4_Native, rungeKutta4Properties);
 
 		properties.put(TestSolver.RungeKutta2_Lamdas, rungeKutta2Properties);
 		properties.put(TestSolver.RungeKutta2_Nashorn, rungeKutta2Properties);
 		properties.put(TestSolver.RungeKutta2_JRuby, rungeKutta2Properties);
+		properties.put(TestSolver.RungeKutta2_Native, rungeKutta2Properties);
 
 		properties.put(TestSolver.Euler_Lamdas, eulerProperties);
 		properties.put(TestSolver.Euler_Nashorn, eulerProperties);
 		properties.put(TestSolver.Euler_JRuby, eulerProperties);
+		properties.put(TestSolver.Euler_Native, eulerProperties);
 
 		expectedResults.put(TestSolver.RungeKutta4_Lamdas, rungeKutta4ExpectedResults);
 		expectedResults.put(TestSolver.RungeKutta4_Nashorn, rungeKutta4ExpectedResults);
 		expectedResults.put(TestSolver.RungeKutta4_JRuby, rungeKutta4ExpectedResults);
+		expectedResults.put(TestSolver.RungeKutta4_Native, rungeKutta4ExpectedResults);
 
 		expectedResults.put(TestSolver.RungeKutta2_Lamdas, rungeKutta2ExpectedResults);
 		expectedResults.put(TestSolver.RungeKutta2_Nashorn, rungeKutta2ExpectedResults);
 		expectedResults.put(TestSolver.RungeKutta2_JRuby, rungeKutta2ExpectedResults);
+		expectedResults.put(TestSolver.RungeKutta2_Native, rungeKutta2ExpectedResults);
 
 		expectedResults.put(TestSolver.Euler_Lamdas, eulerExpectedResults);
 		expectedResults.put(TestSolver.Euler_Nashorn, eulerExpectedResults);
 		expectedResults.put(TestSolver.Euler_JRuby, eulerExpectedResults);
+		expectedResults.put(TestSolver.Euler_Native, eulerExpectedResults);
 	}
 
 	private OdeSolver odeSolver(final TestSolver solver, final TestDgl testDgl) {
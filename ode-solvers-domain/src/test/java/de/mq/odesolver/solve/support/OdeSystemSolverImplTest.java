@@ -1,18 +1,30 @@
 package de.mq.odesolver.solve.support;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import org.apache.commons.math3.ode.FirstOrderIntegrator;
 import org.apache.commons.math3.ode.nonstiff.DormandPrince853Integrator;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import de.mq.odesolver.solve.OdeEvent;
 import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.solve.SolverStatistics;
+import de.mq.odesolver.solve.StepSink;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
 import de.mq.odesolver.support.OdeFunctionUtilFactory;
+import de.mq.odesolver.support.VectorRightHandSide;
 
 class OdeSystemSolverImplTest {
 
@@ -85,7 +97,176 @@ class OdeSystemSolverImplTest {
 
 		
 	}
-	
-	
+
+	@ParameterizedTest
+	@ValueSource(classes = { DormandPrince853Integrator.class, RosenbrockIntegrator.class, BdfIntegrator.class })
+	void stiff(final Class<? extends FirstOrderIntegrator> integratorClass) {
+		// y'=-10000(y-cos(x))-sin(x), y(0)=1: y=cos(x). Frueher war die kleinste
+		// Schrittweite die des Gitters, DormandPrince853Integrator ist gescheitert.
+		final var odeSystemSolver = new OdeSystemSolverImpl(integratorClass, (VectorRightHandSide) (y, x, dy) -> dy[0] = -10000 * (y[0] - Math.cos(x)) - Math.sin(x));
+		final var steps = 10;
+
+		final var results = odeSystemSolver.solve(new double[] { 1 }, 0, 1, steps);
+
+		assertEquals(steps + 1, results.size());
+		IntStream.rangeClosed(0, steps).forEach(i -> {
+			assertEquals(i == steps ? 1d : 0.1 * i, results.get(i).x(), 1e-15);
+			assertEquals(Math.cos(results.get(i).x()), results.get(i).yDerivative(0), 1e-7);
+		});
+	}
+
+	@ParameterizedTest
+	@ValueSource(classes = { DormandPrince853Integrator.class, RosenbrockIntegrator.class, BdfIntegrator.class })
+	void solveStepSink(final Class<? extends FirstOrderIntegrator> integratorClass) {
+		final var odeSystemSolver = new OdeSystemSolverImpl(integratorClass, (VectorRightHandSide) (y, x, dy) -> {
+			dy[0] = y[1];
+			dy[1] = -y[0];
+		});
+		final var expected = odeSystemSolver.solve(new double[] { 0, 1 }, 0, 1, 10);
+		final var row = new AtomicInteger();
+
+		odeSystemSolver.solve(new double[] { 0, 1 }, 0, 1, 10, (y, x, errorEstimaion) -> {
+			final var result = expected.get(row.getAndIncrement());
+			assertArrayEquals(result.yDerivatives(), y);
+			assertEquals(result.x(), x);
+		});
+
+		assertEquals(11, row.get());
+	}
+
+	@ParameterizedTest
+	@ValueSource(classes = { DormandPrince853Integrator.class, RosenbrockIntegrator.class, BdfIntegrator.class })
+	void solveStepSinkTerminated(final Class<? extends FirstOrderIntegrator> integratorClass) {
+		final var odeSystemSolver = new OdeSystemSolverImpl(integratorClass, (VectorRightHandSide) (y, x, dy) -> {
+			dy[0] = y[1];
+			dy[1] = -y[0];
+		});
+		final List<Double> xs = new ArrayList<>();
+		final StepSink stepSink = new StepSink() {
+			@Override
+			public void accept(final double[] y, final double x, final double errorEstimation) {
+				xs.add(x);
+			}
+
+			@Override
+			public boolean isTerminated() {
+				return !xs.isEmpty() && xs.get(xs.size() - 1) >= 0.5;
+			}
+		};
+
+		odeSystemSolver.solve(new double[] { 0, 1 }, 0, 10, 100, stepSink);
+
+		// Nur Punkte des Gitters, keine Zwischenschritte des Integrators, bis zum
+		// Ende des Schrittes, in dem abgebrochen wird.
+		final double last = xs.get(xs.size() - 1);
+		assertTrue(last >= 0.5 && last < 10);
+		IntStream.range(0, xs.size() - 1).forEach(n -> assertEquals(n / 10d, xs.get(n), 1e-12));
+	}
+
+	@ParameterizedTest
+	@ValueSource(classes = { RosenbrockIntegrator.class, BdfIntegrator.class })
+	void statistics(final Class<? extends FirstOrderIntegrator> integratorClass) {
+		final var odeSystemSolver = new OdeSystemSolverImpl(integratorClass, (VectorRightHandSide) (y, x, dy) -> {
+			dy[0] = y[1];
+			dy[1] = -y[0];
+		});
+		assertTrue(odeSystemSolver.statistics().isEmpty());
+
+		odeSystemSolver.solve(new double[] { 0, 1 }, 0, 1, 10);
+
+		final SolverStatistics statistics = odeSystemSolver.statistics().get();
+		assertTrue(statistics.jacobianUpdates() > 0);
+		assertTrue(statistics.factorizations() >= statistics.jacobianUpdates());
+		assertTrue(statistics.evaluations() > statistics.jacobianEvaluations());
+		assertEquals(1, statistics.sparsityUpdates());
+	}
+
+	@Test
+	void statisticsNonStiff() {
+		final var odeSystemSolver = new OdeSystemSolverImpl(DormandPrince853Integrator.class, (VectorRightHandSide) (y, x, dy) -> dy[0] = y[0]);
+
+		odeSystemSolver.solve(new double[] { 1 }, 0, 1, 10);
+
+		assertTrue(odeSystemSolver.statistics().isEmpty());
+	}
+
+	@ParameterizedTest
+	@ValueSource(classes = { DormandPrince853Integrator.class, RosenbrockIntegrator.class, BdfIntegrator.class })
+	void solveOutputGrid(final Class<? extends FirstOrderIntegrator> integratorClass) {
+		// y''=-y, y(0)=0, y'(0)=1: y=sin(x)
+		final var odeSystemSolver = new OdeSystemSolverImpl(integratorClass, (VectorRightHandSide) (y, x, dy) -> {
+			dy[0] = y[1];
+			dy[1] = -y[0];
+		});
+
+		final var results = odeSystemSolver.solve(new double[] { 0, 1 }, 0, 1, 10, OutputGrid.points(0.05, 0.55, 1));
+
+		assertEquals(3, results.size());
+		assertEquals(0.05, results.get(0).x());
+		assertEquals(1d, results.get(2).x());
+		// Dichte Ausgabe des Integrators, nicht linear zwischen den Punkten des
+		// Gitters.
+		results.forEach(result -> assertEquals(Math.sin(result.x()), result.yDerivative(0), 1e-7));
+		assertEquals(odeSystemSolver.solve(new double[] { 0, 1 }, 0, 1, 10), odeSystemSolver.solve(new double[] { 0, 1 }, 0, 1, 10, OutputGrid.everyStep(1)));
+		assertEquals(4, odeSystemSolver.solve(new double[] { 0, 1 }, 0, 1, 10, OutputGrid.everyStep(4)).size());
+	}
+
+	@ParameterizedTest
+	@ValueSource(classes = { DormandPrince853Integrator.class, RosenbrockIntegrator.class, BdfIntegrator.class })
+	void solveEvents(final Class<? extends FirstOrderIntegrator> integratorClass) {
+		// Freier Fall: y''=-g, y(0)=10, y'(0)=0, Aufschlag bei x=sqrt(20/g).
+		final var odeSystemSolver = new OdeSystemSolverImpl(integratorClass, (VectorRightHandSide) (y, x, dy) -> {
+			dy[0] = y[1];
+			dy[1] = -9.81;
+		});
+		final List<Double> xs = new ArrayList<>();
+
+		final var events = odeSystemSolver.solve(new double[] { 10, 0 }, 0, 10, 100,
+				List.of(new OdeEvent((y, x) -> y[0] - 5, false), new OdeEvent((y, x) -> y[0], true)), (y, x, errorEstimaion) -> xs.add(x));
+
+		assertEquals(2, events.size());
+		assertEquals(0, events.get(0).event());
+		assertEquals(Math.sqrt(10 / 9.81), events.get(0).x(), 1e-8);
+		assertEquals(1, events.get(1).event());
+		assertEquals(Math.sqrt(20 / 9.81), events.get(1).x(), 1e-8);
+		assertEquals(0, events.get(1).yDerivative(0), 1e-7);
+		// Gitterpunkte bis zum Aufschlag und der Aufschlag.
+		assertEquals(16, xs.size());
+		IntStream.range(0, 15).forEach(n -> assertEquals(n / 10d, xs.get(n), 1e-12));
+		assertEquals(events.get(1).x(), xs.get(15));
+	}
+
+	@ParameterizedTest
+	@ValueSource(classes = { DormandPrince853Integrator.class, RosenbrockIntegrator.class, BdfIntegrator.class })
+	void solveMonitor(final Class<? extends FirstOrderIntegrator> integratorClass) {
+		// y''=-y, y(0)=0, y'(0)=1: y=sin(x)
+		final var odeSystemSolver = new OdeSystemSolverImpl(integratorClass, (VectorRightHandSide) (y, x, dy) -> {
+			dy[0] = y[1];
+			dy[1] = -y[0];
+		});
+		final List<Double> xs = new ArrayList<>();
+		final StepSink monitor = new StepSink() {
+			@Override
+			public void accept(final double[] y, final double x, final double errorEstimation) {
+				assertEquals(Math.sin(x), y[0], 1e-7);
+				xs.add(x);
+			}
+
+			@Override
+			public boolean isTerminated() {
+				return !xs.isEmpty() && xs.get(xs.size() - 1) >= 0.5;
+			}
+		};
+
+		final var results = odeSystemSolver.solve(new double[] { 0, 1 }, 0, 10, 100, OutputGrid.uniform(101), monitor);
+
+		// Der Integrator haelt am Ende des Schrittes, in dem der Monitor abbricht.
+		final double last = xs.get(xs.size() - 1);
+		assertTrue(last >= 0.5 && last < 10);
+		assertEquals(last, results.get(results.size() - 1).x(), 1e-12);
+		assertEquals(Math.sin(last), results.get(results.size() - 1).yDerivative(0), 1e-7);
+		IntStream.range(0, results.size() - 1).forEach(n -> assertEquals(n / 10d, results.get(n).x(), 1e-12));
+		assertTrue(results.get(results.size() - 2).x() <= last);
+	}
 
 }
@@ -0,0 +1,139 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeResultTable;
+import de.mq.odesolver.solve.OdeSolver;
+import de.mq.odesolver.solve.OdeSolverService.ErrorEstimation;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.solve.StepSink;
+
+class OutputGridSinkTest {
+
+	// y'=y-x, y(0)=2, spez. Loesung: y=e^x+x+1
+	private final OdeSolver odeSolver = new OdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> y[0] - x), ErrorEstimation.Off);
+
+	@Test
+	void everyStep() {
+		final List<OdeResult> all = odeSolver.solve(new double[] { 2 }, 0, 1, 100);
+
+		final List<OdeResult> results = odeSolver.solve(new double[] { 2 }, 0, 1, 100, OutputGrid.everyStep(30));
+
+		assertEquals(5, results.size());
+		IntStream.range(0, 4).forEach(n -> assertEquals(all.get(30 * n), results.get(n)));
+		assertEquals(all.get(100), results.get(4));
+	}
+
+	@Test
+	void everyStepAll() {
+		assertEquals(odeSolver.solve(new double[] { 2 }, 0, 1, 100), odeSolver.solve(new double[] { 2 }, 0, 1, 100, OutputGrid.everyStep(1)));
+		assertEquals(odeSolver.solve(new double[] { 2 }, 0, 1, 100, OutputGrid.everyStep(50)), odeSolver.solve(new double[] { 2 }, 0, 1, 100, OutputGrid.everyStep(50)));
+		assertEquals(3, odeSolver.solve(new double[] { 2 }, 0, 1, 100, OutputGrid.everyStep(50)).size());
+	}
+
+	@Test
+	void uniform() {
+		final List<OdeResult> results = odeSolver.solve(new double[] { 2 }, 0, 1, 10000, OutputGrid.uniform(7));
+
+		assertEquals(7, results.size());
+		IntStream.range(0, 7).forEach(n -> {
+			final double x = n == 6 ? 1 : n / 6d;
+			assertEquals(x, results.get(n).x(), 1e-15);
+			assertEquals(Math.exp(x) + x + 1, results.get(n).yDerivative(0), 1e-12);
+		});
+	}
+
+	@Test
+	void points() {
+		final List<OdeResult> results = odeSolver.solve(new double[] { 2 }, 0, 1, 10, OutputGrid.points(0.05, 0.5, 1));
+
+		assertEquals(3, results.size());
+		// Zwischen 0 und 0.1 nach Hermite interpoliert.
+		final List<OdeResult> all = odeSolver.solve(new double[] { 2 }, 0, 1, 10);
+		assertEquals(((OdeResultTable) all).interpolate(0.05)[0], results.get(0).yDerivative(0), 1e-15);
+		assertEquals(Math.exp(0.05) + 1.05, results.get(0).yDerivative(0), 1e-6);
+		assertEquals(all.get(5).yDerivative(0), results.get(1).yDerivative(0), 1e-12);
+		// x=1 liegt durch Rundung hinter dem letzten Schritt.
+		assertEquals(1d, results.get(2).x());
+		assertEquals(all.get(10).yDerivative(0), results.get(2).yDerivative(0));
+	}
+
+	@Test
+	void backwards() {
+		final List<OdeResult> results = odeSolver.solve(new double[] { Math.E + 2 }, 1, 0, 1000, OutputGrid.uniform(3));
+
+		assertEquals(3, results.size());
+		assertEquals(0.5, results.get(1).x());
+		assertEquals(Math.exp(0.5) + 1.5, results.get(1).yDerivative(0), 1e-6);
+		assertEquals(2d, results.get(2).yDerivative(0), 1e-6);
+	}
+
+	@Test
+	void linear() {
+		final List<Double> results = new ArrayList<>();
+		// Ohne rechte Seite wird linear interpoliert.
+		final OutputGridSink outputGridSink = new OutputGridSink(OutputGrid.points(0.05), 0, 1, 10, Optional.empty(), (y, x, errorEstimation) -> {
+			assertEquals(0.05, x);
+			results.add(y[0]);
+		});
+
+		outputGridSink.accept(new double[] { 2 }, 0, 0);
+		outputGridSink.accept(new double[] { 2.1 }, 0.1, 0);
+		outputGridSink.finish();
+
+		assertEquals(1, results.size());
+		assertEquals(2.05, results.get(0), 1e-15);
+	}
+
+	@Test
+	void adaptive() {
+		final OdeSolver adaptive = new AdaptiveOdeSolverImpl(new RungeKutta4CalculatorImpl((y, x) -> y[0] - x), 4, new StepSizeControlImpl(1e-10, 1e-10, false));
+
+		final List<OdeResult> results = adaptive.solve(new double[] { 2 }, 0, 1, 10, OutputGrid.uniform(11));
+
+		assertEquals(11, results.size());
+		// Die Schritte sind gross, die Interpolation bestimmt den Fehler.
+		IntStream.range(0, 11).forEach(n -> assertEquals(Math.exp(results.get(n).x()) + results.get(n).x() + 1, results.get(n).yDerivative(0), 1e-5));
+	}
+
+	@Test
+	void monitor() {
+		final List<Double> xs = new ArrayList<>();
+		// Abbruch nach dem Schritt bei x=0.55.
+		final StepSink monitor = new StepSink() {
+			@Override
+			public void accept(final double[] y, final double x, final double errorEstimation) {
+				xs.add(x);
+			}
+
+			@Override
+			public boolean isTerminated() {
+				return xs.size() > 55;
+			}
+		};
+
+		final List<OdeResult> uniform = odeSolver.solve(new double[] { 2 }, 0, 1, 100, OutputGrid.uniform(11), monitor);
+
+		assertEquals(56, xs.size());
+		// Die Punkte bis 0.5 und der letzte Schritt.
+		assertEquals(7, uniform.size());
+		assertEquals(0.5, uniform.get(5).x());
+		assertEquals(xs.get(55), uniform.get(6).x());
+
+		xs.clear();
+		final List<OdeResult> everyStep = odeSolver.solve(new double[] { 2 }, 0, 1, 100, OutputGrid.everyStep(20), monitor);
+
+		assertEquals(4, everyStep.size());
+		assertEquals(xs.get(55), everyStep.get(3).x());
+		assertEquals(Math.exp(xs.get(55)) + xs.get(55) + 1, everyStep.get(3).yDerivative(0), 1e-10);
+	}
+
+}
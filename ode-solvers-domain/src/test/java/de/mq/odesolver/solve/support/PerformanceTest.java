@@ -2,17 +2,35 @@ package de.mq.odesolver.solve.support;
 
 import static de.mq.odesolver.support.OdeFunctionUtilFactory.newOdeFunctionUtil;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.function.BiFunction;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import com.sun.management.ThreadMXBean;
+
+import de.mq.odesolver.solve.OdeResultCalculator;
 import de.mq.odesolver.solve.OdeSolver;
+import de.mq.odesolver.solve.OdeSolverService.Algorithm;
 import de.mq.odesolver.support.OdeFunctionUtil;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
 
 
 class PerformanceTest {
 	
+	private static final int WARMUP_STEPS = 100000;
+	private static final int STEPS = 1000000;
+
+	private final Map<Algorithm, BiFunction<OdeFunctionUtil, String, OdeResultCalculator>> calculators = Map.of(Algorithm.EulerPolygonal, EulerCalculatorImpl::new,
+			Algorithm.RungeKutta2ndOrder, RungeKutta2CalculatorImpl::new, Algorithm.RungeKutta4thOrder, RungeKutta4CalculatorImpl::new, Algorithm.RungeKuttaThreeEighths,
+			(odeFunctionUtil, function) -> new RungeKuttaCalculatorImpl(ButcherTableau.RUNGE_KUTTA_38, odeFunctionUtil, function), Algorithm.BogackiShampine32,
+			BogackiShampineCalculatorImpl::new, Algorithm.CashKarp54, CashKarpCalculatorImpl::new, Algorithm.DormandPrince54, DormandPrinceCalculatorImpl::new);
+
 	@ParameterizedTest
 	@EnumSource
 	void run(final Language language) {
@@ -25,4 +43,36 @@ class PerformanceTest {
 		
 	}
 
+	@ParameterizedTest
+	@EnumSource(names = { "EulerPolygonal", "RungeKutta2ndOrder", "RungeKutta4thOrder", "RungeKuttaThreeEighths", "BogackiShampine32", "CashKarp54", "DormandPrince54" })
+	void steppingAllocatesNothing(final Algorithm algorithm) {
+		final ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+		final OdeFunctionUtil odeFunctionUtil = newOdeFunctionUtil(Language.Native);
+		assertEquals(0L, allocatedBytes(threadMXBean, calculators.get(algorithm).apply(odeFunctionUtil, "y[0]+x"), new double[] { 1 }));
+		assertEquals(0L, allocatedBytes(threadMXBean, calculators.get(algorithm).apply(odeFunctionUtil, "-2*y[1]+3*y[0]"), new double[] { 0, 4 }));
+	}
+
+	private long allocatedBytes(final ThreadMXBean threadMXBean, final OdeResultCalculator odeResultCalculator, final double[] y0) {
+		final double stepSize = 1e-7;
+		double[] y = y0.clone();
+		double[] next = new double[y0.length];
+		for (int n = 0; n < WARMUP_STEPS; n++) {
+			odeResultCalculator.calculate(y, n * stepSize, stepSize, next);
+			final double[] last = y;
+			y = next;
+			next = last;
+		}
+		final long overhead = -threadMXBean.getCurrentThreadAllocatedBytes() + threadMXBean.getCurrentThreadAllocatedBytes();
+		final long start = threadMXBean.getCurrentThreadAllocatedBytes();
+		for (int n = 0; n < STEPS; n++) {
+			odeResultCalculator.calculate(y, n * stepSize, stepSize, next);
+			final double[] last = y;
+			y = next;
+			next = last;
+		}
+		return threadMXBean.getCurrentThreadAllocatedBytes() - start - overhead;
+	}
+
 }
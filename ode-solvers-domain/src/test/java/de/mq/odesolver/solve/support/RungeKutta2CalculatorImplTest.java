@@ -35,6 +35,14 @@ class RungeKutta2CalculatorImplTest {
 		assertEquals(0. - 0.00500, y[0], maxTol);
 	}
 
+	@Test
+	final void calculateforFirstOrderOdeRightHandSide() {
+		final OdeResultCalculator odeResultCalculator = new RungeKutta2CalculatorImpl((y, x) -> y[0] - x);
+		final double[] y = odeResultCalculator.calculate(new OdeResultImpl(new double[] { 0 }, 0), 0.1);
+		assertEquals(1, y.length);
+		assertEquals(-0.00500, y[0], maxTol);
+	}
+
 	@Test
 	final void errorEstimaion() {
 		assertEquals(0.1d / 3d, odeResultCalculator.errorEstimaion(1.1, 1), maxTol);
@@ -37,6 +37,17 @@ class RungeKutta4CalculatorImplTest {
 		assertEquals(0. - 0.005171, y[0], maxTol);
 	}
 
+	@Test
+	final void calculateforSecondOrderOdeRightHandSide() {
+		// Papula Seite 246
+		final OdeResultCalculator odeResultCalculator = new RungeKutta4CalculatorImpl((y, x) -> -2 * y[1] + 3 * y[0]);
+
+		final double[] y = odeResultCalculator.calculate(new OdeResultImpl(new double[] { 0, 4 }, 0), 0.1);
+		assertEquals(2, y.length);
+		assertEquals(0.364333, y[0], maxTol);
+		assertEquals(3.327683, y[1], maxTol);
+	}
+
 	@Test
 	final void errorEstimaion() {
 		assertEquals(0.1d / 15d, odeResultCalculator.errorEstimaion(1.1, 1), 1e-17);
@@ -67,9 +78,25 @@ class RungeKutta4CalculatorImplTest {
 		assertEquals(3.327683, y[1], maxTol);
 	}
 
+	@Test
+	final void calculateforThirdOrderOde() {
+		// y'''=-y', y(0)=0, y'(0)=1, y''(0)=0: y=sin(x)
+		final OdeResultCalculator odeResultCalculator = new RungeKutta4CalculatorImpl((y, x) -> -y[1]);
+
+		final double[] y = odeResultCalculator.calculate(new OdeResultImpl(new double[] { 0, 1, 0 }, 0), 0.1);
+		assertEquals(3, y.length);
+		assertEquals(Math.sin(0.1), y[0], maxTol);
+		assertEquals(Math.cos(0.1), y[1], maxTol);
+		assertEquals(-Math.sin(0.1), y[2], maxTol);
+	}
+
 	@Test
 	final void calculateWrongOrder() {
-		assertThrows(IllegalArgumentException.class,
-				() -> odeResultCalculator.calculate(new OdeResultImpl(new double[] { 0, 4, 0 }, 0), 0.1));
+		assertThrows(IllegalArgumentException.class, () -> odeResultCalculator.calculate(new double[] {}, 0, 0.1, new double[] {}));
+	}
+
+	@Test
+	final void calculateWrongResultSize() {
+		assertThrows(IllegalArgumentException.class, () -> odeResultCalculator.calculate(new double[] { 0, 4 }, 0, 0.1, new double[1]));
 	}
 }
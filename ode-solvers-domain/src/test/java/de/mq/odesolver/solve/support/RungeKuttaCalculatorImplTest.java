@@ -0,0 +1,185 @@
+package de.mq.odesolver.solve.support;
+
+import static de.mq.odesolver.support.OdeFunctionUtilFactory.newOdeFunctionUtil;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeResultCalculator;
+import de.mq.odesolver.solve.OdeSolverService.Algorithm;
+import de.mq.odesolver.support.OdeFunctionUtil;
+import de.mq.odesolver.support.OdeFunctionUtil.Language;
+import de.mq.odesolver.support.RightHandSide;
+
+class RungeKuttaCalculatorImplTest {
+
+	private static final String EMBEDDED = "BogackiShampine32|CashKarp54|DormandPrince54";
+
+	private final Map<Algorithm, Double> maxTols = Map.of(Algorithm.BogackiShampine32, 2e-3, Algorithm.CashKarp54, 1e-6, Algorithm.DormandPrince54, 1e-6);
+
+	private final Map<Algorithm, Function<RightHandSide, RungeKuttaCalculatorImpl>> calculators = Map.of(Algorithm.BogackiShampine32, BogackiShampineCalculatorImpl::new,
+			Algorithm.CashKarp54, CashKarpCalculatorImpl::new, Algorithm.DormandPrince54, DormandPrinceCalculatorImpl::new);
+
+	private final Map<Algorithm, Function<Function<OdeResult, Double>, RungeKuttaCalculatorImpl>> lamdaCalculators = Map.of(Algorithm.BogackiShampine32,
+			BogackiShampineCalculatorImpl::new, Algorithm.CashKarp54, CashKarpCalculatorImpl::new, Algorithm.DormandPrince54, DormandPrinceCalculatorImpl::new);
+
+	private final Map<Algorithm, BiFunction<OdeFunctionUtil, String, RungeKuttaCalculatorImpl>> stringCalculators = Map.of(Algorithm.BogackiShampine32,
+			BogackiShampineCalculatorImpl::new, Algorithm.CashKarp54, CashKarpCalculatorImpl::new, Algorithm.DormandPrince54, DormandPrinceCalculatorImpl::new);
+
+	private final Map<Algorithm, Integer> evaluations = Map.of(Algorithm.BogackiShampine32, 3, Algorithm.CashKarp54, 6, Algorithm.DormandPrince54, 6);
+
+	@ParameterizedTest
+	@EnumSource(names = EMBEDDED, mode = EnumSource.Mode.MATCH_ANY)
+	void calculateforFirstOrderOde(final Algorithm algorithm) {
+		// Papula Seite 238
+		final double[] y = lamdaCalculators.get(algorithm).apply(last -> last.yDerivative(0) - last.x()).calculate(new OdeResultImpl(new double[] { 0 }, 0), 0.1);
+		assertEquals(1, y.length);
+		assertEquals(0. - 0.005171, y[0], maxTols.get(algorithm));
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = EMBEDDED, mode = EnumSource.Mode.MATCH_ANY)
+	void calculateforSecondOrderOde(final Algorithm algorithm) {
+		// Papula Seite 246
+		final OdeResultCalculator odeResultCalculator = calculators.get(algorithm).apply((y, x) -> -2 * y[1] + 3 * y[0]);
+
+		final double[] y = odeResultCalculator.calculate(new OdeResultImpl(new double[] { 0, 4 }, 0), 0.1);
+		assertEquals(2, y.length);
+		// Vergleichswerte mit RK4 berechnet
+		assertEquals(0.364333, y[0], Math.max(1e-4, maxTols.get(algorithm)));
+		assertEquals(3.327683, y[1], Math.max(1e-4, maxTols.get(algorithm)));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void calculateString(final Language language) {
+		calculators.keySet().forEach(algorithm -> {
+			final OdeResultCalculator odeResultCalculator = stringCalculators.get(algorithm).apply(newOdeFunctionUtil(language), "y[0]-x");
+			final double[] y = odeResultCalculator.calculate(new OdeResultImpl(new double[] { 0 }, 0), 0.1);
+			assertEquals(0. - 0.005171, y[0], maxTols.get(algorithm));
+		});
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = EMBEDDED, mode = EnumSource.Mode.MATCH_ANY)
+	void errorEstimation(final Algorithm algorithm) {
+		// y'=y, y(0)=1: Der Fehler der Loesung liegt in der Groessenordnung der
+		// Abschaetzung und faellt mit h^(p+1) bzw. h^p (eingebettetes Verfahren).
+		final OdeResultCalculator odeResultCalculator = calculators.get(algorithm).apply((y, x) -> y[0]);
+		assertTrue(odeResultCalculator.isEmbedded());
+		final double[] result = new double[1];
+
+		odeResultCalculator.calculate(new double[] { 1 }, 0, 0.1, result);
+		final double error = Math.abs(Math.exp(0.1) - result[0]);
+		final double errorEstimation = Math.abs(odeResultCalculator.errorEstimaion(0));
+		assertTrue(errorEstimation > error);
+		assertTrue(errorEstimation < 1e-3);
+
+		odeResultCalculator.calculate(new double[] { 1 }, 0, 0.05, result);
+		final double ratio = errorEstimation / Math.abs(odeResultCalculator.errorEstimaion(0));
+		assertEquals(1 << algorithm.order(), ratio, 0.2 * (1 << algorithm.order()));
+		assertEquals(1d / ((1 << algorithm.order()) - 1), odeResultCalculator.errorEstimaion(2, 1), 1e-15);
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = EMBEDDED, mode = EnumSource.Mode.MATCH_ANY)
+	void errorEstimationSecondOrder(final Algorithm algorithm) {
+		final OdeResultCalculator odeResultCalculator = calculators.get(algorithm).apply((y, x) -> -y[0]);
+		odeResultCalculator.calculate(new double[] { 0, 1 }, 0, 0.1, new double[2]);
+
+		assertTrue(Math.abs(odeResultCalculator.errorEstimaion(0)) > 0);
+		assertTrue(Math.abs(odeResultCalculator.errorEstimaion(1)) > 0);
+		assertThrows(IllegalArgumentException.class, () -> odeResultCalculator.errorEstimaion(2));
+		assertThrows(IllegalArgumentException.class, () -> odeResultCalculator.errorEstimaion(-1));
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = EMBEDDED, mode = EnumSource.Mode.MATCH_ANY)
+	void firstSameAsLast(final Algorithm algorithm) {
+		final AtomicInteger counter = new AtomicInteger();
+		final OdeResultCalculator odeResultCalculator = calculators.get(algorithm).apply((y, x) -> {
+			counter.incrementAndGet();
+			return y[0] - x;
+		});
+		final double[] y = { 1 };
+		final double[] next = new double[1];
+
+		odeResultCalculator.calculate(y, 0, 0.1, next);
+		final int first = counter.getAndSet(0);
+		odeResultCalculator.calculate(next, 0.1, 0.1, y);
+		final int second = counter.getAndSet(0);
+		// Anderer Startpunkt, die letzte Stufe kann nicht verwendet werden.
+		odeResultCalculator.calculate(new double[] { 2 }, 0.2, 0.1, next);
+		final int third = counter.getAndSet(0);
+
+		final boolean fsal = algorithm != Algorithm.CashKarp54;
+		assertEquals(fsal ? evaluations.get(algorithm) + 1 : evaluations.get(algorithm), first);
+		assertEquals(evaluations.get(algorithm), second);
+		assertEquals(first, third);
+	}
+
+	@Test
+	void notEmbedded() {
+		final OdeResultCalculator odeResultCalculator = new RungeKutta4CalculatorImpl((y, x) -> y[0]);
+		assertFalse(odeResultCalculator.isEmbedded());
+		assertThrows(UnsupportedOperationException.class, () -> odeResultCalculator.errorEstimaion(0));
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = EMBEDDED, mode = EnumSource.Mode.MATCH_ANY)
+	void calculateWrongOrder(final Algorithm algorithm) {
+		assertThrows(IllegalArgumentException.class, () -> calculators.get(algorithm).apply((y, x) -> y[0]).calculate(new double[] {}, 0, 0.1, new double[] {}));
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = EMBEDDED, mode = EnumSource.Mode.MATCH_ANY)
+	void calculateforThirdOrderOde(final Algorithm algorithm) {
+		// y'''=-y', y(0)=0, y'(0)=1, y''(0)=0: y=sin(x)
+		final double[] y = calculators.get(algorithm).apply((u, x) -> -u[1]).calculate(new OdeResultImpl(new double[] { 0, 1, 0 }, 0), 0.1);
+
+		assertEquals(3, y.length);
+		assertEquals(Math.sin(0.1), y[0], maxTols.get(algorithm));
+		assertEquals(Math.cos(0.1), y[1], maxTols.get(algorithm));
+		assertEquals(-Math.sin(0.1), y[2], maxTols.get(algorithm));
+	}
+
+	@Test
+	void system() {
+		// y0'=y1, y1'=-y0, y0(0)=0, y1(0)=1: y0=sin(x), y1=cos(x)
+		final OdeResultCalculator odeResultCalculator = new RungeKuttaCalculatorImpl(ButcherTableau.DORMAND_PRINCE_54, (y, x, dy) -> {
+			dy[0] = y[1];
+			dy[1] = -y[0];
+		});
+		final double[] y = { 0, 1 };
+		final double[] next = new double[2];
+		for (int i = 0; i < 10; i++) {
+			odeResultCalculator.calculate(y, 0.1 * i, 0.1, next);
+			System.arraycopy(next, 0, y, 0, 2);
+		}
+
+		assertEquals(Math.sin(1), y[0], 1e-7);
+		assertEquals(Math.cos(1), y[1], 1e-7);
+	}
+
+	@Test
+	void threeEighthsRule() {
+		final OdeResultCalculator odeResultCalculator = new RungeKuttaCalculatorImpl(ButcherTableau.RUNGE_KUTTA_38, last -> last.yDerivative(0) - last.x());
+		assertFalse(odeResultCalculator.isEmbedded());
+
+		final double[] y = odeResultCalculator.calculate(new OdeResultImpl(new double[] { 0 }, 0), 0.1);
+		assertEquals(0. - 0.005171, y[0], 1e-6);
+		assertEquals(1d / 15, odeResultCalculator.errorEstimaion(1, 0), 1e-15);
+	}
+
+}
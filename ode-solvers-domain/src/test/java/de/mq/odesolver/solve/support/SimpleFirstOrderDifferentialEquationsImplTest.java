@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import de.mq.odesolver.support.VectorRightHandSide;
+
 class SimpleFirstOrderDifferentialEquationsImplTest {
 
 	@Test
@@ -34,6 +36,31 @@ class SimpleFirstOrderDifferentialEquationsImplTest {
 
 	}
 
+	@Test
+	void computeDerivativesVectorRightHandSide() {
+		final VectorRightHandSide rightHandSide = (y, x, dy) -> {
+			dy[0] = y[1];
+			dy[1] = x;
+		};
+		final var dgl = new SimpleFirstOrderDifferentialEquationsImpl(rightHandSide, 2);
+		final double[] result = { Double.NaN, Double.NaN };
+
+		dgl.computeDerivatives(3d, new double[] { 1d, 2d }, result);
+
+		assertArrayEquals(new double[] { 2d, 3d }, result, 1e-99);
+	}
+
+	@Test
+	void computeDerivativesWrongResult() {
+		final OdeSystemResultCalculator resultCalculator = Mockito.mock(OdeSystemResultCalculator.class);
+		final double[] y = { randomDouble(), randomDouble() };
+		final var dgl = new SimpleFirstOrderDifferentialEquationsImpl(resultCalculator, 2);
+
+		Mockito.when(resultCalculator.f(y, 1d)).thenReturn(new double[] { 1d });
+		assertEquals(String.format(SimpleFirstOrderDifferentialEquationsImpl.WRONG_MESSAGE_FORMAT, "Result", 1, 2),
+				assertThrows(IllegalArgumentException.class, () -> dgl.computeDerivatives(1d, y, new double[2])).getMessage());
+	}
+
 	private double randomDouble() {
 		return Math.random() * 1000d;
 	}
@@ -0,0 +1,50 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.solve.StepSizeControl;
+
+class StepSizeControlImplTest {
+
+	@Test
+	void create() {
+		final StepSizeControl stepSizeControl = new StepSizeControlImpl(1e-6, 1e-3, 0.8, 0.1, 4, 1000, true);
+
+		assertEquals(1e-6, stepSizeControl.absoluteTolerance());
+		assertEquals(1e-3, stepSizeControl.relativeTolerance());
+		assertEquals(0.8, stepSizeControl.safetyFactor());
+		assertEquals(0.1, stepSizeControl.minFactor());
+		assertEquals(4, stepSizeControl.maxFactor());
+		assertEquals(1000, stepSizeControl.maxSteps());
+		assertTrue(stepSizeControl.resample());
+	}
+
+	@Test
+	void createDefaults() {
+		final StepSizeControl stepSizeControl = new StepSizeControlImpl(1e-6, 0, false);
+
+		assertEquals(1e-6, stepSizeControl.absoluteTolerance());
+		assertEquals(0, stepSizeControl.relativeTolerance());
+		assertEquals(StepSizeControlImpl.DEFAULT_SAFETY_FACTOR, stepSizeControl.safetyFactor());
+		assertEquals(StepSizeControlImpl.DEFAULT_MIN_FACTOR, stepSizeControl.minFactor());
+		assertEquals(StepSizeControlImpl.DEFAULT_MAX_FACTOR, stepSizeControl.maxFactor());
+		assertEquals(StepSizeControlImpl.DEFAULT_MAX_STEPS, stepSizeControl.maxSteps());
+		assertFalse(stepSizeControl.resample());
+	}
+
+	@Test
+	void createInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> new StepSizeControlImpl(-1, 1, true));
+		assertThrows(IllegalArgumentException.class, () -> new StepSizeControlImpl(0, 0, true));
+		assertThrows(IllegalArgumentException.class, () -> new StepSizeControlImpl(1, 1, 0, 0.2, 5, 1, true));
+		assertThrows(IllegalArgumentException.class, () -> new StepSizeControlImpl(1, 1, 0.9, 1, 5, 1, true));
+		assertThrows(IllegalArgumentException.class, () -> new StepSizeControlImpl(1, 1, 0.9, 0.2, 1, 1, true));
+		assertThrows(IllegalArgumentException.class, () -> new StepSizeControlImpl(1, 1, 0.9, 0.2, 5, 0, true));
+	}
+
+}
@@ -0,0 +1,123 @@
+package de.mq.odesolver.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.script.Invocable;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.mq.odesolver.support.OdeFunctionUtil.Language;
+
+class FunctionCacheImplTest {
+
+	private static final String FUNCTION = "y[1]+y[0]+x";
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final AtomicInteger compilations = new AtomicInteger();
+
+	private final Supplier<Invocable> compiler = () -> {
+		compilations.incrementAndGet();
+		return Mockito.mock(Invocable.class);
+	};
+
+	private final FunctionCacheImpl functionCache = new FunctionCacheImpl(2, Duration.ofMinutes(1), clock::get);
+
+	@Test
+	void invocable() {
+		final Invocable invocable = functionCache.invocable(Language.Groovy, false, "y", FUNCTION, compiler);
+
+		assertSame(invocable, functionCache.invocable(Language.Groovy, false, "y", FUNCTION, compiler));
+		assertEquals(1, compilations.get());
+		assertEquals(1, functionCache.hits());
+		assertEquals(1, functionCache.misses());
+		assertEquals(0, functionCache.evictions());
+		assertEquals(1, functionCache.size());
+	}
+
+	@Test
+	void key() {
+		final Invocable invocable = functionCache.invocable(Language.Groovy, false, "y", FUNCTION, compiler);
+
+		assertNotSame(invocable, functionCache.invocable(Language.Nashorn, false, "y", FUNCTION, compiler));
+		assertNotSame(invocable, functionCache.invocable(Language.Groovy, true, "y", FUNCTION, compiler));
+		assertNotSame(invocable, functionCache.invocable(Language.Groovy, false, "k", FUNCTION, compiler));
+		assertNotSame(invocable, functionCache.invocable(Language.Groovy, false, "y", FUNCTION + "+1", compiler));
+		assertEquals(5, compilations.get());
+		assertEquals(0, functionCache.hits());
+	}
+
+	@Test
+	void evictSize() {
+		final Invocable first = functionCache.invocable(Language.Groovy, false, "y", "1", compiler);
+		functionCache.invocable(Language.Groovy, false, "y", "2", compiler);
+		// 1 wurde zuletzt verwendet, 2 wird entfernt.
+		functionCache.invocable(Language.Groovy, false, "y", "1", compiler);
+		functionCache.invocable(Language.Groovy, false, "y", "3", compiler);
+
+		assertEquals(2, functionCache.size());
+		assertEquals(1, functionCache.evictions());
+		assertSame(first, functionCache.invocable(Language.Groovy, false, "y", "1", compiler));
+		functionCache.invocable(Language.Groovy, false, "y", "2", compiler);
+		assertEquals(4, compilations.get());
+	}
+
+	@Test
+	void evictIdle() {
+		functionCache.invocable(Language.Groovy, false, "y", "1", compiler);
+		clock.set(Duration.ofSeconds(30).toNanos());
+		functionCache.invocable(Language.Groovy, false, "y", "2", compiler);
+		clock.set(Duration.ofSeconds(61).toNanos());
+
+		assertEquals(1, functionCache.size());
+		assertEquals(1, functionCache.evictions());
+
+		clock.set(Duration.ofSeconds(91).toNanos());
+		functionCache.invocable(Language.Groovy, false, "y", "2", compiler);
+		assertEquals(3, compilations.get());
+		assertEquals(2, functionCache.evictions());
+	}
+
+	@Test
+	void compileException() {
+		assertThrows(IllegalStateException.class, () -> functionCache.invocable(Language.Groovy, false, "y", FUNCTION, () -> {
+			throw new IllegalStateException("Unable to compile function.");
+		}));
+
+		assertEquals(0, functionCache.size());
+		functionCache.invocable(Language.Groovy, false, "y", FUNCTION, compiler);
+		assertEquals(1, compilations.get());
+		assertEquals(2, functionCache.misses());
+	}
+
+	@Test
+	void clear() {
+		functionCache.invocable(Language.Groovy, false, "y", FUNCTION, compiler);
+
+		functionCache.clear();
+
+		assertEquals(0, functionCache.size());
+		assertEquals(1, functionCache.misses());
+	}
+
+	@Test
+	void invalid() {
+		assertThrows(IllegalArgumentException.class, () -> new FunctionCacheImpl(0, Duration.ofMinutes(1), clock::get));
+		assertThrows(IllegalArgumentException.class, () -> new FunctionCacheImpl(1, Duration.ZERO, clock::get));
+	}
+
+	@Test
+	void functionCache() {
+		assertSame(OdeFunctionUtilImpl.FUNCTION_CACHE, FunctionCache.functionCache());
+	}
+
+}
@@ -0,0 +1,101 @@
+package de.mq.odesolver.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GroovyStaticFunctionCompilerTest {
+
+	private static final double[] Y = { 1, 2, 3 };
+	private static final double X = 0.5;
+
+	private final GroovyStaticFunctionCompiler compiler = new GroovyStaticFunctionCompiler("y", false);
+
+	private final GroovyStaticFunctionCompiler systemCompiler = new GroovyStaticFunctionCompiler("y", true);
+
+	@Test
+	void arithmetic() {
+		assertEquals(Y[1] + Y[0] + X, apply("y[1]+y[0]+x"));
+		assertEquals(Y[0] - Y[1] * Y[2] / X, apply("y[0] - y[1] * y[2] / x"));
+		assertEquals(Math.sin(Y[1]) + Math.pow(X, 2), apply("Math.sin(y[1]) + Math.pow(x, 2)"));
+		// Groovy: 1/2 ist 0.5, nicht 0.
+		assertEquals(0.5, apply("1/2"));
+		assertEquals(1d, apply("1"));
+	}
+
+	@Test
+	void evaluate() throws NoSuchMethodException {
+		final RightHandSide rightHandSide = compiler.compile("y[0]*x+y[1]").rightHandSide();
+		final double[] xs = { 0, 1, 2 };
+		final double[][] ys = { Y, { 2, 3 }, Y };
+		final double[] out = new double[3];
+
+		rightHandSide.evaluate(xs, ys, out);
+
+		assertArrayEquals(new double[] { 2, 5, 4 }, out);
+		assertEquals(rightHandSide.getClass(), rightHandSide.getClass().getMethod("evaluate", double[].class, double[][].class, double[].class).getDeclaringClass());
+	}
+
+	@Test
+	void evaluateVector() throws NoSuchMethodException {
+		final RightHandSide rightHandSide = compiler.compile("y[0]*x+y[1]").rightHandSide();
+		final double[] out = new double[3];
+
+		rightHandSide.evaluate(Y, new double[] { 0, 1, 2 }, 1, 3, out);
+
+		assertArrayEquals(new double[] { 0, 3, 4 }, out);
+		assertEquals(rightHandSide.getClass(),
+				rightHandSide.getClass().getMethod("evaluate", double[].class, double[].class, int.class, int.class, double[].class).getDeclaringClass());
+	}
+
+	@Test
+	void system() {
+		final NativeInvocable invocable = systemCompiler.compile("dy[0]=y[1];dy[1]=y[2];dy[2]=y[0]+y[1]+y[2];");
+		assertTrue(invocable.isVector());
+		final double[] dy = new double[3];
+
+		invocable.vectorRightHandSide().apply(Y, X, dy);
+
+		assertArrayEquals(new double[] { 2, 3, 6 }, dy);
+	}
+
+	@Test
+	void vectorName() {
+		final NativeInvocable invocable = new GroovyStaticFunctionCompiler("k", false).compile("k[0]*x");
+
+		assertFalse(invocable.isVector());
+		assertEquals(Y[0] * X, invocable.rightHandSide().apply(Y, X));
+	}
+
+	@Test
+	void ownClass() {
+		final Class<?> first = compiler.compile("x").rightHandSide().getClass();
+		final Class<?> second = compiler.compile("x").rightHandSide().getClass();
+
+		assertNotSame(first, second);
+		assertNotSame(first.getClassLoader(), second.getClassLoader());
+	}
+
+	@Test
+	void indexOutOfBounds() {
+		assertThrows(IndexOutOfBoundsException.class, () -> apply("y[3]"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "y'+y+x", "y[1]+y[0]+t", "y+ x" })
+	void compileException(final String function) {
+		assertThrows(IllegalArgumentException.class, () -> compiler.compile(function));
+	}
+
+	private double apply(final String function) {
+		return compiler.compile(function).rightHandSide().apply(Y, X);
+	}
+
+}
@@ -0,0 +1,180 @@
+package de.mq.odesolver.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class NativeFunctionCompilerTest {
+
+	private static final double[] Y = { 1, 2, 3 };
+	private static final double X = 0.5;
+
+	private final NativeFunctionCompiler compiler = new NativeFunctionCompiler("y", false);
+
+	private final NativeFunctionCompiler systemCompiler = new NativeFunctionCompiler("y", true);
+
+	@Test
+	void arithmetic() {
+		assertEquals(Y[1] + Y[0] + X, apply("y[1]+y[0]+x"));
+		assertEquals(Y[0] - Y[1] * Y[2] / X, apply("y[0] - y[1] * y[2] / x"));
+		assertEquals((Y[0] - Y[1]) * Y[2], apply("(y[0] - y[1]) * y[2]"));
+		assertEquals(Y[2] % Y[1], apply("y[2] % y[1]"));
+		assertEquals(-Y[0] - -X, apply("-y[0] - -x"));
+		assertEquals(+Y[0], apply("+y[0]"));
+		assertEquals(1d / 2 * Math.pow(X, 4), apply("1/2*Math.pow(x,4)"));
+		assertEquals(0d, apply("0.0"));
+		assertEquals(1d, apply("1"));
+		assertEquals(1.5e-3 + .25, apply("1.5e-3 + .25"));
+	}
+
+	@Test
+	void mathFunctions() {
+		assertEquals(Math.sin(Y[1]), apply("Math.sin(y[1])"));
+		assertEquals(Math.sqrt(Y[0]) + Y[0], apply("Math.sqrt(y[0])+y[0]"));
+		assertEquals(Math.atan2(Y[0], Y[1]), apply("Math.atan2(y[0], y[1])"));
+		assertEquals(Math.max(Y[0], Math.min(Y[1], Y[2])), apply("Math.max(y[0], Math.min(y[1], y[2]))"));
+		assertEquals(Math.PI * Math.E, apply("Math.PI * Math.E"));
+		assertEquals(Math.exp(-3 * X) + Math.abs(-X), apply("Math.exp(-3 * x) + Math.abs(-x)"));
+		NativeFunctionParser.MATH_FUNCTIONS.forEach((name, arity) -> assertTrue(Double.isFinite(apply(String.format("Math.%s(%s)", name, arity == 1 ? "x" : "x, y[0]")))));
+	}
+
+	@Test
+	void evaluate() throws NoSuchMethodException {
+		final RightHandSide rightHandSide = compiler.compile("y[0]*x+y[1]").rightHandSide();
+		final double[] xs = { 0, 1, 2 };
+		final double[][] ys = { Y, { 2, 3 }, Y };
+		final double[] out = new double[4];
+
+		rightHandSide.evaluate(xs, ys, out);
+
+		assertArrayEquals(new double[] { 2, 5, 4, 0 }, out);
+		assertEquals(rightHandSide.getClass(), rightHandSide.getClass().getMethod("evaluate", double[].class, double[][].class, double[].class).getDeclaringClass());
+		rightHandSide.evaluate(new double[0], new double[0][], out);
+		assertThrows(IndexOutOfBoundsException.class, () -> rightHandSide.evaluate(xs, ys, new double[2]));
+	}
+
+	@Test
+	void evaluateVector() throws NoSuchMethodException {
+		final RightHandSide rightHandSide = compiler.compile("y[0]*x+y[1]").rightHandSide();
+		final double[] out = new double[4];
+
+		rightHandSide.evaluate(Y, new double[] { 0, 1, 2 }, 0, 3, out);
+		assertArrayEquals(new double[] { 2, 3, 4, 0 }, out);
+
+		rightHandSide.evaluate(Y, new double[] { 5, 6, 7 }, 1, 2, out);
+		assertArrayEquals(new double[] { 2, 8, 4, 0 }, out);
+
+		assertEquals(rightHandSide.getClass(),
+				rightHandSide.getClass().getMethod("evaluate", double[].class, double[].class, int.class, int.class, double[].class).getDeclaringClass());
+		rightHandSide.evaluate(Y, new double[0], 0, 0, out);
+		assertThrows(IndexOutOfBoundsException.class, () -> rightHandSide.evaluate(Y, new double[] { 0, 1, 2 }, 0, 3, new double[2]));
+		assertThrows(IndexOutOfBoundsException.class, () -> rightHandSide.evaluate(new double[] { 1 }, new double[] { 0 }, 0, 1, out));
+	}
+
+	@Test
+	void evaluateColumns() throws NoSuchMethodException {
+		final RightHandSide rightHandSide = compiler.compile("y[0]*x+Math.sin(y[1])").rightHandSide();
+		final double[][] columns = { { 1, 2, 3 }, { 0, 1, 2 } };
+		final double[] out = new double[4];
+
+		rightHandSide.evaluateColumns(X, columns, 3, out);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(rightHandSide.apply(new double[] { columns[0][i], columns[1][i] }, X), out[i]);
+		}
+		assertEquals(0d, out[3]);
+		assertEquals(rightHandSide.getClass(),
+				rightHandSide.getClass().getMethod("evaluateColumns", double.class, double[][].class, int.class, double[].class).getDeclaringClass());
+		rightHandSide.evaluateColumns(X, new double[0][], 0, out);
+		assertThrows(IndexOutOfBoundsException.class, () -> rightHandSide.evaluateColumns(X, columns, 4, out));
+		assertThrows(IndexOutOfBoundsException.class, () -> rightHandSide.evaluateColumns(X, new double[][] { { 1 } }, 1, out));
+	}
+
+	@Test
+	void evaluateColumnsLongBody() {
+		// Mehr als 63 Byte in der Schleife, das Ende braucht einen erweiterten Frame.
+		final String function = "y[0]+y[1]*x+Math.sin(y[0])+Math.cos(y[1])+Math.exp(-x)+Math.sqrt(y[0]*y[0]+y[1]*y[1])+Math.atan2(y[1],y[0])+1.5";
+		final RightHandSide rightHandSide = compiler.compile(function).rightHandSide();
+		final double[][] columns = { { 1, 2 }, { 3, 4 } };
+		final double[] out = new double[2];
+
+		rightHandSide.evaluateColumns(X, columns, 2, out);
+
+		assertEquals(rightHandSide.apply(new double[] { 1, 3 }, X), out[0]);
+		assertEquals(rightHandSide.apply(new double[] { 2, 4 }, X), out[1]);
+	}
+
+	@Test
+	void largeIndexAndDeepNesting() {
+		final double[] y = new double[200];
+		y[199] = 2;
+		assertEquals(2d, compiler.compile("y[199]").rightHandSide().apply(y, 0));
+		assertEquals(10d, compiler.compile("1+(1+(1+(1+(1+(1+(1+(1+(1+(1)))))))))").rightHandSide().apply(Y, X));
+	}
+
+	@Test
+	void system() {
+		final NativeInvocable invocable = systemCompiler.compile("dy[0]=y[1];dy[1]=y[2];dy[2]=y[0]+y[1]+y[2];");
+		assertTrue(invocable.isVector());
+		final double[] dy = new double[3];
+
+		invocable.vectorRightHandSide().apply(Y, X, dy);
+
+		assertArrayEquals(new double[] { 2, 3, 6 }, dy);
+	}
+
+	@Test
+	void systemExpressionStatement() {
+		final double[] dy = { 1, 1 };
+		systemCompiler.compile("y[0]-x").vectorRightHandSide().apply(Y, X, dy);
+		assertArrayEquals(new double[] { 1, 1 }, dy);
+	}
+
+	@Test
+	void otherVectorName() {
+		final NativeFunctionCompiler compiler = new NativeFunctionCompiler("k", false);
+		assertEquals(7d / 2, compiler.compile("1/2*Math.pow(x,4) + k[0]*Math.pow(x,2) + k[1]*Math.pow(x,2)").rightHandSide().apply(new double[] { 1, 2 }, 1));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "y'+y+x", "y[0] x", "y[0]+", "(y[0]", "y[x]", "Math.sin(y[0]", "1e", "", "dy[0]=y[0]" })
+	void syntaxError(final String function) {
+		assertThrows(IllegalArgumentException.class, () -> compiler.compile(function));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "dy[0]=y[0]+", "dy[]=y[0]", "dy[0]=y[0] dy[1]=y[1]" })
+	void syntaxErrorSystem(final String function) {
+		assertThrows(IllegalArgumentException.class, () -> systemCompiler.compile(function));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "y[1]+y[0]+t", "y+x", "k[0]", "Math.foo(x)", "Math.sin(x, x)", "Math.FOO", "foo(x)" })
+	void unresolved(final String function) {
+		final NativeInvocable invocable = compiler.compile(function);
+		assertFalse(invocable.isVector());
+		assertThrows(IllegalStateException.class, () -> invocable.rightHandSide().apply(Y, X));
+	}
+
+	@Test
+	void unresolvedSystem() {
+		final NativeInvocable invocable = systemCompiler.compile("dy[0]=t");
+		assertThrows(IllegalStateException.class, () -> invocable.vectorRightHandSide().apply(Y, X, new double[3]));
+	}
+
+	@Test
+	void indexOutOfBounds() {
+		assertThrows(IndexOutOfBoundsException.class, () -> compiler.compile("y[3]").rightHandSide().apply(Y, X));
+	}
+
+	private double apply(final String function) {
+		return compiler.compile(function).rightHandSide().apply(Y, X);
+	}
+
+}
@@ -0,0 +1,81 @@
+package de.mq.odesolver.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import javax.script.ScriptException;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.solve.support.OdeSystemResultCalculator;
+
+class NativeInvocableTest {
+
+	private static final double[] Y = { 1, 2 };
+
+	private final RightHandSide rightHandSide = (y, x) -> y[0] + y[1] + x;
+
+	private final VectorRightHandSide vectorRightHandSide = (y, x, dy) -> {
+		dy[0] = y[1];
+		dy[1] = y[0] + x;
+	};
+
+	private final NativeInvocable invocable = new NativeInvocable(rightHandSide);
+
+	private final NativeInvocable vectorInvocable = new NativeInvocable(vectorRightHandSide);
+
+	@Test
+	void invokeFunction() throws Exception {
+		assertEquals(6d, invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, Y, 3));
+		assertArrayEquals(new double[] { 2, 4 }, (double[]) vectorInvocable.invokeFunction(NativeInvocable.FUNCTION_NAME, Y, 3d));
+	}
+
+	@Test
+	void invokeFunctionWrongName() {
+		assertThrows(NoSuchMethodException.class, () -> invocable.invokeFunction("g", Y, 3));
+	}
+
+	@Test
+	void invokeFunctionWrongArguments() {
+		assertThrows(ScriptException.class, () -> invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, Y));
+		assertThrows(ScriptException.class, () -> invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, 3, Y));
+	}
+
+	@Test
+	void invokeFunctionFails() {
+		assertThrows(ScriptException.class, () -> invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] { 1 }, 3));
+	}
+
+	@Test
+	void invokeMethod() {
+		assertThrows(NoSuchMethodException.class, () -> invocable.invokeMethod(this, NativeInvocable.FUNCTION_NAME, Y, 3));
+		assertThrows(IllegalArgumentException.class, () -> invocable.getInterface(this, RightHandSide.class));
+	}
+
+	@Test
+	void rightHandSide() {
+		assertSame(rightHandSide, invocable.rightHandSide());
+		assertSame(vectorRightHandSide, vectorInvocable.vectorRightHandSide());
+		assertThrows(IllegalStateException.class, () -> invocable.vectorRightHandSide());
+		assertThrows(IllegalStateException.class, () -> vectorInvocable.rightHandSide());
+	}
+
+	@Test
+	void getInterface() {
+		assertSame(rightHandSide, invocable.getInterface(RightHandSide.class));
+		assertSame(vectorRightHandSide, vectorInvocable.getInterface(VectorRightHandSide.class));
+		assertNull(invocable.getInterface(Runnable.class));
+
+		final OdeSystemResultCalculator odeSystemResultCalculator = vectorInvocable.getInterface(OdeSystemResultCalculator.class);
+		assertNotNull(odeSystemResultCalculator);
+		assertArrayEquals(new double[] { 2, 4 }, odeSystemResultCalculator.f(Y, 3));
+		assertEquals(odeSystemResultCalculator, odeSystemResultCalculator);
+		assertEquals(System.identityHashCode(odeSystemResultCalculator), odeSystemResultCalculator.hashCode());
+		assertNotNull(odeSystemResultCalculator.toString());
+	}
+
+}
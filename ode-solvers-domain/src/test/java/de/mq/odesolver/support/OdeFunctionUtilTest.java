@@ -1,12 +1,24 @@
 package de.mq.odesolver.support;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.script.Invocable;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import de.mq.odesolver.solve.support.OdeSystemResultCalculator;
 import de.mq.odesolver.support.OdeFunctionUtil.Language;
@@ -23,6 +35,193 @@ class OdeFunctionUtilTest {
 		assertEquals(6, odeFunctionUtil.invokeFunction(invocable, new double[] { 1, 2 }, 3));
 	}
 
+	@ParameterizedTest
+	@EnumSource
+	void rightHandSide(final Language language) {
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
+		final Invocable invocable = odeFunctionUtil.prepareFunction("y[0]/x");
+
+		final RightHandSide rightHandSide = odeFunctionUtil.rightHandSide(invocable);
+
+		assertEquals(2d, rightHandSide.apply(new double[] { 1 }, 0.5));
+		assertThrows(IllegalArgumentException.class, () -> rightHandSide.apply(new double[] { 1 }, 0));
+		assertThrows(IllegalStateException.class, () -> rightHandSide.apply(new double[] { 0 }, 0));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void rightHandSideUnguarded(final Language language) {
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
+		final Invocable invocable = odeFunctionUtil.prepareFunction("y[0]/x");
+
+		final RightHandSide rightHandSide = odeFunctionUtil.rightHandSide(invocable, false);
+
+		assertEquals(2d, rightHandSide.apply(new double[] { 1 }, 0.5));
+		assertEquals(Double.POSITIVE_INFINITY, rightHandSide.apply(new double[] { 1 }, 0));
+		assertTrue(Double.isNaN(rightHandSide.apply(new double[] { 0 }, 0)));
+
+		final double[] out = new double[2];
+		rightHandSide.evaluate(new double[] { 1 }, new double[] { 0, 2 }, 0, 2, out);
+		assertEquals(Double.POSITIVE_INFINITY, out[0]);
+		assertEquals(0.5, out[1]);
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = { "Nashorn", "Groovy" })
+	void rightHandSideBound(final Language language) {
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
+		final RightHandSide rightHandSide = odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("y[0]*x+" + language.ordinal()));
+
+		assertTrue(rightHandSide instanceof EngineBinding);
+		((EngineBinding) rightHandSide).bind();
+		try {
+			assertEquals(6d + language.ordinal(), rightHandSide.apply(new double[] { 2 }, 3));
+			assertThrows(IllegalArgumentException.class, () -> odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("y[0]/x")).apply(new double[] { 1 }, 0));
+		} finally {
+			((EngineBinding) rightHandSide).release();
+		}
+		assertEquals(4d + language.ordinal(), rightHandSide.apply(new double[] { 2 }, 2));
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = { "Nashorn", "Groovy" })
+	void rightHandSideScriptFunction(final Language language) {
+		// Die Script-Funktion wird ueber ScriptFunction aufgerufen, Groovy wandelt
+		// BigDecimal und Integer in double.
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
+
+		assertEquals(0.5, odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("1/2")).apply(new double[] { 0 }, 0));
+		assertEquals(2d, odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("2")).apply(new double[] { 0 }, 0));
+		final IllegalStateException exception = assertThrows(IllegalStateException.class,
+				() -> odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("y[0]+t")).apply(new double[] { 0 }, 1));
+		assertTrue(exception.getMessage().startsWith("Function fails for x="));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void vectorRightHandSide(final Language language) {
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language, true);
+		final VectorRightHandSide vectorRightHandSide = odeFunctionUtil.vectorRightHandSide(odeFunctionUtil.prepareFunction("dy[0]=y[1];dy[1]=-y[0]*x;"));
+		final double[] dy = new double[2];
+
+		EngineBinding.bind(vectorRightHandSide);
+		try {
+			vectorRightHandSide.apply(new double[] { 1, 2 }, 3, dy);
+		} finally {
+			EngineBinding.release(vectorRightHandSide);
+		}
+		assertArrayEquals(new double[] { 2, -3 }, dy);
+		vectorRightHandSide.apply(new double[] { 2, 1 }, 1, dy);
+		assertArrayEquals(new double[] { 1, -2 }, dy);
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void evaluate(final Language language) {
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
+		final Invocable invocable = odeFunctionUtil.prepareFunction("y[0]/x");
+		final double[] y = { 1 };
+		final double[][] ys = { y, y, y };
+		final double[] out = new double[3];
+
+		odeFunctionUtil.rightHandSide(invocable).evaluate(new double[] { 1, 2, 4 }, ys, out);
+		assertArrayEquals(new double[] { 1, 0.5, 0.25 }, out);
+
+		assertThrows(IllegalArgumentException.class, () -> odeFunctionUtil.rightHandSide(invocable).evaluate(new double[] { 1, 0, 4 }, ys, out));
+		assertThrows(IllegalStateException.class, () -> odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("y[1]")).evaluate(new double[] { 1 }, ys, out));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void evaluateVector(final Language language) {
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
+		final Invocable invocable = odeFunctionUtil.prepareFunction("y[0]/x");
+		final double[] y = { 1 };
+		final double[] out = new double[3];
+
+		odeFunctionUtil.rightHandSide(invocable).evaluate(y, new double[] { 1, 2, 4 }, 0, 3, out);
+		assertArrayEquals(new double[] { 1, 0.5, 0.25 }, out);
+
+		assertThrows(IllegalArgumentException.class, () -> odeFunctionUtil.rightHandSide(invocable).evaluate(y, new double[] { 1, 0, 4 }, 0, 3, out));
+		// Nur der Bereich wird berechnet und geprueft.
+		odeFunctionUtil.rightHandSide(invocable).evaluate(y, new double[] { 1, 0, 4 }, 2, 3, out);
+		assertEquals(0.25, out[2]);
+		assertThrows(IllegalStateException.class, () -> odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("y[1]")).evaluate(y, new double[] { 1 }, 0, 1, out));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void evaluateColumns(final Language language) {
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
+		// Zustand y[0] und Parameter y[1] als Spalten
+		final double[][] columns = { { 1, 2, 3 }, { 2, 4, 1 } };
+		final double[] out = new double[3];
+
+		odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("y[0]*y[1]+x")).evaluateColumns(1, columns, 2, out);
+		assertArrayEquals(new double[] { 3, 9, 0 }, out);
+
+		assertThrows(IllegalArgumentException.class, () -> odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("y[0]/x")).evaluateColumns(0, columns, 3, out));
+		assertThrows(IllegalStateException.class, () -> odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("y[2]")).evaluateColumns(0, columns, 3, out));
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void prepareFunctionCached(final Language language) {
+		final String function = "y[1]+y[0]+x+" + language.ordinal();
+		final long misses = FunctionCache.functionCache().misses();
+		final Invocable invocable = new OdeFunctionUtilImpl(language).prepareFunction(function);
+
+		assertSame(invocable, new OdeFunctionUtilImpl(language).prepareFunction(function));
+		assertNotSame(invocable, new OdeFunctionUtilImpl(language, true).prepareFunction("dy[0]=" + function));
+		assertEquals(misses + 2, FunctionCache.functionCache().misses());
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void invokeFunctionConcurrent(final Language language) throws Exception {
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
+		final Invocable invocable = odeFunctionUtil.prepareFunction("y[0]*y[0]+x");
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Double>> results = IntStream.range(0, 100).mapToObj(i -> executor.submit(() -> odeFunctionUtil.invokeFunction(invocable, new double[] { i }, 1)))
+					.collect(Collectors.toList());
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals(i * i + 1d, results.get(i).get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void rightHandSideConcurrent(final Language language) throws Exception {
+		// Alle Threads verwenden dieselbe Funktion aus dem Cache, jeder mit einer
+		// eigenen Bindung.
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Double>> results = IntStream.range(0, 40).mapToObj(i -> executor.submit(() -> {
+				final RightHandSide rightHandSide = odeFunctionUtil.rightHandSide(odeFunctionUtil.prepareFunction("y[0]*x-y[1]"));
+				EngineBinding.bind(rightHandSide);
+				try {
+					double sum = 0;
+					for (int n = 0; n < 100; n++) {
+						sum += rightHandSide.apply(new double[] { i, n }, 2);
+					}
+					return sum;
+				} finally {
+					EngineBinding.release(rightHandSide);
+				}
+			})).collect(Collectors.toList());
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals(200d * i - 4950d, results.get(i).get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@ParameterizedTest
 	@EnumSource
 	void prepareFunctionException(final Language language) {
@@ -32,7 +231,7 @@ class OdeFunctionUtilTest {
 	}
 
 	@ParameterizedTest
-	@EnumSource
+	@EnumSource(names = "GroovyStatic", mode = EnumSource.Mode.EXCLUDE)
 	void invokeFunctionException(final Language language) {
 		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
 		final Invocable invocable = odeFunctionUtil.prepareFunction("y[1]+y[0]+t");
@@ -40,6 +239,15 @@ class OdeFunctionUtilTest {
 				() -> odeFunctionUtil.invokeFunction(invocable, new double[] { 1, 2 }, 3));
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = { "y[1]+y[0]+t", "y+ x" })
+	void prepareFunctionStaticTypeCheck(final String function) {
+		// Unbekannte Variablen und Typfehler fallen bei GroovyStatic schon beim
+		// Compilieren auf.
+		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(Language.GroovyStatic);
+		assertThrows(IllegalStateException.class, () -> odeFunctionUtil.prepareFunction(function));
+	}
+
 	@ParameterizedTest
 	@EnumSource
 	void invokeFunctionNaN(final Language language) {
@@ -59,7 +267,7 @@ class OdeFunctionUtilTest {
 	}
 
 	@ParameterizedTest
-	@EnumSource
+	@EnumSource(names = "GroovyStatic", mode = EnumSource.Mode.EXCLUDE)
 	void invokeFunctionReturnValueIsNotANumber(final Language language) {
 		final OdeFunctionUtil odeFunctionUtil = new OdeFunctionUtilImpl(language);
 		final Invocable invocable = odeFunctionUtil.prepareFunction("y+ x");
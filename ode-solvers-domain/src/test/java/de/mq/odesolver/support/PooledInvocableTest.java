@@ -0,0 +1,215 @@
+package de.mq.odesolver.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.script.Invocable;
+import javax.script.ScriptException;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.solve.support.OdeSystemResultCalculator;
+
+class PooledInvocableTest {
+
+	private final AtomicInteger compilations = new AtomicInteger();
+
+	// Erkennt gleichzeitige Aufrufe derselben Engine.
+	private final Supplier<Invocable> compiler = () -> {
+		compilations.incrementAndGet();
+		final AtomicInteger active = new AtomicInteger();
+		return new NativeInvocable((RightHandSide) (y, x) -> {
+			if (active.incrementAndGet() != 1) {
+				throw new IllegalStateException("Engine used concurrently.");
+			}
+			try {
+				Thread.sleep(1);
+			} catch (final InterruptedException exception) {
+				Thread.currentThread().interrupt();
+			}
+			active.decrementAndGet();
+			return y[0] + x;
+		});
+	};
+
+	@Test
+	void invokeFunction() throws Exception {
+		final PooledInvocable invocable = new PooledInvocable(compiler, false, 2);
+
+		assertEquals(3d, invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] { 1 }, 2));
+		assertEquals(1, invocable.size());
+		assertEquals(1, compilations.get());
+	}
+
+	@Test
+	void concurrent() throws Exception {
+		final PooledInvocable invocable = new PooledInvocable(compiler, false, 2);
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<Object>> results = IntStream.range(0, 200).mapToObj(i -> executor.submit(() -> invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] { i }, 1)))
+					.collect(Collectors.toList());
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals(i + 1d, results.get(i).get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertTrue(invocable.size() <= 2);
+		assertEquals(invocable.size(), compilations.get());
+	}
+
+	@Test
+	void threadSafe() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final PooledInvocable invocable = new PooledInvocable(() -> {
+			compilations.incrementAndGet();
+			return new NativeInvocable((RightHandSide) (y, x) -> calls.incrementAndGet());
+		}, true, 4);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (final Future<?> future : IntStream.range(0, 100).mapToObj(i -> executor.submit(() -> invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] { i }, 1))).collect(Collectors.toList())) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(100, calls.get());
+		assertEquals(1, compilations.get());
+		assertEquals(1, invocable.size());
+	}
+
+	@Test
+	void getInterface() {
+		final PooledInvocable invocable = new PooledInvocable(() -> new NativeInvocable((VectorRightHandSide) (y, x, dy) -> dy[0] = y[0] * x), false, 2);
+
+		final OdeSystemResultCalculator resultCalculator = invocable.getInterface(OdeSystemResultCalculator.class);
+
+		assertEquals(6d, resultCalculator.f(new double[] { 2 }, 3)[0]);
+		assertEquals(resultCalculator, resultCalculator);
+		assertEquals(System.identityHashCode(resultCalculator), resultCalculator.hashCode());
+		assertEquals("PooledFunction(OdeSystemResultCalculator)", resultCalculator.toString());
+		assertNull(invocable.getInterface(Runnable.class));
+	}
+
+	@Test
+	void bind() {
+		final PooledInvocable invocable = new PooledInvocable(compiler, false, 2);
+		final PooledInvocable.Binding<Invocable> binding = invocable.bind();
+		final PooledInvocable.Binding<Invocable> other = invocable.bind();
+
+		assertNull(binding.function());
+		binding.bind();
+		binding.bind();
+		final Invocable engine = binding.function();
+		assertNotNull(engine);
+		// Die zweite Bindung erhaelt eine eigene Engine.
+		other.bind();
+		assertNotSame(engine, other.function());
+		assertEquals(2, invocable.size());
+
+		// Geschachtelt, die Engine wird mit dem aeusseren release zurueckgegeben.
+		binding.release();
+		assertSame(engine, binding.function());
+		binding.release();
+		assertNull(binding.function());
+		binding.release();
+		other.release();
+
+		binding.bind();
+		assertEquals(2, invocable.size());
+		binding.release();
+	}
+
+	@Test
+	void bindInterface() throws Exception {
+		final PooledInvocable invocable = new PooledInvocable(() -> new NativeInvocable((VectorRightHandSide) (y, x, dy) -> dy[0] = y[0] * x), false, 1);
+		final PooledInvocable.Binding<OdeSystemResultCalculator> binding = invocable.bind(OdeSystemResultCalculator.class);
+
+		binding.bind();
+		final OdeSystemResultCalculator resultCalculator = binding.function();
+		assertEquals(6d, resultCalculator.f(new double[] { 2 }, 3)[0]);
+		assertSame(resultCalculator, binding.function());
+		binding.release();
+
+		// Die Engine ist wieder frei.
+		assertArrayEquals(new double[] { 4 }, (double[]) invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] { 2 }, 2));
+		assertThrows(IllegalArgumentException.class, () -> invocable.bind(Runnable.class));
+	}
+
+	@Test
+	void exceptions() throws Exception {
+		final PooledInvocable invocable = new PooledInvocable(compiler, false, 1);
+
+		assertThrows(NoSuchMethodException.class, () -> invocable.invokeFunction("g", new double[] { 1 }, 2));
+		assertThrows(ScriptException.class, () -> invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] {}, 2));
+		assertThrows(NoSuchMethodException.class, () -> invocable.invokeMethod(new Object(), NativeInvocable.FUNCTION_NAME));
+		assertThrows(IllegalArgumentException.class, () -> invocable.getInterface(new Object(), Runnable.class));
+		assertThrows(IllegalArgumentException.class, () -> new PooledInvocable(compiler, false, 0));
+		// Die Engine ist nach den Fehlern wieder frei.
+		assertEquals(3d, invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] { 1 }, 2));
+	}
+
+	@Test
+	void checkoutTimeout() throws Exception {
+		final PooledInvocable invocable = new PooledInvocable(compiler, false, 1, Duration.ofMillis(50));
+		final PooledInvocable.Binding<Invocable> binding = invocable.bind();
+		binding.bind();
+
+		assertEquals("No script engine available within 50 ms.",
+				assertThrows(IllegalStateException.class, () -> invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] { 1 }, 2)).getMessage());
+
+		binding.release();
+		assertEquals(3d, invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] { 1 }, 2));
+		assertThrows(IllegalArgumentException.class, () -> new PooledInvocable(compiler, false, 1, Duration.ZERO));
+	}
+
+	@Test
+	void checkoutManagedBlocker() throws Exception {
+		final PooledInvocable invocable = new PooledInvocable(compiler, false, 1, Duration.ofSeconds(10));
+		final PooledInvocable.Binding<Invocable> binding = invocable.bind();
+		binding.bind();
+		final ForkJoinPool pool = new ForkJoinPool(1);
+		final CountDownLatch waiting = new CountDownLatch(1);
+		try {
+			final ForkJoinTask<Object> invocation = pool.submit(() -> {
+				waiting.countDown();
+				return invocable.invokeFunction(NativeInvocable.FUNCTION_NAME, new double[] { 1 }, 2);
+			});
+			waiting.await();
+			// Der einzige Thread wartet auf die Engine, der Pool startet einen
+			// Ersatz, der sie zurueckgibt.
+			pool.submit(binding::release);
+
+			assertEquals(3d, invocation.get());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void compileException() {
+		assertThrows(IllegalStateException.class, () -> new PooledInvocable(() -> {
+			throw new IllegalStateException("Unable to compile function.");
+		}, false));
+	}
+
+}
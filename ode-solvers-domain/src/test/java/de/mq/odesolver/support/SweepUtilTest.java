@@ -0,0 +1,122 @@
+package de.mq.odesolver.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.Sweep;
+import de.mq.odesolver.SweepResult;
+import de.mq.odesolver.support.SweepUtil.TrajectorySolver;
+
+class SweepUtilTest {
+
+	private static final int ROWS = 11;
+
+	private final Sweep sweep = new Sweep(new double[][] { Sweep.range(0, 1, 100), { 1, 2 } }, new double[] { 0, 1 }, new double[] { 2 });
+
+	private final AtomicInteger solvers = new AtomicInteger();
+
+	// Ergebnis y=(k0*x, k1*x), der Solver darf nur von einem Thread verwendet
+	// werden.
+	private TrajectorySolver newSolver() {
+		solvers.incrementAndGet();
+		final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		return (vector, start, stop) -> {
+			threads.add(Thread.currentThread());
+			if (threads.size() != 1) {
+				throw new IllegalStateException("Solver used by more than one thread.");
+			}
+			return IntStream.range(0, ROWS).mapToObj(row -> result(vector, start + row * (stop - start) / (ROWS - 1))).collect(Collectors.toList());
+		};
+	}
+
+	private static Result result(final double[] k, final double x) {
+		return new Result() {
+			@Override
+			public double x() {
+				return x;
+			}
+
+			@Override
+			public double yDerivative(final int n) {
+				return k[n] * x;
+			}
+
+			@Override
+			public double[] yDerivatives() {
+				return new double[] { k[0] * x, k[1] * x };
+			}
+		};
+	}
+
+	@Test
+	void sweep() {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final SweepResult result = SweepUtil.sweep(pool, sweep, 2, ROWS, this::newSolver);
+
+			assertSame(sweep, result.sweep());
+			assertEquals(400, result.size());
+			assertEquals(ROWS, result.rows());
+			assertEquals(2, result.order());
+			for (int trajectory = 0; trajectory < sweep.size(); trajectory++) {
+				final double[] k = sweep.vector(trajectory);
+				for (int row = 0; row < ROWS; row++) {
+					final double x = sweep.start(trajectory) + row * (sweep.stop(trajectory) - sweep.start(trajectory)) / (ROWS - 1);
+					assertEquals(x, result.x(trajectory, row));
+					assertEquals(k[0] * x, result.yDerivative(trajectory, row, 0));
+					assertEquals(k[1] * x, result.yDerivative(trajectory, row, 1));
+				}
+			}
+			// Ein Solver pro Teilbereich: 400 / (8 * 4) = 12 Trajektorien.
+			assertTrue(solvers.get() > 1);
+			assertTrue(solvers.get() <= 64);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void indexOutOfBounds() {
+		final SweepResult result = SweepUtil.sweep(ForkJoinPool.commonPool(), sweep, 2, ROWS, this::newSolver);
+
+		assertThrows(IndexOutOfBoundsException.class, () -> result.x(400, 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> result.x(0, ROWS));
+		assertThrows(IndexOutOfBoundsException.class, () -> result.yDerivative(0, 0, 2));
+	}
+
+	@Test
+	void wrongRows() {
+		assertThrows(IllegalStateException.class, () -> SweepUtil.sweep(ForkJoinPool.commonPool(), sweep, 2, ROWS + 1, this::newSolver));
+	}
+
+	@Test
+	void exception() {
+		final TrajectorySolver solver = (vector, start, stop) -> {
+			throw new IllegalArgumentException("Invalid trajectory.");
+		};
+		assertThrows(IllegalArgumentException.class, () -> SweepUtil.sweep(ForkJoinPool.commonPool(), sweep, 2, ROWS, () -> solver));
+	}
+
+	@Test
+	void invalid() {
+		assertThrows(IllegalArgumentException.class, () -> new SweepResultImpl(sweep, 0, ROWS));
+		assertThrows(IllegalArgumentException.class, () -> new SweepResultImpl(sweep, 1, 0));
+		final Sweep large = new Sweep(new double[][] { new double[1 << 16] }, new double[] { 0 }, new double[] { 1 });
+		assertThrows(IllegalArgumentException.class, () -> new SweepResultImpl(large, 1, 1 << 16));
+		assertThrows(IllegalStateException.class, () -> new SweepResultImpl(sweep, 2, ROWS).store(0, List.of()));
+	}
+
+}
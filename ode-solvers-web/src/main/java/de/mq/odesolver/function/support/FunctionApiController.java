@@ -0,0 +1,85 @@
+package de.mq.odesolver.function.support;
+
+import static de.mq.odesolver.support.ApiUtil.badRequest;
+import static de.mq.odesolver.support.ApiUtil.calculationFailed;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import de.mq.odesolver.function.Function;
+import de.mq.odesolver.function.FunctionService;
+import de.mq.odesolver.job.support.SolveJobService;
+import de.mq.odesolver.result.support.ResultColumns;
+import de.mq.odesolver.support.ApiUtil;
+import de.mq.odesolver.support.OdeFunctionUtil.Language;
+import jakarta.validation.Valid;
+
+/**
+ * Berechnet eine Wertetabelle ohne Session, die Parameter sind dieselben wie
+ * im Formular, als JSON. Die Ergebnisse werden spaltenweise zurueckgegeben.
+ * Die Berechnung laeuft im Pool des {@link SolveJobService}, mit dessen
+ * Laufzeitgrenze, der Request wartet darauf. Nach der Laufzeitgrenze bricht
+ * die Berechnung selbst ab und gibt den Thread frei, der Status ist dann 422.
+ * Bei voller Warteschlange ist er 503.
+ *
+ * @author mq
+ *
+ */
+@RestController
+class FunctionApiController {
+
+	static final String API_FUNCTION = "/api/function";
+	static final String I18N_START_LESS_THAN_STOP = FunctionController.I18N_START_LESS_THAN_STOP;
+
+	private final FunctionService functionService;
+
+	private final SolveJobService solveJobService;
+
+	private final FunctionConverter functionConverter;
+
+	private final MessageSource messageSource;
+
+	@Autowired
+	FunctionApiController(final FunctionService functionService, final SolveJobService solveJobService, final FunctionConverter functionConverter,
+			final MessageSource messageSource) {
+		this.functionService = functionService;
+		this.solveJobService = solveJobService;
+		this.functionConverter = functionConverter;
+		this.messageSource = messageSource;
+	}
+
+	@PostMapping(value = API_FUNCTION, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	ResultColumns function(@RequestBody @Valid final FunctionModel functionModel,
+			@RequestParam(name = "language", defaultValue = ApiUtil.DEFAULT_LANGUAGE) final Language language, final Locale locale) {
+		final Function function = convert(functionModel, language, locale);
+
+		if (!function.checkStartBeforeStop()) {
+			throw badRequest(messageSource, I18N_START_LESS_THAN_STOP, locale);
+		}
+
+		try {
+			return solveJobService.execute(terminated -> {
+				functionService.validate(function);
+				return new ResultColumns(functionService.solve(function, terminated), "y=" + function.function());
+			});
+		} catch (final Exception exception) {
+			throw calculationFailed(messageSource, exception, locale);
+		}
+	}
+
+	private Function convert(final FunctionModel functionModel, final Language language, final Locale locale) {
+		try {
+			return functionConverter.convert(functionModel, language);
+		} catch (final Exception exception) {
+			throw badRequest(messageSource, exception, locale);
+		}
+	}
+
+}
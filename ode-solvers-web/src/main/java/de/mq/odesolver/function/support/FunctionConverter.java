@@ -26,11 +26,18 @@ class FunctionConverter implements Converter<FunctionModel, Function> {
 
 	@Override
 	public Function convert(final FunctionModel functionModel) {
+		return convert(functionModel, conversionService.convert(odeSessionModelRepository.odeSessionModel().getSettings().getScriptLanguage(), Language.class));
+	}
+
+	/**
+	 * Wie {@link #convert(FunctionModel)}, die Sprache wird nicht aus der
+	 * Session gelesen.
+	 */
+	Function convert(final FunctionModel functionModel, final Language scriptLanguage) {
 		final var function = StringUtils.trimAllWhitespace(functionModel.getFunction());
 		final var start = conversionService.convert(functionModel.getStart(), double.class);
 		final var stop = conversionService.convert(functionModel.getStop(), double.class);
 		final var steps = conversionService.convert(functionModel.getSteps(), int.class);
-		final var scriptLanguage = conversionService.convert(odeSessionModelRepository.odeSessionModel().getSettings().getScriptLanguage(), Language.class);
 		final var k = StringUtils.hasText(functionModel.getK()) ? conversionService.convert(functionModel.getK().replaceAll(DoubleArrayValidator.REGEX_SPLIT_DOUBLE_VECTOR, ","), double[].class)
 				: EMPTY_ARRAY;
 
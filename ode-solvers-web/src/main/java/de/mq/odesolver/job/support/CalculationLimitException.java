@@ -0,0 +1,19 @@
+package de.mq.odesolver.job.support;
+
+/**
+ * Die Berechnung hat eine Grenze des {@link SolveJobService} ueberschritten,
+ * die Laufzeit oder die Anzahl der Schritte. Mit denselben Parametern
+ * scheitert sie wieder.
+ *
+ * @author mq
+ *
+ */
+public class CalculationLimitException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CalculationLimitException(final String message, final Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,19 @@
+package de.mq.odesolver.job.support;
+
+/**
+ * Die Warteschlange des {@link SolveJobService} ist voll, die Berechnung
+ * wurde nicht gestartet. Spaeter kann sie mit denselben Parametern erneut
+ * versucht werden.
+ *
+ * @author mq
+ *
+ */
+public class CalculationRejectedException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CalculationRejectedException(final String message, final Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,30 @@
+package de.mq.odesolver.job.support;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import de.mq.odesolver.solve.OdeSolverService;
+
+/**
+ * Die Berechnungen sind CPU-gebunden, sie laufen auf einer festen Anzahl
+ * Threads mit begrenzter Warteschlange.
+ */
+@Configuration
+class JobConfiguration {
+
+	@Bean(destroyMethod = "shutdown")
+	SolveJobService solveJobService(final OdeSolverService odeSolverService, @Value("${odesolver.jobs.threads:4}") final int threads,
+			@Value("${odesolver.jobs.queue-capacity:100}") final int queueCapacity, @Value("${odesolver.jobs.max-steps:100000000}") final long maxSteps,
+			@Value("${odesolver.jobs.time-limit-seconds:60}") final long timeLimit, @Value("${odesolver.jobs.retention-minutes:30}") final long retention) {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+				Thread.ofPlatform().name("solve-job-", 0).daemon().factory());
+		return new SolveJobServiceImpl(odeSolverService, executor, maxSteps, Duration.ofSeconds(timeLimit), Duration.ofMinutes(retention));
+	}
+
+}
@@ -0,0 +1,93 @@
+package de.mq.odesolver.job.support;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import de.mq.odesolver.support.OdeSessionModel;
+import de.mq.odesolver.support.OdeSessionModelRepository;
+
+@Controller
+class JobController {
+
+	static final String JOB_VIEW = "job";
+	static final String ATTRIBUTE_JOB = "job";
+	static final String REDIRECT_JOB_VIEW = "redirect:" + JOB_VIEW;
+	static final String REDIRECT_RESULT_VIEW = "redirect:result";
+	static final String REDIRECT_SOLVE_VIEW = "redirect:solve";
+	static final String KEY_STATE = "state";
+	static final String KEY_PROGRESS = "progress";
+	static final String KEY_MESSAGE = "message";
+
+	private final SolveJobService solveJobService;
+
+	private final OdeSessionModelRepository odeSessionModelRepository;
+
+	@Autowired
+	JobController(final SolveJobService solveJobService, final OdeSessionModelRepository odeSessionModelRepository) {
+		this.solveJobService = solveJobService;
+		this.odeSessionModelRepository = odeSessionModelRepository;
+	}
+
+	/**
+	 * Zeigt den Fortschritt, die Seite wird neu geladen, bis der Job beendet ist.
+	 * Ein erfolgreicher Job wird als Ergebnis in die Session uebernommen.
+	 */
+	@GetMapping("/" + JOB_VIEW)
+	String job(final Model model) {
+		final Optional<SolveJob> job = job();
+		if (job.isEmpty()) {
+			return REDIRECT_SOLVE_VIEW;
+		}
+		if (job.get().getState() == SolveJob.State.Done) {
+			return resultSubmit();
+		}
+		model.addAttribute(ATTRIBUTE_JOB, job.get());
+		return JOB_VIEW;
+	}
+
+	@GetMapping(value = "/" + JOB_VIEW + "/status", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	Map<String, Object> status() {
+		return job().map(job -> Map.<String, Object>of(KEY_STATE, job.getState(), KEY_PROGRESS, job.getProgress(), KEY_MESSAGE, job.getMessage())).orElse(Map.of());
+	}
+
+	@PostMapping(value = "/" + JOB_VIEW, params = "cancel")
+	String cancelSubmit() {
+		solveJobService.cancel(odeSessionModelRepository.odeSessionModel().getJobId());
+		return REDIRECT_JOB_VIEW;
+	}
+
+	/**
+	 * Uebernimmt die Ergebnisse in die Session, nach einem Abbruch die bis dahin
+	 * berechneten.
+	 */
+	@PostMapping(value = "/" + JOB_VIEW, params = "result")
+	String resultSubmit() {
+		final OdeSessionModel odeSessionModel = odeSessionModelRepository.odeSessionModel();
+		final Optional<SolveJob> job = job();
+		if (job.isEmpty() || job.get().getResult().isEmpty()) {
+			return REDIRECT_JOB_VIEW;
+		}
+		odeSessionModel.setResult(job.get().getResult().get());
+		odeSessionModel.setJobId(null);
+		return REDIRECT_RESULT_VIEW;
+	}
+
+	@PostMapping(value = "/" + JOB_VIEW, params = "back")
+	String backSubmit() {
+		return REDIRECT_SOLVE_VIEW;
+	}
+
+	private Optional<SolveJob> job() {
+		return solveJobService.job(odeSessionModelRepository.odeSessionModel().getJobId());
+	}
+
+}
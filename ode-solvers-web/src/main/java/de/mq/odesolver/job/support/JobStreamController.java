@@ -0,0 +1,105 @@
+package de.mq.odesolver.job.support;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import de.mq.odesolver.support.OdeSessionModelRepository;
+
+/**
+ * Sendet die Vorschau eines laufenden Jobs als Server-Sent Events, der
+ * Browser kann die Loesung zeichnen, waehrend sie berechnet wird. Die Punkte
+ * werden spaltenweise gesendet, die Id des Events ist der Index des naechsten
+ * Punktes, ein neu verbundener Client setzt dort fort.
+ *
+ * @author mq
+ *
+ */
+@Controller
+class JobStreamController {
+
+	static final String EVENT_POINTS = "points";
+	static final String EVENT_STATE = "state";
+	static final String KEY_X = "x";
+	static final String KEY_Y = "y";
+	static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+
+	private final SolveJobService solveJobService;
+
+	private final OdeSessionModelRepository odeSessionModelRepository;
+
+	@Autowired
+	JobStreamController(final SolveJobService solveJobService, final OdeSessionModelRepository odeSessionModelRepository) {
+		this.solveJobService = solveJobService;
+		this.odeSessionModelRepository = odeSessionModelRepository;
+	}
+
+	/**
+	 * Der Thread wartet nur auf neue Punkte, deshalb ein virtueller Thread und
+	 * nicht einer aus dem Pool der Berechnungen.
+	 */
+	@GetMapping(value = "/" + JobController.JOB_VIEW + "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	SseEmitter stream(@RequestHeader(name = "Last-Event-ID", defaultValue = "0") final int from) {
+		final SolveJob job = solveJobService.job(odeSessionModelRepository.odeSessionModel().getJobId())
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found."));
+		final SseEmitter emitter = new SseEmitter(0L);
+		Thread.ofVirtual().name("solve-job-stream").start(() -> stream(job, emitter, from));
+		return emitter;
+	}
+
+	void stream(final SolveJob job, final SseEmitter emitter, final int from) {
+		int next = from;
+		try {
+			while (true) {
+				// Nach dem Ende gibt es keine Vorschau mehr, der Client laedt das
+				// Ergebnis.
+				if (job.getState().isFinished()) {
+					emitter.send(SseEmitter.event().name(EVENT_STATE).data(job.getState().name()));
+					emitter.complete();
+					return;
+				}
+				final List<double[]> points = job.preview(next);
+				if (!points.isEmpty()) {
+					next += points.size();
+					emitter.send(SseEmitter.event().name(EVENT_POINTS).id(String.valueOf(next)).data(batch(points), MediaType.APPLICATION_JSON));
+				}
+				Thread.sleep(POLL_INTERVAL.toMillis());
+			}
+		} catch (final IOException | IllegalStateException exception) {
+			// Client hat die Verbindung beendet.
+			emitter.completeWithError(exception);
+		} catch (final InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			emitter.completeWithError(exception);
+		}
+	}
+
+	/**
+	 * @param points Zeilen mit x, y und seinen Ableitungen.
+	 * @return Spalten, x und je Ableitung ein Array in y.
+	 */
+	static Map<String, Object> batch(final List<double[]> points) {
+		final int order = points.isEmpty() ? 0 : points.get(0).length - 1;
+		final double[] x = new double[points.size()];
+		final double[][] y = new double[order][points.size()];
+		for (int n = 0; n < points.size(); n++) {
+			final double[] point = points.get(n);
+			x[n] = point[0];
+			for (int i = 0; i < order; i++) {
+				y[i][n] = point[i + 1];
+			}
+		}
+		return Map.of(KEY_X, x, KEY_Y, y);
+	}
+
+}
@@ -0,0 +1,229 @@
+package de.mq.odesolver.job.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.result.support.ResultModel;
+import de.mq.odesolver.solve.Ode;
+import de.mq.odesolver.solve.StepSink;
+
+/**
+ * Berechnung einer DGL im Hintergrund. Der Job ist Monitor der Integration:
+ * er zaehlt die Schritte, meldet den Fortschritt ueber x und beendet die
+ * Integration nach einem Abbruch oder wenn die Laufzeit bzw. die Anzahl der
+ * Schritte ueberschritten ist. Die Ergebnisse bis dahin bleiben erhalten.
+ *
+ * Fuer die Vorschau werden hoechstens previewPoints + 1 Schritte gespeichert,
+ * mit einem Abstand in x von mindestens (stop - start) / previewPoints,
+ * unabhaengig davon, wie viele Schritte das Verfahren macht. Sie kann schon
+ * waehrend der Berechnung gelesen werden und wird am Ende verworfen, dann gibt
+ * es das Ergebnis.
+ *
+ * Es schreibt nur der Thread der Berechnung, Fortschritt und Uhr werden nur
+ * alle {@link #CLOCK_INTERVAL} Schritte aktualisiert.
+ *
+ * @author mq
+ *
+ */
+public class SolveJob implements StepSink {
+
+	public enum State {
+		Queued, Running, Done, Cancelled, Failed;
+
+		public final boolean isFinished() {
+			return this != Queued && this != Running;
+		}
+	}
+
+	static final int CLOCK_INTERVAL = 1024;
+
+	private final String id = UUID.randomUUID().toString();
+	private final String title;
+	private final double start;
+	private final double stop;
+	private final double previewStep;
+	private final long maxSteps;
+	private final Duration timeLimit;
+	// Zeilen x, y, y', ..., synchronisiert ueber die Liste.
+	private final ArrayList<double[]> preview = new ArrayList<>();
+
+	private long count;
+	// x des naechsten Punktes der Vorschau, nur der Thread der Berechnung.
+	private double previewX;
+	private volatile double x;
+	private volatile long deadline;
+	private volatile boolean cancelled;
+	private volatile boolean timedOut;
+	private volatile boolean limitExceeded;
+	private volatile State state = State.Queued;
+	private volatile ResultModel result;
+	private volatile String message = "";
+	private volatile long finished;
+
+	SolveJob(final Ode ode, final int previewPoints, final long maxSteps, final Duration timeLimit) {
+		if (previewPoints < 1) {
+			throw new IllegalArgumentException("PreviewPoints must be > 0.");
+		}
+		if (maxSteps < 1) {
+			throw new IllegalArgumentException("MaxSteps must be > 0.");
+		}
+		if (timeLimit == null || timeLimit.isNegative() || timeLimit.isZero()) {
+			throw new IllegalArgumentException("TimeLimit must be > 0.");
+		}
+		this.title = ode.beautifiedOde();
+		this.start = ode.start();
+		this.stop = ode.stop();
+		this.x = ode.start();
+		this.previewX = ode.start();
+		this.previewStep = (ode.stop() - ode.start()) / previewPoints;
+		this.maxSteps = maxSteps;
+		this.timeLimit = timeLimit;
+	}
+
+	/**
+	 * Fuehrt die Berechnung aus, der solver muss diesen Job als Monitor
+	 * verwenden.
+	 *
+	 * @param solver berechnet die Ergebnisse.
+	 */
+	final void run(final Supplier<List<? extends Result>> solver) {
+		if (cancelled) {
+			finish(State.Cancelled);
+			return;
+		}
+		deadline = System.nanoTime() + timeLimit.toNanos();
+		state = State.Running;
+		try {
+			final List<? extends Result> results = solver.get();
+			if (!results.isEmpty()) {
+				x = results.get(results.size() - 1).x();
+			}
+			result = new ResultModel(results, title);
+			if (timedOut) {
+				message = String.format("Time limit of %s seconds exceeded.", timeLimit.toSeconds());
+			} else if (count > maxSteps) {
+				message = String.format("Maximum number of steps exceeded: %d.", maxSteps);
+			}
+			limitExceeded = !cancelled && !message.isEmpty();
+			finish(cancelled ? State.Cancelled : message.isEmpty() ? State.Done : State.Failed);
+		} catch (final Exception exception) {
+			message = Objects.toString(exception.getMessage(), "");
+			finish(State.Failed);
+		}
+	}
+
+	private void finish(final State state) {
+		synchronized (preview) {
+			preview.clear();
+			preview.trimToSize();
+		}
+		finished = System.nanoTime();
+		this.state = state;
+	}
+
+	@Override
+	public final void accept(final double[] y, final double x, final double errorEstimation) {
+		if ((x - previewX) * previewStep >= 0) {
+			previewX = x + previewStep;
+			final double[] point = new double[y.length + 1];
+			point[0] = x;
+			System.arraycopy(y, 0, point, 1, y.length);
+			synchronized (preview) {
+				preview.add(point);
+			}
+		}
+		if (++count % CLOCK_INTERVAL == 0) {
+			this.x = x;
+			timedOut = System.nanoTime() - deadline > 0;
+		}
+	}
+
+	@Override
+	public final boolean isTerminated() {
+		return cancelled || timedOut || count > maxSteps;
+	}
+
+	/**
+	 * @return true, wenn der Job an der Laufzeitgrenze oder der maximalen Anzahl
+	 *         der Schritte gescheitert ist, mit denselben Parametern scheitert er
+	 *         wieder.
+	 */
+	public final boolean isLimitExceeded() {
+		return limitExceeded;
+	}
+
+	/**
+	 * Die Punkte der Vorschau, Schritte der Integration mit einem Mindestabstand
+	 * in x.
+	 *
+	 * @param from Index des ersten Punktes.
+	 * @return Zeilen mit x, y und seinen Ableitungen ab from, leer, wenn es
+	 *         (noch) keine gibt oder der Job beendet ist.
+	 */
+	public final List<double[]> preview(final int from) {
+		synchronized (preview) {
+			return from >= preview.size() ? List.of() : List.copyOf(preview.subList(Math.max(0, from), preview.size()));
+		}
+	}
+
+	/**
+	 * Bricht die Berechnung ab.
+	 *
+	 * @return false, wenn der Job schon beendet ist.
+	 */
+	public final boolean cancel() {
+		if (state.isFinished()) {
+			return false;
+		}
+		cancelled = true;
+		return true;
+	}
+
+	final boolean isExpired(final long now, final Duration retention) {
+		return state.isFinished() && now - finished > retention.toNanos();
+	}
+
+	public final String getId() {
+		return id;
+	}
+
+	public final String getTitle() {
+		return title;
+	}
+
+	public final State getState() {
+		return state;
+	}
+
+	/**
+	 * @return Fortschritt in Prozent, bezogen auf das x-Intervall.
+	 */
+	public final int getProgress() {
+		if (state == State.Done) {
+			return 100;
+		}
+		return (int) Math.max(0, Math.min(100, 100 * (x - start) / (stop - start)));
+	}
+
+	/**
+	 * @return Fehlermeldung, leer, wenn die Berechnung erfolgreich war.
+	 */
+	public final String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @return die Ergebnisse, nach einem Abbruch bis zum letzten Schritt, leer,
+	 *         solange die Berechnung laeuft.
+	 */
+	public final Optional<ResultModel> getResult() {
+		return state.isFinished() ? Optional.ofNullable(result) : Optional.empty();
+	}
+
+}
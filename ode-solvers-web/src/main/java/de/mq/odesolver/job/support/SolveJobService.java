@@ -0,0 +1,68 @@
+package de.mq.odesolver.job.support;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import de.mq.odesolver.solve.Ode;
+
+/**
+ * Berechnet DGL'n im Hintergrund, die Jobs werden ueber ihre Id adressiert.
+ *
+ * @author mq
+ *
+ */
+public interface SolveJobService {
+
+	/**
+	 * Startet die Berechnung, sie wird in eine Warteschlange gestellt, wenn alle
+	 * Threads belegt sind.
+	 *
+	 * @param ode DGL.
+	 * @return der Job.
+	 * @throws CalculationRejectedException wenn die Warteschlange voll ist.
+	 */
+	SolveJob submit(final Ode ode);
+
+	/**
+	 * Berechnet die DGL wie einen Job, mit denselben Threads und Grenzen
+	 * (Warteschlange, Anzahl der Schritte, Laufzeit), und wartet auf das Ende.
+	 * Die rechte Seite wird vorher geprueft, jeder Schritt wird ausgegeben. Der
+	 * Job wird nicht gespeichert.
+	 *
+	 * @param ode DGL.
+	 * @return der beendete Job.
+	 * @throws CalculationRejectedException wenn die Warteschlange voll ist.
+	 */
+	SolveJob solve(final Ode ode);
+
+	/**
+	 * Fuehrt eine Berechnung in einem Thread des Pools aus und wartet hoechstens
+	 * die Laufzeitgrenze auf das Ergebnis. Die Berechnung erhaelt eine Abfrage,
+	 * die nach der Laufzeitgrenze true liefert, und muss sie regelmaessig
+	 * pruefen, wie ein Job {@link SolveJob#isTerminated()}. Rechnende Threads
+	 * reagieren nicht auf einen Interrupt, nur so wird der Thread wieder frei.
+	 *
+	 * @param <T>         Typ des Ergebnisses.
+	 * @param calculation die Berechnung, Parameter ist die Abfrage terminated.
+	 * @return das Ergebnis.
+	 * @throws CalculationRejectedException wenn die Warteschlange voll ist.
+	 * @throws CalculationLimitException    wenn die Laufzeit ueberschritten ist.
+	 */
+	<T> T execute(final Function<BooleanSupplier, T> calculation);
+
+	/**
+	 * @param id Id des Jobs.
+	 * @return der Job, leer, wenn es ihn nicht (mehr) gibt.
+	 */
+	Optional<SolveJob> job(final String id);
+
+	/**
+	 * Bricht einen Job ab.
+	 *
+	 * @param id Id des Jobs.
+	 * @return false, wenn es den Job nicht gibt oder er schon beendet ist.
+	 */
+	boolean cancel(final String id);
+
+}
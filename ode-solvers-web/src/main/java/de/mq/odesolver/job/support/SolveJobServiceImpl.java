@@ -0,0 +1,159 @@
+package de.mq.odesolver.job.support;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import de.mq.odesolver.solve.Ode;
+import de.mq.odesolver.solve.OdeSolverService;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.support.ExceptionUtil;
+
+class SolveJobServiceImpl implements SolveJobService {
+
+	// Mehr Punkte kann das Diagramm nicht darstellen, die Schritte dazwischen
+	// werden nicht ausgegeben.
+	static final int MAX_RESULTS = 2000;
+	static final String TOO_MANY_CALCULATIONS = "Too many calculations, please try again later.";
+
+	private final OdeSolverService odeSolverService;
+	private final ExecutorService executorService;
+	private final long maxSteps;
+	private final Duration timeLimit;
+	private final Duration retention;
+	private final Map<String, SolveJob> jobs = new ConcurrentHashMap<>();
+
+	SolveJobServiceImpl(final OdeSolverService odeSolverService, final ExecutorService executorService, final long maxSteps, final Duration timeLimit,
+			final Duration retention) {
+		this.odeSolverService = odeSolverService;
+		this.executorService = executorService;
+		this.maxSteps = maxSteps;
+		this.timeLimit = timeLimit;
+		this.retention = retention;
+	}
+
+	@Override
+	public final SolveJob submit(final Ode ode) {
+		expire();
+		final OutputGrid outputGrid = outputGrid(ode.steps());
+		// Die Vorschau hat hoechstens so viele Punkte wie das Ergebnis, auch wenn
+		// das Verfahren die Schrittweite verkleinert.
+		final SolveJob job = new SolveJob(ode, MAX_RESULTS, maxSteps, timeLimit);
+		jobs.put(job.getId(), job);
+		try {
+			executorService.execute(() -> job.run(() -> odeSolverService.solve(ode, outputGrid, job)));
+		} catch (final RejectedExecutionException exception) {
+			jobs.remove(job.getId());
+			throw new CalculationRejectedException(TOO_MANY_CALCULATIONS, exception);
+		}
+		return job;
+	}
+
+	@Override
+	public final SolveJob solve(final Ode ode) {
+		final SolveJob job = new SolveJob(ode, MAX_RESULTS, maxSteps, timeLimit);
+		final Future<?> future = submit(() -> {
+			job.run(() -> {
+				odeSolverService.validateRightSide(ode);
+				return odeSolverService.solve(ode, OutputGrid.everyStep(1), job);
+			});
+			return null;
+		});
+		// Der Job beendet sich selbst nach der Laufzeitgrenze.
+		try {
+			future.get();
+		} catch (final InterruptedException exception) {
+			job.cancel();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Calculation interrupted.", exception);
+		} catch (final ExecutionException exception) {
+			throw cause(exception);
+		}
+		return job;
+	}
+
+	@Override
+	public final <T> T execute(final Function<BooleanSupplier, T> calculation) {
+		// Die Laufzeit zaehlt ab dem Einstellen in die Warteschlange, wie beim
+		// Warten auf das Ergebnis.
+		final long deadline = System.nanoTime() + timeLimit.toNanos();
+		final AtomicBoolean cancelled = new AtomicBoolean();
+		final BooleanSupplier terminated = () -> cancelled.get() || System.nanoTime() - deadline >= 0;
+		final Future<T> future = submit(() -> calculation.apply(terminated));
+		try {
+			return future.get(timeLimit.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (final TimeoutException exception) {
+			cancel(future, cancelled);
+			throw timeLimitExceeded(exception);
+		} catch (final InterruptedException exception) {
+			cancel(future, cancelled);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Calculation interrupted.", exception);
+		} catch (final ExecutionException exception) {
+			// Die Berechnung hat die Laufzeitgrenze selbst bemerkt.
+			if (exception.getCause() instanceof CancellationException && terminated.getAsBoolean()) {
+				throw timeLimitExceeded(exception);
+			}
+			throw cause(exception);
+		}
+	}
+
+	private static void cancel(final Future<?> future, final AtomicBoolean cancelled) {
+		cancelled.set(true);
+		future.cancel(true);
+	}
+
+	private CalculationLimitException timeLimitExceeded(final Exception exception) {
+		return new CalculationLimitException(String.format("Time limit of %s seconds exceeded.", timeLimit.toSeconds()), exception);
+	}
+
+	private static RuntimeException cause(final ExecutionException exception) {
+		return exception.getCause() instanceof Exception cause ? ExceptionUtil.translateToRuntimeException(cause) : new IllegalStateException(exception.getCause());
+	}
+
+	private <T> Future<T> submit(final Callable<T> calculation) {
+		try {
+			return executorService.submit(calculation);
+		} catch (final RejectedExecutionException exception) {
+			throw new CalculationRejectedException(TOO_MANY_CALCULATIONS, exception);
+		}
+	}
+
+	static OutputGrid outputGrid(final int steps) {
+		return OutputGrid.everyStep(Math.max(1, (steps + MAX_RESULTS - 1) / MAX_RESULTS));
+	}
+
+	// Beendete Jobs werden nach der retention entfernt.
+	private void expire() {
+		final long now = System.nanoTime();
+		jobs.values().removeIf(job -> job.isExpired(now, retention));
+	}
+
+	@Override
+	public final Optional<SolveJob> job(final String id) {
+		return id == null ? Optional.empty() : Optional.ofNullable(jobs.get(id));
+	}
+
+	@Override
+	public final boolean cancel(final String id) {
+		return job(id).map(SolveJob::cancel).orElse(false);
+	}
+
+	void shutdown() {
+		jobs.values().forEach(SolveJob::cancel);
+		executorService.shutdownNow();
+	}
+
+}
@@ -0,0 +1,75 @@
+package de.mq.odesolver.result.support;
+
+import java.util.List;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.function.FunctionResultTable;
+import de.mq.odesolver.solve.OdeResultTable;
+
+/**
+ * Ergebnisse spaltenweise, fuer die JSON-Schnittstelle: ein Array fuer x und
+ * je Ableitung ein Array in y. Die Namen der Felder werden nicht je Zeile
+ * wiederholt. Eine {@link OdeResultTable} bzw. {@link FunctionResultTable}
+ * wird ueber den Zeilenindex gelesen, ohne Objekte je Zeile.
+ *
+ * @author mq
+ *
+ */
+public class ResultColumns {
+
+	private final String title;
+	private final double[] x;
+	private final double[][] y;
+
+	public ResultColumns(final List<? extends Result> results, final String title) {
+		this.title = title;
+		final int rows = results.size();
+		x = new double[rows];
+		if (results instanceof OdeResultTable table) {
+			y = new double[table.order()][rows];
+			for (int row = 0; row < rows; row++) {
+				x[row] = table.x(row);
+				for (int n = 0; n < y.length; n++) {
+					y[n][row] = table.yDerivative(row, n);
+				}
+			}
+			return;
+		}
+		if (results instanceof FunctionResultTable table) {
+			y = new double[1][rows];
+			for (int row = 0; row < rows; row++) {
+				x[row] = table.x(row);
+				y[0][row] = table.y(row);
+			}
+			return;
+		}
+		y = new double[rows == 0 ? 0 : results.get(0).yDerivatives().length][rows];
+		for (int row = 0; row < rows; row++) {
+			final Result result = results.get(row);
+			x[row] = result.x();
+			for (int n = 0; n < y.length; n++) {
+				y[n][row] = result.yDerivative(n);
+			}
+		}
+	}
+
+	public final String getTitle() {
+		return title;
+	}
+
+	public final int getRows() {
+		return x.length;
+	}
+
+	public final double[] getX() {
+		return x;
+	}
+
+	/**
+	 * @return y[n] ist die Spalte der n-ten Ableitung.
+	 */
+	public final double[][] getY() {
+		return y;
+	}
+
+}
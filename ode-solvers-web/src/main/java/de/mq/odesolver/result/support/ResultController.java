@@ -23,19 +23,23 @@ class ResultController {
 	static final String I18N_RESULT_EMPTY = "result.empty";
 	static final String ATTRIBUTE_RESULTS_TITLE = "resultsTitle";
 	static final String ATTRIBUTE_RESULTS_LIST = "results";
+	static final String ATTRIBUTE_RESULTS_TABLE = "resultsTable";
 	static final String REDIRECT_VIEW_PATTERN = "redirect:%s";
 	static final String ATTRIBUTE_RESULT = "result";
 	static final String RESULT_VIEW = ATTRIBUTE_RESULT;
 	private final OdeSessionModelRepository odeSessionModelRepository;
 	private final ResultsExcelView resultsExcelView;
 	private final ResultsGraphView resultsGraphView;
+	private final ResultsBinaryView resultsBinaryView;
 	private final MessageSource messageSource;
 
 	@Autowired
-	ResultController(final OdeSessionModelRepository odeSessionModelRepository, final MessageSource messageSource, final ResultsExcelView resultsExcelView, final ResultsGraphView resultsGraphView) {
+	ResultController(final OdeSessionModelRepository odeSessionModelRepository, final MessageSource messageSource, final ResultsExcelView resultsExcelView, final ResultsGraphView resultsGraphView,
+			final ResultsBinaryView resultsBinaryView) {
 		this.resultsExcelView = resultsExcelView;
 		this.odeSessionModelRepository = odeSessionModelRepository;
 		this.resultsGraphView = resultsGraphView;
+		this.resultsBinaryView = resultsBinaryView;
 		this.messageSource = messageSource;
 	}
 
@@ -69,6 +73,13 @@ class ResultController {
 		}
 	}
 
+	// Spaltenweise gespeicherte Ergebnisse werden ohne Objekte je Zeile geschrieben.
+	@PostMapping(value = "/" + RESULT_VIEW, params = "binary")
+	ModelAndView binarySubmit(@ModelAttribute(ATTRIBUTE_RESULT) final ResultModel resultModel, final BindingResult bindingResult, final Model model, final Locale locale) {
+		odeSessionModelRepository.odeSessionModel().getResult().getTable().ifPresent(table -> model.addAttribute(ATTRIBUTE_RESULTS_TABLE, table));
+		return successSubmit(resultsBinaryView, bindingResult, model, locale);
+	}
+
 	@PostMapping(value = "/" + RESULT_VIEW, params = "graph")
 	ModelAndView graphSubmit(@ModelAttribute(ATTRIBUTE_RESULT) final ResultModel resultModel, final BindingResult bindingResult, final Model model, final Locale locale) {
 		return successSubmit(resultsGraphView, bindingResult, model, locale);
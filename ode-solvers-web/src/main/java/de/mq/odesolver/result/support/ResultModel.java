@@ -5,6 +5,7 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -13,7 +14,9 @@ import java.util.stream.IntStream;
 import org.springframework.util.CollectionUtils;
 
 import de.mq.odesolver.Result;
+import de.mq.odesolver.function.FunctionResultTable;
 import de.mq.odesolver.function.support.FunctionResultImpl;
+import de.mq.odesolver.solve.OdeResultTable;
 
 public class ResultModel {
 
@@ -25,7 +28,10 @@ public class ResultModel {
 	static final String BACK_SOLVE = "solve";
 	private final String back;
 	private final String title;
-	private final Collection<Result> results = new ArrayList<>();
+	// Die Ergebnisse werden nicht kopiert, eine OdeResultTable bleibt spaltenweise gespeichert.
+	private final List<Result> results;
+	// Die Liste ist nicht veraenderbar, die Tabelle wird nur fuer den Zugriff ueber den Zeilenindex gehalten.
+	private final Optional<OdeResultTable> table;
 
 	private final Collection<Entry<String, double[]>> ranges = new ArrayList<>();
 
@@ -34,11 +40,14 @@ public class ResultModel {
 	ResultModel() {
 		this.back = EMPTY;
 		this.title = EMPTY;
+		this.results = Collections.emptyList();
+		this.table = Optional.empty();
 	}
 
 	public ResultModel(final List<? extends Result> results, final String title) {
 		this.title = title;
-		this.results.addAll(results);
+		this.results = Collections.unmodifiableList(results);
+		this.table = table(results);
 		this.back = BACK_SOLVE;
 		calculateRanges(results);
 		calculateInitialValues(results);
@@ -46,12 +55,17 @@ public class ResultModel {
 
 	public ResultModel(final List<? extends Result> results, final String title, final double[] kVector) {
 		this.title = title;
-		this.results.addAll(results);
+		this.results = Collections.unmodifiableList(results);
+		this.table = table(results);
 		this.back = BACK_FUNCTION;
 		calculateRanges(results);
 		calculateInitialValues(kVector);
 	}
 
+	private static Optional<OdeResultTable> table(final List<? extends Result> results) {
+		return results instanceof OdeResultTable table ? Optional.of(table) : Optional.empty();
+	}
+
 	private void calculateRanges(final List<? extends Result> results) {
 		ranges.clear();
 		if (CollectionUtils.isEmpty(results)) {
@@ -102,10 +116,14 @@ public class ResultModel {
 
 	private void addRangeDerivative(final Collection<Entry<String, double[]>> ranges,
 			final Collection<? extends Result> results, final int yDerivative) {
-		final Optional<Double> min = results.stream().map(r -> r.yDerivative(yDerivative))
-				.min((x1, x2) -> x1.compareTo(x2));
-		final Optional<Double> max = results.stream().map(r -> r.yDerivative(yDerivative))
-				.max((x1, x2) -> x1.compareTo(x2));
+		if (results instanceof FunctionResultTable table) {
+			ranges.add(new SimpleImmutableEntry<>(KEY_Y, FunctionResultImpl.doubleArray(table.min(), table.max())));
+			return;
+		}
+		final Optional<Double> min = results instanceof OdeResultTable table ? Optional.of(table.min(yDerivative))
+				: results.stream().map(r -> r.yDerivative(yDerivative)).min((x1, x2) -> x1.compareTo(x2));
+		final Optional<Double> max = results instanceof OdeResultTable table ? Optional.of(table.max(yDerivative))
+				: results.stream().map(r -> r.yDerivative(yDerivative)).max((x1, x2) -> x1.compareTo(x2));
 		final StringBuffer text = new StringBuffer(KEY_Y);
 		IntStream.rangeClosed(1, yDerivative).forEach(_ -> text.append("'"));
 		
@@ -125,6 +143,14 @@ public class ResultModel {
 		return results;
 	}
 
+	/**
+	 * @return die Ergebnisse als Tabelle, wenn sie spaltenweise gespeichert sind,
+	 *         nur zum Lesen.
+	 */
+	public final Optional<OdeResultTable> getTable() {
+		return table;
+	}
+
 	public final Collection<Entry<String, double[]>> getRanges() {
 		return ranges;
 	}
@@ -0,0 +1,163 @@
+package de.mq.odesolver.result.support;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.view.AbstractView;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.function.FunctionResultTable;
+import de.mq.odesolver.solve.OdeResultTable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Ergebnisse als Binaerdatei, spaltenweise, little-endian. Die Datei kann
+ * direkt in den Speicher abgebildet werden (memory-mapped):
+ *
+ * <pre>
+ * Offset  Typ       Inhalt
+ * 0       4 Byte    Kennung "ODER"
+ * 4       int32     Version, 1
+ * 8       int32     Anzahl Spalten c
+ * 12      int32     Offset der Daten d, Vielfaches von 8
+ * 16      int64     Anzahl Zeilen n
+ * 24      int32     Laenge des Schemas s in Byte
+ * 28      s Byte    Schema, UTF-8, Zeilen mit '\n' getrennt: Titel, dann die
+ *                   Namen der Spalten x, y, y', ...
+ * 28+s    ...       0 bis d
+ * d       c*n*8     Spalten als double, hintereinander, zuerst x
+ * </pre>
+ *
+ * Spalte k beginnt bei d + 8*k*n. Eine {@link OdeResultTable} bzw.
+ * {@link FunctionResultTable} wird ueber den Zeilenindex gelesen, ohne Objekte je Zeile, die Daten gehen ueber einen
+ * Puffer fester Groesse in den Channel der Response.
+ *
+ * @author mq
+ *
+ */
+@Component
+public class ResultsBinaryView extends AbstractView {
+
+	static final String CONTENT_TYPE = "application/octet-stream";
+	public static final String CONTENT_DISPOSITION_HEADER_VALUE = "attachment; filename=Wertetabelle.bin";
+	static final String CONTENT_DISPOSITION_HEADER = "Content-Disposition";
+	static final String RESULTS_TITLE = "resultsTitle";
+	static final String RESULTS_MODEL = "results";
+	static final String RESULTS_TABLE = "resultsTable";
+	static final byte[] MAGIC = "ODER".getBytes(StandardCharsets.US_ASCII);
+	static final int VERSION = 1;
+	static final int FIXED_HEADER_SIZE = 28;
+	static final String COLUMN_X = "x";
+	static final String COLUMN_Y = "y";
+	static final int BUFFER_SIZE = 1 << 16;
+
+	public ResultsBinaryView() {
+		setContentType(CONTENT_TYPE);
+	}
+
+	@Override
+	protected boolean generatesDownloadContent() {
+		return true;
+	}
+
+	@Override
+	protected void renderMergedOutputModel(final Map<String, Object> model, final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		@SuppressWarnings("unchecked")
+		final List<? extends Result> results = model.containsKey(RESULTS_TABLE) ? (OdeResultTable) model.get(RESULTS_TABLE) : (List<Result>) model.get(RESULTS_MODEL);
+		final String title = (String) model.get(RESULTS_TITLE);
+
+		final byte[] schema = schema(title, order(results));
+		response.setContentType(getContentType());
+		response.setHeader(CONTENT_DISPOSITION_HEADER, CONTENT_DISPOSITION_HEADER_VALUE);
+		response.setContentLengthLong(dataOffset(schema.length) + 8L * (order(results) + 1) * results.size());
+
+		final WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+		write(results, schema, channel);
+		response.flushBuffer();
+	}
+
+	/**
+	 * Schreibt die Datei in den Channel, der Channel wird nicht geschlossen.
+	 *
+	 * @param results Ergebnisse, bevorzugt eine {@link OdeResultTable}.
+	 * @param title   Titel, die DGL bzw. Funktion.
+	 * @param channel Ziel.
+	 * @throws IOException Fehler beim Schreiben.
+	 */
+	public static void write(final List<? extends Result> results, final String title, final WritableByteChannel channel) throws IOException {
+		write(results, schema(title, order(results)), channel);
+	}
+
+	private static void write(final List<? extends Result> results, final byte[] schema, final WritableByteChannel channel) throws IOException {
+		final int order = order(results);
+		final int rows = results.size();
+		final int dataOffset = dataOffset(schema.length);
+		final ByteBuffer buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE, dataOffset)).order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.put(MAGIC).putInt(VERSION).putInt(order + 1).putInt(dataOffset).putLong(rows).putInt(schema.length).put(schema);
+		while (buffer.position() < dataOffset) {
+			buffer.put((byte) 0);
+		}
+
+		for (int column = 0; column <= order; column++) {
+			final IntToDoubleFunction values = column(results, column);
+			for (int row = 0; row < rows; row++) {
+				if (buffer.remaining() < Double.BYTES) {
+					flush(buffer, channel);
+				}
+				buffer.putDouble(values.applyAsDouble(row));
+			}
+		}
+		flush(buffer, channel);
+	}
+
+	private static void flush(final ByteBuffer buffer, final WritableByteChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	// Spalte 0 ist x, Spalte k die (k-1)-te Ableitung.
+	private static IntToDoubleFunction column(final List<? extends Result> results, final int column) {
+		if (results instanceof OdeResultTable table) {
+			return column == 0 ? table::x : row -> table.yDerivative(row, column - 1);
+		}
+		if (results instanceof FunctionResultTable table) {
+			return column == 0 ? table::x : table::y;
+		}
+		return column == 0 ? row -> results.get(row).x() : row -> results.get(row).yDerivative(column - 1);
+	}
+
+	private static int order(final List<? extends Result> results) {
+		if (results instanceof OdeResultTable table) {
+			return table.order();
+		}
+		if (results instanceof FunctionResultTable) {
+			return 1;
+		}
+		return results.isEmpty() ? 0 : results.get(0).yDerivatives().length;
+	}
+
+	static byte[] schema(final String title, final int order) {
+		final String columns = IntStream.range(0, order).mapToObj(n -> "\n" + COLUMN_Y + "'".repeat(n)).collect(Collectors.joining());
+		return ((title == null ? "" : title) + "\n" + COLUMN_X + columns).getBytes(StandardCharsets.UTF_8);
+	}
+
+	static int dataOffset(final int schemaLength) {
+		return (FIXED_HEADER_SIZE + schemaLength + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+	}
+
+}
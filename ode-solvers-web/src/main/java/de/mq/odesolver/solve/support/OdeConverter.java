@@ -28,13 +28,20 @@ class OdeConverter implements Converter<OdeModel, Ode>{
 
 	@Override
 	public Ode convert(final OdeModel odeModel) {
+		return convert(odeModel, conversionService.convert(odeSessionModelRepository.odeSessionModel().getSettings().getScriptLanguage(), Language.class));
+	}
+
+	/**
+	 * Wie {@link #convert(OdeModel)}, die Sprache wird nicht aus der Session
+	 * gelesen.
+	 */
+	Ode convert(final OdeModel odeModel, final Language scriptLanguage) {
 		final String ode = StringUtils.trimAllWhitespace(odeModel.getOde());
 		final Algorithm algorithm= conversionService.convert(odeModel.getSolver(), Algorithm.class);
 		final double[] y = conversionService.convert(odeModel.getY().replaceAll(DoubleArrayValidator.REGEX_SPLIT_DOUBLE_VECTOR, ","), double[].class);
 		final double start = conversionService.convert(odeModel.getStart(), double.class);
 		final double stop = conversionService.convert(odeModel.getStop(), double.class);
 		final int steps = conversionService.convert(odeModel.getSteps(), int.class);
-		final var scriptLanguage = conversionService.convert(odeSessionModelRepository.odeSessionModel().getSettings().getScriptLanguage(), Language.class);
 		return new OdeImpl(scriptLanguage, ode, algorithm, y , start, stop, steps );
 
 	}		
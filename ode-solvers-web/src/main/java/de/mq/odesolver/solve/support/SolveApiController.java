@@ -0,0 +1,124 @@
+package de.mq.odesolver.solve.support;
+
+import static de.mq.odesolver.support.ApiUtil.badRequest;
+import static de.mq.odesolver.support.ApiUtil.calculationFailed;
+import static de.mq.odesolver.support.ApiUtil.limitExceeded;
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.job.support.SolveJob;
+import de.mq.odesolver.job.support.SolveJobService;
+import de.mq.odesolver.result.support.ResultColumns;
+import de.mq.odesolver.result.support.ResultModel;
+import de.mq.odesolver.result.support.ResultsBinaryView;
+import de.mq.odesolver.solve.Ode;
+import de.mq.odesolver.support.ApiUtil;
+import de.mq.odesolver.support.OdeFunctionUtil.Language;
+import jakarta.validation.Valid;
+
+/**
+ * Loest eine DGL ohne Session, die Parameter sind dieselben wie im Formular,
+ * als JSON. Die Ergebnisse werden spaltenweise zurueckgegeben, jeder Schritt
+ * der Integration. Mit Accept application/octet-stream kommt die vollstaendige
+ * Tabelle im Format von {@link ResultsBinaryView}. Die Berechnung laeuft wie ein Job im Pool des
+ * {@link SolveJobService}, mit dessen Grenzen, der Request wartet darauf. Ist
+ * die Warteschlange voll, ist der Status 503, ist eine Grenze ueberschritten,
+ * 422.
+ *
+ * @author mq
+ *
+ */
+@RestController
+class SolveApiController {
+
+	static final String API_SOLVE = "/api/solve";
+	static final String I18N_START_LESS_THAN_STOP = SolveController.I18N_START_LESS_THAN_STOP;
+	static final String I18N_WRONG_NUMBER_INITIAL_VALUES = SolveController.I18N_WRONG_NUMBER_INITIAL_VALUES;
+
+	private final SolveJobService solveJobService;
+
+	private final OdeConverter odeConverter;
+
+	private final MessageSource messageSource;
+
+	@Autowired
+	SolveApiController(final SolveJobService solveJobService, final OdeConverter odeConverter, final MessageSource messageSource) {
+		this.solveJobService = solveJobService;
+		this.odeConverter = odeConverter;
+		this.messageSource = messageSource;
+	}
+
+	@PostMapping(value = API_SOLVE, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	ResultColumns solve(@RequestBody @Valid final OdeModel odeModel, @RequestParam(name = "language", defaultValue = ApiUtil.DEFAULT_LANGUAGE) final Language language,
+			final Locale locale) {
+		final ResultModel result = result(odeModel, language, locale);
+		return new ResultColumns(results(result), result.getTitle());
+	}
+
+	@PostMapping(value = API_SOLVE, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	ResponseEntity<StreamingResponseBody> solveBinary(@RequestBody @Valid final OdeModel odeModel,
+			@RequestParam(name = "language", defaultValue = ApiUtil.DEFAULT_LANGUAGE) final Language language, final Locale locale) {
+		final ResultModel result = result(odeModel, language, locale);
+		final List<? extends Result> results = results(result);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).header(HttpHeaders.CONTENT_DISPOSITION, ResultsBinaryView.CONTENT_DISPOSITION_HEADER_VALUE)
+				.body(os -> ResultsBinaryView.write(results, result.getTitle(), Channels.newChannel(os)));
+	}
+
+	private ResultModel result(final OdeModel odeModel, final Language language, final Locale locale) {
+		final Ode ode = convert(odeModel, language, locale);
+
+		if (odeModel.getOrder() != null && !ode.checkOrder(odeModel.getOrder())) {
+			throw badRequest(messageSource, I18N_WRONG_NUMBER_INITIAL_VALUES, locale);
+		}
+
+		if (!ode.checkStartBeforeStop()) {
+			throw badRequest(messageSource, I18N_START_LESS_THAN_STOP, locale);
+		}
+
+		final SolveJob job = solve(ode, locale);
+		if (job.isLimitExceeded()) {
+			throw limitExceeded(job.getMessage());
+		}
+		if (job.getState() != SolveJob.State.Done) {
+			throw badRequest(messageSource, defaultIfBlank(job.getMessage(), ApiUtil.I18N_ERROR_EXECUTE_FUNCTION), locale);
+		}
+		return job.getResult().orElseThrow();
+	}
+
+	// Die Tabelle wird ueber den Zeilenindex gelesen.
+	private static List<? extends Result> results(final ResultModel result) {
+		return result.getTable().isPresent() ? result.getTable().get() : List.copyOf(result.getResults());
+	}
+
+	private SolveJob solve(final Ode ode, final Locale locale) {
+		try {
+			return solveJobService.solve(ode);
+		} catch (final Exception exception) {
+			throw calculationFailed(messageSource, exception, locale);
+		}
+	}
+
+	private Ode convert(final OdeModel odeModel, final Language language, final Locale locale) {
+		try {
+			return odeConverter.convert(odeModel, language);
+		} catch (final Exception exception) {
+			throw badRequest(messageSource, exception, locale);
+		}
+	}
+
+}
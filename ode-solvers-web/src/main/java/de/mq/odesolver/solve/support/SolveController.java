@@ -6,7 +6,6 @@ import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -23,12 +22,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 
-import de.mq.odesolver.Result;
-import de.mq.odesolver.result.support.ResultModel;
+import de.mq.odesolver.job.support.SolveJobService;
 import de.mq.odesolver.solve.Ode;
 import de.mq.odesolver.solve.OdeSolverService;
 import de.mq.odesolver.solve.OdeSolverService.Algorithm;
-import de.mq.odesolver.support.OdeSessionModel;
 import de.mq.odesolver.support.OdeSessionModelRepository;
 import jakarta.validation.Valid;
 
@@ -39,7 +36,7 @@ class SolveController {
 
 	static final String I18N_WRONG_NUMBER_INITIAL_VALUES = "solve.wrong-number-initial-values";
 
-	static final String REDIRECT_RESULT_VIEW = "redirect:result";
+	static final String REDIRECT_JOB_VIEW = "redirect:job";
 
 	static final String ATTRIBUTE_ALGORITHMS = "algorithms";
 
@@ -51,6 +48,8 @@ class SolveController {
 
 	private final OdeSolverService odeSolverService;
 
+	private final SolveJobService solveJobService;
+
 	private final OdeSessionModelRepository odeSessionModelRepository;
 
 	private final Converter<OdeModel, Ode> odeConverter;
@@ -61,9 +60,10 @@ class SolveController {
 			.map(a -> new SimpleImmutableEntry<String, String>(a.name(), a.name())).collect(Collectors.toList());
 
 	@Autowired
-	SolveController(final OdeSolverService odeSolverService, final OdeSessionModelRepository odeSessionModelRepository, final Converter<OdeModel, Ode> odeConverter,
-			final MessageSource messageSource) {
+	SolveController(final OdeSolverService odeSolverService, final SolveJobService solveJobService, final OdeSessionModelRepository odeSessionModelRepository,
+			final Converter<OdeModel, Ode> odeConverter, final MessageSource messageSource) {
 		this.odeSolverService = odeSolverService;
+		this.solveJobService = solveJobService;
 		this.odeSessionModelRepository = odeSessionModelRepository;
 		this.odeConverter = odeConverter;
 		this.messageSource = messageSource;
@@ -101,11 +101,11 @@ class SolveController {
 
 		odeSessionModelRepository.odeSessionModel().setOdeModel(odeModel);
 
-		if (!calculate(ode, model, bindingResult, locale)) {
+		if (!submit(ode, bindingResult, locale)) {
 			return SOLVE_VIEW;
 		}
 
-		return REDIRECT_RESULT_VIEW;
+		return REDIRECT_JOB_VIEW;
 
 	}
 
@@ -116,11 +116,11 @@ class SolveController {
 		return "redirect:" + SOLVE_VIEW;
 	}
 
-	private boolean calculate(final Ode ode, final Model model, final BindingResult bindingResult, final Locale locale) {
+	// Die Berechnung laeuft im Hintergrund, die Seite des Jobs zeigt den
+	// Fortschritt.
+	private boolean submit(final Ode ode, final BindingResult bindingResult, final Locale locale) {
 		try {
-			final List<? extends Result> results = odeSolverService.solve(ode);
-			final OdeSessionModel odeSessionModel = odeSessionModelRepository.odeSessionModel();
-			odeSessionModel.setResult(new ResultModel(results, ode.beautifiedOde()));
+			odeSessionModelRepository.odeSessionModel().setJobId(solveJobService.submit(ode).getId());
 			return true;
 		} catch (final Exception exception) {
 			exception2Bindingresult(exception, bindingResult, locale);
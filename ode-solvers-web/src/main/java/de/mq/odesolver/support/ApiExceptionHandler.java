@@ -0,0 +1,18 @@
+package de.mq.odesolver.support;
+
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * Fehler der JSON-Schnittstelle als Problem Details (RFC 9457), mit der
+ * Meldung im Feld detail. Die Formulare zeigen ihre Fehler weiterhin selbst
+ * an.
+ *
+ * @author mq
+ *
+ */
+@RestControllerAdvice(annotations = RestController.class)
+class ApiExceptionHandler extends ResponseEntityExceptionHandler {
+
+}
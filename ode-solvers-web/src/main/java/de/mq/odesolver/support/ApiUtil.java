@@ -0,0 +1,96 @@
+package de.mq.odesolver.support;
+
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+
+import java.util.Locale;
+
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import de.mq.odesolver.job.support.CalculationLimitException;
+import de.mq.odesolver.job.support.CalculationRejectedException;
+
+/**
+ * Gemeinsame Konstanten und Fehler der JSON-Schnittstelle, die Meldungen
+ * werden von {@link ApiExceptionHandler} als Problem Details gesendet.
+ *
+ * @author mq
+ *
+ */
+public interface ApiUtil {
+
+	// Wie in den Einstellungen.
+	static final String DEFAULT_LANGUAGE = "Groovy";
+	static final String I18N_ERROR_EXECUTE_FUNCTION = "error-execute-function";
+	// Hinweis an den Client, wann ein Platz in der Warteschlange frei sein kann.
+	static final long RETRY_AFTER_SECONDS = 10;
+
+	/**
+	 * @param messageSource Meldungen.
+	 * @param key           Schluessel der Meldung, ohne Meldung der Text selbst.
+	 * @param locale        Sprache des Clients.
+	 * @return Fehler mit Status 400 und der Meldung.
+	 */
+	public static ResponseStatusException badRequest(final MessageSource messageSource, final String key, final Locale locale) {
+		return new ResponseStatusException(HttpStatus.BAD_REQUEST, messageSource.getMessage(key, null, key, locale));
+	}
+
+	/**
+	 * @param messageSource Meldungen.
+	 * @param exception     Fehler der Berechnung.
+	 * @param locale        Sprache des Clients.
+	 * @return Fehler mit Status 400 und der Meldung der Exception, ohne Meldung
+	 *         {@link #I18N_ERROR_EXECUTE_FUNCTION}.
+	 */
+	public static ResponseStatusException badRequest(final MessageSource messageSource, final Exception exception, final Locale locale) {
+		return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+				defaultIfBlank(exception.getMessage(), messageSource.getMessage(I18N_ERROR_EXECUTE_FUNCTION, null, I18N_ERROR_EXECUTE_FUNCTION, locale)), exception);
+	}
+
+	/**
+	 * Fehler einer Berechnung im Pool des SolveJobService. Konvertierung und
+	 * Pruefung der Parameter verwenden
+	 * {@link #badRequest(MessageSource, Exception, Locale)}.
+	 *
+	 * @param messageSource Meldungen.
+	 * @param exception     Fehler der Berechnung.
+	 * @param locale        Sprache des Clients.
+	 * @return Status 503 mit Retry-After, wenn die Warteschlange voll ist, 422,
+	 *         wenn eine Grenze ueberschritten ist, sonst 400.
+	 */
+	public static ResponseStatusException calculationFailed(final MessageSource messageSource, final Exception exception, final Locale locale) {
+		if (exception instanceof CalculationRejectedException) {
+			return serviceUnavailable(exception);
+		}
+		if (exception instanceof CalculationLimitException) {
+			return limitExceeded(exception.getMessage());
+		}
+		return badRequest(messageSource, exception, locale);
+	}
+
+	/**
+	 * @param message Meldung, welche Grenze ueberschritten ist.
+	 * @return Fehler mit Status 422, die Parameter sind gueltig, die Berechnung
+	 *         ist aber zu aufwendig.
+	 */
+	public static ResponseStatusException limitExceeded(final String message) {
+		return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, message);
+	}
+
+	private static ResponseStatusException serviceUnavailable(final Exception exception) {
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+		// ResponseStatusException hat sonst keine Header.
+		return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage(), exception) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public HttpHeaders getHeaders() {
+				return headers;
+			}
+		};
+	}
+
+}
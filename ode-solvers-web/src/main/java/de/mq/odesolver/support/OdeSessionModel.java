@@ -17,6 +17,8 @@ public class OdeSessionModel {
 	
 	private SettingsModel settings = new SettingsModel();
 
+	private String jobId;
+
 	public ResultModel getResult() {
 		return result;
 	}
@@ -49,4 +51,12 @@ public class OdeSessionModel {
 		this.settings = settings;
 	}
 
+	public String getJobId() {
+		return jobId;
+	}
+
+	public void setJobId(String jobId) {
+		this.jobId = jobId;
+	}
+
 }
@@ -11,6 +11,10 @@ public class NaturalNumberValidator implements ConstraintValidator<NaturalNumber
 
 	@Override
 	public boolean isValid(final String value, final ConstraintValidatorContext cxt) {
+		// Das Formular sendet einen Leerstring, JSON kann das Feld weglassen.
+		if (value == null) {
+			return false;
+		}
 		try {
 			if (Integer.parseInt(value.strip()) <= 0) {
 				return false;
@@ -0,0 +1,113 @@
+package de.mq.odesolver.function.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import de.mq.odesolver.function.Function;
+import de.mq.odesolver.function.FunctionService;
+import de.mq.odesolver.job.support.CalculationLimitException;
+import de.mq.odesolver.job.support.CalculationRejectedException;
+import de.mq.odesolver.job.support.SolveJobService;
+import de.mq.odesolver.result.support.ResultColumns;
+import de.mq.odesolver.support.ApiUtil;
+import de.mq.odesolver.support.BasicMockitoControllerTest;
+import de.mq.odesolver.support.OdeFunctionUtil.Language;
+
+class FunctionApiControllerTest extends BasicMockitoControllerTest {
+
+	private final FunctionService functionService = Mockito.mock(FunctionService.class);
+	private final SolveJobService solveJobService = Mockito.mock(SolveJobService.class);
+	private final FunctionApiController functionApiController = new FunctionApiController(functionService, solveJobService,
+			new FunctionConverter(new DefaultConversionService(), odeSessionModelRepository()), messageSource());
+	private final FunctionModel functionModel = new FunctionModel();
+
+	@BeforeEach
+	void setupFunction() {
+		functionModel.setFunction("k[0]*x");
+		functionModel.setK("2");
+		functionModel.setStart("0");
+		functionModel.setStop("1");
+		functionModel.setSteps("10");
+		Mockito.when(functionService.solve(Mockito.any(Function.class), Mockito.any(BooleanSupplier.class)))
+				.thenReturn(new FunctionResultTableImpl(new double[] { 1 }, new double[] { 2 }));
+		Mockito.when(solveJobService.execute(Mockito.any())).thenAnswer(a -> a.getArgument(0, java.util.function.Function.class).apply((BooleanSupplier) () -> false));
+	}
+
+	@Test
+	void function() {
+		final ResultColumns columns = functionApiController.function(functionModel, Language.Native, locale());
+
+		assertEquals("y=k[0]*x", columns.getTitle());
+		assertArrayEquals(new double[] { 1 }, columns.getX());
+		assertArrayEquals(new double[] { 2 }, columns.getY()[0]);
+		Mockito.verify(functionService).validate(Mockito.argThat((Function function) -> function.language() == Language.Native));
+		Mockito.verifyNoInteractions(odeSessionModelRepository());
+		Mockito.verify(solveJobService).execute(Mockito.any());
+	}
+
+	@Test
+	void functionTooManyCalculations() {
+		Mockito.doThrow(new CalculationRejectedException("Too many calculations, please try again later.", null)).when(solveJobService).execute(Mockito.any());
+
+		final ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> functionApiController.function(functionModel, Language.Native, locale()));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+		assertEquals("Too many calculations, please try again later.", exception.getReason());
+		assertEquals(String.valueOf(ApiUtil.RETRY_AFTER_SECONDS), exception.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void functionTimeLimit() {
+		Mockito.doThrow(new CalculationLimitException("Time limit of 60 seconds exceeded.", null)).when(solveJobService).execute(Mockito.any());
+
+		final ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> functionApiController.function(functionModel, Language.Native, locale()));
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatusCode());
+		assertEquals("Time limit of 60 seconds exceeded.", exception.getReason());
+	}
+
+	@Test
+	void functionStartNotBeforeStop() {
+		functionModel.setStart("1");
+
+		assertBadRequest(FunctionApiController.I18N_START_LESS_THAN_STOP);
+	}
+
+	@Test
+	void functionError() {
+		Mockito.when(functionService.validate(Mockito.any(Function.class))).thenThrow(new IllegalArgumentException("Syntax error."));
+
+		assertBadRequest("Syntax error.");
+	}
+
+	@Test
+	void functionErrorWithoutMessage() {
+		Mockito.when(functionService.solve(Mockito.any(Function.class), Mockito.any(BooleanSupplier.class))).thenThrow(new IllegalStateException());
+
+		assertBadRequest(ApiUtil.I18N_ERROR_EXECUTE_FUNCTION);
+	}
+
+	@Test
+	void functionWrongSteps() {
+		functionModel.setSteps(null);
+
+		assertEquals(HttpStatus.BAD_REQUEST,
+				assertThrows(ResponseStatusException.class, () -> functionApiController.function(functionModel, Language.Native, locale())).getStatusCode());
+	}
+
+	private void assertBadRequest(final String message) {
+		final ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> functionApiController.function(functionModel, Language.Native, locale()));
+		assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+		assertEquals(message, exception.getReason());
+	}
+
+}
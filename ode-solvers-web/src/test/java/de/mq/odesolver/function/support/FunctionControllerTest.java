@@ -5,16 +5,13 @@ import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
-import java.util.Arrays;
-import java.util.List;
-
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.validation.BindingResult;
 
-import de.mq.odesolver.Result;
 import de.mq.odesolver.function.Function;
+import de.mq.odesolver.function.FunctionResultTable;
 import de.mq.odesolver.function.FunctionService;
 import de.mq.odesolver.result.support.ResultModel;
 import de.mq.odesolver.support.BasicMockitoControllerTest;
@@ -47,7 +44,7 @@ class FunctionControllerTest extends BasicMockitoControllerTest {
 	
 	@Test
 	void solveSubmit() {
-		final  List<Result> results = Arrays.asList(new FunctionResultImpl(0, 0), new FunctionResultImpl(0, 0) );
+		final FunctionResultTable results = new FunctionResultTableImpl(new double[] { 0, 0 }, new double[] { 0, 0 });
 		final var functionModel = Mockito.mock(FunctionModel.class);
 		final BindingResult  bindingResult = Mockito.mock(BindingResult.class);
 		final Function function = Mockito.mock(Function.class);
@@ -74,4 +74,14 @@ class FunctionConverterTest {
 		assertEquals(language, function.language());
 	}
 
+	@ParameterizedTest()
+	@EnumSource
+	void convertWithLanguage(final Language language) {
+		final var function = ((FunctionConverter) converter).convert(functionModel, language);
+
+		assertEquals(language, function.language());
+		assertArrayEquals(k, function.k());
+		Mockito.verifyNoInteractions(odeSessionModelRepository);
+	}
+
 }
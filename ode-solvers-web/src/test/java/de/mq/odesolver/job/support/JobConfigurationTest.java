@@ -0,0 +1,38 @@
+package de.mq.odesolver.job.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.mq.odesolver.solve.Ode;
+import de.mq.odesolver.solve.OdeSolverService;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.solve.StepSink;
+
+class JobConfigurationTest {
+
+	private final JobConfiguration jobConfiguration = new JobConfiguration();
+
+	@Test
+	void solveJobService() throws InterruptedException {
+		final OdeSolverService odeSolverService = Mockito.mock(OdeSolverService.class);
+		final Ode ode = Mockito.mock(Ode.class);
+		Mockito.when(ode.steps()).thenReturn(10);
+		Mockito.when(ode.stop()).thenReturn(1d);
+		Mockito.when(odeSolverService.solve(Mockito.eq(ode), Mockito.any(OutputGrid.class), Mockito.any(StepSink.class))).thenReturn(List.of());
+		final var solveJobService = (SolveJobServiceImpl) jobConfiguration.solveJobService(odeSolverService, 1, 1, 100, 60, 30);
+
+		final SolveJob job = solveJobService.submit(ode);
+
+		for (int n = 0; n < 500 && !job.getState().isFinished(); n++) {
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+		assertEquals(SolveJob.State.Done, job.getState());
+		solveJobService.shutdown();
+	}
+
+}
@@ -0,0 +1,94 @@
+package de.mq.odesolver.job.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.mq.odesolver.result.support.ResultModel;
+import de.mq.odesolver.support.BasicMockitoControllerTest;
+
+class JobControllerTest extends BasicMockitoControllerTest {
+
+	private static final String JOB_ID = "4711";
+	private final SolveJobService solveJobService = Mockito.mock(SolveJobService.class);
+	private final SolveJob job = Mockito.mock(SolveJob.class);
+	private final ResultModel resultModel = Mockito.mock(ResultModel.class);
+	private final JobController jobController = new JobController(solveJobService, odeSessionModelRepository());
+
+	@BeforeEach
+	void setupJob() {
+		odeSessionModel().setJobId(JOB_ID);
+		Mockito.when(solveJobService.job(JOB_ID)).thenReturn(Optional.of(job));
+		Mockito.when(job.getState()).thenReturn(SolveJob.State.Running);
+		Mockito.when(job.getResult()).thenReturn(Optional.empty());
+	}
+
+	@Test
+	void job() {
+		assertEquals(JobController.JOB_VIEW, jobController.job(model()));
+
+		assertEquals(job, attributes().get(JobController.ATTRIBUTE_JOB));
+	}
+
+	@Test
+	void jobDone() {
+		Mockito.when(job.getState()).thenReturn(SolveJob.State.Done);
+		Mockito.when(job.getResult()).thenReturn(Optional.of(resultModel));
+
+		assertEquals(JobController.REDIRECT_RESULT_VIEW, jobController.job(model()));
+
+		assertEquals(resultModel, odeSessionModel().getResult());
+		assertNull(odeSessionModel().getJobId());
+		assertTrue(attributes().isEmpty());
+	}
+
+	@Test
+	void jobMissing() {
+		odeSessionModel().setJobId(null);
+
+		assertEquals(JobController.REDIRECT_SOLVE_VIEW, jobController.job(model()));
+	}
+
+	@Test
+	void status() {
+		Mockito.when(job.getProgress()).thenReturn(42);
+		Mockito.when(job.getMessage()).thenReturn("");
+
+		assertEquals(Map.of(JobController.KEY_STATE, SolveJob.State.Running, JobController.KEY_PROGRESS, 42, JobController.KEY_MESSAGE, ""), jobController.status());
+
+		odeSessionModel().setJobId(null);
+		assertTrue(jobController.status().isEmpty());
+	}
+
+	@Test
+	void cancelSubmit() {
+		assertEquals(JobController.REDIRECT_JOB_VIEW, jobController.cancelSubmit());
+
+		Mockito.verify(solveJobService).cancel(JOB_ID);
+	}
+
+	@Test
+	void resultSubmit() {
+		assertEquals(JobController.REDIRECT_JOB_VIEW, jobController.resultSubmit());
+		assertEquals(JOB_ID, odeSessionModel().getJobId());
+
+		Mockito.when(job.getState()).thenReturn(SolveJob.State.Cancelled);
+		Mockito.when(job.getResult()).thenReturn(Optional.of(resultModel));
+
+		assertEquals(JobController.REDIRECT_RESULT_VIEW, jobController.resultSubmit());
+		assertEquals(resultModel, odeSessionModel().getResult());
+	}
+
+	@Test
+	void backSubmit() {
+		assertEquals(JobController.REDIRECT_SOLVE_VIEW, jobController.backSubmit());
+	}
+
+}
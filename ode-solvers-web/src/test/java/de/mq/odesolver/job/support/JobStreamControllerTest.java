@@ -0,0 +1,91 @@
+package de.mq.odesolver.job.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import de.mq.odesolver.support.BasicMockitoControllerTest;
+
+class JobStreamControllerTest extends BasicMockitoControllerTest {
+
+	private static final String JOB_ID = "4711";
+	private final SolveJobService solveJobService = Mockito.mock(SolveJobService.class);
+	private final SolveJob job = Mockito.mock(SolveJob.class);
+	private final SseEmitter emitter = Mockito.mock(SseEmitter.class);
+	private final JobStreamController jobStreamController = new JobStreamController(solveJobService, odeSessionModelRepository());
+
+	@BeforeEach
+	void setupJob() {
+		odeSessionModel().setJobId(JOB_ID);
+		Mockito.when(solveJobService.job(JOB_ID)).thenReturn(Optional.of(job));
+	}
+
+	@Test
+	void stream() throws IOException {
+		Mockito.when(job.getState()).thenReturn(SolveJob.State.Running, SolveJob.State.Running, SolveJob.State.Running, SolveJob.State.Done);
+		Mockito.when(job.preview(2)).thenReturn(List.of(new double[] { 0, 1, 2 }));
+		Mockito.when(job.preview(3)).thenReturn(List.of(new double[] { 1, 3, 4 }, new double[] { 2, 5, 6 }));
+		Mockito.when(job.preview(5)).thenReturn(List.of());
+
+		jobStreamController.stream(job, emitter, 2);
+
+		final ArgumentCaptor<SseEventBuilder> events = ArgumentCaptor.forClass(SseEventBuilder.class);
+		Mockito.verify(emitter, Mockito.times(3)).send(events.capture());
+		assertEquals(3, events.getAllValues().size());
+		assertTrue(events.getAllValues().get(1).build().iterator().next().getData().toString().contains("id:5"));
+		Mockito.verify(emitter).complete();
+		Mockito.verify(emitter, Mockito.never()).completeWithError(Mockito.any());
+	}
+
+	@Test
+	void streamClosed() throws IOException {
+		final IOException exception = new IOException("Broken pipe");
+		Mockito.when(job.getState()).thenReturn(SolveJob.State.Running);
+		Mockito.when(job.preview(0)).thenReturn(List.of(new double[] { 0, 1 }));
+		Mockito.doThrow(exception).when(emitter).send(Mockito.any(SseEventBuilder.class));
+
+		jobStreamController.stream(job, emitter, 0);
+
+		Mockito.verify(emitter).completeWithError(exception);
+		Mockito.verify(emitter, Mockito.never()).complete();
+	}
+
+	@Test
+	void streamWithoutJob() {
+		odeSessionModel().setJobId(null);
+
+		assertEquals(HttpStatus.NOT_FOUND, assertThrows(ResponseStatusException.class, () -> jobStreamController.stream(0)).getStatusCode());
+	}
+
+	@Test
+	void batch() {
+		final Map<String, Object> batch = JobStreamController.batch(List.of(new double[] { 0, 1, 2 }, new double[] { 1, 3, 4 }));
+
+		assertArrayEquals(new double[] { 0, 1 }, (double[]) batch.get(JobStreamController.KEY_X));
+		final double[][] y = (double[][]) batch.get(JobStreamController.KEY_Y);
+		assertEquals(2, y.length);
+		assertArrayEquals(new double[] { 1, 3 }, y[0]);
+		assertArrayEquals(new double[] { 2, 4 }, y[1]);
+	}
+
+	@Test
+	void batchEmpty() {
+		assertEquals(0, ((double[]) JobStreamController.batch(List.of()).get(JobStreamController.KEY_X)).length);
+	}
+
+}
@@ -0,0 +1,188 @@
+package de.mq.odesolver.job.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.mq.odesolver.solve.Ode;
+import de.mq.odesolver.solve.OdeSolverService;
+import de.mq.odesolver.solve.OutputGrid;
+import de.mq.odesolver.solve.StepSink;
+
+class SolveJobServiceImplTest {
+
+	private static final int STEPS = 10000;
+	private final OdeSolverService odeSolverService = Mockito.mock(OdeSolverService.class);
+	private final ExecutorService executorService = Mockito.mock(ExecutorService.class);
+	private final Ode ode = Mockito.mock(Ode.class);
+	private final SolveJobServiceImpl solveJobService = new SolveJobServiceImpl(odeSolverService, executorService, 100, Duration.ofMinutes(1), Duration.ofMinutes(30));
+
+	SolveJobServiceImplTest() {
+		Mockito.when(ode.steps()).thenReturn(STEPS);
+		Mockito.when(ode.stop()).thenReturn(1d);
+	}
+
+	@Test
+	void submit() {
+		Mockito.doAnswer(a -> {
+			a.getArgument(0, Runnable.class).run();
+			return null;
+		}).when(executorService).execute(Mockito.any());
+		Mockito.doAnswer(a -> {
+			a.getArgument(2, StepSink.class).accept(new double[] { 1 }, 1, 0);
+			return List.of();
+		}).when(odeSolverService).solve(Mockito.eq(ode), Mockito.eq(OutputGrid.everyStep(5)), Mockito.any(SolveJob.class));
+
+		final SolveJob job = solveJobService.submit(ode);
+
+		assertEquals(SolveJob.State.Done, job.getState());
+		assertEquals(job, solveJobService.job(job.getId()).get());
+		assertFalse(solveJobService.cancel(job.getId()));
+		Mockito.verify(odeSolverService).solve(ode, OutputGrid.everyStep(5), job);
+	}
+
+	@Test
+	void solve() {
+		final ExecutorService executorService = Executors.newSingleThreadExecutor();
+		final SolveJobServiceImpl solveJobService = new SolveJobServiceImpl(odeSolverService, executorService, 100, Duration.ofMinutes(1), Duration.ofMinutes(30));
+		Mockito.doAnswer(a -> {
+			a.getArgument(2, StepSink.class).accept(new double[] { 1 }, 1, 0);
+			return List.of();
+		}).when(odeSolverService).solve(Mockito.eq(ode), Mockito.eq(OutputGrid.everyStep(1)), Mockito.any(SolveJob.class));
+		try {
+			final SolveJob job = solveJobService.solve(ode);
+
+			assertEquals(SolveJob.State.Done, job.getState());
+			assertTrue(solveJobService.job(job.getId()).isEmpty());
+			Mockito.verify(odeSolverService).validateRightSide(ode);
+
+			Mockito.doThrow(new IllegalArgumentException("Syntax error.")).when(odeSolverService).validateRightSide(ode);
+			final SolveJob failed = solveJobService.solve(ode);
+			assertEquals(SolveJob.State.Failed, failed.getState());
+			assertEquals("Syntax error.", failed.getMessage());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void executeTimeLimitFreesThread() {
+		final ExecutorService executorService = Executors.newSingleThreadExecutor();
+		final SolveJobServiceImpl solveJobService = new SolveJobServiceImpl(odeSolverService, executorService, 100, Duration.ofMillis(100), Duration.ofMinutes(30));
+		try {
+			// Rechnet ohne auf den Interrupt zu reagieren, bis terminated true liefert.
+			assertEquals("Time limit of 0 seconds exceeded.", assertThrows(CalculationLimitException.class, () -> solveJobService.execute(terminated -> {
+				while (!terminated.getAsBoolean()) {
+					Thread.onSpinWait();
+				}
+				throw new CancellationException("Calculation terminated.");
+			})).getMessage());
+
+			// Der einzige Thread des Pools ist wieder frei.
+			assertEquals("solve-job", solveJobService.execute(terminated -> {
+				assertFalse(terminated.getAsBoolean());
+				return "solve-job";
+			}));
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void solveRejected() {
+		Mockito.doThrow(RejectedExecutionException.class).when(executorService).submit(Mockito.any(Callable.class));
+
+		assertEquals(SolveJobServiceImpl.TOO_MANY_CALCULATIONS, assertThrows(CalculationRejectedException.class, () -> solveJobService.solve(ode)).getMessage());
+		assertEquals(SolveJobServiceImpl.TOO_MANY_CALCULATIONS, assertThrows(CalculationRejectedException.class, () -> solveJobService.execute(terminated -> 1)).getMessage());
+	}
+
+	@Test
+	void execute() {
+		final ExecutorService executorService = Executors.newSingleThreadExecutor();
+		final SolveJobServiceImpl solveJobService = new SolveJobServiceImpl(odeSolverService, executorService, 100, Duration.ofMillis(100), Duration.ofMinutes(30));
+		final CountDownLatch latch = new CountDownLatch(1);
+		try {
+			assertEquals("solve-job", solveJobService.execute(terminated -> "solve-job"));
+			assertEquals("Syntax error.", assertThrows(IllegalArgumentException.class, () -> solveJobService.execute(terminated -> {
+				throw new IllegalArgumentException("Syntax error.");
+			})).getMessage());
+			assertEquals("Time limit of 0 seconds exceeded.", assertThrows(CalculationLimitException.class, () -> solveJobService.execute(terminated -> {
+				try {
+					latch.await();
+				} catch (final InterruptedException exception) {
+					Thread.currentThread().interrupt();
+				}
+				return null;
+			})).getMessage());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void cancel() {
+		final SolveJob job = solveJobService.submit(ode);
+
+		assertEquals(SolveJob.State.Queued, job.getState());
+		assertTrue(solveJobService.cancel(job.getId()));
+		assertTrue(job.isTerminated());
+		assertFalse(solveJobService.cancel("unknown"));
+	}
+
+	@Test
+	void job() {
+		assertTrue(solveJobService.job(null).isEmpty());
+		assertTrue(solveJobService.job("unknown").isEmpty());
+	}
+
+	@Test
+	void rejected() {
+		Mockito.doThrow(RejectedExecutionException.class).when(executorService).execute(Mockito.any());
+
+		assertThrows(CalculationRejectedException.class, () -> solveJobService.submit(ode));
+	}
+
+	@Test
+	void expire() {
+		final SolveJobServiceImpl solveJobService = new SolveJobServiceImpl(odeSolverService, executorService, 100, Duration.ofMinutes(1), Duration.ZERO);
+		final SolveJob job = solveJobService.submit(ode);
+		solveJobService.cancel(job.getId());
+		job.run(List::of);
+
+		solveJobService.submit(ode);
+
+		assertTrue(solveJobService.job(job.getId()).isEmpty());
+	}
+
+	@Test
+	void shutdown() {
+		final SolveJob job = solveJobService.submit(ode);
+
+		solveJobService.shutdown();
+
+		assertTrue(job.isTerminated());
+		Mockito.verify(executorService).shutdownNow();
+	}
+
+	@Test
+	void outputGrid() {
+		assertEquals(OutputGrid.everyStep(1), SolveJobServiceImpl.outputGrid(0));
+		assertEquals(OutputGrid.everyStep(1), SolveJobServiceImpl.outputGrid(SolveJobServiceImpl.MAX_RESULTS));
+		assertEquals(OutputGrid.everyStep(2), SolveJobServiceImpl.outputGrid(SolveJobServiceImpl.MAX_RESULTS + 1));
+		assertEquals(OutputGrid.everyStep(500), SolveJobServiceImpl.outputGrid(1000000));
+	}
+
+}
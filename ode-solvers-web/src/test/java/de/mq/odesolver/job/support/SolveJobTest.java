@@ -0,0 +1,216 @@
+package de.mq.odesolver.job.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.solve.Ode;
+
+class SolveJobTest {
+
+	private static final String TITLE = "y'=y-x";
+	private final Ode ode = Mockito.mock(Ode.class);
+
+	SolveJobTest() {
+		Mockito.when(ode.beautifiedOde()).thenReturn(TITLE);
+		Mockito.when(ode.start()).thenReturn(0d);
+		Mockito.when(ode.stop()).thenReturn(10d);
+	}
+
+	@Test
+	void run() {
+		final SolveJob job = new SolveJob(ode, 1, 100, Duration.ofMinutes(1));
+		assertEquals(SolveJob.State.Queued, job.getState());
+		assertFalse(job.getState().isFinished());
+
+		job.run(() -> {
+			assertEquals(SolveJob.State.Running, job.getState());
+			return steps(job, 3);
+		});
+
+		assertEquals(SolveJob.State.Done, job.getState());
+		assertEquals(100, job.getProgress());
+		assertEquals("", job.getMessage());
+		assertFalse(job.isLimitExceeded());
+		assertEquals(TITLE, job.getResult().get().getTitle());
+		assertEquals(3, job.getResult().get().getResults().size());
+		assertFalse(job.cancel());
+		assertEquals(36, job.getId().length());
+	}
+
+	@Test
+	void progress() {
+		final SolveJob job = new SolveJob(ode, 1, Long.MAX_VALUE, Duration.ofMinutes(1));
+
+		job.run(() -> {
+			for (int n = 1; n < SolveJob.CLOCK_INTERVAL; n++) {
+				job.accept(new double[] { 0 }, 5, 0);
+			}
+			assertEquals(0, job.getProgress());
+			assertTrue(job.getResult().isEmpty());
+			job.accept(new double[] { 0 }, 5, 0);
+			assertEquals(50, job.getProgress());
+			return List.of(result(5));
+		});
+
+		assertEquals(100, job.getProgress());
+	}
+
+	@Test
+	void cancel() {
+		final SolveJob job = new SolveJob(ode, 1, 100, Duration.ofMinutes(1));
+
+		job.run(() -> {
+			final List<Result> results = steps(job, 2);
+			assertTrue(job.cancel());
+			results.addAll(steps(job, 10));
+			return results;
+		});
+
+		assertEquals(SolveJob.State.Cancelled, job.getState());
+		// Die Ergebnisse bis zum Abbruch bleiben erhalten.
+		assertEquals(2, job.getResult().get().getResults().size());
+		assertEquals(10, job.getProgress());
+	}
+
+	@Test
+	void cancelQueued() {
+		final SolveJob job = new SolveJob(ode, 1, 100, Duration.ofMinutes(1));
+		assertTrue(job.cancel());
+
+		job.run(() -> {
+			throw new IllegalStateException("Job must not run.");
+		});
+
+		assertEquals(SolveJob.State.Cancelled, job.getState());
+		assertTrue(job.getResult().isEmpty());
+	}
+
+	@Test
+	void maxSteps() {
+		final SolveJob job = new SolveJob(ode, 1, 5, Duration.ofMinutes(1));
+
+		job.run(() -> steps(job, 100));
+
+		assertEquals(SolveJob.State.Failed, job.getState());
+		assertEquals(6, job.getResult().get().getResults().size());
+		assertEquals("Maximum number of steps exceeded: 5.", job.getMessage());
+		assertTrue(job.isLimitExceeded());
+	}
+
+	@Test
+	void timeLimit() {
+		final SolveJob job = new SolveJob(ode, 1, Long.MAX_VALUE, Duration.ofNanos(1));
+
+		job.run(() -> {
+			while (!job.isTerminated()) {
+				job.accept(new double[] { 0 }, 1, 0);
+			}
+			return List.of(result(1));
+		});
+
+		assertEquals(SolveJob.State.Failed, job.getState());
+		assertEquals("Time limit of 0 seconds exceeded.", job.getMessage());
+		assertTrue(job.isLimitExceeded());
+		assertTrue(job.getResult().isPresent());
+	}
+
+	@Test
+	void failed() {
+		final SolveJob job = new SolveJob(ode, 1, 100, Duration.ofMinutes(1));
+
+		job.run(() -> {
+			throw new IllegalArgumentException("errormessage");
+		});
+
+		assertEquals(SolveJob.State.Failed, job.getState());
+		assertEquals("errormessage", job.getMessage());
+		assertFalse(job.isLimitExceeded());
+		assertTrue(job.getResult().isEmpty());
+	}
+
+	@Test
+	void expired() {
+		final SolveJob job = new SolveJob(ode, 1, 100, Duration.ofMinutes(1));
+		assertFalse(job.isExpired(Long.MAX_VALUE, Duration.ZERO));
+
+		job.run(() -> steps(job, 1));
+
+		assertFalse(job.isExpired(System.nanoTime(), Duration.ofMinutes(1)));
+		assertTrue(job.isExpired(System.nanoTime() + Duration.ofMinutes(2).toNanos(), Duration.ofMinutes(1)));
+	}
+
+	@Test
+	void preview() {
+		// Abstand 2 in x
+		final SolveJob job = new SolveJob(ode, 5, 100, Duration.ofMinutes(1));
+		assertTrue(job.preview(0).isEmpty());
+
+		job.run(() -> {
+			final List<Result> results = steps(job, 5);
+			final List<double[]> preview = job.preview(0);
+			assertEquals(3, preview.size());
+			assertArrayEquals(new double[] { 2, 2 }, preview.get(1));
+			assertArrayEquals(new double[] { 4, 4 }, job.preview(2).get(0));
+			assertTrue(job.preview(3).isEmpty());
+			return results;
+		});
+
+		// Nach dem Ende gibt es das Ergebnis.
+		assertTrue(job.preview(0).isEmpty());
+	}
+
+	@Test
+	void previewSmallSteps() {
+		final SolveJob job = new SolveJob(ode, 5, Long.MAX_VALUE, Duration.ofMinutes(1));
+
+		job.run(() -> {
+			for (int n = 0; n <= 10000; n++) {
+				job.accept(new double[] { n }, n / 1000d, 0);
+			}
+			final List<double[]> preview = job.preview(0);
+			assertEquals(6, preview.size());
+			for (int n = 0; n < preview.size(); n++) {
+				assertEquals(2d * n, preview.get(n)[0], 1e-9);
+			}
+			return List.of(result(10));
+		});
+	}
+
+	@Test
+	void wrongArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new SolveJob(ode, 0, 1, Duration.ofMinutes(1)));
+		assertThrows(IllegalArgumentException.class, () -> new SolveJob(ode, 1, 0, Duration.ofMinutes(1)));
+		assertThrows(IllegalArgumentException.class, () -> new SolveJob(ode, 1, 1, Duration.ZERO));
+		assertThrows(IllegalArgumentException.class, () -> new SolveJob(ode, 1, 1, null));
+	}
+
+	// Schritte bei x=0, 1, ..., bis der Job abbricht.
+	private List<Result> steps(final SolveJob job, final int count) {
+		final List<Result> results = new ArrayList<>();
+		for (int n = 0; n < count && !job.isTerminated(); n++) {
+			job.accept(new double[] { n }, n, 0);
+			results.add(result(n));
+		}
+		return results;
+	}
+
+	private Result result(final double x) {
+		final Result result = Mockito.mock(Result.class);
+		Mockito.when(result.x()).thenReturn(x);
+		Mockito.when(result.yDerivatives()).thenReturn(new double[] { x });
+		Mockito.when(result.yDerivative(0)).thenReturn(x);
+		return result;
+	}
+
+}
@@ -0,0 +1,63 @@
+package de.mq.odesolver.result.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.solve.OdeResultTable;
+
+class ResultColumnsTest {
+
+	private static final String TITLE = "y''=-y";
+
+	@Test
+	void results() {
+		final ResultColumns columns = new ResultColumns(List.of(result(0, 1, 2), result(1, 3, 4), result(2, 5, 6)), TITLE);
+
+		assertEquals(TITLE, columns.getTitle());
+		assertEquals(3, columns.getRows());
+		assertArrayEquals(new double[] { 0, 1, 2 }, columns.getX());
+		assertEquals(2, columns.getY().length);
+		assertArrayEquals(new double[] { 1, 3, 5 }, columns.getY()[0]);
+		assertArrayEquals(new double[] { 2, 4, 6 }, columns.getY()[1]);
+	}
+
+	@Test
+	void table() {
+		final OdeResultTable table = Mockito.mock(OdeResultTable.class);
+		Mockito.when(table.size()).thenReturn(2);
+		Mockito.when(table.order()).thenReturn(1);
+		Mockito.when(table.x(1)).thenReturn(0.5);
+		Mockito.when(table.yDerivative(0, 0)).thenReturn(1d);
+		Mockito.when(table.yDerivative(1, 0)).thenReturn(2d);
+
+		final ResultColumns columns = new ResultColumns(table, TITLE);
+
+		assertArrayEquals(new double[] { 0, 0.5 }, columns.getX());
+		assertArrayEquals(new double[] { 1, 2 }, columns.getY()[0]);
+		// Die Zeilen werden nicht als Objekte gelesen.
+		Mockito.verify(table, Mockito.never()).get(Mockito.anyInt());
+	}
+
+	@Test
+	void empty() {
+		final ResultColumns columns = new ResultColumns(List.of(), TITLE);
+
+		assertEquals(0, columns.getRows());
+		assertEquals(0, columns.getY().length);
+	}
+
+	private Result result(final double x, final double... y) {
+		final Result result = Mockito.mock(Result.class);
+		Mockito.when(result.x()).thenReturn(x);
+		Mockito.when(result.yDerivatives()).thenReturn(y);
+		Mockito.when(result.yDerivative(Mockito.anyInt())).thenAnswer(a -> y[a.getArgument(0, Integer.class)]);
+		return result;
+	}
+
+}
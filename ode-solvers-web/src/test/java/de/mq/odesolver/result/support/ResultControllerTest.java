@@ -1,21 +1,25 @@
 package de.mq.odesolver.result.support;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import de.mq.odesolver.Result;
+import de.mq.odesolver.solve.OdeResultTable;
 import de.mq.odesolver.support.BasicMockitoControllerTest;
 
 class ResultControllerTest extends BasicMockitoControllerTest {
 
 	private final ResultsExcelView resultsExcelView = Mockito.mock(ResultsExcelView.class);
 	private final ResultsGraphView resultsGraphView = Mockito.mock(ResultsGraphView.class);
+	private final ResultsBinaryView resultsBinaryView = Mockito.mock(ResultsBinaryView.class);
 	private final ResultController resultController = new ResultController(odeSessionModelRepository(), messageSource(),
-			resultsExcelView, resultsGraphView);
+			resultsExcelView, resultsGraphView, resultsBinaryView);
 
 	@Test
 	void result() {
@@ -78,4 +82,31 @@ class ResultControllerTest extends BasicMockitoControllerTest {
 
 	}
 
+	@Test
+	void binarySubmit() {
+		final var resultModel = Mockito.mock(ResultModel.class);
+		final var table = Mockito.mock(OdeResultTable.class);
+		Mockito.when(resultModel.getResults()).thenReturn(Arrays.asList(Mockito.mock(Result.class)));
+		Mockito.when(resultModel.getTable()).thenReturn(Optional.of(table));
+		odeSessionModel().setResult(resultModel);
+
+		assertEquals(resultsBinaryView, resultController.binarySubmit(null, bindingResult(), model(), locale()).getView());
+
+		assertEquals(table, attributes().get(ResultController.ATTRIBUTE_RESULTS_TABLE));
+	}
+
+	@Test
+	void binarySubmitWithoutTable() {
+		final var resultModel = Mockito.mock(ResultModel.class);
+		final var results = Arrays.asList(Mockito.mock(Result.class));
+		Mockito.when(resultModel.getResults()).thenReturn(results);
+		Mockito.when(resultModel.getTable()).thenReturn(Optional.empty());
+		odeSessionModel().setResult(resultModel);
+
+		assertEquals(resultsBinaryView, resultController.binarySubmit(null, bindingResult(), model(), locale()).getView());
+
+		assertEquals(results, attributes().get(ResultController.ATTRIBUTE_RESULTS_LIST));
+		assertFalse(attributes().containsKey(ResultController.ATTRIBUTE_RESULTS_TABLE));
+	}
+
 }
@@ -3,6 +3,7 @@ package de.mq.odesolver.result.support;
 import static java.util.Collections.EMPTY_LIST;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collections;
 import java.util.List;
@@ -16,6 +17,7 @@ import org.mockito.Mockito;
 
 import de.mq.odesolver.Result;
 import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeResultTable;
 
 class ResultModelTest {
 
@@ -41,6 +43,7 @@ class ResultModelTest {
 		assertEquals(EMPTY_LIST, resultModel.getInitialValues());
 		assertEquals(EMPTY_LIST, resultModel.getRanges());
 		assertEquals(EMPTY_LIST, resultModel.getResults());
+		assertTrue(resultModel.getTable().isEmpty());
 	}
 
 	@Test
@@ -60,6 +63,36 @@ class ResultModelTest {
 
 		assertInitialValuesOde(resultModel);
 		assertEquals(TITLE_ODE, resultModel.getTitle());
+		assertTrue(resultModel.getTable().isEmpty());
+	}
+
+	@Test
+	void resultsOdeTable() {
+		final OdeResultTable results = Mockito.mock(OdeResultTable.class);
+		Mockito.when(results.size()).thenReturn(1 + MAX_VALUES);
+		final OdeResult first = odeResult(X_START);
+		final OdeResult last = odeResult(X_STOP);
+		Mockito.when(results.get(0)).thenReturn(first);
+		Mockito.when(results.get(MAX_VALUES)).thenReturn(last);
+		Mockito.when(results.min(0)).thenReturn(-1d);
+		Mockito.when(results.max(0)).thenReturn(1d);
+		Mockito.when(results.min(1)).thenReturn(-2d);
+		Mockito.when(results.max(1)).thenReturn(2d);
+
+		final var resultModel = new ResultModel(results, TITLE_ODE);
+
+		final var ranges = resultModel.getRanges().stream().collect(Collectors.toMap(Entry::getKey, Entry::getValue));
+		assertEquals(3, ranges.size());
+		assertEquals(X_START, ranges.get(ResultModel.KEY_X)[0]);
+		assertEquals(X_STOP, ranges.get(ResultModel.KEY_X)[1]);
+		assertEquals(-1d, ranges.get(ResultModel.KEY_Y)[0]);
+		assertEquals(1d, ranges.get(ResultModel.KEY_Y)[1]);
+		assertEquals(-2d, ranges.get(ResultModel.KEY_Y + "'")[0]);
+		assertEquals(2d, ranges.get(ResultModel.KEY_Y + "'")[1]);
+		assertInitialValuesOde(resultModel);
+		assertEquals(1 + MAX_VALUES, resultModel.getResults().size());
+		Mockito.verify(results, Mockito.never()).stream();
+		assertEquals(results, resultModel.getTable().get());
 	}
 
 	@Test
@@ -0,0 +1,138 @@
+package de.mq.odesolver.result.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import de.mq.odesolver.Result;
+import de.mq.odesolver.solve.OdeResultTable;
+
+class ResultsBinaryViewTest {
+
+	private static final String TITLE = "y''=-y";
+	private final ResultsBinaryView resultsBinaryView = new ResultsBinaryView();
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	@Test
+	void renderMergedOutputModel() throws IOException {
+		final Map<String, Object> model = new HashMap<>();
+		model.put(ResultsBinaryView.RESULTS_MODEL, List.of(result(0, 1), result(0.5, 2), result(1, 4)));
+		model.put(ResultsBinaryView.RESULTS_TITLE, "y=2**x");
+
+		resultsBinaryView.renderMergedOutputModel(model, null, response);
+
+		assertEquals(ResultsBinaryView.CONTENT_TYPE, response.getContentType());
+		assertEquals(ResultsBinaryView.CONTENT_DISPOSITION_HEADER_VALUE, response.getHeader(ResultsBinaryView.CONTENT_DISPOSITION_HEADER));
+		final byte[] content = response.getContentAsByteArray();
+		assertEquals(content.length, response.getContentLengthLong());
+
+		final ByteBuffer buffer = ByteBuffer.wrap(content).order(ByteOrder.LITTLE_ENDIAN);
+		final byte[] magic = new byte[4];
+		buffer.get(magic);
+		assertArrayEquals(ResultsBinaryView.MAGIC, magic);
+		assertEquals(ResultsBinaryView.VERSION, buffer.getInt());
+		assertEquals(2, buffer.getInt());
+		final int dataOffset = buffer.getInt();
+		assertEquals(0, dataOffset % Double.BYTES);
+		assertEquals(3L, buffer.getLong());
+		final byte[] schema = new byte[buffer.getInt()];
+		buffer.get(schema);
+		assertEquals("y=2**x\nx\ny", new String(schema, StandardCharsets.UTF_8));
+		assertEquals(dataOffset + 2 * 3 * Double.BYTES, content.length);
+
+		buffer.position(dataOffset);
+		assertArrayEquals(new double[] { 0, 0.5, 1, 1, 2, 4 }, doubles(buffer, 6));
+	}
+
+	@Test
+	void renderMergedOutputModelTable() throws IOException {
+		final int rows = 3 * ResultsBinaryView.BUFFER_SIZE / Double.BYTES;
+		final OdeResultTable table = table(rows);
+		final Map<String, Object> model = new HashMap<>();
+		model.put(ResultsBinaryView.RESULTS_MODEL, List.of());
+		model.put(ResultsBinaryView.RESULTS_TABLE, table);
+		model.put(ResultsBinaryView.RESULTS_TITLE, TITLE);
+
+		resultsBinaryView.renderMergedOutputModel(model, null, response);
+
+		final ByteBuffer buffer = ByteBuffer.wrap(response.getContentAsByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		final int dataOffset = buffer.getInt(12);
+		assertEquals(3, buffer.getInt(8));
+		assertEquals(rows, buffer.getLong(16));
+		assertEquals(dataOffset + 3L * rows * Double.BYTES, buffer.capacity());
+		buffer.position(dataOffset);
+		final double[] values = doubles(buffer, 3 * rows);
+		for (int row = 0; row < rows; row++) {
+			assertEquals(row, values[row]);
+			assertEquals(-1d * row, values[rows + row]);
+			assertEquals(2 * row, values[2 * rows + row]);
+		}
+		// Keine Objekte je Zeile.
+		Mockito.verify(table, Mockito.never()).get(Mockito.anyInt());
+	}
+
+	@Test
+	void writeEmpty() throws IOException {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		ResultsBinaryView.write(List.of(), null, Channels.newChannel(os));
+
+		final ByteBuffer buffer = ByteBuffer.wrap(os.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(1, buffer.getInt(8));
+		assertEquals(0L, buffer.getLong(16));
+		assertEquals(ResultsBinaryView.dataOffset(2), buffer.capacity());
+	}
+
+	@Test
+	void schema() {
+		assertEquals(TITLE + "\nx\ny\ny'\ny''", new String(ResultsBinaryView.schema(TITLE, 3), StandardCharsets.UTF_8));
+		assertEquals("\nx", new String(ResultsBinaryView.schema(null, 0), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void dataOffset() {
+		assertEquals(32, ResultsBinaryView.dataOffset(0));
+		assertEquals(32, ResultsBinaryView.dataOffset(4));
+		assertEquals(40, ResultsBinaryView.dataOffset(5));
+		assertTrue(ResultsBinaryView.dataOffset(4711) % Double.BYTES == 0);
+	}
+
+	private OdeResultTable table(final int rows) {
+		final OdeResultTable table = Mockito.mock(OdeResultTable.class);
+		Mockito.when(table.size()).thenReturn(rows);
+		Mockito.when(table.order()).thenReturn(2);
+		Mockito.when(table.x(Mockito.anyInt())).thenAnswer(a -> (double) a.getArgument(0, Integer.class));
+		Mockito.when(table.yDerivative(Mockito.anyInt(), Mockito.anyInt()))
+				.thenAnswer(a -> (a.getArgument(1, Integer.class) == 0 ? -1d : 2d) * a.getArgument(0, Integer.class));
+		return table;
+	}
+
+	private double[] doubles(final ByteBuffer buffer, final int count) {
+		final double[] values = new double[count];
+		buffer.asDoubleBuffer().get(values);
+		return values;
+	}
+
+	private Result result(final double x, final double y) {
+		final Result result = Mockito.mock(Result.class);
+		Mockito.when(result.x()).thenReturn(x);
+		Mockito.when(result.yDerivatives()).thenReturn(new double[] { y });
+		Mockito.when(result.yDerivative(0)).thenReturn(y);
+		return result;
+	}
+
+}
@@ -54,6 +54,16 @@ class OdeConverterTest {
 
 	}
 	
+	@ParameterizedTest()
+	@EnumSource
+	void convertWithLanguage(final Language language) {
+		final var ode = odeConverter.convert(odeModel, language);
+
+		assertEquals(language, ode.language());
+		assertEquals("y[1]/y[0]+x", ode.ode());
+		Mockito.verifyNoInteractions(odeSessionModelRepository);
+	}
+
 	@ParameterizedTest()
 	@EnumSource
 	void convertEmpty(final Language language) {
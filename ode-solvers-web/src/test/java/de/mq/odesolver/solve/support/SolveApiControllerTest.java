@@ -0,0 +1,229 @@
+package de.mq.odesolver.solve.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import de.mq.odesolver.job.support.CalculationRejectedException;
+import de.mq.odesolver.job.support.SolveJob;
+import de.mq.odesolver.job.support.SolveJobService;
+import de.mq.odesolver.result.support.ResultColumns;
+import de.mq.odesolver.result.support.ResultModel;
+import de.mq.odesolver.result.support.ResultsBinaryView;
+import de.mq.odesolver.solve.Ode;
+import de.mq.odesolver.solve.OdeResult;
+import de.mq.odesolver.solve.OdeResultTable;
+import de.mq.odesolver.solve.OdeSolverService.Algorithm;
+import de.mq.odesolver.support.ApiUtil;
+import de.mq.odesolver.support.BasicMockitoControllerTest;
+import de.mq.odesolver.support.OdeFunctionUtil.Language;
+
+class SolveApiControllerTest extends BasicMockitoControllerTest {
+
+	private final SolveJobService solveJobService = Mockito.mock(SolveJobService.class);
+	private final SolveApiController solveApiController = new SolveApiController(solveJobService,
+			new OdeConverter(new DefaultConversionService(), odeSessionModelRepository()), messageSource());
+	private final OdeModel odeModel = new OdeModel();
+	private final OdeResult result = Mockito.mock(OdeResult.class);
+
+	@BeforeEach
+	void setupOde() {
+		odeModel.setOde("y[1]");
+		odeModel.setSolver(Algorithm.RungeKutta4thOrder.name());
+		odeModel.setY("1,0");
+		odeModel.setStart("0");
+		odeModel.setStop("1");
+		odeModel.setSteps("10");
+		odeModel.setOrder(2);
+		Mockito.when(result.x()).thenReturn(0.5);
+		Mockito.when(result.yDerivatives()).thenReturn(new double[] { 1, 2 });
+		Mockito.when(result.yDerivative(0)).thenReturn(1d);
+		Mockito.when(result.yDerivative(1)).thenReturn(2d);
+		Mockito.when(solveJobService.solve(Mockito.any(Ode.class)))
+				.thenAnswer(a -> job(SolveJob.State.Done, "", new ResultModel(List.of(result), a.getArgument(0, Ode.class).beautifiedOde())));
+	}
+
+	@Test
+	void solve() {
+		final ResultColumns columns = solveApiController.solve(odeModel, Language.Native, locale());
+
+		assertEquals("y''=y'", columns.getTitle());
+		assertArrayEquals(new double[] { 0.5 }, columns.getX());
+		assertArrayEquals(new double[] { 1 }, columns.getY()[0]);
+		assertArrayEquals(new double[] { 2 }, columns.getY()[1]);
+		Mockito.verify(solveJobService).solve(Mockito.argThat((Ode ode) -> ode.language() == Language.Native));
+		Mockito.verifyNoInteractions(odeSessionModelRepository());
+	}
+
+	@Test
+	void solveWrongOrder() {
+		odeModel.setOrder(1);
+
+		assertBadRequest(SolveApiController.I18N_WRONG_NUMBER_INITIAL_VALUES);
+	}
+
+	@Test
+	void solveStartNotBeforeStop() {
+		odeModel.setStop("0");
+
+		assertBadRequest(SolveApiController.I18N_START_LESS_THAN_STOP);
+	}
+
+	@Test
+	void solveWrongAlgorithm() {
+		odeModel.setSolver("Unknown");
+
+		assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class, () -> solveApiController.solve(odeModel, Language.Native, locale())).getStatusCode());
+	}
+
+	@Test
+	void solveError() {
+		Mockito.when(solveJobService.solve(Mockito.any(Ode.class))).thenThrow(new IllegalStateException());
+
+		assertBadRequest(ApiUtil.I18N_ERROR_EXECUTE_FUNCTION);
+	}
+
+	@Test
+	void solveTooManyCalculations() {
+		Mockito.when(solveJobService.solve(Mockito.any(Ode.class))).thenThrow(new CalculationRejectedException("Too many calculations, please try again later.", null));
+
+		final ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> solveApiController.solve(odeModel, Language.Native, locale()));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+		assertEquals("Too many calculations, please try again later.", exception.getReason());
+		assertEquals(String.valueOf(ApiUtil.RETRY_AFTER_SECONDS), exception.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void solveLimitExceeded() {
+		final String message = "Time limit of 60 seconds exceeded.";
+		final SolveJob failed = job(SolveJob.State.Failed, message, new ResultModel(List.of(result), ""));
+		Mockito.when(failed.isLimitExceeded()).thenReturn(true);
+		Mockito.when(solveJobService.solve(Mockito.any(Ode.class))).thenReturn(failed);
+
+		final ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> solveApiController.solve(odeModel, Language.Native, locale()));
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatusCode());
+		assertEquals(message, exception.getReason());
+	}
+
+	@Test
+	void solveFailed() {
+		final String message = "Division by zero.";
+		final SolveJob failed = job(SolveJob.State.Failed, message, null);
+		Mockito.when(solveJobService.solve(Mockito.any(Ode.class))).thenReturn(failed);
+
+		assertBadRequest(message);
+
+		final SolveJob failedWithoutMessage = job(SolveJob.State.Failed, "", null);
+		Mockito.when(solveJobService.solve(Mockito.any(Ode.class))).thenReturn(failedWithoutMessage);
+
+		assertBadRequest(ApiUtil.I18N_ERROR_EXECUTE_FUNCTION);
+	}
+
+	@Test
+	void solveJson() throws Exception {
+		final MvcResult mvcResult = MockMvcBuilders.standaloneSetup(solveApiController).build()
+				.perform(post(SolveApiController.API_SOLVE).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ode\":\"y[1]\",\"solver\":\"RungeKutta4thOrder\",\"y\":\"1,0\",\"start\":\"0\",\"stop\":\"1\",\"steps\":\"10\"}"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.rows").value(1)).andExpect(jsonPath("$.x[0]").value(0.5))
+				.andExpect(jsonPath("$.y[1][0]").value(2d)).andReturn();
+
+		assertNull(mvcResult.getRequest().getSession(false));
+	}
+
+	@Test
+	void solveBinary() throws IOException {
+		final int rows = 1000;
+		final OdeResultTable table = Mockito.mock(OdeResultTable.class);
+		Mockito.when(table.size()).thenReturn(rows);
+		Mockito.when(table.order()).thenReturn(2);
+		Mockito.when(table.x(Mockito.anyInt())).thenAnswer(a -> (double) a.getArgument(0, Integer.class));
+		Mockito.when(table.yDerivative(Mockito.anyInt(), Mockito.anyInt())).thenAnswer(a -> a.getArgument(1, Integer.class) + 1d);
+		final ResultModel resultModel = Mockito.mock(ResultModel.class);
+		Mockito.when(resultModel.getTable()).thenReturn(Optional.of(table));
+		Mockito.when(resultModel.getTitle()).thenReturn("y''=y'");
+		final SolveJob job = job(SolveJob.State.Done, "", resultModel);
+		Mockito.when(solveJobService.solve(Mockito.any(Ode.class))).thenReturn(job);
+
+		final ResponseEntity<StreamingResponseBody> response = solveApiController.solveBinary(odeModel, Language.Native, locale());
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(MediaType.APPLICATION_OCTET_STREAM, response.getHeaders().getContentType());
+		assertEquals(ResultsBinaryView.CONTENT_DISPOSITION_HEADER_VALUE, response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		response.getBody().writeTo(os);
+		final ByteBuffer buffer = ByteBuffer.wrap(os.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(3, buffer.getInt(8));
+		assertEquals(rows, buffer.getLong(16));
+		final int dataOffset = buffer.getInt(12);
+		assertEquals(dataOffset + 3L * rows * Double.BYTES, buffer.capacity());
+		assertEquals(rows - 1d, buffer.getDouble(dataOffset + (rows - 1) * Double.BYTES));
+		assertEquals(2d, buffer.getDouble(dataOffset + (2 * rows) * Double.BYTES));
+		// Die vollstaendige Tabelle, nicht die ausgeduennten Ergebnisse.
+		Mockito.verify(resultModel, Mockito.never()).getResults();
+	}
+
+	@Test
+	void solveBinaryAccept() throws Exception {
+		final var mockMvc = MockMvcBuilders.standaloneSetup(solveApiController).build();
+		final MvcResult mvcResult = mockMvc
+				.perform(post(SolveApiController.API_SOLVE).contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_OCTET_STREAM)
+						.content("{\"ode\":\"y[1]\",\"solver\":\"RungeKutta4thOrder\",\"y\":\"1,0\",\"start\":\"0\",\"stop\":\"1\",\"steps\":\"10\"}"))
+				.andReturn();
+
+		final byte[] content = mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, ResultsBinaryView.CONTENT_DISPOSITION_HEADER_VALUE)).andReturn().getResponse()
+				.getContentAsByteArray();
+		final ByteBuffer buffer = ByteBuffer.wrap(content).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(1L, buffer.getLong(16));
+		assertEquals(0.5, buffer.getDouble(buffer.getInt(12)));
+	}
+
+	@Test
+	void solveJsonInvalid() throws Exception {
+		MockMvcBuilders.standaloneSetup(solveApiController).build()
+				.perform(post(SolveApiController.API_SOLVE).contentType(MediaType.APPLICATION_JSON).content("{\"ode\":\"y[1]\",\"y\":\"x\"}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private SolveJob job(final SolveJob.State state, final String message, final ResultModel resultModel) {
+		final SolveJob job = Mockito.mock(SolveJob.class);
+		Mockito.when(job.getState()).thenReturn(state);
+		Mockito.when(job.getMessage()).thenReturn(message);
+		Mockito.when(job.getResult()).thenReturn(Optional.ofNullable(resultModel));
+		return job;
+	}
+
+	private void assertBadRequest(final String message) {
+		final ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> solveApiController.solve(odeModel, Language.Native, locale()));
+		assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+		assertEquals(message, exception.getReason());
+	}
+
+}
@@ -5,18 +5,19 @@ import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.validation.BindingResult;
 
+import de.mq.odesolver.job.support.SolveJob;
+import de.mq.odesolver.job.support.SolveJobService;
 import de.mq.odesolver.result.support.ResultModel;
 import de.mq.odesolver.solve.Ode;
-import de.mq.odesolver.solve.OdeResult;
 import de.mq.odesolver.solve.OdeSolverService;
 import de.mq.odesolver.solve.OdeSolverService.Algorithm;
 import de.mq.odesolver.support.BasicMockitoControllerTest;
@@ -24,10 +25,11 @@ import de.mq.odesolver.support.BasicMockitoControllerTest;
 class SolveControllerTest extends BasicMockitoControllerTest {
 
 	private final OdeSolverService odeSolverService = Mockito.mock(OdeSolverService.class);
+	private final SolveJobService solveJobService = Mockito.mock(SolveJobService.class);
 	
 	@SuppressWarnings("unchecked")
 	private final Converter<OdeModel,Ode> converter = Mockito.mock(Converter.class);
-	private final SolveController solveController = new SolveController(odeSolverService, odeSessionModelRepository(), converter, messageSource());
+	private final SolveController solveController = new SolveController(odeSolverService, solveJobService, odeSessionModelRepository(), converter, messageSource());
 
 
 	@Test
@@ -46,7 +48,8 @@ class SolveControllerTest extends BasicMockitoControllerTest {
 	@Test
 	void solveSubmit() {
 		
-		final  List<OdeResult> results = Arrays.asList(new OdeResultImpl(new double[] {0}, 0),new OdeResultImpl( new double[] {1}, 1) );
+		final var job = Mockito.mock(SolveJob.class);
+		Mockito.when(job.getId()).thenReturn("4711");
 		final var odeModel = Mockito.mock(OdeModel.class);
 		Mockito.when(odeModel.getOrder()).thenReturn(1);
 		final BindingResult  bindingResult = Mockito.mock(BindingResult.class);
@@ -55,16 +58,15 @@ class SolveControllerTest extends BasicMockitoControllerTest {
 		Mockito.when(ode.beautifiedOde()).thenReturn("y'=y+x");
 		Mockito.when(converter.convert(odeModel)).thenReturn(ode);
 		Mockito.when(ode.checkStartBeforeStop()).thenReturn(true);
-		Mockito.when(odeSolverService.solve(ode)).thenReturn(results);
+		Mockito.when(solveJobService.submit(ode)).thenReturn(job);
 		
-		assertEquals(SolveController.REDIRECT_RESULT_VIEW, solveController.solveSubmit(odeModel,  bindingResult, model(), locale()));
+		assertEquals(SolveController.REDIRECT_JOB_VIEW, solveController.solveSubmit(odeModel,  bindingResult, model(), locale()));
 		
 		Mockito.verify(odeSolverService).validateRightSide(ode);
-		Mockito.verify(odeSolverService).solve(ode);
+		Mockito.verify(solveJobService).submit(ode);
 		
-		assertEquals(results,odeSessionModel().getResult().getResults());
-		assertEquals(ode.beautifiedOde(), odeSessionModel().getResult().getTitle());
-		assertEquals(SolveController.SOLVE_VIEW, odeSessionModel().getResult().getBack());
+		assertEquals(job.getId(), odeSessionModel().getJobId());
+		assertEquals(odeModel, odeSessionModel().getOdeModel());
 		assertInitModelAttributes();
 	}
 
@@ -72,15 +74,13 @@ class SolveControllerTest extends BasicMockitoControllerTest {
 		assertEquals(odeSessionModel().getSettings().getScriptLanguage(), attributes().get(SolveController.ATTRIBUTE_SCRIPT_LANGUAGE));
 		@SuppressWarnings("unchecked")
 		final List<Entry<String, String>> algorithms = (List<Entry<String, String>>) attributes().get(SolveController.ATTRIBUTE_ALGORITHMS);
-		assertEquals(4, algorithms.size());
-		assertEquals(Algorithm.DormandPrince853Integrator.name(), algorithms.get(0).getKey());
-		assertEquals(Algorithm.DormandPrince853Integrator.name(), algorithms.get(0).getValue());
-		assertEquals(Algorithm.RungeKutta4thOrder.name(), algorithms.get(1).getKey());
-		assertEquals(Algorithm.RungeKutta4thOrder.name(), algorithms.get(1).getValue());
-		assertEquals(Algorithm.RungeKutta2ndOrder.name(), algorithms.get(2).getKey());
-		assertEquals(Algorithm.RungeKutta2ndOrder.name(), algorithms.get(2).getValue());
-		assertEquals(Algorithm.EulerPolygonal.name(), algorithms.get(3).getKey());
-		assertEquals(Algorithm.EulerPolygonal.name(), algorithms.get(3).getValue());
+		assertEquals(Algorithm.values().length, algorithms.size());
+		final List<Algorithm> expected = List.of(Algorithm.DormandPrince853Integrator, Algorithm.CashKarp54, Algorithm.DormandPrince54, Algorithm.Bdf15, Algorithm.RungeKutta4thOrder,
+				Algorithm.RungeKuttaThreeEighths, Algorithm.BogackiShampine32, Algorithm.RungeKutta2ndOrder, Algorithm.Rosenbrock23, Algorithm.EulerPolygonal);
+		IntStream.range(0, expected.size()).forEach(i -> {
+			assertEquals(expected.get(i).name(), algorithms.get(i).getKey());
+			assertEquals(expected.get(i).name(), algorithms.get(i).getValue());
+		});
 	}
 	
 	
@@ -134,7 +134,7 @@ class SolveControllerTest extends BasicMockitoControllerTest {
 		assertEquals(resultModel, odeSessionModel().getResult());
 		assertInitModelAttributes();
 		
-		Mockito.verify(odeSolverService, Mockito.never()).solve(ode);
+		Mockito.verify(solveJobService, Mockito.never()).submit(ode);
 		
 		assertEquals(1, globalErrors().size());
 		assertEquals(SolveController.ATTRIBUTE_ODE, globalErrors().get(0).getObjectName());
@@ -153,13 +153,14 @@ class SolveControllerTest extends BasicMockitoControllerTest {
 		Mockito.when(ode.beautifiedOde()).thenReturn("y'=y+x");
 		Mockito.when(converter.convert(odeModel)).thenReturn(ode);
 		Mockito.when(ode.checkStartBeforeStop()).thenReturn(true);
-		final var exception = new IllegalArgumentException("errormessage");
-		Mockito.doThrow(exception).when(odeSolverService).solve(ode);
+		final var exception = new IllegalStateException("errormessage");
+		Mockito.doThrow(exception).when(solveJobService).submit(ode);
 		
 		assertEquals(SolveController.SOLVE_VIEW, solveController.solveSubmit(odeModel,  bindingResult(), model(), locale()));
 		
 		Mockito.verify(odeSolverService).validateRightSide(ode);
 		assertEquals(resultModel, odeSessionModel().getResult());
+		assertNull(odeSessionModel().getJobId());
 		assertInitModelAttributes();
 		
 		assertEquals(SolveController.ATTRIBUTE_ODE, globalErrors().get(0).getObjectName());
@@ -0,0 +1,52 @@
+package de.mq.odesolver.support;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import de.mq.odesolver.job.support.CalculationRejectedException;
+
+class ApiExceptionHandlerTest {
+
+	private static final String MESSAGE = "start should be < stop.";
+	private static final String BUSY = "Too many calculations, please try again later.";
+
+	@RestController
+	static class ApiController {
+		@GetMapping("/api/test")
+		String test() {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, MESSAGE);
+		}
+
+		@GetMapping("/api/busy")
+		String busy() {
+			throw ApiUtil.calculationFailed(null, new CalculationRejectedException(BUSY, null), null);
+		}
+	}
+
+	@Test
+	void problemDetail() throws Exception {
+		MockMvcBuilders.standaloneSetup(new ApiController()).setControllerAdvice(new ApiExceptionHandler()).build().perform(get("/api/test"))
+				.andExpect(status().isBadRequest()).andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.detail").value(MESSAGE)).andExpect(jsonPath("$.status").value(400));
+	}
+
+	@Test
+	void serviceUnavailable() throws Exception {
+		MockMvcBuilders.standaloneSetup(new ApiController()).setControllerAdvice(new ApiExceptionHandler()).build().perform(get("/api/busy"))
+				.andExpect(status().isServiceUnavailable()).andExpect(header().string(HttpHeaders.RETRY_AFTER, String.valueOf(ApiUtil.RETRY_AFTER_SECONDS)))
+				.andExpect(jsonPath("$.detail").value(BUSY)).andExpect(jsonPath("$.status").value(503));
+	}
+
+}
@@ -2,6 +2,7 @@ package de.mq.odesolver.support;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -56,4 +57,13 @@ class OdeSessionModelTest {
 		assertEquals(settingsModel, odeSessionModel.getSettings());
 	}
 
+	@Test
+	void jobId() {
+		assertNull(odeSessionModel.getJobId());
+
+		odeSessionModel.setJobId("4711");
+
+		assertEquals("4711", odeSessionModel.getJobId());
+	}
+
 }
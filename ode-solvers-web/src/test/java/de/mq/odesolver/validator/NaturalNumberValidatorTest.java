@@ -24,6 +24,11 @@ class NaturalNumberValidatorTest {
 		assertFalse(naturalNumberValidator.isValid(naturalNumber, null));
 	}
 	
+	@Test
+	void isValidNull() {
+		assertFalse(naturalNumberValidator.isValid(null, null));
+	}
+	
 	@Test
 	void initialize() {
 		naturalNumberValidator.initialize(null);